@@ -40,6 +40,7 @@ import net.jamsimulator.jams.plugin.PluginManager;
 import net.jamsimulator.jams.plugin.exception.InvalidPluginHeaderException;
 import net.jamsimulator.jams.plugin.exception.PluginLoadException;
 import net.jamsimulator.jams.project.RecentProjects;
+import net.jamsimulator.jams.project.mips.MIPSHeadlessRunner;
 import net.jamsimulator.jams.task.TaskExecutor;
 import net.jamsimulator.jams.utils.*;
 import org.json.JSONObject;
@@ -72,8 +73,33 @@ public class Jams {
     public static void main(String[] args) {
         var data = new ArgumentsData(args);
 
+        if (data.isHeadless()) {
+            init(data, false);
+            System.exit(MIPSHeadlessRunner.run(data));
+        }
+
+        init(data, true);
+
+        JamsApplication.main(args);
+
+        // This is called when the JavaFX manager finishes:
+        onClose();
+    }
+
+    private static boolean testInit = false;
+
+    /**
+     * Initializes JAMS's file system, plugins, configuration and managers.
+     * <p>
+     * In headless mode, only the non-JavaFX managers are loaded: {@link JamsApplication},
+     * the theme managers and any other JavaFX manager won't be initialized.
+     *
+     * @param data the arguments given to JAMS.
+     * @param gui  whether JAMS will run the JavaFX application.
+     */
+    private static void init(ArgumentsData data, boolean gui) {
         loadVersion();
-        System.out.println("Loading JAMS version " + getVersion());
+        if (gui) System.out.println("Loading JAMS version " + getVersion());
         TempUtils.loadTemporalFolder();
 
         try {
@@ -95,17 +121,10 @@ public class Jams {
         GENERAL_EVENT_BROADCAST.callEvent(new JAMSPreInitEvent());
         mainConfiguration = ConfigurationUtils.loadMainConfiguration();
         REGISTRY.loadJAMSManagers();
-        recentProjects = new RecentProjects();
+        if (gui) recentProjects = new RecentProjects();
         GENERAL_EVENT_BROADCAST.callEvent(new JAMSPostInitEvent());
-
-        JamsApplication.main(args);
-
-        // This is called when the JavaFX manager finishes:
-        onClose();
     }
 
-    private static boolean testInit = false;
-
     public static void initForTests() {
         if (testInit) return;
 
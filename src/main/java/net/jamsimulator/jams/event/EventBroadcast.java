@@ -102,6 +102,19 @@ public interface EventBroadcast {
      */
     <T extends Event> T callEvent(T event);
 
+    /**
+     * Returns whether an event of the given class would reach any listener if called.
+     * <p>
+     * Callers may use this method to skip creating events no one will receive.
+     * Implementations that cannot answer this cheaply should return true.
+     *
+     * @param type the class of the event.
+     * @return whether any listener accepts events of the given class.
+     */
+    default boolean hasListeners(Class<? extends Event> type) {
+        return true;
+    }
+
     /**
      * Transfers this broadcast's listeners to the given broadcast.
      *
@@ -24,22 +24,28 @@
 
 package net.jamsimulator.jams.event;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 class ListenerMethod {
 
     private static final AtomicLong ID_GENERATOR = new AtomicLong();
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class, Event.class);
 
     private final long id = ID_GENERATOR.getAndIncrement();
     private final Class<? extends Event> event;
     private final boolean weakReference;
 
     private final Method method;
+    private final MethodHandle invoker;
     private final Listener listener;
     private final boolean ignoreCancelled;
     private final Type[] generics;
@@ -49,6 +55,7 @@ class ListenerMethod {
 
     ListenerMethod(Object instance, Method method, Class<? extends Event> event, Listener listener, boolean weakReference) {
         this.method = method;
+        this.invoker = createInvoker(method);
         this.event = event;
         this.listener = listener;
         this.ignoreCancelled = listener.ignoreCancelled();
@@ -108,18 +115,45 @@ class ListenerMethod {
     }
 
     void call(Event event) {
+        var instance = weakReference ? instanceWeakReference.get() : this.instance;
+        if (weakReference && instance == null) return;
         try {
-            if (weakReference) {
-                var instance = instanceWeakReference.get();
-                if (instance != null) {
-                    method.invoke(instance, event);
-                }
+            if (invoker != null) {
+                invoker.invokeExact(instance, event);
             } else {
                 method.invoke(instance, event);
             }
-        } catch (Exception e) {
-            System.err.println("Error while calling listener " + method.getName() + "!");
-            e.printStackTrace();
+        } catch (InvocationTargetException e) {
+            printError(e.getCause());
+        } catch (Throwable e) {
+            printError(e);
+        }
+    }
+
+    private void printError(Throwable throwable) {
+        System.err.println("Error while calling listener " + method.getName() + "!");
+        throwable.printStackTrace();
+    }
+
+    /**
+     * Creates a {@link MethodHandle} that invokes the given method with the type (Object, Event)void.
+     * Static listeners ignore the instance parameter.
+     * <p>
+     * The method must be accessible. If the handle cannot be created, this method returns null
+     * and the listener falls back to reflective calls.
+     *
+     * @param method the listener method.
+     * @return the handle or null.
+     */
+    private static MethodHandle createInvoker(Method method) {
+        try {
+            var handle = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(INVOKER_TYPE);
+        } catch (IllegalAccessException | IllegalArgumentException ex) {
+            return null;
         }
     }
 
@@ -26,7 +26,9 @@ package net.jamsimulator.jams.event;
 
 import java.lang.reflect.Method;
 import java.util.Comparator;
+import java.util.Map;
 import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
@@ -39,10 +41,20 @@ import java.util.concurrent.ConcurrentSkipListSet;
  * {@link Listener}s listening a superclass of the {@link Event} will also be called.
  * <p>
  * This broadcast is thread-safe: you can register/unregister listeners and call events using several threads.
+ * <p>
+ * Listeners are dispatched using an index that maps each event class to the listeners that accept it,
+ * sorted by priority. This index is built the first time an event class is called and
+ * it's invalidated every time a listener is registered or unregistered. Calls use the
+ * index that was valid when the call started: listeners registered or unregistered by another
+ * listener will take effect on the next call.
+ * Use {@link #hasListeners(Class)} to avoid creating events no one will receive.
  */
 public class SimpleEventBroadcast implements EventBroadcast {
 
+    private static final ListenerMethod[] NO_LISTENERS = new ListenerMethod[0];
+
     private final SortedSet<ListenerMethod> registeredListeners;
+    private final Map<Class<?>, ListenerMethod[]> dispatchIndex = new ConcurrentHashMap<>();
 
     /**
      * Creates an event caller.
@@ -66,7 +78,11 @@ public class SimpleEventBroadcast implements EventBroadcast {
         var annotation = annotations[0];
         method.setAccessible(true);
 
-        registeredListeners.add(new ListenerMethod(instance, method, type, annotation, useWeakReferences));
+        var listenerMethod = new ListenerMethod(instance, method, type, annotation, useWeakReferences);
+        synchronized (dispatchIndex) {
+            registeredListeners.add(listenerMethod);
+            dispatchIndex.clear();
+        }
         return true;
     }
 
@@ -90,8 +106,12 @@ public class SimpleEventBroadcast implements EventBroadcast {
         var clazz = method.getParameters()[0].getType();
         if (!Event.class.isAssignableFrom(clazz)) return false;
         if (method.getAnnotationsByType(Listener.class).length != 1) return false;
-        registeredListeners.removeIf(ListenerMethod::isReferenceInvalid);
-        return registeredListeners.removeIf(it -> it.matches(instance, method));
+        synchronized (dispatchIndex) {
+            registeredListeners.removeIf(ListenerMethod::isReferenceInvalid);
+            boolean removed = registeredListeners.removeIf(it -> it.matches(instance, method));
+            dispatchIndex.clear();
+            return removed;
+        }
     }
 
     @Override
@@ -129,32 +149,71 @@ public class SimpleEventBroadcast implements EventBroadcast {
      */
     public <T extends Event> T callEvent(T event, EventBroadcast broadcast) {
         event.setCaller(broadcast);
-        var iterator = registeredListeners.iterator();
+        boolean invalidReferences = false;
 
-        while (iterator.hasNext()) {
-            var method = iterator.next();
-            if (method.isReferenceInvalid()) iterator.remove();
+        for (ListenerMethod method : getListeners(event.getClass())) {
+            if (method.isReferenceInvalid()) invalidReferences = true;
             else if ((method.ignoresCancelledEvents() || !(event instanceof Cancellable c) || !c.isCancelled())
-                    && method.getEvent().isInstance(event)
                     && event.suportsGenerics(method.getGenerics())) {
                 method.call(event);
             }
         }
 
+        if (invalidReferences) {
+            synchronized (dispatchIndex) {
+                registeredListeners.removeIf(ListenerMethod::isReferenceInvalid);
+                dispatchIndex.clear();
+            }
+        }
+
         return event;
     }
 
+    @Override
+    public boolean hasListeners(Class<? extends Event> type) {
+        return getListeners(type).length > 0;
+    }
+
     /**
      * Removes all listeners from this broadcast.
      */
     public void clear() {
-        registeredListeners.clear();
+        synchronized (dispatchIndex) {
+            registeredListeners.clear();
+            dispatchIndex.clear();
+        }
     }
 
     @Override
     public void transferListenersTo(EventBroadcast broadcast) {
         if (!(broadcast instanceof SimpleEventBroadcast simple))
             throw new IllegalArgumentException();
-        simple.registeredListeners.addAll(registeredListeners);
+        synchronized (simple.dispatchIndex) {
+            simple.registeredListeners.addAll(registeredListeners);
+            simple.dispatchIndex.clear();
+        }
+    }
+
+    /**
+     * Returns the listeners that accept events of the given class, sorted by priority.
+     * The returned array is shared and must not be modified.
+     *
+     * @param type the class of the event.
+     * @return the listeners.
+     */
+    private ListenerMethod[] getListeners(Class<?> type) {
+        var listeners = dispatchIndex.get(type);
+        if (listeners != null) return listeners;
+        // Built inside the lock so a concurrent registration can't leave a stale entry in the index.
+        synchronized (dispatchIndex) {
+            return dispatchIndex.computeIfAbsent(type, this::computeListeners);
+        }
+    }
+
+    private ListenerMethod[] computeListeners(Class<?> type) {
+        var listeners = registeredListeners.stream()
+                .filter(it -> it.getEvent().isAssignableFrom(type))
+                .toArray(ListenerMethod[]::new);
+        return listeners.length == 0 ? NO_LISTENERS : listeners;
     }
 }
@@ -32,6 +32,7 @@ import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import net.jamsimulator.jams.gui.configuration.RegionDisplay;
 import net.jamsimulator.jams.gui.util.propertyeditor.BooleanPropertyEditor;
+import net.jamsimulator.jams.gui.util.propertyeditor.IntegerPropertyEditor;
 import net.jamsimulator.jams.gui.util.propertyeditor.Pow2PropertyEditor;
 import net.jamsimulator.jams.gui.util.propertyeditor.PropertyEditor;
 import net.jamsimulator.jams.gui.util.propertyeditor.PropertyEditors;
@@ -69,7 +70,9 @@ public class MIPSConfigurationCacheDisplay extends VBox {
 
             PropertyEditor<?> editor;
 
-            if (property.getValue() instanceof Integer) {
+            if (property.getValue() instanceof Integer && property.getName().equals(CacheBuilder.HIT_LATENCY)) {
+                editor = new IntegerPropertyEditor((Property<Integer>) property);
+            } else if (property.getValue() instanceof Integer) {
                 editor = new Pow2PropertyEditor((Property<Integer>) property, 15);
             } else {
                 editor = PropertyEditors.getEditor(property).orElse(null);
@@ -72,6 +72,7 @@ public class MIPSSimulationPane extends WorkingPane implements SimulationHolder<
 
     protected final ExecutionButtons executionButtons;
     protected final InstructionViewerGroup instructionViewerGroup;
+    protected final SimulationUpdateTimer updateTimer;
     protected MIPSProject project;
     protected MIPSSimulation<?> simulation;
     protected TabPane registersTabs;
@@ -83,6 +84,7 @@ public class MIPSSimulationPane extends WorkingPane implements SimulationHolder<
         this.project = project;
         this.simulation = simulation;
         this.executionButtons = new ExecutionButtons(simulation);
+        this.updateTimer = new SimulationUpdateTimer(simulation);
 
 
         var user = MIPSAssembledCodeViewer.createViewer(simulation.getArchitecture(), simulation, false);
@@ -246,6 +248,7 @@ public class MIPSSimulationPane extends WorkingPane implements SimulationHolder<
     public void onClose() {
         super.onClose();
         simulation.stop();
+        updateTimer.dispose();
     }
 
     @Override
@@ -0,0 +1,97 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.gui.mips.project;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import net.jamsimulator.jams.event.Listener;
+import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
+import net.jamsimulator.jams.mips.simulation.event.SimulationStartEvent;
+import net.jamsimulator.jams.mips.simulation.event.SimulationStopEvent;
+import net.jamsimulator.jams.mips.simulation.update.SimulationUpdateBus;
+
+/**
+ * Publishes the {@link SimulationUpdateBus} of a simulation at a fixed rate while the simulation is running.
+ * <p>
+ * Updates are published in the JavaFX thread, so views can modify their nodes directly.
+ * The bus is enabled when the simulation starts, in the thread that starts it and before the simulation thread runs,
+ * so no change is missed. It's disabled after the simulation stops, publishing the remaining changes.
+ */
+public class SimulationUpdateTimer extends AnimationTimer {
+
+    public static final int UPDATES_PER_SECOND = 30;
+    private static final long FRAME_NANOS = 1000000000L / UPDATES_PER_SECOND;
+
+    private final MIPSSimulation<?> simulation;
+    private final SimulationUpdateBus bus;
+    private long nextFrame = 0L;
+
+    public SimulationUpdateTimer(MIPSSimulation<?> simulation) {
+        this.simulation = simulation;
+        this.bus = simulation.getUpdateBus();
+        simulation.registerListeners(this, true);
+    }
+
+    public MIPSSimulation<?> getSimulation() {
+        return simulation;
+    }
+
+    /**
+     * Stops this timer and disables the bus. This timer won't be started again.
+     */
+    public void dispose() {
+        simulation.unregisterListeners(this);
+        Platform.runLater(() -> {
+            stop();
+            bus.setEnabled(false);
+        });
+    }
+
+    @Override
+    public void handle(long now) {
+        if (nextFrame > now) return;
+        nextFrame = now + FRAME_NANOS;
+        bus.publish();
+    }
+
+    @Listener
+    private void onSimulationStart(SimulationStartEvent event) {
+        bus.setEnabled(true);
+        Platform.runLater(() -> {
+            nextFrame = 0L;
+            start();
+        });
+    }
+
+    @Listener
+    private void onSimulationStop(SimulationStopEvent event) {
+        Platform.runLater(() -> {
+            stop();
+            bus.publish();
+            // The simulation may have been started again before this task ran.
+            if (!simulation.isRunning()) bus.setEnabled(false);
+        });
+    }
+}
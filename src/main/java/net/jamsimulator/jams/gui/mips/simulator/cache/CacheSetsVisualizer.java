@@ -0,0 +1,107 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.gui.mips.simulator.cache;
+
+import javafx.application.Platform;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.layout.AnchorPane;
+import net.jamsimulator.jams.gui.util.AnchorUtils;
+import net.jamsimulator.jams.language.Messages;
+import net.jamsimulator.jams.language.wrapper.LanguageChartSeries;
+
+import java.util.ArrayList;
+
+/**
+ * Sets tab of the cache visualizer.
+ * <p>
+ * Shows a histogram with the accesses and misses of each set of the selected cache.
+ * Caches with many sets are grouped into ranges of consecutive sets.
+ */
+public class CacheSetsVisualizer extends AnchorPane {
+
+    /**
+     * The maximum amount of bars shown for each series.
+     */
+    public static final int MAX_BARS = 32;
+
+    private final CacheVisualizer visualizer;
+
+    private final XYChart.Series<String, Number> accesses;
+    private final XYChart.Series<String, Number> misses;
+
+    public CacheSetsVisualizer(CacheVisualizer visualizer) {
+        this.visualizer = visualizer;
+        this.accesses = new XYChart.Series<>();
+        this.misses = new XYChart.Series<>();
+
+        getChildren().addAll(
+                new LanguageChartSeries(accesses, Messages.CACHE_SETS_ACCESSES),
+                new LanguageChartSeries(misses, Messages.CACHE_SETS_MISSES));
+
+        var xAxis = new CategoryAxis();
+        var yAxis = new NumberAxis();
+        var chart = new BarChart<>(xAxis, yAxis);
+        chart.setAnimated(false);
+        chart.getData().add(accesses);
+        chart.getData().add(misses);
+        AnchorUtils.setAnchor(chart, 0, 0, 0, 0);
+        getChildren().add(chart);
+
+        refresh();
+    }
+
+    /**
+     * Refreshes the data of the sets' visualizer.
+     */
+    void refresh() {
+        Platform.runLater(() -> {
+            var stats = visualizer.getSelectedCache().getStats();
+            var sets = stats.sets();
+            var setsPerBar = Math.max(1, (sets + MAX_BARS - 1) / MAX_BARS);
+
+            var accessesData = new ArrayList<XYChart.Data<String, Number>>();
+            var missesData = new ArrayList<XYChart.Data<String, Number>>();
+
+            for (int from = 0; from < sets; from += setsPerBar) {
+                int to = Math.min(sets, from + setsPerBar);
+                long barAccesses = 0, barMisses = 0;
+                for (int set = from; set < to; set++) {
+                    barAccesses += stats.setAccesses()[set];
+                    barMisses += stats.setMisses()[set];
+                }
+                var name = to - from == 1 ? String.valueOf(from) : from + "-" + (to - 1);
+                accessesData.add(new XYChart.Data<>(name, barAccesses));
+                missesData.add(new XYChart.Data<>(name, barMisses));
+            }
+
+            accesses.getData().setAll(accessesData);
+            misses.getData().setAll(missesData);
+        });
+    }
+
+}
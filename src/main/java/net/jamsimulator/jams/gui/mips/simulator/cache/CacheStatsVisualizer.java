@@ -47,7 +47,9 @@ public class CacheStatsVisualizer extends AnchorPane {
     private final PieChart.Data missRate;
 
     private final Button resetButton;
-    private final Label operationsCount, hitsCount, missesCount;
+    private final Label operationsCount, hitsCount, missesCount, replacementPolicyName;
+    private final Label compulsoryCount, capacityCount, conflictCount;
+    private final Label readsCount, readMissesCount, writesCount, writeMissesCount;
 
     public CacheStatsVisualizer(CacheVisualizer visualizer) {
         this.visualizer = visualizer;
@@ -62,13 +64,21 @@ public class CacheStatsVisualizer extends AnchorPane {
         var chart = new PieChart();
         chart.getData().addAll(hitRate, missRate);
         chart.setLegendVisible(false);
-        AnchorUtils.setAnchor(chart, 0, 70, 0, 0);
+        AnchorUtils.setAnchor(chart, 0, 205, 0, 0);
         getChildren().add(chart);
 
         //Stats.
         operationsCount = new Label();
         hitsCount = new Label();
         missesCount = new Label();
+        replacementPolicyName = new Label();
+        compulsoryCount = new Label();
+        capacityCount = new Label();
+        conflictCount = new Label();
+        readsCount = new Label();
+        readMissesCount = new Label();
+        writesCount = new Label();
+        writeMissesCount = new Label();
         loadStats();
 
         //Reset button.
@@ -108,6 +118,14 @@ public class CacheStatsVisualizer extends AnchorPane {
             operationsCount.setText(String.valueOf(stats.operations()));
             hitsCount.setText(String.valueOf(stats.hits()));
             missesCount.setText(String.valueOf(stats.misses()));
+            replacementPolicyName.setText(cache.getReplacementPolicy().map(Enum::name).orElse("-"));
+            compulsoryCount.setText(String.valueOf(stats.compulsoryMisses()));
+            capacityCount.setText(String.valueOf(stats.capacityMisses()));
+            conflictCount.setText(String.valueOf(stats.conflictMisses()));
+            readsCount.setText(String.valueOf(stats.reads()));
+            readMissesCount.setText(String.valueOf(stats.readMisses()));
+            writesCount.setText(String.valueOf(stats.writes()));
+            writeMissesCount.setText(String.valueOf(stats.writeMisses()));
         });
     }
 
@@ -115,28 +133,39 @@ public class CacheStatsVisualizer extends AnchorPane {
      * Loads the stats section of the visualizer.
      */
     private void loadStats() {
-        var operations = new LanguageLabel(Messages.CACHE_STATS_OPERATIONS);
-        var hits = new LanguageLabel(Messages.CACHE_STATS_HITS);
-        var misses = new LanguageLabel(Messages.CACHE_STATS_MISSES);
-
-        var opHBox = new HBox(operations, operationsCount);
-        var hitsHBox = new HBox(hits, hitsCount);
-        var missesHBox = new HBox(misses, missesCount);
-        opHBox.setSpacing(10);
-        hitsHBox.setSpacing(10);
-        missesHBox.setSpacing(10);
-
-        hits.prefWidthProperty().bind(operations.widthProperty());
-        misses.prefWidthProperty().bind(operations.widthProperty());
-
-
-        AnchorUtils.setAnchor(opHBox, -1, 70, 10, 0);
-        AnchorUtils.setAnchor(hitsHBox, -1, 55, 10, 0);
-        AnchorUtils.setAnchor(missesHBox, -1, 40, 10, 0);
+        // The replacement policy label is the widest one: every other name uses its width.
+        var policy = new LanguageLabel(Messages.CACHE_STATS_REPLACEMENT_POLICY);
+
+        //Rows from bottom to top.
+        addStatsRow(new LanguageLabel(Messages.CACHE_STATS_WRITE_MISSES), writeMissesCount, 0, policy);
+        addStatsRow(new LanguageLabel(Messages.CACHE_STATS_WRITES), writesCount, 1, policy);
+        addStatsRow(new LanguageLabel(Messages.CACHE_STATS_READ_MISSES), readMissesCount, 2, policy);
+        addStatsRow(new LanguageLabel(Messages.CACHE_STATS_READS), readsCount, 3, policy);
+        addStatsRow(new LanguageLabel(Messages.CACHE_STATS_CONFLICT_MISSES), conflictCount, 4, policy);
+        addStatsRow(new LanguageLabel(Messages.CACHE_STATS_CAPACITY_MISSES), capacityCount, 5, policy);
+        addStatsRow(new LanguageLabel(Messages.CACHE_STATS_COMPULSORY_MISSES), compulsoryCount, 6, policy);
+        addStatsRow(new LanguageLabel(Messages.CACHE_STATS_MISSES), missesCount, 7, policy);
+        addStatsRow(new LanguageLabel(Messages.CACHE_STATS_HITS), hitsCount, 8, policy);
+        addStatsRow(new LanguageLabel(Messages.CACHE_STATS_OPERATIONS), operationsCount, 9, policy);
+        addStatsRow(policy, replacementPolicyName, 10, null);
+    }
 
-        getChildren().add(opHBox);
-        getChildren().add(hitsHBox);
-        getChildren().add(missesHBox);
+    /**
+     * Adds a row to the stats section of the visualizer.
+     *
+     * @param name      the label with the name of the stat.
+     * @param value     the label with the value of the stat.
+     * @param row       the row, starting from the bottom.
+     * @param reference the label whose width the name label should use, or null.
+     */
+    private void addStatsRow(Label name, Label value, int row, Label reference) {
+        var hBox = new HBox(name, value);
+        hBox.setSpacing(10);
+        if (reference != null) {
+            name.prefWidthProperty().bind(reference.widthProperty());
+        }
+        AnchorUtils.setAnchor(hBox, -1, 40 + row * 15, 10, 0);
+        getChildren().add(hBox);
     }
 
     /**
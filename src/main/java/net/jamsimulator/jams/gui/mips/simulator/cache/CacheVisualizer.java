@@ -52,6 +52,7 @@ public class CacheVisualizer extends AnchorPane {
     private final MIPSSimulation<?> simulation;
     private final ComboBox<Cache> cacheComboBox;
     private final CacheStatsVisualizer statsVisualizer;
+    private final CacheSetsVisualizer setsVisualizer;
     private final CacheLogVisualizer logVisualizer;
 
     /**
@@ -66,6 +67,7 @@ public class CacheVisualizer extends AnchorPane {
         loadCacheComboBox(simulation.getMemory());
 
         statsVisualizer = new CacheStatsVisualizer(this);
+        setsVisualizer = new CacheSetsVisualizer(this);
         logVisualizer = new CacheLogVisualizer(this);
 
         loadTabs();
@@ -127,6 +129,9 @@ public class CacheVisualizer extends AnchorPane {
         statsTab.setClosable(false);
         tabPane.getTabs().add(statsTab);
 
+        var setsTab = new LanguageTab(Messages.CACHE_SETS, setsVisualizer);
+        setsTab.setClosable(false);
+        tabPane.getTabs().add(setsTab);
 
         var logTab = new LanguageTab(Messages.CACHE_LOG, logVisualizer);
         logTab.setClosable(false);
@@ -138,6 +143,7 @@ public class CacheVisualizer extends AnchorPane {
 
     private void refresh() {
         statsVisualizer.refresh();
+        setsVisualizer.refresh();
         logVisualizer.refresh();
     }
 
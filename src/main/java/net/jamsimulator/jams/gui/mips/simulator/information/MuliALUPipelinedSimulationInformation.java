@@ -74,7 +74,7 @@ public class MuliALUPipelinedSimulationInformation extends SingleCycleSimulation
         textWAWs.setReplacements(new String[]{"{WAWS}", String.valueOf(p.getWAWs())});
         textOtherStalls.setReplacements(new String[]{"{STALLS}", String.valueOf(p.getOtherStalls())});
 
-        long total = p.getRAWs() + p.getWAWs() + p.getOtherStalls();
+        long total = p.getRAWs() + p.getWAWs() + p.getOtherStalls() + simulation.getMemoryStallCycles();
         textTotalStalls.setReplacements(new String[]{"{STALLS}", String.valueOf(total)});
     }
 
@@ -33,10 +33,12 @@ import net.jamsimulator.jams.language.Messages;
 import net.jamsimulator.jams.language.wrapper.LanguageLabel;
 import net.jamsimulator.jams.manager.ResourceProvider;
 import net.jamsimulator.jams.mips.architecture.SingleCycleArchitecture;
+import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
 import net.jamsimulator.jams.mips.simulation.Simulation;
 import net.jamsimulator.jams.mips.simulation.event.SimulationResetEvent;
 import net.jamsimulator.jams.mips.simulation.event.SimulationStopEvent;
 import net.jamsimulator.jams.mips.simulation.event.SimulationUndoStepEvent;
+import net.jamsimulator.jams.mips.simulation.event.SimulationUpdateEvent;
 
 public class SingleCycleSimulationInformation extends VBox {
 
@@ -45,6 +47,7 @@ public class SingleCycleSimulationInformation extends VBox {
     protected final LanguageLabel textInsturctions;
     protected final LanguageLabel textExecutionTime;
     protected final LanguageLabel textCPI;
+    protected final LanguageLabel textMemoryStalls;
     protected final LanguageLabel textCyclesPerSecond;
     protected final LanguageLabel textInsturctionsPerSecond;
 
@@ -57,6 +60,7 @@ public class SingleCycleSimulationInformation extends VBox {
         textInsturctions = new LanguageLabel(Messages.SIMULATION_INFORMATION_INSTRUCTIONS);
         textExecutionTime = new LanguageLabel(Messages.SIMULATION_INFORMATION_EXECUTION_TIME);
         textCPI = new LanguageLabel(Messages.SIMULATION_INFORMATION_CPI);
+        textMemoryStalls = new LanguageLabel(Messages.SIMULATION_INFORMATION_MEMORY_STALLS);
         textCyclesPerSecond = new LanguageLabel(Messages.SIMULATION_INFORMATION_CYCLES_PER_SECOND);
         textInsturctionsPerSecond = new LanguageLabel(Messages.SIMULATION_INFORMATION_INSTRUCTIONS_PER_SECOND);
 
@@ -65,6 +69,9 @@ public class SingleCycleSimulationInformation extends VBox {
         getChildren().add(textInsturctions);
         getChildren().add(textExecutionTime);
         getChildren().add(textCPI);
+        if (simulation instanceof MIPSSimulation<?> mips && mips.getMemoryLatencyModel().isPresent()) {
+            getChildren().add(textMemoryStalls);
+        }
         getChildren().add(textCyclesPerSecond);
         getChildren().add(textInsturctionsPerSecond);
 
@@ -86,6 +93,10 @@ public class SingleCycleSimulationInformation extends VBox {
         double cpi = simulation.getCycles() / (double) simulation.getExecutedInstructions();
         textCPI.setReplacements(new String[]{"{CPI}", isValid(cpi) ? "-" : String.format("%.4f", cpi)});
 
+        if (simulation instanceof MIPSSimulation<?> mips) {
+            textMemoryStalls.setReplacements(new String[]{"{STALLS}", String.valueOf(mips.getMemoryStallCycles())});
+        }
+
         double cps = simulation.getCycles() / executionTime;
         double ips = simulation.getExecutedInstructions() / executionTime;
         textCyclesPerSecond.setReplacements(new String[]{"{CPS}", isValid(cps) ? "-" : String.format("%.4f", cps)});
@@ -101,6 +112,14 @@ public class SingleCycleSimulationInformation extends VBox {
         Platform.runLater(this::refreshValues);
     }
 
+    @Listener
+    private void onSimulationUpdate(SimulationUpdateEvent event) {
+        // Updates are published in the JavaFX thread while the simulation is running.
+        var update = event.getUpdate();
+        textCycles.setReplacements(new String[]{"{CYCLES}", String.valueOf(update.getCycles())});
+        textInsturctions.setReplacements(new String[]{"{INSTRUCTIONS}", String.valueOf(update.getExecutedInstructions())});
+    }
+
     @Listener
     private void onSimulationUndo(SimulationUndoStepEvent event) {
         Platform.runLater(this::refreshValues);
@@ -311,6 +311,15 @@ public abstract class MIPSAssembledCodeViewer extends CodeArea {
         }
     }
 
+    @Listener
+    private void onSimulationUpdate(SimulationUpdateEvent event) {
+        int first = kernel ? MIPS32Memory.EXCEPTION_HANDLER : MIPS32Memory.TEXT;
+        int last = kernel ? simulation.getKernelStackBottom() : simulation.getInstructionStackBottom();
+        if (event.getUpdate().isRangeDirty(first, last)) {
+            refreshInstructions();
+        }
+    }
+
     @Listener
     private void onMemoryChange(MemoryWordSetEvent.After event) {
         checkMemoryChange(event.getAddress());
@@ -380,7 +389,7 @@ public abstract class MIPSAssembledCodeViewer extends CodeArea {
                         );
             }
 
-            var code = memory.getWord(current, false, true, true);
+            var code = memory.peekWord(current);
             assembledLines.add(new MIPSAssembledLine(assembledLines.size(), current, code));
 
             var original = originals.getOrDefault(current, "");
@@ -410,10 +419,9 @@ public abstract class MIPSAssembledCodeViewer extends CodeArea {
                                             MIPSAssembledInstructionViewerOrder order,
                                             StringBuilder stringBuilder, EasyStyleSpansBuilder styleBuilder) {
 
-        var optional = simulation.getInstructionSet().getInstructionByInstructionCode(code);
-        if (optional.isPresent()) {
+        var instruction = simulation.getInstructionSet().decode(code);
+        if (instruction != null) {
             var elements = order.getElements();
-            var instruction = optional.get();
 
             for (int i = 0, elementsSize = elements.size(); i < elementsSize; i++) {
                 MIPSAssembledInstructionViewerElement element = elements.get(i);
@@ -93,7 +93,7 @@ public class LabCounter extends VBox {
         hbox.setAlignment(Pos.CENTER);
         hbox.setSpacing(5);
 
-        counter = reset = simulation.getMemory().getByte(address);
+        counter = reset = simulation.getMemory().peekByte(address);
 
         numberEditor.setMin(0);
         numberEditor.setMax(255);
@@ -134,7 +134,7 @@ public class LabSegments extends HBox {
         }
 
         private void refresh() {
-            refresh(memory.getByte(address, false, true, false));
+            refresh(memory.peekByte(address));
         }
 
         private void refresh(byte b) {
@@ -40,6 +40,7 @@ import net.jamsimulator.jams.mips.simulation.event.SimulationCachesResetEvent;
 import net.jamsimulator.jams.mips.simulation.event.SimulationResetEvent;
 import net.jamsimulator.jams.mips.simulation.event.SimulationStartEvent;
 import net.jamsimulator.jams.mips.simulation.event.SimulationStopEvent;
+import net.jamsimulator.jams.mips.simulation.event.SimulationUpdateEvent;
 import net.jamsimulator.jams.utils.NumberRepresentation;
 
 import java.util.HashMap;
@@ -214,6 +215,16 @@ public class SimpleMemoryTable extends TableView<SimpleMemoryEntry> implements M
         entries.values().forEach(SimpleMemoryEntry::refresh);
     }
 
+    @Listener
+    private void onSimulationUpdate(SimulationUpdateEvent event) {
+        var update = event.getUpdate();
+        for (SimpleMemoryEntry entry : getItems()) {
+            if (update.isRangeDirty(entry.getAddress(), entry.getAddress() + 0xF)) {
+                entry.refresh();
+            }
+        }
+    }
+
     @Listener
     private void onMemoryChange(MemoryByteSetEvent.After event) {
         int offset = (event.getAddress() & 0xF) >> 2 << 2;
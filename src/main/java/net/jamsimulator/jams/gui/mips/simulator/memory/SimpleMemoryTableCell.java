@@ -47,8 +47,7 @@ public class SimpleMemoryTableCell extends TextFieldTableCell<SimpleMemoryEntry,
                 if (getTableRow() == null) return object;
                 SimpleMemoryEntry entry = getTableRow().getItem();
                 if (entry == null) return object;
-                int value = entry.getMemory()
-                        .getWord(entry.getAddress() + offset, false, true, true);
+                int value = entry.getMemory().peekWord(entry.getAddress() + offset);
                 return "0x" + StringUtils.addZeros(Integer.toHexString(value), 8);
             }
 
@@ -111,7 +111,22 @@ public class RegisterPropertyWrapper {
         return valueProperty;
     }
 
+    public Register getNextRegister() {
+        return nextRegister;
+    }
+
     public void refresh() {
+        refresh(register.getValue(), nextRegister == null ? 0 : nextRegister.getValue());
+    }
+
+    /**
+     * Refreshes this wrapper using the given values instead of the current values of the registers.
+     * This is used to show the values of a snapshot taken while the simulation is running.
+     *
+     * @param value     the value of the register.
+     * @param nextValue the value of the next register, used by representations that need two registers.
+     */
+    public void refresh(int value, int nextValue) {
         if (identifierProperty != null) {
             if (register.isLocked()) {
                 identifierProperty.setValue(register.getIdentifier() + " \uD83D\uDD12");
@@ -121,11 +136,7 @@ public class RegisterPropertyWrapper {
         }
 
         if (valueProperty != null) {
-            valueProperty.setValue(table.getRepresentation()
-                    .represent(
-                            register.getValue(),
-                            nextRegister == null ? 0 : nextRegister.getValue()
-                    ));
+            valueProperty.setValue(table.getRepresentation().represent(value, nextValue));
         }
     }
 }
@@ -36,6 +36,7 @@ import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
 import net.jamsimulator.jams.mips.simulation.Simulation;
 import net.jamsimulator.jams.mips.simulation.event.SimulationStopEvent;
 import net.jamsimulator.jams.mips.simulation.event.SimulationUndoStepEvent;
+import net.jamsimulator.jams.mips.simulation.event.SimulationUpdateEvent;
 import net.jamsimulator.jams.utils.NumberRepresentation;
 
 import java.util.ArrayList;
@@ -142,4 +143,20 @@ public class RegistersTable extends TableView<RegisterPropertyWrapper> implement
     private void onSimulationUndo(SimulationUndoStepEvent event) {
         refreshRepresentation();
     }
+
+    @Listener
+    private void onSimulationUpdate(SimulationUpdateEvent event) {
+        var update = event.getUpdate();
+        if (!update.hasDirtyRegisters()) return;
+        for (RegisterPropertyWrapper wrapper : registers) {
+            var register = wrapper.getRegister();
+            var next = wrapper.getNextRegister();
+            int slot = register.getRegisters().getRegisterFileSlot(register);
+            int nextSlot = next == null ? -1 : next.getRegisters().getRegisterFileSlot(next);
+            if (slot == -1 || !update.isRegisterDirty(slot) && !update.isRegisterDirty(nextSlot)) continue;
+
+            int nextValue = next == null ? 0 : nextSlot == -1 ? next.getValue() : update.getRegisterValue(nextSlot);
+            wrapper.refresh(update.getRegisterValue(slot), nextValue);
+        }
+    }
 }
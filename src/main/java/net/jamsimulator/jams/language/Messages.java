@@ -91,8 +91,16 @@ public class Messages {
     public static final String SIMULATION_CONFIGURATION_ENABLE_DELAY_SLOTS_TOOLTIP = "SIMULATION_CONFIGURATION_ENABLE_DELAY_SLOTS_TOOLTIP";
     public static final String SIMULATION_CONFIGURATION_ENABLE_UNDO = "SIMULATION_CONFIGURATION_ENABLE_UNDO";
     public static final String SIMULATION_CONFIGURATION_ENABLE_UNDO_TOOLTIP = "SIMULATION_CONFIGURATION_ENABLE_UNDO_TOOLTIP";
+    public static final String SIMULATION_CONFIGURATION_UNDO_MEMORY_BUDGET = "SIMULATION_CONFIGURATION_UNDO_MEMORY_BUDGET";
+    public static final String SIMULATION_CONFIGURATION_UNDO_MEMORY_BUDGET_TOOLTIP = "SIMULATION_CONFIGURATION_UNDO_MEMORY_BUDGET_TOOLTIP";
     public static final String SIMULATION_CONFIGURATION_ALUS = "SIMULATION_CONFIGURATION_ALUS";
     public static final String SIMULATION_CONFIGURATION_ALUS_TOOLTIP = "SIMULATION_CONFIGURATION_ALUS_TOOLTIP";
+    public static final String SIMULATION_CONFIGURATION_MEMORY_LATENCY_ENABLED = "SIMULATION_CONFIGURATION_MEMORY_LATENCY_ENABLED";
+    public static final String SIMULATION_CONFIGURATION_MEMORY_LATENCY_ENABLED_TOOLTIP = "SIMULATION_CONFIGURATION_MEMORY_LATENCY_ENABLED_TOOLTIP";
+    public static final String SIMULATION_CONFIGURATION_MISS_PENALTY = "SIMULATION_CONFIGURATION_MISS_PENALTY";
+    public static final String SIMULATION_CONFIGURATION_MISS_PENALTY_TOOLTIP = "SIMULATION_CONFIGURATION_MISS_PENALTY_TOOLTIP";
+    public static final String SIMULATION_CONFIGURATION_WRITE_BACK_PENALTY = "SIMULATION_CONFIGURATION_WRITE_BACK_PENALTY";
+    public static final String SIMULATION_CONFIGURATION_WRITE_BACK_PENALTY_TOOLTIP = "SIMULATION_CONFIGURATION_WRITE_BACK_PENALTY_TOOLTIP";
     public static final String SIMULATION_CONFIGURATION_SYSTEM_CALLS_TAB = "SIMULATION_CONFIGURATION_SYSTEM_CALLS_TAB";
     public static final String SIMULATION_CONFIGURATION_SYSTEM_CALLS_TAB_PROPERTIES = "SIMULATION_CONFIGURATION_SYSTEM_CALLS_TAB_PROPERTIES";
     public static final String SIMULATION_CONFIGURATION_SYSTEM_CALLS_TAB_LOAD_BUNDLE = "SIMULATION_CONFIGURATION_SYSTEM_CALLS_TAB_LOAD_BUNDLE";
@@ -158,6 +166,17 @@ public class Messages {
     public static final String CACHE_STATS_OPERATIONS = "CACHE_STATS_OPERATIONS";
     public static final String CACHE_STATS_HITS = "CACHE_STATS_HITS";
     public static final String CACHE_STATS_MISSES = "CACHE_STATS_MISSES";
+    public static final String CACHE_STATS_REPLACEMENT_POLICY = "CACHE_STATS_REPLACEMENT_POLICY";
+    public static final String CACHE_STATS_COMPULSORY_MISSES = "CACHE_STATS_COMPULSORY_MISSES";
+    public static final String CACHE_STATS_CAPACITY_MISSES = "CACHE_STATS_CAPACITY_MISSES";
+    public static final String CACHE_STATS_CONFLICT_MISSES = "CACHE_STATS_CONFLICT_MISSES";
+    public static final String CACHE_STATS_READS = "CACHE_STATS_READS";
+    public static final String CACHE_STATS_READ_MISSES = "CACHE_STATS_READ_MISSES";
+    public static final String CACHE_STATS_WRITES = "CACHE_STATS_WRITES";
+    public static final String CACHE_STATS_WRITE_MISSES = "CACHE_STATS_WRITE_MISSES";
+    public static final String CACHE_SETS = "CACHE_SETS";
+    public static final String CACHE_SETS_ACCESSES = "CACHE_SETS_ACCESSES";
+    public static final String CACHE_SETS_MISSES = "CACHE_SETS_MISSES";
     public static final String CACHE_RESET = "CACHE_RESET";
     public static final String CACHE_LOG = "CACHE_LOG";
     public static final String CACHE_LOG_HIT = "CACHE_LOG_HIT";
@@ -174,6 +193,7 @@ public class Messages {
     public static final String SIMULATION_INFORMATION_INSTRUCTIONS = "SIMULATION_INFORMATION_INSTRUCTIONS";
     public static final String SIMULATION_INFORMATION_EXECUTION_TIME = "SIMULATION_INFORMATION_EXECUTION_TIME";
     public static final String SIMULATION_INFORMATION_CPI = "SIMULATION_INFORMATION_CPI";
+    public static final String SIMULATION_INFORMATION_MEMORY_STALLS = "SIMULATION_INFORMATION_MEMORY_STALLS";
     public static final String SIMULATION_INFORMATION_CYCLES_PER_SECOND = "SIMULATION_INFORMATION_CYCLES_PER_SECOND";
     public static final String SIMULATION_INFORMATION_INSTRUCTIONS_PER_SECOND = "SIMULATION_INFORMATION_INSTRUCTIONS_PER_SECOND";
     public static final String SIMULATION_INFORMATION_SECTION_HAZARDS = "SIMULATION_INFORMATION_SECTION_HAZARDS";
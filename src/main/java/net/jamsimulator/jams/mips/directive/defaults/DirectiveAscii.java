@@ -56,10 +56,12 @@ public class DirectiveAscii extends Directive {
                 throw new AssemblerException(line.getIndex(), "." + NAME + " parameter '" + s + "' is not a string.");
             s = StringUtils.parseEscapeCharacters(s.substring(1, s.length() - 1));
 
-            for (char c : s.toCharArray()) {
-                line.getAssembler().getMemory().setByte(data.getCurrent(), (byte) c);
-                data.addCurrent(1);
+            byte[] bytes = new byte[s.length()];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) s.charAt(i);
             }
+            line.getAssembler().getMemory().setBytes(data.getCurrent(), bytes, 0, bytes.length);
+            data.addCurrent(bytes.length);
         }
         return OptionalInt.of(start);
     }
@@ -68,10 +68,12 @@ public class DirectiveByte extends Directive {
         data.align(0);
         int start = data.getCurrent();
 
-        for (String finalParameter : parameters) {
-            line.getAssembler().getMemory().setByte(data.getCurrent(), (byte) NumericUtils.decodeInteger(finalParameter));
-            data.addCurrent(1);
+        byte[] bytes = new byte[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            bytes[i] = (byte) NumericUtils.decodeInteger(parameters[i]);
         }
+        line.getAssembler().getMemory().setBytes(start, bytes, 0, bytes.length);
+        data.addCurrent(bytes.length);
         return OptionalInt.of(start);
     }
 
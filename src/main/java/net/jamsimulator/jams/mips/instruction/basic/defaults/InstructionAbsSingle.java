@@ -104,7 +104,7 @@ public class InstructionAbsSingle extends BasicRFPUInstruction<InstructionAbsSin
 
         @Override
         public void execute() {
-            registerCOP1(instruction.getDestinationRegister()).setValue(
+            setValueCOP1(instruction.getDestinationRegister(),
                     Math.abs(floatCOP1(instruction.getSourceRegister()))
             );
         }
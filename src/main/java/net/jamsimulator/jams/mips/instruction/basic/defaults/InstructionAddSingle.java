@@ -108,7 +108,7 @@ public class InstructionAddSingle extends BasicRFPUInstruction<InstructionAddSin
 
         @Override
         public void execute() {
-            registerCOP1(instruction.getDestinationRegister()).setValue(
+            setValueCOP1(instruction.getDestinationRegister(),
                     floatCOP1(instruction.getSourceRegister()) + floatCOP1(instruction.getTargetRegister())
             );
         }
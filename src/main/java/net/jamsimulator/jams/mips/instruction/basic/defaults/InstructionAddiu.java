@@ -102,7 +102,7 @@ public class InstructionAddiu extends BasicInstruction<InstructionAddiu.Assemble
 
         @Override
         public void execute() {
-            register(instruction.getTargetRegister()).setValue(
+            setValue(instruction.getTargetRegister(),
                     value(instruction.getSourceRegister()) + instruction.getImmediateAsSigned()
             );
         }
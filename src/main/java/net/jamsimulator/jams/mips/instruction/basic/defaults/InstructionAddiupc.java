@@ -96,8 +96,7 @@ public class InstructionAddiupc extends BasicPCREL19Instruction<InstructionAddiu
 
         @Override
         public void execute() {
-            register(instruction.getSourceRegister())
-                    .setValue(getAddress() + 4 + (instruction.getImmediateAsSigned() << 2));
+            setValue(instruction.getSourceRegister(), getAddress() + 4 + (instruction.getImmediateAsSigned() << 2));
         }
     }
 
@@ -112,7 +112,7 @@ public class InstructionAddu extends BasicRInstruction<InstructionAddu.Assembled
 
         @Override
         public void execute() {
-            register(instruction.getDestinationRegister()).setValue(
+            setValue(instruction.getDestinationRegister(),
                     value(instruction.getTargetRegister()) + value(instruction.getSourceRegister())
             );
         }
@@ -140,7 +140,7 @@ public class InstructionAlign extends BasicRInstruction<InstructionAlign.Assembl
             int bp = instruction.getShiftAmount();
             int tmpRtHi = value(instruction.getTargetRegister()) << (bp << 3);
             int tmpRsLo = value(instruction.getSourceRegister()) >>> ((4 - bp) << 3);
-            register(instruction.getDestinationRegister()).setValue(tmpRtHi | tmpRsLo);
+            setValue(instruction.getDestinationRegister(), tmpRtHi | tmpRsLo);
         }
     }
 
@@ -95,8 +95,7 @@ public class InstructionAluipc extends BasicPCREL16Instruction<InstructionAluipc
 
         @Override
         public void execute() {
-            register(instruction.getSourceRegister())
-                    .setValue(~0x0FFFF & (getAddress() + 4 + (instruction.getImmediate() << 16)));
+            setValue(instruction.getSourceRegister(), ~0x0FFFF & (getAddress() + 4 + (instruction.getImmediate() << 16)));
         }
     }
 
@@ -112,7 +112,7 @@ public class InstructionAnd extends BasicRInstruction<InstructionAnd.Assembled>
 
         @Override
         public void execute() {
-            register(instruction.getDestinationRegister()).setValue(
+            setValue(instruction.getDestinationRegister(),
                     value(instruction.getSourceRegister()) & value(instruction.getTargetRegister())
             );
         }
@@ -101,7 +101,7 @@ public class InstructionAndi extends BasicInstruction<InstructionAndi.Assembled>
 
         @Override
         public void execute() {
-            register(instruction.getTargetRegister()).setValue(
+            setValue(instruction.getTargetRegister(),
                     value(instruction.getSourceRegister()) & instruction.getImmediate()
             );
         }
@@ -102,8 +102,7 @@ public class InstructionAui extends BasicInstruction<InstructionAui.Assembled> {
 
         @Override
         public void execute() {
-            register(instruction.getTargetRegister())
-                    .setValue(value(instruction.getSourceRegister()) + (instruction.getImmediate() << 16));
+            setValue(instruction.getTargetRegister(), value(instruction.getSourceRegister()) + (instruction.getImmediate() << 16));
         }
     }
 
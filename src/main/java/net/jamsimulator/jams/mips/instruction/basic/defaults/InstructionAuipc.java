@@ -95,7 +95,7 @@ public class InstructionAuipc extends BasicPCREL16Instruction<InstructionAuipc.A
 
         @Override
         public void execute() {
-            register(instruction.getSourceRegister()).setValue(getAddress() + 4 + (instruction.getImmediate() << 16));
+            setValue(instruction.getSourceRegister(), getAddress() + 4 + (instruction.getImmediate() << 16));
         }
     }
 
@@ -99,7 +99,7 @@ public class InstructionBal extends BasicRIInstruction<InstructionBal.Assembled>
         @Override
         public void execute() {
             var pc = pc();
-            register(31).setValue(pc.getValue());
+            setValue(31, pc.getValue());
             pc.setValue(pc.getValue() + (instruction.getImmediateAsSigned() << 2));
         }
     }
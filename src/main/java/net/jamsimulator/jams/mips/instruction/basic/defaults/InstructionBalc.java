@@ -97,7 +97,7 @@ public class InstructionBalc extends BasicInstruction<InstructionBalc.Assembled>
         @Override
         public void execute() {
             var pc = pc();
-            register(31).setValue(pc.getValue());
+            setValue(31, pc.getValue());
             pc.setValue(pc.getValue() + (instruction.getImmediateAsSigned() << 2));
         }
     }
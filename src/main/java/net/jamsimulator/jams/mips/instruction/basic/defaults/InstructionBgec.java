@@ -108,8 +108,8 @@ public class InstructionBgec extends BasicInstruction<InstructionBgec.Assembled>
 
         @Override
         public void execute() {
-            if (value(instruction.getSourceRegister()) < valueCOP0(instruction.getTargetRegister())) return;
-            pc().setValue(getAddress() + 4 + (instruction.getImmediateAsSigned() << 2));
+            if (value(instruction.getSourceRegister()) < value(instruction.getTargetRegister())) return;
+            setProgramCounterValue(getAddress() + 4 + (instruction.getImmediateAsSigned() << 2));
         }
     }
 
@@ -109,7 +109,7 @@ public class InstructionBgezalc extends BasicInstruction<InstructionBgezalc.Asse
         public void execute() {
             if (value(instruction.getTargetRegister()) < 0) return;
             var pc = pc();
-            register(31).setValue(pc.getValue());
+            setValue(31, pc.getValue());
             pc.setValue(pc.getValue() + (instruction.getImmediateAsSigned() << 2));
         }
     }
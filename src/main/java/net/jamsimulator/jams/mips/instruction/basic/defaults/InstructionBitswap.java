@@ -121,8 +121,7 @@ public class InstructionBitswap extends BasicRInstruction<InstructionBitswap.Ass
 
         @Override
         public void execute() {
-            register(instruction.getDestinationRegister())
-                    .setValue(NumericUtils.swapBits(value(instruction.getTargetRegister())));
+            setValue(instruction.getDestinationRegister(), NumericUtils.swapBits(value(instruction.getTargetRegister())));
         }
     }
 
@@ -108,7 +108,7 @@ public class InstructionBltzalc extends BasicInstruction<InstructionBltzalc.Asse
         public void execute() {
             if (value(instruction.getTargetRegister()) >= 0) return;
             var pc = pc();
-            register(31).setValue(pc.getValue());
+            setValue(31, pc.getValue());
             pc.setValue(pc.getValue() + (instruction.getImmediateAsSigned() << 2));
         }
     }
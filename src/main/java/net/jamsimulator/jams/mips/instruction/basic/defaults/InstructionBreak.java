@@ -35,7 +35,6 @@ import net.jamsimulator.jams.mips.instruction.basic.BasicInstruction;
 import net.jamsimulator.jams.mips.instruction.basic.BasicRInstruction;
 import net.jamsimulator.jams.mips.instruction.execution.MultiCycleExecution;
 import net.jamsimulator.jams.mips.instruction.execution.SingleCycleExecution;
-import net.jamsimulator.jams.mips.interrupt.InterruptCause;
 import net.jamsimulator.jams.mips.interrupt.MIPSInterruptException;
 import net.jamsimulator.jams.mips.parameter.InstructionParameterTypes;
 import net.jamsimulator.jams.mips.parameter.parse.ParameterParseResult;
@@ -100,7 +99,7 @@ public class InstructionBreak extends BasicRInstruction<InstructionBreak.Assembl
 
         @Override
         public void execute() {
-            throw new MIPSInterruptException(InterruptCause.BREAKPOINT_EXCEPTION);
+            throw MIPSInterruptException.BREAKPOINT;
         }
     }
 
@@ -116,7 +115,7 @@ public class InstructionBreak extends BasicRInstruction<InstructionBreak.Assembl
 
         @Override
         public void execute() {
-            throw new MIPSInterruptException(InterruptCause.BREAKPOINT_EXCEPTION);
+            throw MIPSInterruptException.BREAKPOINT;
         }
 
         @Override
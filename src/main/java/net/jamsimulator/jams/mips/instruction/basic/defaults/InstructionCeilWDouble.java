@@ -106,7 +106,7 @@ public class InstructionCeilWDouble extends BasicRFPUInstruction<InstructionCeil
             int s = instruction.getSourceRegister();
             int d = instruction.getDestinationRegister();
             checkEvenRegister(s);
-            registerCOP1(d).setValue((int) Math.ceil(doubleCOP1(s)));
+            setValueCOP1(d, (int) Math.ceil(doubleCOP1(s)));
         }
     }
 
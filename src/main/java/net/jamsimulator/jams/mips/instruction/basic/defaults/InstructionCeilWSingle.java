@@ -103,8 +103,7 @@ public class InstructionCeilWSingle extends BasicRFPUInstruction<InstructionCeil
 
         @Override
         public void execute() {
-            registerCOP1(instruction.getDestinationRegister())
-                    .setValue((int) Math.ceil(floatCOP1(instruction.getSourceRegister())));
+            setValueCOP1(instruction.getDestinationRegister(), (int) Math.ceil(floatCOP1(instruction.getSourceRegister())));
         }
     }
 
@@ -109,8 +109,8 @@ public class InstructionClassDouble extends BasicRFPUInstruction<InstructionClas
             checkEvenRegister(s, d);
 
             long val = mask(doubleCOP1(s));
-            registerCOP1(d).setValue((int) val);
-            registerCOP1(d + 1).setValue((int) (val >> 32));
+            setValueCOP1(d, (int) val);
+            setValueCOP1(d + 1, (int) (val >> 32));
         }
     }
 
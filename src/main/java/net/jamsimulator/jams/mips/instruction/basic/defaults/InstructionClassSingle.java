@@ -104,8 +104,7 @@ public class InstructionClassSingle extends BasicRFPUInstruction<InstructionClas
 
         @Override
         public void execute() {
-            registerCOP1(instruction.getDestinationRegister())
-                    .setValue(mask(floatCOP1(instruction.getSourceRegister())));
+            setValueCOP1(instruction.getDestinationRegister(), mask(floatCOP1(instruction.getSourceRegister())));
         }
     }
 
@@ -103,8 +103,7 @@ public class InstructionClo extends BasicRInstruction<InstructionClo.Assembled>
 
         @Override
         public void execute() {
-            register(instruction.getDestinationRegister())
-                    .setValue(Integer.numberOfLeadingZeros(~value(instruction.getSourceRegister())));
+            setValue(instruction.getDestinationRegister(), Integer.numberOfLeadingZeros(~value(instruction.getSourceRegister())));
         }
     }
 
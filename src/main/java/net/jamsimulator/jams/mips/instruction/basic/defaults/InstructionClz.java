@@ -103,8 +103,7 @@ public class InstructionClz extends BasicRInstruction<InstructionClz.Assembled>
 
         @Override
         public void execute() {
-            register(instruction.getDestinationRegister())
-                    .setValue(Integer.numberOfLeadingZeros(value(instruction.getSourceRegister())));
+            setValue(instruction.getDestinationRegister(), Integer.numberOfLeadingZeros(value(instruction.getSourceRegister())));
         }
     }
 
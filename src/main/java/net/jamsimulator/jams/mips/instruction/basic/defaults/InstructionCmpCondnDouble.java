@@ -169,8 +169,8 @@ public class InstructionCmpCondnDouble extends BasicRFPUInstruction<InstructionC
 
             boolean condition = checkCondition(fs, ft, instruction);
 
-            registerCOP1(instruction.getDestinationRegister()).setValue(condition ? 0xFFFFFFFF : 0);
-            registerCOP1(instruction.getDestinationRegister() + 1).setValue(condition ? 0xFFFFFFFF : 0);
+            setValueCOP1(instruction.getDestinationRegister(), condition ? 0xFFFFFFFF : 0);
+            setValueCOP1(instruction.getDestinationRegister() + 1, condition ? 0xFFFFFFFF : 0);
         }
     }
 
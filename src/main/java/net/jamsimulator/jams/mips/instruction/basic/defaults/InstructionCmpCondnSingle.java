@@ -180,7 +180,7 @@ public class InstructionCmpCondnSingle extends BasicRFPUInstruction<InstructionC
 
             boolean condition = instruction.cond4() ^ ((instruction.cond2() && less)
                     || (instruction.cond1() && equal) || (instruction.cond0() && unordered));
-            registerCOP1(instruction.getDestinationRegister()).setValue(condition ? 0xFFFFFFFF : 0);
+            setValueCOP1(instruction.getDestinationRegister(), condition ? 0xFFFFFFFF : 0);
         }
     }
 
@@ -114,7 +114,7 @@ public class InstructionDi extends BasicIFPUInstruction<InstructionDi.Assembled>
         @Override
         public void execute() {
             var status = (COP0Register) registerCOP0(12);
-            register(instruction.getTargetRegister()).setValue(status.getValue());
+            setValue(instruction.getTargetRegister(), status.getValue());
             status.modifyBits(0, COP0RegistersBits.STATUS_IE, 1);
         }
     }
@@ -116,7 +116,7 @@ public class InstructionDivSingle extends BasicRFPUInstruction<InstructionDivSin
         public void execute() {
             float target = floatCOP1(instruction.getTargetRegister());
             if (target == 0.0) error(InterruptCause.FLOATING_POINT_EXCEPTION);
-            registerCOP1(instruction.getDestinationRegister()).setValue(
+            setValueCOP1(instruction.getDestinationRegister(),
                     floatCOP1(instruction.getSourceRegister()) / target
             );
         }
@@ -114,7 +114,7 @@ public class InstructionEi extends BasicIFPUInstruction<InstructionEi.Assembled>
         @Override
         public void execute() {
             var status = (COP0Register) registerCOP0(12);
-            register(instruction.getTargetRegister()).setValue(status.getValue());
+            setValue(instruction.getTargetRegister(), status.getValue());
             status.modifyBits(1, COP0RegistersBits.STATUS_IE, 1);
         }
     }
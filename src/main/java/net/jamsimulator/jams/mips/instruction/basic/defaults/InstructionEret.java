@@ -116,7 +116,7 @@ public class InstructionEret extends BasicRInstruction<InstructionEret.Assembled
                 status.modifyBits(0, COP0RegistersBits.STATUS_EXL, 1);
             }
             status.modifyBits(0, COP0RegistersBits.STATUS_IPL, 6);
-            pc().setValue(temp);
+            setProgramCounterValue(temp);
         }
     }
 
@@ -125,8 +125,7 @@ public class InstructionExt extends BasicRInstruction<InstructionExt.Assembled>
             int size = instruction.getDestinationRegister() + 1;
             int pos = instruction.getShiftAmount();
 
-            register(instruction.getTargetRegister())
-                    .setValue( (value >> pos) & (1 << size) - 1);
+            setValue(instruction.getTargetRegister(), (value >> pos) & (1 << size) - 1);
         }
     }
 
@@ -106,7 +106,7 @@ public class InstructionFloorWDouble extends BasicRFPUInstruction<InstructionFlo
             int s = instruction.getSourceRegister();
             int d = instruction.getDestinationRegister();
             checkEvenRegister(s);
-            registerCOP1(d).setValue((int) Math.floor(doubleCOP1(s)));
+            setValueCOP1(d, (int) Math.floor(doubleCOP1(s)));
         }
     }
 
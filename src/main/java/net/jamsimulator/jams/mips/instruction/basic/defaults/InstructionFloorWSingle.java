@@ -103,8 +103,7 @@ public class InstructionFloorWSingle extends BasicRFPUInstruction<InstructionFlo
 
         @Override
         public void execute() {
-            registerCOP1(instruction.getDestinationRegister())
-                    .setValue((int) Math.floor(floatCOP1(instruction.getSourceRegister())));
+            setValueCOP1(instruction.getDestinationRegister(), (int) Math.floor(floatCOP1(instruction.getSourceRegister())));
         }
     }
 
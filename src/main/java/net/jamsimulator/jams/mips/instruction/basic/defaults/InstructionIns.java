@@ -121,8 +121,7 @@ public class InstructionIns extends BasicRInstruction<InstructionIns.Assembled>
             int pos = instruction.getShiftAmount();
             int size = instruction.getDestinationRegister() - pos + 1;
             int mask = ((1 << size) - 1) << pos;
-            register(instruction.getTargetRegister())
-                    .setValue(((rs << pos) & mask) | (rt & ~mask));
+            setValue(instruction.getTargetRegister(), ((rs << pos) & mask) | (rt & ~mask));
         }
     }
 
@@ -97,7 +97,7 @@ public class InstructionJ extends BasicInstruction<InstructionJ.Assembled> imple
 
         @Override
         public void execute() {
-            pc().setValue(instruction.getAbsoluteAddress(getAddress() + 4));
+            setProgramCounterValue(instruction.getAbsoluteAddress(getAddress() + 4));
         }
     }
 
@@ -97,8 +97,8 @@ public class InstructionJal extends BasicInstruction<InstructionJal.Assembled> i
 
         @Override
         public void execute() {
-            register(31).setValue(getAddress() + 4);
-            pc().setValue(instruction.getAbsoluteAddress(getAddress() + 4));
+            setValue(31, getAddress() + 4);
+            setProgramCounterValue(instruction.getAbsoluteAddress(getAddress() + 4));
         }
     }
 
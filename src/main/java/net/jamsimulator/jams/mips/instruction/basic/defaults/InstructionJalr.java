@@ -110,8 +110,8 @@ public class InstructionJalr extends BasicRInstruction<InstructionJalr.Assembled
 
         @Override
         public void execute() {
-            pc().setValue(value(instruction.getSourceRegister()));
-            register(instruction.getDestinationRegister()).setValue(getAddress() + 4);
+            setProgramCounterValue(value(instruction.getSourceRegister()));
+            setValue(instruction.getDestinationRegister(), getAddress() + 4);
         }
     }
 
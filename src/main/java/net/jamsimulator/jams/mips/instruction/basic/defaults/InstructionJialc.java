@@ -105,8 +105,8 @@ public class InstructionJialc extends BasicInstruction<InstructionJialc.Assemble
 
         @Override
         public void execute() {
-            register(31).setValue(getAddress() + 4);
-            pc().setValue(value(instruction.getTargetRegister()) + getInstruction().getImmediateAsSigned());
+            setValue(31, getAddress() + 4);
+            setProgramCounterValue(value(instruction.getTargetRegister()) + getInstruction().getImmediateAsSigned());
         }
     }
 
@@ -105,7 +105,7 @@ public class InstructionJic extends BasicInstruction<InstructionJic.Assembled> i
 
         @Override
         public void execute() {
-            pc().setValue(value(instruction.getTargetRegister()) + getInstruction().getImmediateAsSigned());
+            setProgramCounterValue(value(instruction.getTargetRegister()) + getInstruction().getImmediateAsSigned());
         }
     }
 
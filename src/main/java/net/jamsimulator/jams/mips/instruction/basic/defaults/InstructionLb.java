@@ -109,7 +109,7 @@ public class InstructionLb extends BasicInstruction<InstructionLb.Assembled> imp
         public void execute() {
             int address = value(instruction.getSourceRegister()) + instruction.getImmediateAsSigned();
             int word = simulation.getMemory().getByte(address);
-            register(instruction.getTargetRegister()).setValue(word);
+            setValue(instruction.getTargetRegister(), word);
         }
     }
 
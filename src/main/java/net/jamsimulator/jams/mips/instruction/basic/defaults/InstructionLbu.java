@@ -109,7 +109,7 @@ public class InstructionLbu extends BasicInstruction<InstructionLbu.Assembled> i
         public void execute() {
             int address = value(instruction.getSourceRegister()) + instruction.getImmediateAsSigned();
             int word = simulation.getMemory().getByte(address) & 0xFF;
-            register(instruction.getTargetRegister()).setValue(word);
+            setValue(instruction.getTargetRegister(), word);
         }
     }
 
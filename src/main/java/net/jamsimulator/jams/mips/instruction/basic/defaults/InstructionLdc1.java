@@ -108,8 +108,8 @@ public class InstructionLdc1 extends BasicInstruction<InstructionLdc1.Assembled>
             int address = value(instruction.getSourceRegister()) + instruction.getImmediateAsSigned();
             int low = simulation.getMemory().getWord(address);
             int high = simulation.getMemory().getWord(address + 4);
-            registerCOP1(t).setValue(low);
-            registerCOP1(t + 1).setValue(high);
+            setValueCOP1(t, low);
+            setValueCOP1(t + 1, high);
         }
     }
 
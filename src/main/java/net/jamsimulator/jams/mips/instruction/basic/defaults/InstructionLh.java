@@ -109,7 +109,7 @@ public class InstructionLh extends BasicInstruction<InstructionLh.Assembled> imp
         public void execute() {
             int address = value(instruction.getSourceRegister()) + instruction.getImmediateAsSigned();
             short word = simulation.getMemory().getHalfword(address);
-            register(instruction.getTargetRegister()).setValue(word);
+            setValue(instruction.getTargetRegister(), word);
         }
     }
 
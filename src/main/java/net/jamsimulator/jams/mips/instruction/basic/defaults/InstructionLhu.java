@@ -109,7 +109,7 @@ public class InstructionLhu extends BasicInstruction<InstructionLhu.Assembled> i
         public void execute() {
             int address = value(instruction.getSourceRegister()) + instruction.getImmediateAsSigned();
             int word = simulation.getMemory().getHalfword(address) & 0xFFFF;
-            register(instruction.getTargetRegister()).setValue(word);
+            setValue(instruction.getTargetRegister(), word);
         }
     }
 
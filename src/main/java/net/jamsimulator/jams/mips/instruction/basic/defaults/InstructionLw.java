@@ -103,7 +103,7 @@ public class InstructionLw extends BasicInstruction<InstructionLw.Assembled> imp
         public void execute() {
             int address = value(instruction.getSourceRegister()) + instruction.getImmediateAsSigned();
             int word = simulation.getMemory().getWord(address);
-            register(instruction.getTargetRegister()).setValue(word);
+            setValue(instruction.getTargetRegister(), word);
         }
     }
 
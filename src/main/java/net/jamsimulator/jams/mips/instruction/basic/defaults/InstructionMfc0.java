@@ -106,9 +106,9 @@ public class InstructionMfc0 extends BasicIFPUInstruction<InstructionMfc0.Assemb
         public void execute() {
             try {
                 var register = registerCOP0(instruction.getDestinationRegister(), instruction.getImmediate());
-                register(instruction.getTargetRegister()).setValue(register.getValue());
+                setValue(instruction.getTargetRegister(), register.getValue());
             } catch (ArrayIndexOutOfBoundsException ex) {
-                register(instruction.getTargetRegister()).setValue(0);
+                setValue(instruction.getTargetRegister(), 0);
             }
         }
     }
@@ -94,7 +94,7 @@ public class InstructionMfc1 extends BasicIFPUInstruction<InstructionMfc1.Assemb
 
         @Override
         public void execute() {
-            register(instruction.getTargetRegister()).setValue(valueCOP1(instruction.getDestinationRegister()));
+            setValue(instruction.getTargetRegister(), valueCOP1(instruction.getDestinationRegister()));
         }
     }
 
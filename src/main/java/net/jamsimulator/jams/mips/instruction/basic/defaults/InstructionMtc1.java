@@ -95,7 +95,7 @@ public class InstructionMtc1 extends BasicIFPUInstruction<InstructionMtc1.Assemb
 
         @Override
         public void execute() {
-            registerCOP1(instruction.getDestinationRegister()).setValue(value(instruction.getTargetRegister()));
+            setValueCOP1(instruction.getDestinationRegister(), value(instruction.getTargetRegister()));
         }
     }
 
@@ -114,7 +114,7 @@ public class InstructionMuh extends BasicRSOPInstruction<InstructionMuh.Assemble
         @Override
         public void execute() {
             long l = (long) value(instruction.getSourceRegister()) * value(instruction.getTargetRegister());
-            register(instruction.getDestinationRegister()).setValue((int) (l >> 32));
+            setValue(instruction.getDestinationRegister(), (int) (l >> 32));
         }
     }
 
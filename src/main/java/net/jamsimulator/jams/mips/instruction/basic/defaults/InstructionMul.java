@@ -113,8 +113,7 @@ public class InstructionMul extends BasicRSOPInstruction<InstructionMul.Assemble
 
         @Override
         public void execute() {
-            register(instruction.getDestinationRegister())
-                    .setValue(value(instruction.getSourceRegister()) * value(instruction.getTargetRegister()));
+            setValue(instruction.getDestinationRegister(), value(instruction.getSourceRegister()) * value(instruction.getTargetRegister()));
         }
     }
 
@@ -112,7 +112,7 @@ public class InstructionMulSingle extends BasicRFPUInstruction<InstructionMulSin
 
         @Override
         public void execute() {
-            registerCOP1(instruction.getDestinationRegister()).setValue(
+            setValueCOP1(instruction.getDestinationRegister(),
                     floatCOP1(instruction.getSourceRegister()) * floatCOP1(instruction.getTargetRegister())
             );
         }
@@ -113,8 +113,7 @@ public class InstructionMulu extends BasicRSOPInstruction<InstructionMulu.Assemb
 
         @Override
         public void execute() {
-            register(instruction.getDestinationRegister())
-                    .setValue(value(instruction.getSourceRegister()) * value(instruction.getTargetRegister()));
+            setValue(instruction.getDestinationRegister(), value(instruction.getSourceRegister()) * value(instruction.getTargetRegister()));
         }
     }
 
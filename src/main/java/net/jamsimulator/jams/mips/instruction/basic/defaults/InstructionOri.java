@@ -102,8 +102,7 @@ public class InstructionOri extends BasicInstruction<InstructionOri.Assembled> {
 
         @Override
         public void execute() {
-            register(instruction.getTargetRegister())
-                    .setValue(value(instruction.getSourceRegister()) | instruction.getImmediate());
+            setValue(instruction.getTargetRegister(), value(instruction.getSourceRegister()) | instruction.getImmediate());
         }
     }
 
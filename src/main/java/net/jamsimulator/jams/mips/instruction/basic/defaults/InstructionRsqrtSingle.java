@@ -114,7 +114,7 @@ public class InstructionRsqrtSingle extends BasicRFPUInstruction<InstructionRsqr
             i = 0x5F3759DF - (i >> 1); // what the fuck?
             float y = Float.intBitsToFloat(i);
             y = y * (threehalfs - (x2 * y * y));
-            registerCOP1(instruction.getDestinationRegister()).setValue(y);
+            setValueCOP1(instruction.getDestinationRegister(), y);
         }
     }
 
@@ -112,8 +112,7 @@ public class InstructionSll extends BasicRInstruction<InstructionSll.Assembled>
 
         @Override
         public void execute() {
-            register(instruction.getDestinationRegister())
-                    .setValue(value(instruction.getTargetRegister()) << instruction.getShiftAmount());
+            setValue(instruction.getDestinationRegister(), value(instruction.getTargetRegister()) << instruction.getShiftAmount());
         }
     }
 
@@ -113,8 +113,7 @@ public class InstructionSllv extends BasicRInstruction<InstructionSllv.Assembled
 
         @Override
         public void execute() {
-            register(instruction.getDestinationRegister())
-                    .setValue(value(instruction.getTargetRegister()) << value(instruction.getSourceRegister()));
+            setValue(instruction.getDestinationRegister(), value(instruction.getTargetRegister()) << value(instruction.getSourceRegister()));
         }
     }
 
@@ -112,8 +112,7 @@ public class InstructionSlt extends BasicRInstruction<InstructionSlt.Assembled>
 
         @Override
         public void execute() {
-            register(instruction.getDestinationRegister())
-                    .setValue(value(instruction.getSourceRegister()) < value(instruction.getTargetRegister()) ? 1 : 0);
+            setValue(instruction.getDestinationRegister(), value(instruction.getSourceRegister()) < value(instruction.getTargetRegister()) ? 1 : 0);
         }
     }
 
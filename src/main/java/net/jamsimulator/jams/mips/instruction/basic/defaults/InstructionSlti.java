@@ -109,8 +109,7 @@ public class InstructionSlti extends BasicInstruction<InstructionSlti.Assembled>
 
         @Override
         public void execute() {
-            register(instruction.getTargetRegister())
-                    .setValue(value(instruction.getSourceRegister()) < instruction.getImmediateAsSigned() ? 1 : 0);
+            setValue(instruction.getTargetRegister(), value(instruction.getSourceRegister()) < instruction.getImmediateAsSigned() ? 1 : 0);
         }
     }
 
@@ -103,9 +103,8 @@ public class InstructionSltiu extends BasicInstruction<InstructionSltiu.Assemble
 
         @Override
         public void execute() {
-            register(instruction.getSourceRegister())
-                    .setValue(Integer.compareUnsigned(value(instruction.getSourceRegister()),
-                            instruction.getImmediateAsSigned()) < 0 ? 1 : 0);
+            setValue(instruction.getTargetRegister(), Integer.compareUnsigned(value(instruction.getSourceRegister()),
+                    instruction.getImmediateAsSigned()) < 0 ? 1 : 0);
         }
     }
 
@@ -114,7 +114,7 @@ public class InstructionSltu extends BasicRInstruction<InstructionSltu.Assembled
         public void execute() {
             int rs = value(instruction.getSourceRegister());
             int rt = value(instruction.getTargetRegister());
-            register(instruction.getDestinationRegister()).setValue(Integer.compareUnsigned(rs, rt) < 0 ? 1 : 0);
+            setValue(instruction.getDestinationRegister(), Integer.compareUnsigned(rs, rt) < 0 ? 1 : 0);
         }
     }
 
@@ -116,7 +116,7 @@ public class InstructionSub extends BasicRInstruction<InstructionSub.Assembled>
             try {
                 int value = Math.subtractExact(value(instruction.getSourceRegister()),
                         value(instruction.getTargetRegister()));
-                register(instruction.getDestinationRegister()).setValue(value);
+                setValue(instruction.getDestinationRegister(), value);
             } catch (ArithmeticException ex) {
                 error(InterruptCause.ARITHMETIC_OVERFLOW_EXCEPTION, ex);
             }
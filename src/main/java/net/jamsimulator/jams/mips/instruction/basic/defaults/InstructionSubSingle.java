@@ -113,7 +113,7 @@ public class InstructionSubSingle extends BasicRFPUInstruction<InstructionSubSin
 
         @Override
         public void execute() {
-            registerCOP1(instruction.getDestinationRegister()).setValue(
+            setValueCOP1(instruction.getDestinationRegister(),
                     floatCOP1(instruction.getSourceRegister()) - floatCOP1(instruction.getTargetRegister())
             );
         }
@@ -149,6 +149,17 @@ public abstract class InstructionExecution<Arch extends Architecture, Inst exten
         return simulation.getRegisters().getProgramCounter();
     }
 
+    /**
+     * Sets the value of the program counter of the simulation.
+     * <p>
+     * When event calls are disabled, the value is written directly into the register file.
+     *
+     * @param value the new value.
+     */
+    protected void setProgramCounterValue(int value) {
+        registers.setProgramCounterValue(value);
+    }
+
     /**
      * Returns the register that matches the given identifier.
      *
@@ -168,7 +179,19 @@ public abstract class InstructionExecution<Arch extends Architecture, Inst exten
      * @throws MIPSInterruptException if the register is not present.
      */
     protected int value(int identifier) {
-        return registers.getRegisterUnchecked(identifier).getValue();
+        return registers.getValueUnchecked(identifier);
+    }
+
+    /**
+     * Sets the value of the register that matches the given identifier.
+     * <p>
+     * When event calls are disabled, the value is written directly into the register file.
+     *
+     * @param identifier the identifier.
+     * @param value      the new value.
+     */
+    protected void setValue(int identifier, int value) {
+        registers.setValueUnchecked(identifier, value);
     }
 
     /**
@@ -236,7 +259,29 @@ public abstract class InstructionExecution<Arch extends Architecture, Inst exten
      * @throws MIPSInterruptException if the register is not present.
      */
     protected int valueCOP1(int identifier) {
-        return registers.getCoprocessor1RegisterUnchecked(identifier).getValue();
+        return registers.getCoprocessor1ValueUnchecked(identifier);
+    }
+
+    /**
+     * Sets the value of the COP1 register that matches the given identifier.
+     * <p>
+     * When event calls are disabled, the value is written directly into the register file.
+     *
+     * @param identifier the identifier.
+     * @param value      the new value.
+     */
+    protected void setValueCOP1(int identifier, int value) {
+        registers.setCoprocessor1ValueUnchecked(identifier, value);
+    }
+
+    /**
+     * Sets the float value of the COP1 register that matches the given identifier.
+     *
+     * @param identifier the identifier.
+     * @param value      the new value.
+     */
+    protected void setValueCOP1(int identifier, float value) {
+        registers.setCoprocessor1ValueUnchecked(identifier, Float.floatToIntBits(value));
     }
 
     /**
@@ -35,13 +35,15 @@ import net.jamsimulator.jams.mips.simulation.multialupipelined.MultiALUPipelineS
 import net.jamsimulator.jams.mips.simulation.multialupipelined.MultiALUPipelinedSimulation;
 import net.jamsimulator.jams.mips.simulation.multialupipelined.exception.RAWHazardException;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.OptionalInt;
 
 public abstract class MultiCycleExecution<Arch extends MultiCycleArchitecture, Inst extends AssembledInstruction> extends InstructionExecution<Arch, Inst> {
 
-    private final Map<Register, Integer> decodedRegisters = new HashMap<>();
-    private final Map<Register, Integer> forwardingRegisters;
-    private final Set<Register> lockedRegisters = new HashSet<>();
+    private final RegisterValues decodedRegisters = new RegisterValues();
+    private final RegisterValues forwardingRegisters;
+    private Register[] lockedRegisters = new Register[2];
+    private int lockedRegistersAmount;
 
     protected final boolean forwardingEnabled;
     protected final boolean solveBranchesOnDecode;
@@ -62,7 +64,7 @@ public abstract class MultiCycleExecution<Arch extends MultiCycleArchitecture, I
             forwardingEnabled = s.isForwardingEnabled();
             solveBranchesOnDecode = s.solvesBranchesOnDecode();
             delaySlotsEnabled = s.isDelaySlotsEnabled();
-            forwardingRegisters = new HashMap<>();
+            forwardingRegisters = new RegisterValues();
             pipelinedSimulation = s;
         } else {
             forwardingEnabled = false;
@@ -200,8 +202,8 @@ public abstract class MultiCycleExecution<Arch extends MultiCycleArchitecture, I
     }
 
     public int value(Register register) {
-        Integer value = decodedRegisters.get(register);
-        if (value != null) return value;
+        int index = decodedRegisters.indexOf(register);
+        if (index != -1) return decodedRegisters.valueAt(index);
 
         // The value might be a value required by the memory step. Let's check the register:
         if (!register.isLockedBeforeId(instructionId)) {
@@ -252,9 +254,14 @@ public abstract class MultiCycleExecution<Arch extends MultiCycleArchitecture, I
             }
         }
 
-        return lockedRegisters.stream().allMatch(it ->
-                !it.isLockedBy(this) ||
-                        it.isFirstLockedIgnoringMemoryAndWriteback(this, memory, writeback));
+        for (int i = 0; i < lockedRegistersAmount; i++) {
+            var register = lockedRegisters[i];
+            if (register.isLockedBy(this)
+                    && !register.isFirstLockedIgnoringMemoryAndWriteback(this, memory, writeback)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public void lock(int identifier) {
@@ -280,7 +287,13 @@ public abstract class MultiCycleExecution<Arch extends MultiCycleArchitecture, I
 
     public void lock(Register register) {
         register.lock(this);
-        lockedRegisters.add(register);
+        for (int i = 0; i < lockedRegistersAmount; i++) {
+            if (lockedRegisters[i] == register) return;
+        }
+        if (lockedRegistersAmount == lockedRegisters.length) {
+            lockedRegisters = Arrays.copyOf(lockedRegisters, lockedRegistersAmount << 1);
+        }
+        lockedRegisters[lockedRegistersAmount++] = register;
     }
 
     //endregion
@@ -308,7 +321,9 @@ public abstract class MultiCycleExecution<Arch extends MultiCycleArchitecture, I
     }
 
     public void unlockAll() {
-        lockedRegisters.forEach(r -> r.unlock(this));
+        for (int i = 0; i < lockedRegistersAmount; i++) {
+            lockedRegisters[i].unlock(this);
+        }
     }
 
     //endregion
@@ -316,7 +331,8 @@ public abstract class MultiCycleExecution<Arch extends MultiCycleArchitecture, I
     //region set and unlock
 
     public void setAndUnlock(int identifier, int value) {
-        setAndUnlock(register(identifier), value);
+        register(identifier).unlock(this);
+        setValue(identifier, value);
     }
 
     public void setAndUnlockCOP0(int identifier, int value) {
@@ -328,11 +344,13 @@ public abstract class MultiCycleExecution<Arch extends MultiCycleArchitecture, I
     }
 
     public void setAndUnlockCOP1(int identifier, int value) {
-        setAndUnlock(registerCOP1(identifier), value);
+        registerCOP1(identifier).unlock(this);
+        setValueCOP1(identifier, value);
     }
 
     public void setAndUnlockCOP1(int identifier, float value) {
-        setAndUnlock(registerCOP1(identifier), Float.floatToIntBits(value));
+        registerCOP1(identifier).unlock(this);
+        setValueCOP1(identifier, value);
     }
 
     public void setAndUnlock(Register register, int value) {
@@ -371,8 +389,8 @@ public abstract class MultiCycleExecution<Arch extends MultiCycleArchitecture, I
     }
 
     public OptionalInt getForwardedValue(Register register) {
-        var i = forwardingRegisters.get(register);
-        return i == null ? OptionalInt.empty() : OptionalInt.of(i);
+        int index = forwardingRegisters.indexOf(register);
+        return index == -1 ? OptionalInt.empty() : OptionalInt.of(forwardingRegisters.valueAt(index));
     }
 
     //endregion
@@ -0,0 +1,85 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.instruction.execution;
+
+import net.jamsimulator.jams.mips.register.Register;
+
+import java.util.Arrays;
+
+/**
+ * Small map from {@link Register}s to their values used by {@link MultiCycleExecution}s.
+ * <p>
+ * An instruction uses only a few registers, so a linear search over two parallel arrays is faster
+ * than a hash map. Values are stored as primitives: storing or reading a value doesn't allocate.
+ */
+class RegisterValues {
+
+    private Register[] registers = new Register[4];
+    private int[] values = new int[4];
+    private int size;
+
+    /**
+     * Returns the index of the given {@link Register} or -1 if not present.
+     *
+     * @param register the {@link Register}.
+     * @return the index or -1.
+     */
+    int indexOf(Register register) {
+        for (int i = 0; i < size; i++) {
+            if (registers[i] == register) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value stored at the given index.
+     *
+     * @param index the index, given by {@link #indexOf(Register)}.
+     * @return the value.
+     */
+    int valueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * Stores the value of the given {@link Register}, replacing the previous one if present.
+     *
+     * @param register the {@link Register}.
+     * @param value    the value.
+     */
+    void put(Register register, int value) {
+        int index = indexOf(register);
+        if (index == -1) {
+            if (size == registers.length) {
+                registers = Arrays.copyOf(registers, size << 1);
+                values = Arrays.copyOf(values, size << 1);
+            }
+            index = size++;
+            registers[index] = register;
+        }
+        values[index] = value;
+    }
+
+}
@@ -0,0 +1,239 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.instruction.set;
+
+import net.jamsimulator.jams.mips.instruction.assembled.AssembledIFPUInstruction;
+import net.jamsimulator.jams.mips.instruction.assembled.AssembledInstruction;
+import net.jamsimulator.jams.mips.instruction.assembled.AssembledPCREL16Instruction;
+import net.jamsimulator.jams.mips.instruction.assembled.AssembledPCREL19Instruction;
+import net.jamsimulator.jams.mips.instruction.assembled.AssembledRFPUInstruction;
+import net.jamsimulator.jams.mips.instruction.assembled.AssembledRIFPUInstruction;
+import net.jamsimulator.jams.mips.instruction.assembled.AssembledRIInstruction;
+import net.jamsimulator.jams.mips.instruction.assembled.AssembledRInstruction;
+import net.jamsimulator.jams.mips.instruction.assembled.AssembledRSOPInstruction;
+import net.jamsimulator.jams.mips.instruction.basic.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Dense decode structure used by {@link InstructionSet#decode(int)}.
+ * <p>
+ * The first level is indexed by the operation code. The second level is indexed by up to two
+ * secondary fields (function code, format, subcode...) chosen for each operation code using the
+ * fields the instructions of that operation code are defined by. Each slot stores the few
+ * instructions that may match the codes of the slot. The decoder still calls
+ * {@link BasicInstruction#match(int)} on them, so instructions with custom matching rules
+ * are still decoded correctly.
+ */
+class DecodeTable {
+
+    /**
+     * The secondary fields that may be used as keys, as {shift, width} pairs.
+     */
+    private static final int[][] FIELDS = {{0, 6}, {21, 5}, {16, 5}, {6, 5}, {19, 2}};
+
+    /**
+     * The maximum amount of bits used by the second level of an operation code.
+     */
+    private static final int MAX_KEY_BITS = 11;
+
+    /**
+     * The classes whose {@link BasicInstruction#match(int)} implementation only checks the
+     * fields returned by {@link #constraintOf(BasicInstruction)}.
+     */
+    private static final Set<Class<?>> STRUCTURAL_MATCHERS = Set.of(
+            BasicInstruction.class, BasicRInstruction.class, BasicRFPUInstruction.class,
+            BasicRSOPInstruction.class, BasicRIInstruction.class, BasicIFPUInstruction.class,
+            BasicRIFPUInstruction.class, BasicPCREL16Instruction.class, BasicPCREL19Instruction.class
+    );
+
+    private static final BasicInstruction<?>[] EMPTY = new BasicInstruction<?>[0];
+
+    private final int[] shift1 = new int[64], mask1 = new int[64], width1 = new int[64];
+    private final int[] shift2 = new int[64], mask2 = new int[64];
+    private final BasicInstruction<?>[][][] slots = new BasicInstruction<?>[64][][];
+
+    DecodeTable(Collection<? extends Collection<BasicInstruction<?>>> instructionsByOperationCode) {
+        for (var instructions : instructionsByOperationCode) {
+            if (instructions.isEmpty()) continue;
+            int operationCode = instructions.iterator().next().getOperationCode();
+            if (operationCode < 0 || operationCode > 63) continue;
+            build(operationCode, instructions);
+        }
+    }
+
+    /**
+     * Returns the first {@link BasicInstruction} matching the given code, or null.
+     *
+     * @param instructionCode the instruction code.
+     * @return the {@link BasicInstruction} or null.
+     */
+    BasicInstruction<?> decode(int instructionCode) {
+        int operationCode = instructionCode >>> AssembledInstruction.OPERATION_CODE_SHIFT;
+        var operationSlots = slots[operationCode];
+        if (operationSlots == null) return null;
+        int key = ((instructionCode >>> shift1[operationCode]) & mask1[operationCode])
+                | (((instructionCode >>> shift2[operationCode]) & mask2[operationCode]) << width1[operationCode]);
+        for (BasicInstruction<?> instruction : operationSlots[key]) {
+            if (instruction.match(instructionCode)) return instruction;
+        }
+        return null;
+    }
+
+    private void build(int operationCode, Collection<BasicInstruction<?>> instructions) {
+        int size = instructions.size();
+        var list = new ArrayList<BasicInstruction<?>>(size);
+        var masks = new int[size];
+        var values = new int[size];
+
+        // Instructions with only structural constraints go first: they are the most specific ones.
+        int i = 0;
+        for (var instruction : instructions) {
+            if (hasStructuralMatcher(instruction)) {
+                long constraint = constraintOf(instruction);
+                list.add(instruction);
+                masks[i] = (int) (constraint >>> 32);
+                values[i++] = (int) constraint;
+            }
+        }
+        for (var instruction : instructions) {
+            if (!hasStructuralMatcher(instruction)) {
+                list.add(instruction);
+                masks[i] = 0;
+                values[i++] = 0;
+            }
+        }
+
+        // Chooses the key fields.
+        int first = bestField(masks, 0, 0);
+        int second = first == -1 ? -1 : bestField(masks, fieldMask(first), FIELDS[first][1]);
+
+        int keyMask = 0;
+        if (first != -1) {
+            shift1[operationCode] = FIELDS[first][0];
+            width1[operationCode] = FIELDS[first][1];
+            mask1[operationCode] = (1 << FIELDS[first][1]) - 1;
+            keyMask |= fieldMask(first);
+        }
+        if (second != -1) {
+            shift2[operationCode] = FIELDS[second][0];
+            mask2[operationCode] = (1 << FIELDS[second][1]) - 1;
+            keyMask |= fieldMask(second);
+        }
+
+        int slotAmount = 1 << (width1[operationCode] + Integer.bitCount(mask2[operationCode]));
+        var operationSlots = new BasicInstruction<?>[slotAmount][];
+        var candidates = new ArrayList<BasicInstruction<?>>();
+        for (int slot = 0; slot < slotAmount; slot++) {
+            int code = ((slot & mask1[operationCode]) << shift1[operationCode])
+                    | ((slot >>> width1[operationCode]) << shift2[operationCode]);
+            candidates.clear();
+            for (int j = 0; j < size; j++) {
+                if (((code ^ values[j]) & masks[j] & keyMask) == 0) {
+                    candidates.add(list.get(j));
+                }
+            }
+            operationSlots[slot] = candidates.isEmpty() ? EMPTY : candidates.toArray(EMPTY);
+        }
+        slots[operationCode] = operationSlots;
+    }
+
+    /**
+     * Returns the field constrained by most instructions that doesn't overlap the used bits.
+     */
+    private static int bestField(int[] masks, int usedMask, int usedBits) {
+        int best = -1, bestScore = 0;
+        for (int i = 0; i < FIELDS.length; i++) {
+            int fieldMask = fieldMask(i);
+            if ((fieldMask & usedMask) != 0 || usedBits + FIELDS[i][1] > MAX_KEY_BITS) continue;
+            int score = 0;
+            for (int mask : masks) {
+                if ((mask & fieldMask) == fieldMask) score++;
+            }
+            if (score > bestScore) {
+                best = i;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static int fieldMask(int field) {
+        return ((1 << FIELDS[field][1]) - 1) << FIELDS[field][0];
+    }
+
+    private static boolean hasStructuralMatcher(BasicInstruction<?> instruction) {
+        try {
+            var method = instruction.getClass().getMethod("match", int.class);
+            return STRUCTURAL_MATCHERS.contains(method.getDeclaringClass());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the bits the given instruction is defined by, excluding the operation code.
+     * The mask is stored in the 32 most significant bits, and the value in the 32 less significant bits.
+     */
+    private static long constraintOf(BasicInstruction<?> instruction) {
+        int mask = 0, value = 0;
+        if (instruction instanceof BasicRInstruction<?> r) {
+            mask |= AssembledRInstruction.FUNCTION_CODE_MASK;
+            value |= r.getFunctionCode();
+        }
+        if (instruction instanceof BasicRFPUInstruction<?> r) {
+            mask |= AssembledRFPUInstruction.FMT_MASK << AssembledRFPUInstruction.FMT_SHIFT;
+            value |= r.getFmtCode() << AssembledRFPUInstruction.FMT_SHIFT;
+        }
+        if (instruction instanceof BasicRSOPInstruction<?> r) {
+            mask |= AssembledRSOPInstruction.FUNCTION_CODE_MASK
+                    | AssembledRSOPInstruction.SOP_MASK << AssembledRSOPInstruction.SOP_SHIFT;
+            value |= r.getFunctionCode() | r.getSopCode() << AssembledRSOPInstruction.SOP_SHIFT;
+        }
+        if (instruction instanceof BasicRIInstruction<?> r) {
+            mask |= AssembledRIInstruction.FUNCTION_CODE_MASK << AssembledRIInstruction.FUNCTION_CODE_SHIFT;
+            value |= r.getFunctionCode() << AssembledRIInstruction.FUNCTION_CODE_SHIFT;
+        }
+        if (instruction instanceof BasicIFPUInstruction<?> r) {
+            mask |= AssembledIFPUInstruction.BASE_REGISTER_MASK << AssembledIFPUInstruction.BASE_REGISTER_SHIFT;
+            value |= r.getSubcode() << AssembledIFPUInstruction.BASE_REGISTER_SHIFT;
+        }
+        if (instruction instanceof BasicRIFPUInstruction<?> r) {
+            mask |= AssembledRIFPUInstruction.SUBCODE_MASK << AssembledRIFPUInstruction.SUBCODE_SHIFT;
+            value |= r.getSubcode() << AssembledRIFPUInstruction.SUBCODE_SHIFT;
+        }
+        if (instruction instanceof BasicPCREL16Instruction<?> r) {
+            mask |= AssembledPCREL16Instruction.PCREL_MASK << AssembledPCREL16Instruction.PCREL_SHIFT;
+            value |= r.getPcRelFunction() << AssembledPCREL16Instruction.PCREL_SHIFT;
+        }
+        if (instruction instanceof BasicPCREL19Instruction<?> r) {
+            mask |= AssembledPCREL19Instruction.PCREL_MASK << AssembledPCREL19Instruction.PCREL_SHIFT;
+            value |= r.getPcRelFunction() << AssembledPCREL19Instruction.PCREL_SHIFT;
+        }
+        return ((long) mask << 32) | (value & 0xFFFFFFFFL);
+    }
+}
@@ -59,7 +59,7 @@ public class InstructionSet implements ManagerResource {
 
     /**
      * This HashMap maps the operation code of an instruction with its {@link BasicInstruction} instances.
-     * This map is used by {@link #getInstructionByInstructionCode(int)} for a faster search algorithm.
+     * This map is used to build the decode table used by {@link #decode(int)}.
      */
     protected final Map<Integer, Set<BasicInstruction<?>>> basicInstructionsOnly;
 
@@ -70,6 +70,12 @@ public class InstructionSet implements ManagerResource {
      */
     protected final Map<String, Set<Instruction>> instructionsByMnemonic;
 
+    /**
+     * The dense decode structure used by {@link #decode(int)}.
+     * It's built on the first decode and discarded when a new instruction is registered.
+     */
+    private volatile DecodeTable decodeTable;
+
     public InstructionSet(ResourceProvider provider, String name) {
         Validate.notNull(provider, "Provider cannot be null!");
         Validate.notNull(name, "Name cannot be null!");
@@ -208,12 +214,25 @@ public class InstructionSet implements ManagerResource {
      * @return the {@link BasicInstruction}, if present.
      */
     public Optional<? extends BasicInstruction<?>> getInstructionByInstructionCode(int instructionCode) {
-        var set = basicInstructionsOnly.get(instructionCode >>> AssembledInstruction.OPERATION_CODE_SHIFT);
-        if (set == null || set.isEmpty()) return Optional.empty();
-        for (BasicInstruction<?> basic : set) {
-            if (basic.match(instructionCode)) return Optional.of(basic);
+        return Optional.ofNullable(decode(instructionCode));
+    }
+
+    /**
+     * Returns the first {@link BasicInstruction} that matches the given instruction code, or null if not present.
+     * <p>
+     * This method uses a precomputed table indexed by the operation code and the secondary fields
+     * of the instruction, and it doesn't allocate any object. Use it in hot paths.
+     *
+     * @param instructionCode the given instruction code.
+     * @return the {@link BasicInstruction} or null.
+     */
+    public BasicInstruction<?> decode(int instructionCode) {
+        var table = decodeTable;
+        if (table == null) {
+            table = new DecodeTable(basicInstructionsOnly.values());
+            decodeTable = table;
         }
-        return Optional.empty();
+        return table.decode(instructionCode);
     }
 
     /**
@@ -235,6 +254,7 @@ public class InstructionSet implements ManagerResource {
 
         if (instruction instanceof BasicInstruction<?> basic) {
             basicInstructionsOnly.computeIfAbsent(basic.getOperationCode(), k -> new HashSet<>()).add(basic);
+            decodeTable = null;
         }
 
         instructionsByMnemonic.computeIfAbsent(instruction.getMnemonic(), k -> new HashSet<>()).add(instruction);
@@ -27,36 +27,38 @@ package net.jamsimulator.jams.mips.interrupt;
 import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
 import net.jamsimulator.jams.utils.Validate;
 
-import java.util.TreeSet;
-
 public class ExternalInterruptController {
 
-    private final TreeSet<Integer> pendingInterrupts;
+    /**
+     * The pending interrupt levels. Bit n is set when the level n is pending.
+     * Levels go from 1 to 63, so they fit in a single long.
+     */
+    private long pendingInterrupts;
     private MIPSInterruptException softwareInterrupt;
 
     public ExternalInterruptController() {
-        pendingInterrupts = new TreeSet<>();
+        pendingInterrupts = 0;
     }
 
     public boolean hasPendingInterrupts() {
-        return pendingInterrupts.size() > 0;
+        return pendingInterrupts != 0;
     }
 
     public boolean isRequestingInterrupts(MIPSSimulation<?> simulation) {
-        return pendingInterrupts.size() > 0 && simulation.areMIPSInterruptsEnabled() &&
-                simulation.getIPLevel() < pendingInterrupts.last();
+        return pendingInterrupts != 0 && simulation.areMIPSInterruptsEnabled() &&
+                simulation.getIPLevel() < highestPendingLevel();
     }
 
     public void addRequest(int level) {
         Validate.isTrue(level > 1 && level < 64,
                 "Hardware levels must be between 2 and 63! (Value 1 is reserved for software instructions.)");
-        pendingInterrupts.add(level);
+        pendingInterrupts |= 1L << level;
     }
 
     public void addSoftwareRequest(MIPSInterruptException softwareInterrupt) {
         Validate.notNull(softwareInterrupt, "Interrupt cannot be null!");
         this.softwareInterrupt = softwareInterrupt;
-        pendingInterrupts.add(1);
+        pendingInterrupts |= 1L << 1;
     }
 
     public MIPSInterruptException getSoftwareInterrupt() {
@@ -64,12 +66,18 @@ public class ExternalInterruptController {
     }
 
     public int getRequestedIPL() {
-        var value = pendingInterrupts.pollLast();
-        return value == null ? 0 : value;
+        if (pendingInterrupts == 0) return 0;
+        int level = highestPendingLevel();
+        pendingInterrupts &= ~(1L << level);
+        return level;
     }
 
     public void reset() {
-        pendingInterrupts.clear();
+        pendingInterrupts = 0;
         softwareInterrupt = null;
     }
+
+    private int highestPendingLevel() {
+        return 63 - Long.numberOfLeadingZeros(pendingInterrupts);
+    }
 }
@@ -24,8 +24,28 @@
 
 package net.jamsimulator.jams.mips.interrupt;
 
+/**
+ * Exception thrown when a MIPS instruction or the memory raises an interrupt.
+ * <p>
+ * Syscalls and breakpoints are part of the normal control flow of a simulation: they may be thrown
+ * millions of times in a single execution. Use the preallocated {@link #SYSCALL} and {@link #BREAKPOINT}
+ * instances for them. These instances don't capture a stack trace and they don't carry a cause.
+ * Any other interrupt should create a new exception.
+ */
 public class MIPSInterruptException extends RuntimeException {
 
+    /**
+     * The shared exception thrown by syscalls that request the exception handler.
+     */
+    public static final MIPSInterruptException SYSCALL =
+            new MIPSInterruptException(InterruptCause.SYSCALL_EXCEPTION, false);
+
+    /**
+     * The shared exception thrown by break instructions.
+     */
+    public static final MIPSInterruptException BREAKPOINT =
+            new MIPSInterruptException(InterruptCause.BREAKPOINT_EXCEPTION, false);
+
     private final InterruptCause cause;
 
     public MIPSInterruptException(InterruptCause cause) {
@@ -37,6 +57,11 @@ public class MIPSInterruptException extends RuntimeException {
         this.cause = cause;
     }
 
+    private MIPSInterruptException(InterruptCause cause, boolean writableStackTrace) {
+        super(null, null, false, writableStackTrace);
+        this.cause = cause;
+    }
+
     public InterruptCause getInterruptCause() {
         return cause;
     }
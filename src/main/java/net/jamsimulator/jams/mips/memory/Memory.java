@@ -195,6 +195,65 @@ public interface Memory extends EventBroadcast {
      */
     void setWord(int address, int word, boolean callEvents, boolean bypassCaches, boolean modifyCaches);
 
+    /**
+     * Reads {@code length} bytes starting at the given address and stores them into the given buffer.
+     * <p>
+     * This method is equivalent to calling {@link #getByte(int)} for each address, but implementations
+     * may read the whole range at once when event calls are disabled.
+     *
+     * @param address the first address.
+     * @param buffer  the buffer.
+     * @param offset  the index of the buffer where the first byte is stored.
+     * @param length  the amount of bytes to read.
+     * @throws IndexOutOfBoundsException if no section contains any of the addresses.
+     */
+    default void getBytes(int address, byte[] buffer, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            buffer[offset + i] = getByte(address + i);
+        }
+    }
+
+    /**
+     * Stores {@code length} bytes of the given buffer starting at the given address.
+     * <p>
+     * This method is equivalent to calling {@link #setByte(int, byte)} for each address, but implementations
+     * may write the whole range at once when event calls are disabled.
+     *
+     * @param address the first address.
+     * @param buffer  the buffer.
+     * @param offset  the index of the buffer where the first byte is located.
+     * @param length  the amount of bytes to write.
+     * @throws IndexOutOfBoundsException if no section contains any of the addresses.
+     */
+    default void setBytes(int address, byte[] buffer, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            setByte(address + i, buffer[offset + i]);
+        }
+    }
+
+    /**
+     * Reads bytes starting at the given address until a zero byte is found or {@code maxLength} bytes are read,
+     * storing them into the given buffer. The zero byte is not stored.
+     * <p>
+     * This method is equivalent to calling {@link #getByte(int)} for each address, but implementations
+     * may scan whole ranges at once when event calls are disabled.
+     *
+     * @param address   the first address.
+     * @param buffer    the buffer.
+     * @param offset    the index of the buffer where the first byte is stored.
+     * @param maxLength the maximum amount of bytes to read.
+     * @return the amount of read bytes, not including the zero byte.
+     * @throws IndexOutOfBoundsException if no section contains any of the addresses.
+     */
+    default int getNullTerminatedBytes(int address, byte[] buffer, int offset, int maxLength) {
+        int amount = 0;
+        byte b;
+        while (amount < maxLength && (b = getByte(address + amount)) != 0) {
+            buffer[offset + amount++] = b;
+        }
+        return amount;
+    }
+
     /**
      * Returns the first text address assemblers should use.
      *
@@ -256,6 +315,37 @@ public interface Memory extends EventBroadcast {
      */
     Optional<Memory> getNextLevelMemory();
 
+    /**
+     * Returns the byte stored in the given address of the {@link #getBottomMemory() bottom memory}
+     * without side effects: caches are bypassed and no events, watchpoints or access listeners are triggered.
+     * <p>
+     * Views should use this method to refresh their contents while the simulation is running.
+     *
+     * @param address the address.
+     * @return the byte.
+     * @throws IndexOutOfBoundsException if no section contains the address.
+     */
+    default byte peekByte(int address) {
+        var bottom = getBottomMemory();
+        return bottom == this ? getByte(address, false, true, false) : bottom.peekByte(address);
+    }
+
+    /**
+     * Returns the word stored in the given address of the {@link #getBottomMemory() bottom memory}
+     * without side effects: caches are bypassed and no events, watchpoints or access listeners are triggered.
+     * <p>
+     * Views should use this method to refresh their contents while the simulation is running.
+     *
+     * @param address the address.
+     * @return the word.
+     * @throws IllegalArgumentException  if the address is not aligned to words.
+     * @throws IndexOutOfBoundsException if no section contains the address.
+     */
+    default int peekWord(int address) {
+        var bottom = getBottomMemory();
+        return bottom == this ? getWord(address, false, true, false) : bottom.peekWord(address);
+    }
+
     /**
      * Returns the {@link Memory} located at the end of this memory hierarchy.
      * <p>
@@ -306,6 +396,9 @@ public interface Memory extends EventBroadcast {
 
     /**
      * Creates a deep copy of the memory.
+     * <p>
+     * Implementations may share unmodified data with the copy, copying it lazily when any of both memories
+     * modifies it. This makes copies a cheap way to fork a memory state.
      *
      * @return the copy.
      */
@@ -0,0 +1,49 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory;
+
+/**
+ * Listener notified by a {@link SimpleMemory} on every access it serves.
+ * <p>
+ * Unlike memory events, this listener is invoked with event calls enabled or disabled and creates no objects,
+ * so it can be used to analyze the full reference stream of long simulations. Accesses served by a cache
+ * without reaching the {@link SimpleMemory} are not notified, nor are {@link Memory#peekWord(int) peeks}
+ * and accesses that aren't {@link SimpleMemory#areAccessesObserved() observed}.
+ * <p>
+ * The listener is invoked by the thread executing the access.
+ */
+@FunctionalInterface
+public interface MemoryAccessListener {
+
+    /**
+     * Invoked when the memory serves an access.
+     *
+     * @param address the first address of the access.
+     * @param length  the amount of accessed bytes.
+     * @param write   whether the access is a write.
+     */
+    void onAccess(int address, int length, boolean write);
+
+}
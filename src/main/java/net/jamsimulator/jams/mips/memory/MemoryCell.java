@@ -24,6 +24,9 @@
 
 package net.jamsimulator.jams.mips.memory;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 
 /**
@@ -31,25 +34,55 @@ import java.util.Arrays;
  * length. It's responsible for storing part of the memory's data.
  * <p>
  * Addresses given to a memory cell must be relative.
+ * <p>
+ * A cell may be shared between several {@link MemorySection}s and saved states. Each cell stores the generation
+ * of the section state that owns it: a section only writes in place the cells owned by its current generation,
+ * copying any other cell before writing into it.
+ * <p>
+ * Halfwords and words are accessed with a single operation through byte array {@link VarHandle} views.
+ * The static accessors of this class are the only place where the endianness of the data is handled,
+ * and they may be used by any other class storing memory data in byte arrays.
  *
  * @see Memory
  * @see MemorySection
  */
 public class MemoryCell {
 
+    private static final VarHandle SHORT_LITTLE_ENDIAN =
+            MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle SHORT_BIG_ENDIAN =
+            MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT_LITTLE_ENDIAN =
+            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_BIG_ENDIAN =
+            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
     private final byte[] data;
+    private final long owner;
 
     /**
-     * Creates a memory cell using a length.
+     * Creates a memory cell using a length. The cell is not owned by any generation.
      *
      * @param length the length.
      */
     public MemoryCell(int length) {
-        data = new byte[length];
+        this(length, 0);
+    }
+
+    /**
+     * Creates a memory cell using a length and the generation that owns it.
+     *
+     * @param length the length.
+     * @param owner  the generation owning the cell.
+     */
+    public MemoryCell(int length, long owner) {
+        this.data = new byte[length];
+        this.owner = owner;
     }
 
-    private MemoryCell(byte[] data) {
+    private MemoryCell(byte[] data, long owner) {
         this.data = data;
+        this.owner = owner;
     }
 
     public static short merge(byte b0, byte b1) {
@@ -69,6 +102,62 @@ public class MemoryCell {
         return i + Byte.toUnsignedInt(b0);
     }
 
+    /**
+     * Reads the halfword stored into the given byte array at the given index.
+     *
+     * @param data      the byte array.
+     * @param index     the index of the first byte of the halfword.
+     * @param bigEndian whether the data is big endian.
+     * @return the halfword.
+     */
+    public static short readHalfword(byte[] data, int index, boolean bigEndian) {
+        return bigEndian ? (short) SHORT_BIG_ENDIAN.get(data, index) : (short) SHORT_LITTLE_ENDIAN.get(data, index);
+    }
+
+    /**
+     * Writes the given halfword into the given byte array at the given index.
+     *
+     * @param data      the byte array.
+     * @param index     the index of the first byte of the halfword.
+     * @param halfword  the halfword.
+     * @param bigEndian whether the data is big endian.
+     */
+    public static void writeHalfword(byte[] data, int index, short halfword, boolean bigEndian) {
+        if (bigEndian) {
+            SHORT_BIG_ENDIAN.set(data, index, halfword);
+        } else {
+            SHORT_LITTLE_ENDIAN.set(data, index, halfword);
+        }
+    }
+
+    /**
+     * Reads the word stored into the given byte array at the given index.
+     *
+     * @param data      the byte array.
+     * @param index     the index of the first byte of the word.
+     * @param bigEndian whether the data is big endian.
+     * @return the word.
+     */
+    public static int readWord(byte[] data, int index, boolean bigEndian) {
+        return bigEndian ? (int) INT_BIG_ENDIAN.get(data, index) : (int) INT_LITTLE_ENDIAN.get(data, index);
+    }
+
+    /**
+     * Writes the given word into the given byte array at the given index.
+     *
+     * @param data      the byte array.
+     * @param index     the index of the first byte of the word.
+     * @param word      the word.
+     * @param bigEndian whether the data is big endian.
+     */
+    public static void writeWord(byte[] data, int index, int word, boolean bigEndian) {
+        if (bigEndian) {
+            INT_BIG_ENDIAN.set(data, index, word);
+        } else {
+            INT_LITTLE_ENDIAN.set(data, index, word);
+        }
+    }
+
     public static byte[] split(int i) {
         byte[] array = new byte[4];
         array[0] = (byte) (i & 0xFF);
@@ -81,6 +170,17 @@ public class MemoryCell {
         return array;
     }
 
+    /**
+     * Returns the generation owning this cell.
+     * <p>
+     * Only the holder of this generation may modify the cell.
+     *
+     * @return the generation.
+     */
+    public long getOwner() {
+        return owner;
+    }
+
     /**
      * Returns the byte stored into the given relative address.
      *
@@ -112,9 +212,7 @@ public class MemoryCell {
      * @return the halfword.
      */
     public short getHalfword(int address, boolean bigEndian) {
-        byte b0 = data[address++];
-        byte b1 = data[address];
-        return bigEndian ? merge(b1, b0) : merge(b0, b1);
+        return readHalfword(data, address, bigEndian);
     }
 
     /**
@@ -126,15 +224,8 @@ public class MemoryCell {
      * @return the old halfword.
      */
     public short setHalfword(int address, short word, boolean bigEndian) {
-        short old = getHalfword(address, bigEndian);
-        byte[] array = split(word);
-        if (bigEndian) {
-            data[address++] = array[1];
-            data[address] = array[0];
-        } else {
-            data[address++] = array[0];
-            data[address] = array[1];
-        }
+        short old = readHalfword(data, address, bigEndian);
+        writeHalfword(data, address, word, bigEndian);
         return old;
     }
 
@@ -146,11 +237,7 @@ public class MemoryCell {
      * @return the word.
      */
     public int getWord(int address, boolean bigEndian) {
-        byte b0 = data[address++];
-        byte b1 = data[address++];
-        byte b2 = data[address++];
-        byte b3 = data[address];
-        return bigEndian ? merge(b3, b2, b1, b0) : merge(b0, b1, b2, b3);
+        return readWord(data, address, bigEndian);
     }
 
     /**
@@ -162,29 +249,52 @@ public class MemoryCell {
      * @return the old word.
      */
     public int setWord(int address, int word, boolean bigEndian) {
-        int old = getWord(address, bigEndian);
-        byte[] array = split(word);
-        if (bigEndian) {
-            data[address++] = array[3];
-            data[address++] = array[2];
-            data[address++] = array[1];
-            data[address] = array[0];
-        } else {
-            data[address++] = array[0];
-            data[address++] = array[1];
-            data[address++] = array[2];
-            data[address] = array[3];
-        }
+        int old = readWord(data, address, bigEndian);
+        writeWord(data, address, word, bigEndian);
         return old;
     }
 
     /**
-     * Creates a copy of this memory cell.
+     * Copies the bytes stored starting at the given relative address into the given buffer.
+     *
+     * @param address the relative address.
+     * @param buffer  the buffer.
+     * @param offset  the index of the buffer where the first byte is stored.
+     * @param length  the amount of bytes to copy.
+     */
+    public void getBytes(int address, byte[] buffer, int offset, int length) {
+        System.arraycopy(data, address, buffer, offset, length);
+    }
+
+    /**
+     * Stores the given bytes starting at the given relative address.
+     *
+     * @param address the relative address.
+     * @param buffer  the buffer containing the bytes.
+     * @param offset  the index of the buffer where the first byte is located.
+     * @param length  the amount of bytes to store.
+     */
+    public void setBytes(int address, byte[] buffer, int offset, int length) {
+        System.arraycopy(buffer, offset, data, address, length);
+    }
+
+    /**
+     * Creates a copy of this memory cell not owned by any generation.
      *
      * @return the copy.
      */
     public MemoryCell copy() {
-        return new MemoryCell(Arrays.copyOf(data, data.length));
+        return copy(0);
+    }
+
+    /**
+     * Creates a copy of this memory cell owned by the given generation.
+     *
+     * @param owner the generation owning the copy.
+     * @return the copy.
+     */
+    public MemoryCell copy(long owner) {
+        return new MemoryCell(Arrays.copyOf(data, data.length), owner);
     }
 
 }
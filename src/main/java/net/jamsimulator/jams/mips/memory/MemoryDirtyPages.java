@@ -0,0 +1,109 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Bitset of the memory pages written since it was last drained.
+ * <p>
+ * Pages are marked by the thread writing the memory and drained by another thread, usually the GUI one.
+ * Marking a page already marked only costs a read, so tight loops writing the same pages
+ * don't pay for synchronization more than once per drain.
+ * <p>
+ * Pages have the size of the {@link MemoryWriteTracker} pages. Install this set using
+ * {@link MemoryWriteTracker#setDirtyPages(MemoryDirtyPages)}.
+ */
+public class MemoryDirtyPages {
+
+    public static final int PAGES = 1 << (32 - MemoryWriteTracker.PAGE_SHIFT);
+
+    private static final LongBinaryOperator OR = (a, b) -> a | b;
+
+    private final AtomicLongArray words = new AtomicLongArray(PAGES >>> 6);
+    private volatile boolean dirty;
+
+    /**
+     * Marks the page containing the given address as written.
+     *
+     * @param address the address.
+     */
+    public void mark(int address) {
+        int page = address >>> MemoryWriteTracker.PAGE_SHIFT;
+        long bit = 1L << page;
+        if ((words.get(page >>> 6) & bit) == 0) {
+            words.getAndAccumulate(page >>> 6, bit, OR);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Marks all pages as written.
+     */
+    public void markAll() {
+        for (int i = 0; i < words.length(); i++) {
+            words.set(i, -1L);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Returns whether any page has been marked since the last drain.
+     *
+     * @return whether any page is marked.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Moves the marked pages into the given {@link BitSet} and unmarks them.
+     * Bit {@code n} of the {@link BitSet} represents the page starting at {@code n << PAGE_SHIFT}.
+     * <p>
+     * Pages marked while this method runs are either moved or kept for the next drain.
+     *
+     * @param target the {@link BitSet} where the marked pages are added.
+     * @return whether any page was moved.
+     */
+    public boolean drainTo(BitSet target) {
+        if (!dirty) return false;
+        dirty = false;
+
+        boolean any = false;
+        for (int i = 0; i < words.length(); i++) {
+            if (words.get(i) == 0) continue;
+            long word = words.getAndSet(i, 0);
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                target.set((i << 6) + bit);
+                word &= word - 1;
+            }
+            any = true;
+        }
+        return any;
+    }
+}
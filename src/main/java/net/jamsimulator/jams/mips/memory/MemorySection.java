@@ -27,6 +27,7 @@ package net.jamsimulator.jams.mips.memory;
 import net.jamsimulator.jams.utils.Validate;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents a memory section. A memory section is a part of a simulation memory
@@ -34,6 +35,13 @@ import java.util.Arrays;
  * <p>
  * These {@link MemoryCell}s are not initialized when an instance of a MemorySection is created,
  * but when it's required to store a data in the address the {@link MemoryCell} manages.
+ * <p>
+ * Copies of a section share their {@link MemoryCell}s. A shared cell is copied the first time
+ * it is modified, so only the cells that are written are ever duplicated.
+ * <p>
+ * Sections can also take a {@link #snapshot()} of their contents. Taking a snapshot costs O(1): the section
+ * just moves to a new generation, so all its cells become shared with the snapshot. The first write to each
+ * cell after a snapshot is journaled, and {@link #restore()} only reverts the journaled cells.
  *
  * @see Memory
  * @see MemoryCell
@@ -46,8 +54,19 @@ public class MemorySection {
     private final int firstAddress;
     private final int length;
     private final int cellSize;
+    // Used instead of a division when the cell size is a power of two. -1 otherwise.
+    private final int cellShift;
+
+    private static final AtomicLong GENERATIONS = new AtomicLong();
 
     private MemoryCell[] cells;
+    private long generation;
+    // The generation of the latest snapshot. Cells owned by an older generation are clean.
+    private long snapshotGeneration;
+
+    private int[] journalIndices = new int[16];
+    private MemoryCell[] journalCells = new MemoryCell[16];
+    private int journalSize;
 
     /**
      * Creates a memory section using a name, the first address, the length and the cell size.
@@ -67,6 +86,9 @@ public class MemorySection {
         this.firstAddress = firstAddress;
         this.length = length;
         this.cellSize = cellSize;
+        this.cellShift = Integer.bitCount(cellSize) == 1 ? Integer.numberOfTrailingZeros(cellSize) : -1;
+        this.generation = GENERATIONS.incrementAndGet();
+        this.snapshotGeneration = generation;
         generateCellsArray();
     }
 
@@ -136,12 +158,12 @@ public class MemorySection {
      * @return the byte.
      */
     public byte getByte(int address) {
-        if (!isInside(address))
+        int relative = address - firstAddress;
+        if (Integer.compareUnsigned(relative, length) >= 0)
             throw new IndexOutOfBoundsException("Address " + address + " out of bounds.");
-        address -= firstAddress;
-        int cellIndex = address / cellSize;
+        int cellIndex = cellShift >= 0 ? relative >>> cellShift : relative / cellSize;
         MemoryCell cell = cells[cellIndex];
-        return cell == null ? 0 : cell.getByte(address - cellIndex * cellSize);
+        return cell == null ? 0 : cell.getByte(relative - cellIndex * cellSize);
     }
 
     /**
@@ -153,12 +175,12 @@ public class MemorySection {
      * @return the old byte
      */
     public byte setByte(int address, byte b) {
-        if (!isInside(address))
+        int relative = address - firstAddress;
+        if (Integer.compareUnsigned(relative, length) >= 0)
             throw new IndexOutOfBoundsException("Address " + address + " out of bounds.");
-        address -= firstAddress;
-        int cellIndex = address / cellSize;
-        MemoryCell cell = getOrCreateCell(cellIndex);
-        return cell.setByte(address - cellIndex * cellSize, b);
+        int cellIndex = cellShift >= 0 ? relative >>> cellShift : relative / cellSize;
+        MemoryCell cell = getWritableCell(cellIndex);
+        return cell.setByte(relative - cellIndex * cellSize, b);
     }
 
     /**
@@ -170,12 +192,12 @@ public class MemorySection {
      * @return the byte.
      */
     public short getHalfword(int address, boolean bigEndian) {
-        if (!isInside(address))
+        int relative = address - firstAddress;
+        if (Integer.compareUnsigned(relative, length) >= 0)
             throw new IndexOutOfBoundsException("Address " + address + " out of bounds.");
-        address -= firstAddress;
-        int cellIndex = address / cellSize;
+        int cellIndex = cellShift >= 0 ? relative >>> cellShift : relative / cellSize;
         MemoryCell cell = cells[cellIndex];
-        return cell == null ? 0 : cell.getHalfword(address - cellIndex * cellSize, bigEndian);
+        return cell == null ? 0 : cell.getHalfword(relative - cellIndex * cellSize, bigEndian);
     }
 
     /**
@@ -188,12 +210,12 @@ public class MemorySection {
      * @return the old byte
      */
     public short setHalfword(int address, short h, boolean bigEndian) {
-        if (!isInside(address))
+        int relative = address - firstAddress;
+        if (Integer.compareUnsigned(relative, length) >= 0)
             throw new IndexOutOfBoundsException("Address " + address + " out of bounds.");
-        address -= firstAddress;
-        int cellIndex = address / cellSize;
-        MemoryCell cell = getOrCreateCell(cellIndex);
-        return cell.setHalfword(address - cellIndex * cellSize, h, bigEndian);
+        int cellIndex = cellShift >= 0 ? relative >>> cellShift : relative / cellSize;
+        MemoryCell cell = getWritableCell(cellIndex);
+        return cell.setHalfword(relative - cellIndex * cellSize, h, bigEndian);
     }
 
     /**
@@ -206,12 +228,12 @@ public class MemorySection {
      * @return the word.
      */
     public int getWord(int address, boolean bigEndian) {
-        if (!isInside(address))
+        int relative = address - firstAddress;
+        if (Integer.compareUnsigned(relative, length) >= 0)
             throw new IndexOutOfBoundsException("Address " + address + " out of bounds.");
-        address -= firstAddress;
-        int cellIndex = address / cellSize;
+        int cellIndex = cellShift >= 0 ? relative >>> cellShift : relative / cellSize;
         MemoryCell cell = cells[cellIndex];
-        return cell == null ? 0 : cell.getWord(address - cellIndex * cellSize, bigEndian);
+        return cell == null ? 0 : cell.getWord(relative - cellIndex * cellSize, bigEndian);
     }
 
     /**
@@ -224,12 +246,91 @@ public class MemorySection {
      * @return the old word.
      */
     public int setWord(int address, int word, boolean bigEndian) {
-        if (!isInside(address))
+        int relative = address - firstAddress;
+        if (Integer.compareUnsigned(relative, length) >= 0)
             throw new IndexOutOfBoundsException("Address " + address + " out of bounds.");
-        address -= firstAddress;
-        int cellIndex = address / cellSize;
-        MemoryCell cell = getOrCreateCell(cellIndex);
-        return cell.setWord(address - cellIndex * cellSize, word, bigEndian);
+        int cellIndex = cellShift >= 0 ? relative >>> cellShift : relative / cellSize;
+        MemoryCell cell = getWritableCell(cellIndex);
+        return cell.setWord(relative - cellIndex * cellSize, word, bigEndian);
+    }
+
+    /**
+     * Copies {@code length} bytes starting at the given address into the given buffer.
+     * The address must be absolute address from the memory. The whole range must be inside the section.
+     *
+     * @param address the first address.
+     * @param buffer  the buffer.
+     * @param offset  the index of the buffer where the first byte is stored.
+     * @param length  the amount of bytes to copy.
+     */
+    public void getBytes(int address, byte[] buffer, int offset, int length) {
+        int relative = checkRange(address, length);
+        while (length > 0) {
+            int cellIndex = cellShift >= 0 ? relative >>> cellShift : relative / cellSize;
+            int cellOffset = relative - cellIndex * cellSize;
+            int amount = Math.min(length, cellSize - cellOffset);
+            MemoryCell cell = cells[cellIndex];
+            if (cell == null) {
+                Arrays.fill(buffer, offset, offset + amount, (byte) 0);
+            } else {
+                cell.getBytes(cellOffset, buffer, offset, amount);
+            }
+            relative += amount;
+            offset += amount;
+            length -= amount;
+        }
+    }
+
+    /**
+     * Stores {@code length} bytes of the given buffer starting at the given address.
+     * The address must be absolute address from the memory. The whole range must be inside the section.
+     *
+     * @param address the first address.
+     * @param buffer  the buffer.
+     * @param offset  the index of the buffer where the first byte is located.
+     * @param length  the amount of bytes to store.
+     */
+    public void setBytes(int address, byte[] buffer, int offset, int length) {
+        int relative = checkRange(address, length);
+        while (length > 0) {
+            int cellIndex = cellShift >= 0 ? relative >>> cellShift : relative / cellSize;
+            int cellOffset = relative - cellIndex * cellSize;
+            int amount = Math.min(length, cellSize - cellOffset);
+            getWritableCell(cellIndex).setBytes(cellOffset, buffer, offset, amount);
+            relative += amount;
+            offset += amount;
+            length -= amount;
+        }
+    }
+
+    /**
+     * Copies bytes starting at the given address into the given buffer until a zero byte is found
+     * or {@code maxLength} bytes are copied. The zero byte is not copied.
+     * The address must be absolute address from the memory. The whole range must be inside the section.
+     *
+     * @param address   the first address.
+     * @param buffer    the buffer.
+     * @param offset    the index of the buffer where the first byte is stored.
+     * @param maxLength the maximum amount of bytes to copy.
+     * @return the amount of copied bytes.
+     */
+    public int getNullTerminatedBytes(int address, byte[] buffer, int offset, int maxLength) {
+        int relative = checkRange(address, maxLength);
+        int amount = 0;
+        while (amount < maxLength) {
+            int cellIndex = cellShift >= 0 ? relative >>> cellShift : relative / cellSize;
+            int cellOffset = relative - cellIndex * cellSize;
+            int end = Math.min(maxLength - amount, cellSize - cellOffset) + cellOffset;
+            MemoryCell cell = cells[cellIndex];
+            if (cell == null) return amount;
+            for (int i = cellOffset; i < end; i++) {
+                byte b = cell.getByte(i);
+                if (b == 0) return amount;
+                buffer[offset + amount++] = b;
+            }
+            relative += end - cellOffset;
+        }
+        return amount;
     }
 
     /**
@@ -239,7 +340,7 @@ public class MemorySection {
      * @return whether the given address is inside the memory section.
      */
     public boolean isInside(int address) {
-        return Integer.compareUnsigned(address, firstAddress) >= 0 && Integer.compareUnsigned(address, firstAddress + length - 1) <= 0;
+        return Integer.compareUnsigned(address - firstAddress, length) < 0;
     }
 
     /**
@@ -254,22 +355,63 @@ public class MemorySection {
 
     /**
      * Creates a copy of the memory section.
+     * <p>
+     * The copy shares all {@link MemoryCell}s with this section. Cells are copied lazily
+     * when any of both sections modifies them. The copy has no snapshot: its journal starts empty.
      *
      * @return the copy.
      */
     public MemorySection copy() {
         MemorySection section = new MemorySection(name, firstAddress, length, cellSize);
-        for (int i = 0; i < cells.length; i++) {
-            section.cells[i] = cells[i] == null ? null : cells[i].copy();
-        }
+        System.arraycopy(cells, 0, section.cells, 0, cells.length);
+        // Cells owned by this section are now shared with the copy.
+        // The snapshot generation is kept: cells already journaled are not journaled again.
+        generation = GENERATIONS.incrementAndGet();
         return section;
     }
 
+    /**
+     * Takes a snapshot of the contents of this section, discarding the previous one.
+     * <p>
+     * This operation costs O(1). Use {@link #restore()} to return to the snapshot.
+     */
+    public void snapshot() {
+        generation = GENERATIONS.incrementAndGet();
+        snapshotGeneration = generation;
+        clearJournal();
+    }
+
+    /**
+     * Returns this section to the latest snapshot taken using {@link #snapshot()}.
+     * If no snapshot was taken, the section returns to the state it had when it was created or copied.
+     * <p>
+     * This operation costs O(cells modified since the snapshot). The snapshot is kept, so it can be
+     * restored again later.
+     */
+    public void restore() {
+        for (int i = journalSize - 1; i >= 0; i--) {
+            cells[journalIndices[i]] = journalCells[i];
+        }
+        snapshot();
+    }
+
+    /**
+     * Returns the amount of cells journaled since the latest snapshot. This is the cost of {@link #restore()}.
+     * <p>
+     * A cell is journaled the first time it's modified after a snapshot or after this section is copied.
+     *
+     * @return the amount of dirty cells.
+     */
+    public int getDirtyCellsAmount() {
+        return journalSize;
+    }
+
     /**
      * Wipes this memory section.
      */
     public void wipe() {
         Arrays.fill(cells, null);
+        snapshot();
     }
 
     private void generateCellsArray() {
@@ -278,11 +420,36 @@ public class MemorySection {
         cells = new MemoryCell[cellsAmount];
     }
 
-    private MemoryCell getOrCreateCell(int index) {
+    private int checkRange(int address, int length) {
+        int relative = address - firstAddress;
+        if (Integer.compareUnsigned(relative, this.length) >= 0
+                || Integer.compareUnsigned(length, this.length - relative) > 0)
+            throw new IndexOutOfBoundsException("Address " + address + " out of bounds.");
+        return relative;
+    }
+
+    private MemoryCell getWritableCell(int index) {
         MemoryCell cell = cells[index];
-        if (cell == null) {
-            return cells[index] = new MemoryCell(cellSize);
+        if (cell != null && cell.getOwner() == generation) return cell;
+
+        // First write since the latest snapshot or since this section was copied.
+        if (cell == null || cell.getOwner() < snapshotGeneration) {
+            journal(index, cell);
         }
-        return cell;
+        return cells[index] = cell == null ? new MemoryCell(cellSize, generation) : cell.copy(generation);
+    }
+
+    private void journal(int index, MemoryCell old) {
+        if (journalSize == journalIndices.length) {
+            journalIndices = Arrays.copyOf(journalIndices, journalSize << 1);
+            journalCells = Arrays.copyOf(journalCells, journalSize << 1);
+        }
+        journalIndices[journalSize] = index;
+        journalCells[journalSize++] = old;
+    }
+
+    private void clearJournal() {
+        Arrays.fill(journalCells, 0, journalSize, null);
+        journalSize = 0;
     }
 }
@@ -0,0 +1,156 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory;
+
+import java.util.Arrays;
+
+/**
+ * Small table of watched address ranges checked by {@link SimpleMemory} on every access.
+ * <p>
+ * The table works with event calls enabled or disabled: it's checked before the event-less fast path,
+ * so watchpoints don't require the event system. When an access hits a watched range the
+ * {@link Listener} is notified. The listener is invoked by the thread executing the access.
+ * <p>
+ * Accesses served by a cache without reaching the {@link SimpleMemory} are not checked.
+ */
+public class MemoryWatchTable {
+
+    /**
+     * Listener notified when an access hits a watched range.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Invoked when an access hits a watched range.
+         *
+         * @param address the address of the access.
+         * @param write   whether the access is a write.
+         */
+        void onWatch(int address, boolean write);
+
+    }
+
+    private static final Range[] EMPTY = new Range[0];
+
+    // Copy-on-write: the array is never modified once published, so the simulation thread
+    // can read it without locking while other threads add or remove ranges.
+    private volatile Range[] ranges = EMPTY;
+    private volatile Listener listener;
+
+    /**
+     * Returns the amount of watched ranges.
+     *
+     * @return the amount of ranges.
+     */
+    public int size() {
+        return ranges.length;
+    }
+
+    /**
+     * Returns whether this table has no watched ranges.
+     *
+     * @return whether this table is empty.
+     */
+    public boolean isEmpty() {
+        return ranges.length == 0;
+    }
+
+    /**
+     * Sets the {@link Listener} notified when an access hits a watched range.
+     *
+     * @param listener the listener or null.
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Watches the given address range.
+     *
+     * @param start the first address of the range.
+     * @param end   the last address of the range, inclusive.
+     * @param read  whether read accesses should be notified.
+     * @param write whether write accesses should be notified.
+     */
+    public synchronized void add(int start, int end, boolean read, boolean write) {
+        if (Integer.compareUnsigned(start, end) > 0) {
+            throw new IllegalArgumentException("The start of the range must be before its end!");
+        }
+        var current = ranges;
+        var updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = new Range(start, end, read, write);
+        ranges = updated;
+    }
+
+    /**
+     * Removes all watched ranges starting and ending at the given addresses.
+     *
+     * @param start the first address of the range.
+     * @param end   the last address of the range, inclusive.
+     * @return whether any range was removed.
+     */
+    public synchronized boolean remove(int start, int end) {
+        var current = ranges;
+        var updated = new Range[current.length];
+        int newSize = 0;
+        for (Range range : current) {
+            if (range.start == start && range.end == end) continue;
+            updated[newSize++] = range;
+        }
+        if (newSize == current.length) return false;
+        ranges = newSize == 0 ? EMPTY : Arrays.copyOf(updated, newSize);
+        return true;
+    }
+
+    /**
+     * Removes all watched ranges.
+     */
+    public synchronized void clear() {
+        ranges = EMPTY;
+    }
+
+    /**
+     * Checks the given access, notifying the {@link Listener} if it hits a watched range.
+     *
+     * @param address the first address of the access.
+     * @param length  the amount of bytes accessed.
+     * @param write   whether the access is a write.
+     */
+    public void check(int address, int length, boolean write) {
+        int last = address + length - 1;
+        for (Range range : ranges) {
+            if (write ? !range.write : !range.read) continue;
+            if (Integer.compareUnsigned(last, range.start) >= 0 && Integer.compareUnsigned(address, range.end) <= 0) {
+                var listener = this.listener;
+                if (listener != null) listener.onWatch(address, write);
+                return;
+            }
+        }
+    }
+
+    private record Range(int start, int end, boolean read, boolean write) {
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory;
+
+/**
+ * Per-page write generation counters updated by {@link SimpleMemory} on every write.
+ * <p>
+ * Consumers caching data derived from the memory contents, such as decoded instructions, store the generation
+ * of a page when they cache it and compare it later with {@link #getGeneration(int)}. Counters are only kept
+ * for the 4 MiB regions that have been queried at least once, so writes to other regions only cost a null check.
+ * <p>
+ * The pages of the last {@link #WRITE_LOG_SIZE} tracked writes are also kept in a log, so consumers can check
+ * only the pages written since their last check instead of every page they have cached.
+ * <p>
+ * The tracker works with event calls enabled or disabled. Like {@link MemoryWatchTable},
+ * writes served by a cache without reaching the {@link SimpleMemory} are not tracked.
+ * <p>
+ * A {@link MemoryDirtyPages} set can be installed to also mark the written pages for consumers
+ * living in other threads.
+ */
+public class MemoryWriteTracker {
+
+    public static final int PAGE_SHIFT = 12;
+    public static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    public static final int WRITE_LOG_SIZE = 1 << 10;
+
+    private static final int TABLE_SHIFT = 22;
+    private static final int TABLE_MASK = (1 << (TABLE_SHIFT - PAGE_SHIFT)) - 1;
+
+    private final int[][] generations = new int[1 << (32 - TABLE_SHIFT)][];
+    private final int[] writeLog = new int[WRITE_LOG_SIZE];
+    private int writes, lastTouchAll;
+    private volatile MemoryDirtyPages dirtyPages;
+
+    /**
+     * Registers a write to the given address.
+     *
+     * @param address the address.
+     */
+    public void onWrite(int address) {
+        var table = generations[address >>> TABLE_SHIFT];
+        if (table != null) {
+            table[(address >>> PAGE_SHIFT) & TABLE_MASK]++;
+            writeLog[writes & (WRITE_LOG_SIZE - 1)] = address >>> PAGE_SHIFT;
+            writes++;
+        }
+        var dirty = dirtyPages;
+        if (dirty != null) {
+            dirty.mark(address);
+        }
+    }
+
+    /**
+     * Registers a write of {@code length} bytes starting at the given address.
+     *
+     * @param address the first address.
+     * @param length  the amount of written bytes. It must be positive.
+     */
+    public void onWrite(int address, int length) {
+        int first = address >>> PAGE_SHIFT;
+        int last = (address + length - 1) >>> PAGE_SHIFT;
+        for (int page = first; ; page = (page + 1) & ((1 << (32 - PAGE_SHIFT)) - 1)) {
+            onWrite(page << PAGE_SHIFT);
+            if (page == last) break;
+        }
+    }
+
+    /**
+     * Returns the write generation of the page containing the given address.
+     * <p>
+     * The generation changes every time the page is written. Calling this method starts tracking the region
+     * containing the address.
+     *
+     * @param address the address.
+     * @return the generation of the page.
+     */
+    public int getGeneration(int address) {
+        var table = generations[address >>> TABLE_SHIFT];
+        if (table == null) {
+            table = new int[TABLE_MASK + 1];
+            generations[address >>> TABLE_SHIFT] = table;
+        }
+        return table[(address >>> PAGE_SHIFT) & TABLE_MASK];
+    }
+
+    /**
+     * Returns the amount of tracked writes registered by this tracker.
+     * <p>
+     * Consumers can compare this value with a previous one to know cheaply whether any tracked page was written.
+     *
+     * @return the amount of tracked writes.
+     */
+    public int getWrites() {
+        return writes;
+    }
+
+    /**
+     * Returns whether the pages written by the tracked writes registered since the given amount of writes
+     * are still in the log. If they are not, consumers must check all their pages.
+     *
+     * @param since the amount of tracked writes returned by {@link #getWrites()} on the last check.
+     * @return whether the written pages can be obtained using {@link #getWrittenPage(int)}.
+     */
+    public boolean isLogged(int since) {
+        return writes - since <= WRITE_LOG_SIZE && since - lastTouchAll >= 0;
+    }
+
+    /**
+     * Returns the first address of the page written by the given tracked write.
+     * <p>
+     * The write must be {@link #isLogged(int) logged}.
+     *
+     * @param write the index of the write: the value of {@link #getWrites()} before it was registered.
+     * @return the first address of the page.
+     */
+    public int getWrittenPage(int write) {
+        return writeLog[write & (WRITE_LOG_SIZE - 1)] << PAGE_SHIFT;
+    }
+
+    /**
+     * Marks all tracked pages as written.
+     * <p>
+     * This method should be used when the memory contents are replaced without using the write methods.
+     */
+    public void touchAll() {
+        for (var table : generations) {
+            if (table == null) continue;
+            for (int i = 0; i < table.length; i++) {
+                table[i]++;
+            }
+        }
+        writes++;
+        lastTouchAll = writes;
+        var dirty = dirtyPages;
+        if (dirty != null) {
+            dirty.markAll();
+        }
+    }
+
+    /**
+     * Returns the {@link MemoryDirtyPages} set marked by this tracker, if present.
+     *
+     * @return the {@link MemoryDirtyPages} or null.
+     */
+    public MemoryDirtyPages getDirtyPages() {
+        return dirtyPages;
+    }
+
+    /**
+     * Sets the {@link MemoryDirtyPages} set this tracker marks on every write.
+     *
+     * @param dirtyPages the {@link MemoryDirtyPages}, or null to stop marking pages.
+     */
+    public void setDirtyPages(MemoryDirtyPages dirtyPages) {
+        this.dirtyPages = dirtyPages;
+    }
+}
@@ -48,11 +48,16 @@ import java.util.*;
  */
 public class SimpleMemory extends SimpleEventBroadcast implements Memory {
 
+    /**
+     * The amount of bits of the address space covered by each entry of the section table: 1 MiB per entry.
+     */
+    public static final int SECTION_TABLE_SHIFT = 20;
 
     protected final int firstTextAddress, firstDataAddress, firstKernelTextAddress, firstKernelDataAddress, firstExternalAddress;
     protected MemorySection[] sections;
     protected int[] firstAddresses;
-    protected MemorySection[] savedSections;
+    protected MemorySection[] sectionTable;
+    protected boolean stateSaved;
     protected boolean bigEndian;
     protected boolean savedEndian;
     protected int nextDataAddress;
@@ -60,6 +65,11 @@ public class SimpleMemory extends SimpleEventBroadcast implements Memory {
 
     protected boolean eventCallsEnabled;
 
+    protected final MemoryWatchTable watchTable = new MemoryWatchTable();
+    protected final MemoryWriteTracker writeTracker = new MemoryWriteTracker();
+    protected MemoryAccessListener accessListener;
+    protected boolean accessesObserved = true;
+
     /**
      * Creates a simple memory using a list of {@link MemorySection}s and a boolean representing whether
      * this memory is bigEndian.
@@ -94,6 +104,7 @@ public class SimpleMemory extends SimpleEventBroadcast implements Memory {
         for (i = 0; i < this.sections.length; i++) {
             firstAddresses[i] = this.sections[i].getFirstAddress();
         }
+        buildSectionTable();
 
         this.eventCallsEnabled = true;
     }
@@ -128,6 +139,7 @@ public class SimpleMemory extends SimpleEventBroadcast implements Memory {
         for (int i = 0; i < this.sections.length; i++) {
             firstAddresses[i] = this.sections[i].getFirstAddress();
         }
+        buildSectionTable();
 
         this.eventCallsEnabled = true;
     }
@@ -157,6 +169,7 @@ public class SimpleMemory extends SimpleEventBroadcast implements Memory {
         for (int i = 0; i < this.sections.length; i++) {
             firstAddresses[i] = this.sections[i].getFirstAddress();
         }
+        buildSectionTable();
     }
 
     @Override
@@ -188,19 +201,25 @@ public class SimpleMemory extends SimpleEventBroadcast implements Memory {
     @Override
     public byte getByte(int address, boolean callEvents, boolean bypassCaches, boolean modifyCaches) {
         if (!eventCallsEnabled || !callEvents) {
-            return getSectionOrThrowException(address).getByte(address);
+            byte b = getSectionOrThrowException(address).getByte(address);
+            if (callEvents) watch(address, 1, false);
+            return b;
         }
         //Invokes the before event.
-        MemoryByteGetEvent.Before before = callEvent(new MemoryByteGetEvent.Before(this, address));
+        if (hasListeners(MemoryByteGetEvent.Before.class)) {
+            MemoryByteGetEvent.Before before = callEvent(new MemoryByteGetEvent.Before(this, address));
 
-        //Refresh data.
-        address = before.getAddress();
+            //Refresh data.
+            address = before.getAddress();
+        }
 
         //Gets the section and the byte.
         MemorySection section = getSectionOrThrowException(address);
         byte b = section.getByte(address);
+        watch(address, 1, false);
 
         //Invokes the after event.
+        if (!hasListeners(MemoryByteGetEvent.After.class)) return b;
         return callEvent(new MemoryByteGetEvent.After(this, section, address, b)).getValue();
     }
 
@@ -213,22 +232,30 @@ public class SimpleMemory extends SimpleEventBroadcast implements Memory {
     public void setByte(int address, byte b, boolean callEvents, boolean bypassCaches, boolean modifyCaches) {
         if (!eventCallsEnabled || !callEvents) {
             getSectionOrThrowException(address).setByte(address, b);
+            if (callEvents) watch(address, 1, true);
+            writeTracker.onWrite(address);
             return;
         }
         //Invokes the before event.
-        MemoryByteSetEvent.Before before = callEvent(new MemoryByteSetEvent.Before(this, address, b));
-        if (before.isCancelled()) return;
+        if (hasListeners(MemoryByteSetEvent.Before.class)) {
+            MemoryByteSetEvent.Before before = callEvent(new MemoryByteSetEvent.Before(this, address, b));
+            if (before.isCancelled()) return;
 
-        //Refresh data.
-        address = before.getAddress();
-        b = before.getValue();
+            //Refresh data.
+            address = before.getAddress();
+            b = before.getValue();
+        }
 
         //Gets the section and sets the byte.
         MemorySection section = getSectionOrThrowException(address);
         byte old = section.setByte(address, b);
+        watch(address, 1, true);
+        writeTracker.onWrite(address);
 
         //Invokes the after event.
-        callEvent(new MemoryByteSetEvent.After(this, section, address, b, old));
+        if (hasListeners(MemoryByteSetEvent.After.class)) {
+            callEvent(new MemoryByteSetEvent.After(this, section, address, b, old));
+        }
     }
 
     @Override
@@ -240,19 +267,25 @@ public class SimpleMemory extends SimpleEventBroadcast implements Memory {
     public short getHalfword(int address, boolean callEvents, boolean bypassCaches, boolean modifyCaches) {
         if ((address & 0x1) != 0) throw new MIPSAddressException(InterruptCause.ADDRESS_LOAD_EXCEPTION, address);
         if (!eventCallsEnabled || !callEvents) {
-            return getSectionOrThrowException(address).getHalfword(address, bigEndian);
+            short h = getSectionOrThrowException(address).getHalfword(address, bigEndian);
+            if (callEvents) watch(address, 2, false);
+            return h;
         }
         //Invokes the before event.
-        MemoryHalfwordGetEvent.Before before = callEvent(new MemoryHalfwordGetEvent.Before(this, address));
+        if (hasListeners(MemoryHalfwordGetEvent.Before.class)) {
+            MemoryHalfwordGetEvent.Before before = callEvent(new MemoryHalfwordGetEvent.Before(this, address));
 
-        //Refresh data.
-        address = before.getAddress();
+            //Refresh data.
+            address = before.getAddress();
+        }
 
         //Gets the section and the byte.
         MemorySection section = getSectionOrThrowException(address);
         short b = section.getHalfword(address, bigEndian);
+        watch(address, 2, false);
 
         //Invokes the after event.
+        if (!hasListeners(MemoryHalfwordGetEvent.After.class)) return b;
         return callEvent(new MemoryHalfwordGetEvent.After(this, section, address, b)).getValue();
     }
 
@@ -266,22 +299,30 @@ public class SimpleMemory extends SimpleEventBroadcast implements Memory {
         if ((address & 0x1) != 0) throw new MIPSAddressException(InterruptCause.ADDRESS_LOAD_EXCEPTION, address);
         if (!eventCallsEnabled || !callEvents) {
             getSectionOrThrowException(address).setHalfword(address, h, bigEndian);
+            if (callEvents) watch(address, 2, true);
+            writeTracker.onWrite(address);
             return;
         }
         //Invokes the before event.
-        MemoryHalfwordSetEvent.Before before = callEvent(new MemoryHalfwordSetEvent.Before(this, address, h));
-        if (before.isCancelled()) return;
+        if (hasListeners(MemoryHalfwordSetEvent.Before.class)) {
+            MemoryHalfwordSetEvent.Before before = callEvent(new MemoryHalfwordSetEvent.Before(this, address, h));
+            if (before.isCancelled()) return;
 
-        //Refresh data.
-        address = before.getAddress();
-        h = before.getValue();
+            //Refresh data.
+            address = before.getAddress();
+            h = before.getValue();
+        }
 
         //Gets the section and sets the byte.
         MemorySection section = getSectionOrThrowException(address);
         short old = section.setHalfword(address, h, bigEndian);
+        watch(address, 2, true);
+        writeTracker.onWrite(address);
 
         //Invokes the after event.
-        callEvent(new MemoryHalfwordSetEvent.After(this, section, address, h, old));
+        if (hasListeners(MemoryHalfwordSetEvent.After.class)) {
+            callEvent(new MemoryHalfwordSetEvent.After(this, section, address, h, old));
+        }
     }
 
     @Override
@@ -293,19 +334,25 @@ public class SimpleMemory extends SimpleEventBroadcast implements Memory {
     public int getWord(int address, boolean callEvents, boolean bypassCaches, boolean modifyCaches) {
         if ((address & 0x3) != 0) throw new MIPSAddressException(InterruptCause.ADDRESS_LOAD_EXCEPTION, address);
         if (!eventCallsEnabled || !callEvents) {
-            return getSectionOrThrowException(address).getWord(address, bigEndian);
+            int word = getSectionOrThrowException(address).getWord(address, bigEndian);
+            if (callEvents) watch(address, 4, false);
+            return word;
         }
         //Invokes the before event.
-        MemoryWordGetEvent.Before before = callEvent(new MemoryWordGetEvent.Before(this, address));
+        if (hasListeners(MemoryWordGetEvent.Before.class)) {
+            MemoryWordGetEvent.Before before = callEvent(new MemoryWordGetEvent.Before(this, address));
 
-        //Refresh data.
-        address = before.getAddress();
+            //Refresh data.
+            address = before.getAddress();
+        }
 
         //Gets the section and the word.
         MemorySection section = getSectionOrThrowException(address);
         int word = section.getWord(address, bigEndian);
+        watch(address, 4, false);
 
         //Invokes the after event.
+        if (!hasListeners(MemoryWordGetEvent.After.class)) return word;
         return callEvent(new MemoryWordGetEvent.After(this, section, address, word)).getValue();
     }
 
@@ -319,22 +366,100 @@ public class SimpleMemory extends SimpleEventBroadcast implements Memory {
         if ((address & 0x3) != 0) throw new MIPSAddressException(InterruptCause.ADDRESS_STORE_EXCEPTION, address);
         if (!eventCallsEnabled || !callEvents) {
             getSectionOrThrowException(address).setWord(address, word, bigEndian);
+            if (callEvents) watch(address, 4, true);
+            writeTracker.onWrite(address);
             return;
         }
         //Invokes the before event.
-        MemoryWordSetEvent.Before before = callEvent(new MemoryWordSetEvent.Before(this, address, word));
-        if (before.isCancelled()) return;
+        if (hasListeners(MemoryWordSetEvent.Before.class)) {
+            MemoryWordSetEvent.Before before = callEvent(new MemoryWordSetEvent.Before(this, address, word));
+            if (before.isCancelled()) return;
 
-        //Refresh data.
-        address = before.getAddress();
-        word = before.getValue();
+            //Refresh data.
+            address = before.getAddress();
+            word = before.getValue();
+        }
 
         //Gets the section and sets the word.
         MemorySection section = getSectionOrThrowException(address);
         int old = section.setWord(address, word, bigEndian);
+        watch(address, 4, true);
+        writeTracker.onWrite(address);
 
         //Invokes the after event.
-        callEvent(new MemoryWordSetEvent.After(this, section, address, word, old));
+        if (hasListeners(MemoryWordSetEvent.After.class)) {
+            callEvent(new MemoryWordSetEvent.After(this, section, address, word, old));
+        }
+    }
+
+    @Override
+    public byte peekByte(int address) {
+        return getSectionOrThrowException(address).getByte(address);
+    }
+
+    @Override
+    public int peekWord(int address) {
+        if ((address & 0x3) != 0) throw new MIPSAddressException(InterruptCause.ADDRESS_LOAD_EXCEPTION, address);
+        return getSectionOrThrowException(address).getWord(address, bigEndian);
+    }
+
+    @Override
+    public void getBytes(int address, byte[] buffer, int offset, int length) {
+        if (eventCallsEnabled) {
+            Memory.super.getBytes(address, buffer, offset, length);
+            return;
+        }
+        int done = 0;
+        while (done < length) {
+            int current = address + done;
+            MemorySection section = getSectionOrThrowException(current);
+            int amount = sectionChunk(section, current, length - done);
+            section.getBytes(current, buffer, offset + done, amount);
+            done += amount;
+        }
+        if (length > 0) watch(address, length, false);
+    }
+
+    @Override
+    public void setBytes(int address, byte[] buffer, int offset, int length) {
+        if (eventCallsEnabled) {
+            Memory.super.setBytes(address, buffer, offset, length);
+            return;
+        }
+        int done = 0;
+        while (done < length) {
+            int current = address + done;
+            MemorySection section = getSectionOrThrowException(current);
+            int amount = sectionChunk(section, current, length - done);
+            section.setBytes(current, buffer, offset + done, amount);
+            done += amount;
+        }
+        if (length > 0) {
+            watch(address, length, true);
+            writeTracker.onWrite(address, length);
+        }
+    }
+
+    @Override
+    public int getNullTerminatedBytes(int address, byte[] buffer, int offset, int maxLength) {
+        if (eventCallsEnabled) {
+            return Memory.super.getNullTerminatedBytes(address, buffer, offset, maxLength);
+        }
+        int done = 0;
+        while (done < maxLength) {
+            int current = address + done;
+            MemorySection section = getSectionOrThrowException(current);
+            int amount = sectionChunk(section, current, maxLength - done);
+            int read = section.getNullTerminatedBytes(current, buffer, offset + done, amount);
+            done += read;
+            if (read < amount) {
+                // The zero byte has been read too.
+                watch(address, done + 1, false);
+                return done;
+            }
+        }
+        if (done > 0) watch(address, done, false);
+        return done;
     }
 
     @Override
@@ -410,6 +535,11 @@ public class SimpleMemory extends SimpleEventBroadcast implements Memory {
         return eventCallsEnabled;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The copy shares all {@link MemoryCell}s with this memory: only the cell reference arrays are copied.
+     */
     @Override
     public Memory copy() {
 
@@ -425,29 +555,40 @@ public class SimpleMemory extends SimpleEventBroadcast implements Memory {
         return memory;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This operation costs O(1): sections share their cells with the saved state and copy them lazily.
+     */
     @Override
     public void saveState() {
-        savedSections = new MemorySection[sections.length];
-        for (int i = 0; i < sections.length; i++) {
-            savedSections[i] = sections[i].copy();
+        for (MemorySection section : sections) {
+            section.snapshot();
         }
+        stateSaved = true;
         savedEndian = bigEndian;
         savedNextDataAddress = nextDataAddress;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This operation costs O(cells modified since the state was saved).
+     */
     @Override
     public void restoreSavedState() {
-        if (savedSections == null) {
+        if (!stateSaved) {
             for (MemorySection section : sections) {
                 section.wipe();
             }
         } else {
-            for (int i = 0; i < sections.length; i++) {
-                sections[i] = savedSections[i].copy();
+            for (MemorySection section : sections) {
+                section.restore();
             }
         }
         bigEndian = savedEndian;
         nextDataAddress = savedNextDataAddress;
+        writeTracker.touchAll();
     }
 
     @Override
@@ -480,8 +621,122 @@ public class SimpleMemory extends SimpleEventBroadcast implements Memory {
         return true;
     }
 
+    /**
+     * Returns the {@link MemoryWatchTable} of this memory.
+     * <p>
+     * Watched ranges are checked on every {@link #areAccessesObserved() observed} access,
+     * with or without event calls.
+     *
+     * @return the {@link MemoryWatchTable}.
+     */
+    public MemoryWatchTable getWatchTable() {
+        return watchTable;
+    }
+
+    /**
+     * Returns the {@link MemoryWriteTracker} of this memory.
+     * <p>
+     * Writes are tracked with or without event calls.
+     *
+     * @return the {@link MemoryWriteTracker}.
+     */
+    public MemoryWriteTracker getWriteTracker() {
+        return writeTracker;
+    }
+
+    /**
+     * Returns the {@link MemoryAccessListener} notified on every {@link #areAccessesObserved() observed}
+     * access served by this memory.
+     *
+     * @return the {@link MemoryAccessListener}, if present.
+     */
+    public Optional<MemoryAccessListener> getAccessListener() {
+        return Optional.ofNullable(accessListener);
+    }
+
+    /**
+     * Sets the {@link MemoryAccessListener} notified on every {@link #areAccessesObserved() observed}
+     * access served by this memory.
+     * <p>
+     * Listeners are not copied by {@link #copy()}.
+     *
+     * @param accessListener the {@link MemoryAccessListener}, or null to remove the current one.
+     */
+    public void setAccessListener(MemoryAccessListener accessListener) {
+        this.accessListener = accessListener;
+    }
+
+    /**
+     * Returns whether the accesses to this memory are checked by the {@link #getWatchTable() watch table}
+     * and notified to the {@link #getAccessListener() access listener}.
+     * <p>
+     * Accesses made with event calls disallowed are never observed: they are inspections, such as the reads
+     * made by the GUI or by the decoder.
+     *
+     * @return whether the accesses are observed.
+     */
+    public boolean areAccessesObserved() {
+        return accessesObserved;
+    }
+
+    /**
+     * Sets whether the accesses to this memory are checked by the {@link #getWatchTable() watch table}
+     * and notified to the {@link #getAccessListener() access listener}.
+     * <p>
+     * Simulations disable the observation while they make accesses that are not made by the program,
+     * such as instruction cache fills or system calls.
+     *
+     * @param observe whether the accesses should be observed.
+     * @return whether the accesses were observed before this call.
+     */
+    public boolean observeAccesses(boolean observe) {
+        boolean old = accessesObserved;
+        accessesObserved = observe;
+        return old;
+    }
+
+    /**
+     * Returns the amount of bytes of the given range that are inside the given section.
+     * If the address is not inside the section the whole length is returned, so the section throws the exception.
+     */
+    private static int sectionChunk(MemorySection section, int address, int length) {
+        long available = Integer.toUnsignedLong(section.getLastAddress() - address) + 1;
+        return section.isInside(address) ? (int) Math.min(length, available) : length;
+    }
+
+    private void watch(int address, int length, boolean write) {
+        if (!accessesObserved) return;
+        if (watchTable.size() != 0) watchTable.check(address, length, write);
+        if (accessListener != null) accessListener.onAccess(address, length, write);
+    }
+
+
+    /**
+     * Builds the table mapping each 1 MiB region of the address space to the section containing it.
+     * <p>
+     * Regions not covered by a single section are left empty: addresses inside them are searched
+     * in the sorted sections array. Only the regions inside each section are visited.
+     * <p>
+     * This method must be called every time the sections array is modified.
+     */
+    protected void buildSectionTable() {
+        sectionTable = new MemorySection[1 << (32 - SECTION_TABLE_SHIFT)];
+        long regionLength = 1L << SECTION_TABLE_SHIFT;
+        for (MemorySection section : sections) {
+            long start = Integer.toUnsignedLong(section.getFirstAddress());
+            long end = Math.min(start + Integer.toUnsignedLong(section.getLength()), 1L << 32);
+            // Only the regions completely inside the section: the first and last ones may be partial.
+            int last = (int) (end >>> SECTION_TABLE_SHIFT);
+            for (int i = (int) ((start + regionLength - 1) >>> SECTION_TABLE_SHIFT); i < last; i++) {
+                if (sectionTable[i] == null) sectionTable[i] = section;
+            }
+        }
+    }
 
     private MemorySection getSectionOrThrowException(int address) {
+        var section = sectionTable[address >>> SECTION_TABLE_SHIFT];
+        if (section != null) return section;
+
         //Optimized for loop.
         for (int i = 0, length = firstAddresses.length; i < length; i++) {
             if (Integer.compareUnsigned(firstAddresses[i], address) > 0)
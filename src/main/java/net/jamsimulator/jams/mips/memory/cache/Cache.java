@@ -66,11 +66,56 @@ public interface Cache extends Memory {
      * stats of this cache at this moment.
      * <p>
      * This instance won't be updated if any operation is made on the cache.
+     * <p>
+     * Undo operations only revert the amount of operations and hits: the rest of counters keep
+     * the operations that have been undone.
      *
      * @return the {@link CacheStats}.
      */
     CacheStats getStats();
 
+    /**
+     * Returns the amount of operations made on this cache.
+     * Unlike {@link #getStats()}, this method doesn't create any object.
+     *
+     * @return the amount of operations.
+     */
+    long getOperations();
+
+    /**
+     * Returns the amount of hits of this cache.
+     * Unlike {@link #getStats()}, this method doesn't create any object.
+     *
+     * @return the amount of hits.
+     */
+    long getHits();
+
+    /**
+     * Returns the amount of dirty blocks this cache has written to the next level memory when they were replaced.
+     * Blocks written by {@link #flush()} are not counted. Write-through caches never write blocks back.
+     * <p>
+     * Undo operations don't revert this counter.
+     *
+     * @return the amount of written back blocks.
+     */
+    default long getWriteBacks() {
+        return 0;
+    }
+
+    /**
+     * Returns the amount of hits registered by bulk operations after the first access to each block.
+     * <p>
+     * Bulk operations, such as the refill of a block of the previous level, are registered as if their bytes were
+     * accessed one by one. This counter allows to count each block transfer as a single access.
+     * <p>
+     * Undo operations don't revert this counter.
+     *
+     * @return the amount of hits registered by bulk operations.
+     */
+    default long getBulkHits() {
+        return 0;
+    }
+
     /**
      * Resets this cache
      * <p>
@@ -88,6 +133,7 @@ public interface Cache extends Memory {
      * <p>
      * Removes an operation and sets the given block at the given index.
      * If the parameter hit is true, this method removes one hit too.
+     * The detailed counters returned by {@link #getStats()} are reverted too.
      *
      * @param hit        whether a hit should be substracted.
      * @param blockIndex the block index.
@@ -99,6 +145,7 @@ public interface Cache extends Memory {
      * This method should be used only by undo operations.
      * <p>
      * Sets the stats of this cache.
+     * The detailed counters returned by {@link #getStats()} are reverted to the given amount of operations.
      *
      * @param operations the operations.
      * @param hits       the hits.
@@ -116,4 +163,14 @@ public interface Cache extends Memory {
      */
     Optional<CacheBlock> getCacheBlock(int index);
 
+    /**
+     * Returns the {@link CacheReplacementPolicy} used by this cache, if any.
+     * Caches where each block can only be placed in one slot don't use a replacement policy.
+     *
+     * @return the {@link CacheReplacementPolicy}, if present.
+     */
+    default Optional<CacheReplacementPolicy> getReplacementPolicy() {
+        return Optional.empty();
+    }
+
 }
@@ -29,7 +29,7 @@ import net.jamsimulator.jams.mips.memory.MemoryCell;
 
 public class CacheBlock {
 
-    private final int tag, start;
+    private int tag, start;
     private final byte[] data;
 
     private boolean dirty;
@@ -42,6 +42,17 @@ public class CacheBlock {
         this.dirty = false;
     }
 
+    /**
+     * Reuses this block for a new memory range. The data must be refilled by the caller.
+     *
+     * @param tag   the new tag.
+     * @param start the new first address.
+     */
+    void reset(int tag, int start) {
+        this.tag = tag;
+        this.start = start;
+    }
+
     public int getTag() {
         return tag;
     }
@@ -90,54 +101,28 @@ public class CacheBlock {
 
 
     public short getHalfword(int address, boolean bigEndian) {
-        byte b0 = data[address++];
-        byte b1 = data[address];
-        return bigEndian ? MemoryCell.merge(b1, b0) : MemoryCell.merge(b0, b1);
+        return MemoryCell.readHalfword(data, address, bigEndian);
     }
 
     public short setHalfword(int address, short word, boolean bigEndian) {
-        short old = getHalfword(address, bigEndian);
-        byte[] array = MemoryCell.split(word);
-        if (bigEndian) {
-            data[address++] = array[1];
-            data[address] = array[0];
-        } else {
-            data[address++] = array[0];
-            data[address] = array[1];
-        }
+        short old = MemoryCell.readHalfword(data, address, bigEndian);
+        MemoryCell.writeHalfword(data, address, word, bigEndian);
         return old;
     }
 
 
     public int getWord(int address, boolean bigEndian) {
-        byte b0 = data[address++];
-        byte b1 = data[address++];
-        byte b2 = data[address++];
-        byte b3 = data[address];
-        return bigEndian ? MemoryCell.merge(b3, b2, b1, b0) : MemoryCell.merge(b0, b1, b2, b3);
+        return MemoryCell.readWord(data, address, bigEndian);
     }
 
     public int setWord(int address, int word, boolean bigEndian) {
-        var old = getWord(address, bigEndian);
-        byte[] array = MemoryCell.split(word);
-        if (bigEndian) {
-            data[address++] = array[3];
-            data[address++] = array[2];
-            data[address++] = array[1];
-            data[address] = array[0];
-        } else {
-            data[address++] = array[0];
-            data[address++] = array[1];
-            data[address++] = array[2];
-            data[address] = array[3];
-        }
+        int old = MemoryCell.readWord(data, address, bigEndian);
+        MemoryCell.writeWord(data, address, word, bigEndian);
         return old;
     }
 
     public void write(Memory parent) {
-        for (int i = 0; i < data.length; i++) {
-            parent.setByte(start + i, data[i]);
-        }
+        parent.setBytes(start, data, 0, data.length);
     }
 
     public CacheBlock copy() {
@@ -146,6 +131,7 @@ public class CacheBlock {
         CacheBlock copy = new CacheBlock(tag, start, array);
         copy.setCreationTime(creationTime);
         copy.setModificationTime(modificationTime);
+        copy.setDirty(dirty);
         return copy;
     }
 
@@ -0,0 +1,329 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache;
+
+import net.jamsimulator.jams.mips.memory.cache.replacement.CacheReplacementState;
+
+import java.util.Arrays;
+
+/**
+ * Stores the blocks of a {@link Cache} and their metadata.
+ * <p>
+ * Tags, valid and dirty bits and the creation and modification times of each block slot are stored
+ * in primitive arrays, so lookups and replacement decisions never touch the {@link CacheBlock} instances.
+ * These instances only hold the data of the blocks: their metadata fields are only updated
+ * when they are exported using {@link #exportBlock(int)}.
+ * <p>
+ * Slots are indexed globally. Each set uses a range of consecutive slots: direct caches use sets of one slot,
+ * and fully associative caches use a single set.
+ * <p>
+ * If the {@link CacheReplacementPolicy} of the cache needs more metadata, the table keeps its
+ * {@link CacheReplacementState} updated.
+ */
+public class CacheBlockTable {
+
+    private final int blockBytes, setSize;
+
+    private final CacheBlock[] blocks;
+    private final int[] tags;
+    private final boolean[] valid, dirty;
+    private final long[] creationTimes, modificationTimes;
+    private final int[] validAmounts;
+
+    private CacheReplacementState replacementState;
+    private int lastFound;
+
+    /**
+     * Creates an empty table.
+     *
+     * @param blocksAmount      the amount of block slots.
+     * @param blockBytes        the size of each block in bytes.
+     * @param setSize           the amount of slots of each set.
+     * @param replacementPolicy the replacement policy of the cache, or null if the cache doesn't use one.
+     */
+    public CacheBlockTable(int blocksAmount, int blockBytes, int setSize, CacheReplacementPolicy replacementPolicy) {
+        this.blockBytes = blockBytes;
+        this.setSize = setSize;
+        this.blocks = new CacheBlock[blocksAmount];
+        this.tags = new int[blocksAmount];
+        this.valid = new boolean[blocksAmount];
+        this.dirty = new boolean[blocksAmount];
+        this.creationTimes = new long[blocksAmount];
+        this.modificationTimes = new long[blocksAmount];
+        this.validAmounts = new int[blocksAmount / setSize];
+        this.replacementState = replacementPolicy == null
+                ? null
+                : replacementPolicy.createState(blocksAmount / setSize, setSize);
+    }
+
+    /**
+     * Creates a deep copy of the given table.
+     *
+     * @param copy the table to copy.
+     */
+    public CacheBlockTable(CacheBlockTable copy) {
+        this(copy.blocks.length, copy.blockBytes, copy.setSize, null);
+        copyFrom(copy);
+    }
+
+    /**
+     * Returns the amount of block slots of this table.
+     *
+     * @return the amount of slots.
+     */
+    public int size() {
+        return blocks.length;
+    }
+
+    /**
+     * Returns the amount of slots of each set.
+     *
+     * @return the amount of slots of each set.
+     */
+    public int getSetSize() {
+        return setSize;
+    }
+
+    /**
+     * Returns the {@link CacheReplacementState} of this table, or null if the replacement policy
+     * of the cache only uses the block times.
+     *
+     * @return the {@link CacheReplacementState} or null.
+     */
+    public CacheReplacementState getReplacementState() {
+        return replacementState;
+    }
+
+    /**
+     * Searches the valid block with the given tag inside the given slot range.
+     *
+     * @param tag    the tag.
+     * @param from   the first slot of the range.
+     * @param amount the amount of slots of the range.
+     * @return the slot of the block or -1 if not found.
+     */
+    public int find(int tag, int from, int amount) {
+        int hint = lastFound - from;
+        if (hint >= 0 && hint < amount && tags[lastFound] == tag && valid[lastFound]) {
+            return lastFound;
+        }
+
+        int to = from + amount;
+        for (int i = from; i < to; i++) {
+            if (tags[i] == tag && valid[i]) {
+                lastFound = i;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the first slot without a valid block inside the given set.
+     * <p>
+     * This method is O(1) when the set is full.
+     *
+     * @param from   the first slot of the set.
+     * @param amount the amount of slots of the set.
+     * @return the slot or -1 if all slots are valid.
+     */
+    public int findInvalid(int from, int amount) {
+        if (validAmounts[from / setSize] == setSize) return -1;
+        int to = from + amount;
+        for (int i = from; i < to; i++) {
+            if (!valid[i]) return i;
+        }
+        return -1;
+    }
+
+    public boolean isValid(int index) {
+        return valid[index];
+    }
+
+    public int getTag(int index) {
+        return tags[index];
+    }
+
+    public boolean isDirty(int index) {
+        return dirty[index];
+    }
+
+    public void setDirty(int index, boolean dirty) {
+        this.dirty[index] = dirty;
+    }
+
+    public long getCreationTime(int index) {
+        return creationTimes[index];
+    }
+
+    public long getModificationTime(int index) {
+        return modificationTimes[index];
+    }
+
+    /**
+     * Sets the modification time of the block at the given slot.
+     *
+     * @param index the slot.
+     * @param time  the modification time.
+     */
+    public void touch(int index, long time) {
+        modificationTimes[index] = time;
+    }
+
+    /**
+     * Notifies the replacement policy that the block at the given slot has been hit.
+     * Hits made right after the placement of a block, as part of the same access, must not be registered.
+     *
+     * @param index the slot.
+     * @param hits  the amount of hits. If it's not positive this method does nothing.
+     */
+    public void registerHits(int index, int hits) {
+        if (replacementState != null && hits > 0) {
+            replacementState.onHit(index, hits);
+        }
+    }
+
+    /**
+     * Returns the block at the given slot without updating its metadata fields.
+     *
+     * @param index the slot.
+     * @return the block or null if the slot is not valid.
+     */
+    public CacheBlock getBlock(int index) {
+        return valid[index] ? blocks[index] : null;
+    }
+
+    /**
+     * Returns the block at the given slot, updating its metadata fields first.
+     * <p>
+     * Use this method when the block is going to be stored or shown outside the cache.
+     *
+     * @param index the slot.
+     * @return the block or null if the slot is not valid.
+     */
+    public CacheBlock exportBlock(int index) {
+        if (!valid[index]) return null;
+        var block = blocks[index];
+        block.setDirty(dirty[index]);
+        block.setCreationTime(creationTimes[index]);
+        block.setModificationTime(modificationTimes[index]);
+        return block;
+    }
+
+    /**
+     * Places a new block at the given slot and returns it. The caller must fill its data.
+     * <p>
+     * If {@code reuse} is true, the storage of the previous block of the slot is reused.
+     * The previous block must not be referenced outside the cache in that case.
+     *
+     * @param index the slot.
+     * @param tag   the tag of the new block.
+     * @param start the first address of the new block.
+     * @param time  the creation time of the new block.
+     * @param reuse whether the storage of the previous block can be reused.
+     * @return the new block.
+     */
+    public CacheBlock allocate(int index, int tag, int start, long time, boolean reuse) {
+        if (valid[index]) {
+            if (replacementState != null) replacementState.onEvict(index, tags[index]);
+        } else {
+            validAmounts[index / setSize]++;
+        }
+
+        var block = blocks[index];
+        if (reuse && block != null) {
+            block.reset(tag, start);
+        } else {
+            block = new CacheBlock(tag, start, new byte[blockBytes]);
+            blocks[index] = block;
+        }
+
+        tags[index] = tag;
+        valid[index] = true;
+        dirty[index] = false;
+        creationTimes[index] = time;
+        modificationTimes[index] = time;
+        lastFound = index;
+        if (replacementState != null) replacementState.onFill(index, tag);
+        return block;
+    }
+
+    /**
+     * Places the given block at the given slot, restoring its exported metadata.
+     * This method is used by undo operations.
+     * <p>
+     * The {@link CacheReplacementState} can't be restored: the block is registered as a new placement.
+     *
+     * @param index the slot.
+     * @param block the block or null to invalidate the slot.
+     */
+    public void restore(int index, CacheBlock block) {
+        if (valid[index]) {
+            validAmounts[index / setSize]--;
+            if (replacementState != null) replacementState.onInvalidate(index);
+        }
+
+        blocks[index] = block;
+        valid[index] = block != null;
+        if (block != null) {
+            tags[index] = block.getTag();
+            dirty[index] = block.isDirty();
+            creationTimes[index] = block.getCreationTime();
+            modificationTimes[index] = block.getModificationTime();
+            validAmounts[index / setSize]++;
+            if (replacementState != null) replacementState.onFill(index, block.getTag());
+        }
+    }
+
+    /**
+     * Invalidates all slots.
+     */
+    public void clear() {
+        Arrays.fill(blocks, null);
+        Arrays.fill(valid, false);
+        Arrays.fill(dirty, false);
+        Arrays.fill(validAmounts, 0);
+        if (replacementState != null) replacementState.clear();
+    }
+
+    /**
+     * Copies the contents of the given table into this table. Blocks are copied too.
+     *
+     * @param other the table to copy. It must have the same size.
+     */
+    public void copyFrom(CacheBlockTable other) {
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = other.valid[i] ? other.blocks[i].copy() : null;
+        }
+        System.arraycopy(other.tags, 0, tags, 0, tags.length);
+        System.arraycopy(other.valid, 0, valid, 0, valid.length);
+        System.arraycopy(other.dirty, 0, dirty, 0, dirty.length);
+        System.arraycopy(other.creationTimes, 0, creationTimes, 0, creationTimes.length);
+        System.arraycopy(other.modificationTimes, 0, modificationTimes, 0, modificationTimes.length);
+        System.arraycopy(other.validAmounts, 0, validAmounts, 0, validAmounts.length);
+        replacementState = other.replacementState == null ? null : other.replacementState.copy();
+    }
+
+}
@@ -36,6 +36,11 @@ import java.util.Objects;
 
 public abstract class CacheBuilder<C extends Cache> implements ManagerResource {
 
+    /**
+     * The name of the property containing the cycles a hit in the built caches takes.
+     */
+    public static final String HIT_LATENCY = "HIT_LATENCY";
+
     protected final ResourceProvider provider;
     protected final String name;
     protected final List<Property<?>> properties;
@@ -68,6 +73,16 @@ public abstract class CacheBuilder<C extends Cache> implements ManagerResource {
 
     public abstract int getSizeInBytes();
 
+    /**
+     * Returns the amount of cycles a hit in the caches built by this builder takes.
+     * This value is used by the {@link CacheLatencyModel}.
+     *
+     * @return the hit latency in cycles.
+     */
+    public int getHitLatency() {
+        return 1;
+    }
+
     public abstract C build(Memory parent);
 
     public abstract CacheBuilder<C> makeNewInstance();
@@ -0,0 +1,174 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache;
+
+import net.jamsimulator.jams.mips.memory.Memory;
+import net.jamsimulator.jams.utils.Validate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Calculates the cycles a memory access takes inside a cache hierarchy.
+ * <p>
+ * The model reads the counters of every cache in the hierarchy before and after the memory
+ * stage of an instruction: each operation on a level costs the hit latency of that level,
+ * each miss on the last level costs the miss penalty of the main memory and each dirty block
+ * written back costs the write-back penalty. The memory stage already takes one cycle, so
+ * the stall is the total minus one.
+ * <p>
+ * Blocks are transferred between levels using bulk operations. Each block transfer counts as a single
+ * operation on each block of the lower level, not as an operation per byte.
+ * <p>
+ * Use {@link #begin()} before the memory access and {@link #end()} after it.
+ * This model works with events disabled.
+ */
+public class CacheLatencyModel {
+
+    private final Cache[] caches;
+    private final int[] hitLatencies;
+    private final int missPenalty, writeBackPenalty;
+
+    private final long[] operations, hits, writeBacks, bulkHits;
+
+    /**
+     * Creates a latency model.
+     *
+     * @param caches           the caches of the hierarchy, from the top level to the bottom one.
+     * @param hitLatencies     the hit latency in cycles of each cache.
+     * @param missPenalty      the cycles a miss on the last level takes.
+     * @param writeBackPenalty the cycles a block written back takes.
+     */
+    public CacheLatencyModel(List<Cache> caches, int[] hitLatencies, int missPenalty, int writeBackPenalty) {
+        Validate.notNull(caches, "Caches cannot be null!");
+        Validate.notNull(hitLatencies, "Hit latencies cannot be null!");
+        Validate.isTrue(!caches.isEmpty(), "There must be at least one cache!");
+        Validate.isTrue(caches.size() == hitLatencies.length, "There must be a hit latency per cache!");
+        Validate.isTrue(missPenalty >= 0, "Miss penalty cannot be negative!");
+        Validate.isTrue(writeBackPenalty >= 0, "Write-back penalty cannot be negative!");
+        for (int latency : hitLatencies) {
+            Validate.isTrue(latency >= 0, "Hit latency cannot be negative!");
+        }
+
+        this.caches = caches.toArray(new Cache[0]);
+        this.hitLatencies = hitLatencies.clone();
+        this.missPenalty = missPenalty;
+        this.writeBackPenalty = writeBackPenalty;
+
+        this.operations = new long[this.caches.length];
+        this.hits = new long[this.caches.length];
+        this.writeBacks = new long[this.caches.length];
+        this.bulkHits = new long[this.caches.length];
+    }
+
+    /**
+     * Creates a latency model for the caches inside the given memory hierarchy.
+     * The hit latency of each cache is provided by its {@link CacheBuilder}.
+     * Caches without builder have a hit latency of one cycle.
+     *
+     * @param memory           the top level memory of the hierarchy.
+     * @param missPenalty      the cycles a miss on the last level takes.
+     * @param writeBackPenalty the cycles a block written back takes.
+     * @return the model, or empty if the hierarchy has no caches.
+     */
+    public static Optional<CacheLatencyModel> of(Memory memory, int missPenalty, int writeBackPenalty) {
+        Validate.notNull(memory, "Memory cannot be null!");
+        var caches = new ArrayList<Cache>();
+        Memory current = memory;
+        while (current != null) {
+            if (current instanceof Cache cache) caches.add(cache);
+            current = current.getNextLevelMemory().orElse(null);
+        }
+        if (caches.isEmpty()) return Optional.empty();
+
+        int[] latencies = new int[caches.size()];
+        for (int i = 0; i < latencies.length; i++) {
+            var builder = caches.get(i).getBuilder();
+            latencies[i] = builder == null ? 1 : builder.getHitLatency();
+        }
+        return Optional.of(new CacheLatencyModel(caches, latencies, missPenalty, writeBackPenalty));
+    }
+
+    /**
+     * Returns the amount of caches this model reads.
+     *
+     * @return the amount of caches.
+     */
+    public int getLevels() {
+        return caches.length;
+    }
+
+    /**
+     * Returns the cycles a miss on the last level takes.
+     *
+     * @return the miss penalty.
+     */
+    public int getMissPenalty() {
+        return missPenalty;
+    }
+
+    /**
+     * Returns the cycles a block written back takes.
+     *
+     * @return the write-back penalty.
+     */
+    public int getWriteBackPenalty() {
+        return writeBackPenalty;
+    }
+
+    /**
+     * Saves the counters of all caches. Call this method before the memory access.
+     */
+    public void begin() {
+        for (int i = 0; i < caches.length; i++) {
+            operations[i] = caches[i].getOperations();
+            hits[i] = caches[i].getHits();
+            writeBacks[i] = caches[i].getWriteBacks();
+            bulkHits[i] = caches[i].getBulkHits();
+        }
+    }
+
+    /**
+     * Returns the stall cycles the memory accesses made since the last call to {@link #begin()} take.
+     *
+     * @return the stall cycles. This value is never negative.
+     */
+    public int end() {
+        long total = 0;
+        int last = caches.length - 1;
+        for (int i = 0; i <= last; i++) {
+            // The bytes of a block transfer after the first one are hits that must not be charged.
+            long bulk = caches[i].getBulkHits() - bulkHits[i];
+            long ops = caches[i].getOperations() - operations[i] - bulk;
+            total += ops * hitLatencies[i];
+            total += (caches[i].getWriteBacks() - writeBacks[i]) * writeBackPenalty;
+            if (i == last) {
+                total += (ops - (caches[i].getHits() - hits[i] - bulk)) * missPenalty;
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, total - 1));
+    }
+}
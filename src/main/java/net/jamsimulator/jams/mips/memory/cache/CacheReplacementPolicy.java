@@ -24,51 +24,123 @@
 
 package net.jamsimulator.jams.mips.memory.cache;
 
+import net.jamsimulator.jams.mips.memory.cache.replacement.*;
+
 import java.util.Random;
-import java.util.function.Function;
 
+/**
+ * Represents the policy used by a cache to choose the block to replace inside a full set.
+ * <p>
+ * RANDOM, FIFO, LRU and MRU use the times stored in the {@link CacheBlockTable}.
+ * The rest of policies keep their own per-set metadata in a {@link CacheReplacementState}.
+ */
 public enum CacheReplacementPolicy {
 
     RANDOM,
     FIFO,
     LRU,
-    MRU;
+    MRU,
+    /**
+     * Tree pseudo-LRU. See {@link TreePLRUReplacementState}.
+     */
+    PLRU,
+    /**
+     * Least frequently used. See {@link LFUReplacementState}.
+     */
+    LFU,
+    /**
+     * Static re-reference interval prediction. See {@link RRIPReplacementState}.
+     */
+    SRRIP,
+    /**
+     * Bimodal re-reference interval prediction. See {@link RRIPReplacementState}.
+     */
+    BRRIP,
+    /**
+     * Two queues. See {@link TwoQueueReplacementState}.
+     */
+    TWO_QUEUE;
 
     private static final Random RANDOM_INSTANCE = new Random();
 
-    public int getBlockToReplaceIndex(CacheBlock[] blocks) {
-        Function<CacheBlock, Long> comparingFunction;
+    /**
+     * Returns the slot of the block to replace inside the given slot range.
+     * Empty slots are always chosen first.
+     *
+     * @param table  the {@link CacheBlockTable} of the cache.
+     * @param from   the first slot of the range.
+     * @param amount the amount of slots of the range.
+     * @return the slot to replace, relative to {@code from}.
+     */
+    public int getBlockToReplaceIndex(CacheBlockTable table, int from, int amount) {
+        int invalid = table.findInvalid(from, amount);
+        if (invalid != -1) return invalid - from;
+
         switch (this) {
             case RANDOM:
-                return RANDOM_INSTANCE.nextInt(blocks.length);
+                return RANDOM_INSTANCE.nextInt(amount);
             case FIFO:
-                comparingFunction = CacheBlock::getCreationTime;
-                break;
+                return oldest(table, from, amount, true);
             case MRU:
-                comparingFunction = cacheBlock -> -cacheBlock.getModificationTime();
-                break;
-            default:
+                return newest(table, from, amount);
             case LRU:
-                comparingFunction = CacheBlock::getModificationTime;
-                break;
+                return oldest(table, from, amount, false);
+            default:
+                return table.getReplacementState().getVictim(from / amount);
+        }
+    }
+
+    /**
+     * Creates the per-set metadata this policy needs, or returns null if the times
+     * stored in the {@link CacheBlockTable} are enough.
+     *
+     * @param sets the amount of sets of the cache.
+     * @param ways the amount of blocks of each set.
+     * @return the {@link CacheReplacementState} or null.
+     */
+    public CacheReplacementState createState(int sets, int ways) {
+        switch (this) {
+            case PLRU:
+                return new TreePLRUReplacementState(sets, ways);
+            case LFU:
+                return new LFUReplacementState(sets, ways);
+            case SRRIP:
+                return new RRIPReplacementState(sets, ways, false);
+            case BRRIP:
+                return new RRIPReplacementState(sets, ways, true);
+            case TWO_QUEUE:
+                return new TwoQueueReplacementState(sets, ways);
+            default:
+                return null;
         }
+    }
 
+    private static int oldest(CacheBlockTable table, int from, int amount, boolean creation) {
         long min = Long.MAX_VALUE;
         int minIndex = 0;
-
-        CacheBlock b;
         long v;
-        for (int i = 0; i < blocks.length; i++) {
-            b = blocks[i];
-            if (b == null) return i;
-            v = comparingFunction.apply(b);
+        for (int i = 0; i < amount; i++) {
+            v = creation ? table.getCreationTime(from + i) : table.getModificationTime(from + i);
             if (v < min) {
                 min = v;
                 minIndex = i;
             }
         }
-
         return minIndex;
     }
 
+    private static int newest(CacheBlockTable table, int from, int amount) {
+        long max = Long.MIN_VALUE;
+        int maxIndex = 0;
+        long v;
+        for (int i = 0; i < amount; i++) {
+            v = table.getModificationTime(from + i);
+            if (v > max) {
+                max = v;
+                maxIndex = i;
+            }
+        }
+        return maxIndex;
+    }
+
 }
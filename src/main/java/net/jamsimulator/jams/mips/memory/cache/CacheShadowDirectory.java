@@ -0,0 +1,271 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache;
+
+import java.util.Arrays;
+
+/**
+ * A fully associative LRU directory of block numbers. It stores no data: it only tells whether
+ * a fully associative LRU cache with the same capacity would contain a block.
+ * <p>
+ * Blocks are found using an open addressing hash table and kept in a doubly linked LRU list.
+ * Both structures are stored in primitive arrays: {@link #access(int)} is O(1) and never allocates.
+ */
+public class CacheShadowDirectory {
+
+    private static final int EMPTY = -1;
+
+    /**
+     * Changes made by {@link #access(int)}. See {@link #undoAccess(int, int, int)}.
+     */
+    static final int UNCHANGED = 0, MOVED = 1, ADDED = 2, REPLACED = 3;
+
+    private final int capacity;
+
+    // Node data.
+    private final int[] blocks, previous, next;
+    private int size, head, tail;
+
+    // Hash table of node indices.
+    private final int[] table;
+    private final int mask, shift;
+
+    // The change made by the latest access and its data: the previous node of a moved block or an evicted block.
+    private int lastChange, lastChangeData;
+
+    /**
+     * Creates an empty directory.
+     *
+     * @param capacity the amount of blocks the directory can hold.
+     */
+    public CacheShadowDirectory(int capacity) {
+        this.capacity = capacity;
+        this.blocks = new int[capacity];
+        this.previous = new int[capacity];
+        this.next = new int[capacity];
+
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+        this.table = new int[tableSize];
+        this.mask = tableSize - 1;
+        this.shift = 32 - Integer.numberOfTrailingZeros(tableSize);
+        clear();
+    }
+
+    /**
+     * Creates a copy of the given directory.
+     *
+     * @param copy the directory to copy.
+     */
+    public CacheShadowDirectory(CacheShadowDirectory copy) {
+        this.capacity = copy.capacity;
+        this.blocks = copy.blocks.clone();
+        this.previous = copy.previous.clone();
+        this.next = copy.next.clone();
+        this.size = copy.size;
+        this.head = copy.head;
+        this.tail = copy.tail;
+        this.table = copy.table.clone();
+        this.mask = copy.mask;
+        this.shift = copy.shift;
+    }
+
+    /**
+     * Accesses the given block, making it the most recently used one.
+     * If the block is not present, it's added, evicting the least recently used block if the directory is full.
+     *
+     * @param block the block number.
+     * @return whether the block was present.
+     */
+    public boolean access(int block) {
+        int slot = find(block);
+        int node = table[slot];
+        if (node != EMPTY) {
+            if (node != head) {
+                lastChange = MOVED;
+                lastChangeData = previous[node];
+                unlink(node);
+                pushHead(node);
+            } else {
+                lastChange = UNCHANGED;
+            }
+            return true;
+        }
+
+        if (size == capacity) {
+            node = tail;
+            lastChange = REPLACED;
+            lastChangeData = blocks[node];
+            unlink(node);
+            removeFromTable(find(blocks[node]));
+            // The removal may have moved the slot of the new block.
+            slot = find(block);
+        } else {
+            lastChange = ADDED;
+            node = size++;
+        }
+
+        blocks[node] = block;
+        table[slot] = node;
+        pushHead(node);
+        return false;
+    }
+
+    /**
+     * Returns whether the given block is present. This method doesn't modify the LRU order.
+     *
+     * @param block the block number.
+     * @return whether the block is present.
+     */
+    public boolean contains(int block) {
+        return table[find(block)] != EMPTY;
+    }
+
+    /**
+     * Returns the change made by the latest {@link #access(int)}.
+     *
+     * @return {@link #UNCHANGED}, {@link #MOVED}, {@link #ADDED} or {@link #REPLACED}.
+     */
+    int getLastChange() {
+        return lastChange;
+    }
+
+    /**
+     * Returns the data of the change made by the latest {@link #access(int)}.
+     *
+     * @return the data.
+     */
+    int getLastChangeData() {
+        return lastChangeData;
+    }
+
+    /**
+     * Reverts an {@link #access(int)}.
+     * <p>
+     * Accesses must be reverted in the reverse order they were made: the directory must be in the same state
+     * it was right after the reverted access.
+     *
+     * @param block  the accessed block.
+     * @param change the value returned by {@link #getLastChange()} after the access.
+     * @param data   the value returned by {@link #getLastChangeData()} after the access.
+     */
+    void undoAccess(int block, int change, int data) {
+        if (change == UNCHANGED) return;
+        // The accessed block is the most recently used one.
+        int node = head;
+        unlink(node);
+        switch (change) {
+            case MOVED -> insertAfter(data, node);
+            case ADDED -> {
+                removeFromTable(find(block));
+                size--;
+            }
+            case REPLACED -> {
+                removeFromTable(find(block));
+                blocks[node] = data;
+                table[find(data)] = node;
+                pushTail(node);
+            }
+        }
+    }
+
+    /**
+     * Removes all blocks.
+     */
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        size = 0;
+        head = tail = EMPTY;
+    }
+
+    private int hash(int block) {
+        return (block * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Returns the table slot containing the given block, or the empty slot where it should be placed.
+     */
+    private int find(int block) {
+        int slot = hash(block);
+        while (table[slot] != EMPTY && blocks[table[slot]] != block) {
+            slot = slot + 1 & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Removes the node at the given table slot, shifting back the following nodes of the probe sequence.
+     */
+    private void removeFromTable(int slot) {
+        int empty = slot;
+        int current = slot;
+        while (true) {
+            current = current + 1 & mask;
+            int node = table[current];
+            if (node == EMPTY) break;
+            int home = hash(blocks[node]);
+            // The node can't be moved if its home is cyclically inside (empty, current].
+            boolean stays = empty <= current
+                    ? empty < home && home <= current
+                    : empty < home || home <= current;
+            if (!stays) {
+                table[empty] = node;
+                empty = current;
+            }
+        }
+        table[empty] = EMPTY;
+    }
+
+    private void unlink(int node) {
+        if (previous[node] == EMPTY) head = next[node];
+        else next[previous[node]] = next[node];
+        if (next[node] == EMPTY) tail = previous[node];
+        else previous[next[node]] = previous[node];
+    }
+
+    private void insertAfter(int previousNode, int node) {
+        int nextNode = next[previousNode];
+        previous[node] = previousNode;
+        next[node] = nextNode;
+        if (nextNode == EMPTY) tail = node;
+        else previous[nextNode] = node;
+        next[previousNode] = node;
+    }
+
+    private void pushTail(int node) {
+        next[node] = EMPTY;
+        previous[node] = tail;
+        if (tail == EMPTY) head = node;
+        else next[tail] = node;
+        tail = node;
+    }
+
+    private void pushHead(int node) {
+        previous[node] = EMPTY;
+        next[node] = head;
+        if (head == EMPTY) tail = node;
+        else previous[head] = node;
+        head = node;
+    }
+}
@@ -24,6 +24,84 @@
 
 package net.jamsimulator.jams.mips.memory.cache;
 
-public record CacheStats(long operations, long hits, long misses) {
+import java.util.Arrays;
 
+/**
+ * Represents the stats of a {@link Cache} at a given moment.
+ * <p>
+ * Misses are classified using the three C's model: compulsory misses are the first access to a block,
+ * capacity misses are misses that a fully associative LRU cache with the same amount of blocks would
+ * also have, and conflict misses are the rest.
+ * <p>
+ * {@link #setAccesses()} and {@link #setMisses()} contain the accesses and misses of each set of the cache.
+ * Caches without sets use a set for each block (direct mapping) or a single set (associative mapping).
+ *
+ * @param operations       the amount of operations.
+ * @param hits             the amount of hits.
+ * @param misses           the amount of misses.
+ * @param compulsoryMisses the amount of compulsory misses.
+ * @param capacityMisses   the amount of capacity misses.
+ * @param conflictMisses   the amount of conflict misses.
+ * @param reads            the amount of read operations.
+ * @param readMisses       the amount of read operations that missed.
+ * @param writes           the amount of write operations.
+ * @param writeMisses      the amount of write operations that missed.
+ * @param setAccesses      the amount of operations of each set.
+ * @param setMisses        the amount of misses of each set.
+ */
+public record CacheStats(long operations, long hits, long misses,
+                         long compulsoryMisses, long capacityMisses, long conflictMisses,
+                         long reads, long readMisses, long writes, long writeMisses,
+                         long[] setAccesses, long[] setMisses) {
+
+    /**
+     * Returns the amount of sets of the cache.
+     *
+     * @return the amount of sets.
+     */
+    public int sets() {
+        return setAccesses.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CacheStats that)) return false;
+        return operations == that.operations && hits == that.hits && misses == that.misses
+                && compulsoryMisses == that.compulsoryMisses && capacityMisses == that.capacityMisses
+                && conflictMisses == that.conflictMisses && reads == that.reads && readMisses == that.readMisses
+                && writes == that.writes && writeMisses == that.writeMisses
+                && Arrays.equals(setAccesses, that.setAccesses) && Arrays.equals(setMisses, that.setMisses);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(operations);
+        result = 31 * result + Long.hashCode(hits);
+        result = 31 * result + Long.hashCode(compulsoryMisses);
+        result = 31 * result + Long.hashCode(capacityMisses);
+        result = 31 * result + Long.hashCode(conflictMisses);
+        result = 31 * result + Long.hashCode(reads);
+        result = 31 * result + Long.hashCode(writes);
+        result = 31 * result + Arrays.hashCode(setAccesses);
+        result = 31 * result + Arrays.hashCode(setMisses);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "operations=" + operations +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", compulsoryMisses=" + compulsoryMisses +
+                ", capacityMisses=" + capacityMisses +
+                ", conflictMisses=" + conflictMisses +
+                ", reads=" + reads +
+                ", readMisses=" + readMisses +
+                ", writes=" + writes +
+                ", writeMisses=" + writeMisses +
+                ", sets=" + setAccesses.length +
+                '}';
+    }
 }
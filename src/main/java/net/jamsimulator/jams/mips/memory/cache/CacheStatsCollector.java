@@ -0,0 +1,319 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache;
+
+import java.util.Arrays;
+
+/**
+ * Maintains the detailed counters of a {@link Cache}: the three C's miss classification, the read and write
+ * breakdown and the per-set histograms.
+ * <p>
+ * Caches notify every operation to this collector from their fast path, so these counters are also
+ * available when event calls are disabled. Compulsory misses are detected using a paged bitset of
+ * the blocks accessed at least once, and capacity and conflict misses are told apart using
+ * a {@link CacheShadowDirectory} with the same amount of blocks as the cache.
+ * <p>
+ * When journaling is enabled, the collector also records the changes made by its latest operations,
+ * so the undo system can revert them using {@link #rollback(long)}.
+ */
+public class CacheStatsCollector {
+
+    private static final int SEEN_PAGE_SHIFT = 18;
+    private static final int SEEN_PAGE_MASK = (1 << SEEN_PAGE_SHIFT) - 1;
+
+    /**
+     * The maximum amount of operations the journal can revert.
+     */
+    public static final int MAX_JOURNAL_SIZE = 1 << 16;
+
+    // Journal entry flags. The shadow directory change is stored in the bits starting at JOURNAL_CHANGE_SHIFT.
+    private static final int JOURNAL_WRITE = 1, JOURNAL_HIT = 2, JOURNAL_FIRST_ACCESS = 4, JOURNAL_HITS = 8;
+    private static final int JOURNAL_CHANGE_SHIFT = 4;
+
+    private final int blockShift;
+    private final long[] setAccesses, setMisses;
+    private final CacheShadowDirectory shadow;
+    private final long[][] seen;
+
+    private long operations;
+    private long compulsoryMisses, capacityMisses, conflictMisses;
+    private long reads, readMisses, writes, writeMisses;
+
+    // Ring buffer of journaled operations. Blocks and data are the hit count on JOURNAL_HITS entries.
+    private boolean journaling;
+    private int[] journalFlags, journalSets, journalBlocks, journalData;
+    private int journalHead, journalSize;
+
+    /**
+     * Creates a collector.
+     *
+     * @param sets         the amount of sets of the cache.
+     * @param blocksAmount the amount of blocks of the cache.
+     * @param blockSize    the size of each block in words.
+     */
+    public CacheStatsCollector(int sets, int blocksAmount, int blockSize) {
+        this.blockShift = Integer.numberOfTrailingZeros(blockSize << 2);
+        this.setAccesses = new long[sets];
+        this.setMisses = new long[sets];
+        this.shadow = new CacheShadowDirectory(blocksAmount);
+        this.seen = new long[blockShift + SEEN_PAGE_SHIFT >= 32 ? 1 : 1 << (32 - blockShift - SEEN_PAGE_SHIFT)][];
+    }
+
+    /**
+     * Creates a deep copy of the given collector.
+     *
+     * @param copy the collector to copy.
+     */
+    public CacheStatsCollector(CacheStatsCollector copy) {
+        this.blockShift = copy.blockShift;
+        this.setAccesses = copy.setAccesses.clone();
+        this.setMisses = copy.setMisses.clone();
+        this.shadow = new CacheShadowDirectory(copy.shadow);
+        this.seen = new long[copy.seen.length][];
+        for (int i = 0; i < seen.length; i++) {
+            seen[i] = copy.seen[i] == null ? null : copy.seen[i].clone();
+        }
+        this.operations = copy.operations;
+        this.journaling = copy.journaling;
+        this.compulsoryMisses = copy.compulsoryMisses;
+        this.capacityMisses = copy.capacityMisses;
+        this.conflictMisses = copy.conflictMisses;
+        this.reads = copy.reads;
+        this.readMisses = copy.readMisses;
+        this.writes = copy.writes;
+        this.writeMisses = copy.writeMisses;
+    }
+
+    /**
+     * Registers an operation.
+     *
+     * @param address the accessed address.
+     * @param set     the set of the accessed block.
+     * @param hit     whether the operation was a hit.
+     * @param write   whether the operation was a write.
+     */
+    public void registerOperation(int address, int set, boolean hit, boolean write) {
+        int block = address >>> blockShift;
+        boolean inShadow = shadow.access(block);
+        boolean firstAccess = markSeen(block);
+
+        if (journaling) {
+            int flags = (write ? JOURNAL_WRITE : 0) | (hit ? JOURNAL_HIT : 0)
+                    | (firstAccess ? JOURNAL_FIRST_ACCESS : 0) | shadow.getLastChange() << JOURNAL_CHANGE_SHIFT;
+            journal(flags, set, block, shadow.getLastChangeData());
+        }
+
+        operations++;
+        setAccesses[set]++;
+        if (write) writes++;
+        else reads++;
+
+        if (hit) return;
+        setMisses[set]++;
+        if (write) writeMisses++;
+        else readMisses++;
+
+        if (firstAccess) compulsoryMisses++;
+        else if (inShadow) conflictMisses++;
+        else capacityMisses++;
+    }
+
+    /**
+     * Registers several hits to the block accessed by the last operation.
+     *
+     * @param set   the set of the block.
+     * @param hits  the amount of hits.
+     * @param write whether the operations were writes.
+     */
+    public void registerHits(int set, int hits, boolean write) {
+        if (journaling) {
+            journal(JOURNAL_HITS | (write ? JOURNAL_WRITE : 0), set, 0, hits);
+        }
+
+        operations += hits;
+        setAccesses[set] += hits;
+        if (write) writes += hits;
+        else reads += hits;
+    }
+
+    /**
+     * Returns the amount of operations registered by this collector.
+     * This amount matches the amount of operations of the cache.
+     *
+     * @return the amount of operations.
+     */
+    public long getOperations() {
+        return operations;
+    }
+
+    /**
+     * Sets whether this collector should journal its operations.
+     * Disabling the journal discards all journaled operations.
+     * <p>
+     * Caches enable the journal when their event calls are enabled: the undo system only works with events.
+     *
+     * @param journaling whether the operations should be journaled.
+     */
+    public void setJournaling(boolean journaling) {
+        this.journaling = journaling;
+        if (!journaling) {
+            journalFlags = journalSets = journalBlocks = journalData = null;
+            journalHead = journalSize = 0;
+        }
+    }
+
+    /**
+     * Reverts the latest operations until the amount of registered operations is the given one.
+     * <p>
+     * Only journaled operations can be reverted: operations registered while journaling was disabled,
+     * or older than the latest {@link #MAX_JOURNAL_SIZE} journaled operations, are kept.
+     *
+     * @param operations the amount of operations to return to.
+     */
+    public void rollback(long operations) {
+        while (this.operations > operations && journalSize > 0) {
+            int entry = journalHead == 0 ? journalFlags.length - 1 : journalHead - 1;
+            int flags = journalFlags[entry];
+            int set = journalSets[entry];
+            boolean write = (flags & JOURNAL_WRITE) != 0;
+
+            if ((flags & JOURNAL_HITS) != 0) {
+                int hits = (int) Math.min(journalData[entry], this.operations - operations);
+                revertAccesses(set, hits, write);
+                if ((journalData[entry] -= hits) > 0) return;
+            } else {
+                revertOperation(flags, set, journalBlocks[entry], journalData[entry]);
+            }
+
+            journalHead = entry;
+            journalSize--;
+        }
+    }
+
+    /**
+     * Creates a {@link CacheStats} instance containing the counters of this collector.
+     *
+     * @param operations the amount of operations of the cache.
+     * @param hits       the amount of hits of the cache.
+     * @return the {@link CacheStats}.
+     */
+    public CacheStats toStats(long operations, long hits) {
+        return new CacheStats(operations, hits, operations - hits,
+                compulsoryMisses, capacityMisses, conflictMisses,
+                reads, readMisses, writes, writeMisses,
+                setAccesses.clone(), setMisses.clone());
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public void reset() {
+        Arrays.fill(setAccesses, 0);
+        Arrays.fill(setMisses, 0);
+        Arrays.fill(seen, null);
+        shadow.clear();
+        operations = 0;
+        journalHead = journalSize = 0;
+        compulsoryMisses = capacityMisses = conflictMisses = 0;
+        reads = readMisses = writes = writeMisses = 0;
+    }
+
+    private void journal(int flags, int set, int block, int data) {
+        if (journalFlags == null) {
+            journalFlags = new int[64];
+            journalSets = new int[64];
+            journalBlocks = new int[64];
+            journalData = new int[64];
+        } else if (journalSize == journalFlags.length && journalSize < MAX_JOURNAL_SIZE) {
+            growJournal();
+        }
+
+        journalFlags[journalHead] = flags;
+        journalSets[journalHead] = set;
+        journalBlocks[journalHead] = block;
+        journalData[journalHead] = data;
+        journalHead = journalHead + 1 == journalFlags.length ? 0 : journalHead + 1;
+        // When the journal is full, the oldest entry is overwritten.
+        if (journalSize < journalFlags.length) journalSize++;
+    }
+
+    private void growJournal() {
+        int length = journalFlags.length;
+        // The journal is full: the oldest entry is at the head.
+        journalFlags = unwrap(journalFlags, length << 1);
+        journalSets = unwrap(journalSets, length << 1);
+        journalBlocks = unwrap(journalBlocks, length << 1);
+        journalData = unwrap(journalData, length << 1);
+        journalHead = length;
+    }
+
+    private int[] unwrap(int[] array, int length) {
+        int[] result = new int[length];
+        System.arraycopy(array, journalHead, result, 0, array.length - journalHead);
+        System.arraycopy(array, 0, result, array.length - journalHead, journalHead);
+        return result;
+    }
+
+    private void revertOperation(int flags, int set, int block, int data) {
+        boolean write = (flags & JOURNAL_WRITE) != 0;
+        int change = flags >>> JOURNAL_CHANGE_SHIFT;
+        revertAccesses(set, 1, write);
+
+        if ((flags & JOURNAL_HIT) == 0) {
+            setMisses[set]--;
+            if (write) writeMisses--;
+            else readMisses--;
+
+            if ((flags & JOURNAL_FIRST_ACCESS) != 0) compulsoryMisses--;
+            else if (change == CacheShadowDirectory.UNCHANGED || change == CacheShadowDirectory.MOVED) conflictMisses--;
+            else capacityMisses--;
+        }
+
+        if ((flags & JOURNAL_FIRST_ACCESS) != 0) {
+            seen[block >>> SEEN_PAGE_SHIFT][(block & SEEN_PAGE_MASK) >>> 6] &= ~(1L << block);
+        }
+        shadow.undoAccess(block, change, data);
+    }
+
+    private void revertAccesses(int set, int accesses, boolean write) {
+        operations -= accesses;
+        setAccesses[set] -= accesses;
+        if (write) writes -= accesses;
+        else reads -= accesses;
+    }
+
+    private boolean markSeen(int block) {
+        int pageIndex = block >>> SEEN_PAGE_SHIFT;
+        long[] page = seen[pageIndex];
+        if (page == null) {
+            page = seen[pageIndex] = new long[1 << (SEEN_PAGE_SHIFT - 6)];
+        }
+        int index = (block & SEEN_PAGE_MASK) >>> 6;
+        long bit = 1L << block;
+        if ((page[index] & bit) != 0) return false;
+        page[index] |= bit;
+        return true;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache.analysis;
+
+import net.jamsimulator.jams.mips.memory.MemoryAccessListener;
+import net.jamsimulator.jams.utils.NumericUtils;
+import net.jamsimulator.jams.utils.Validate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Computes the hit rates of a whole range of LRU cache configurations in a single run,
+ * using Mattson's stack distance algorithm.
+ * <p>
+ * The analyzer keeps a {@link StackDistanceProfile} for every block size and amount of sets in the requested
+ * ranges. Thanks to the inclusion property of LRU, each profile reports the results of every set size
+ * up to the requested maximum, so a sweep that would need dozens of simulations only needs one.
+ * <p>
+ * Attach this analyzer to a {@link net.jamsimulator.jams.mips.memory.SimpleMemory} without caches to analyze
+ * the full reference stream of the program, or behind a cache to analyze its miss stream.
+ * An access spanning several blocks is registered once for each block.
+ */
+public class StackDistanceAnalyzer implements MemoryAccessListener {
+
+    private final StackDistanceProfile[] profiles;
+    private final int[] blockShifts;
+    private final int maxSetSize;
+
+    /**
+     * Creates an analyzer. All parameters must be powers of two.
+     *
+     * @param minBlockSize the minimum block size in words.
+     * @param maxBlockSize the maximum block size in words.
+     * @param minSets      the minimum amount of sets.
+     * @param maxSets      the maximum amount of sets.
+     * @param maxSetSize   the maximum amount of blocks of each set.
+     * @throws IllegalArgumentException if any range is invalid or any profile has more than 2^31 - 1 blocks.
+     */
+    public StackDistanceAnalyzer(int minBlockSize, int maxBlockSize, int minSets, int maxSets, int maxSetSize) {
+        Validate.isTrue(NumericUtils.is2Elev(minBlockSize) && NumericUtils.is2Elev(maxBlockSize)
+                && minBlockSize <= maxBlockSize, "Invalid block size range!");
+        Validate.isTrue(NumericUtils.is2Elev(minSets) && NumericUtils.is2Elev(maxSets)
+                && minSets <= maxSets, "Invalid sets range!");
+        Validate.isTrue(NumericUtils.is2Elev(maxSetSize), "Set size must be a power of 2!");
+        this.maxSetSize = maxSetSize;
+
+        var profiles = new ArrayList<StackDistanceProfile>();
+        for (int blockSize = minBlockSize; blockSize <= maxBlockSize && blockSize > 0; blockSize <<= 1) {
+            for (int sets = minSets; sets <= maxSets && sets > 0; sets <<= 1) {
+                profiles.add(new StackDistanceProfile(blockSize, sets, maxSetSize));
+            }
+        }
+
+        this.profiles = profiles.toArray(StackDistanceProfile[]::new);
+        this.blockShifts = new int[this.profiles.length];
+        for (int i = 0; i < blockShifts.length; i++) {
+            blockShifts[i] = NumericUtils.log2(this.profiles[i].getBlockSize()) + 2;
+        }
+    }
+
+    /**
+     * Returns the profiles of this analyzer.
+     *
+     * @return the profiles.
+     */
+    public List<StackDistanceProfile> getProfiles() {
+        return List.of(profiles);
+    }
+
+    @Override
+    public void onAccess(int address, int length, boolean write) {
+        int last = address + Math.max(length, 1) - 1;
+        for (int i = 0; i < profiles.length; i++) {
+            var profile = profiles[i];
+            int shift = blockShifts[i];
+            int lastBlock = last >>> shift;
+            for (int block = address >>> shift; block <= lastBlock; block++) {
+                profile.access(block);
+            }
+        }
+    }
+
+    /**
+     * Returns the results of every analyzed configuration, with set sizes from 1 to the maximum
+     * in powers of two. Results are sorted by block size, amount of sets and set size.
+     *
+     * @return the results.
+     */
+    public List<StackDistanceResult> getResults() {
+        var results = new ArrayList<StackDistanceResult>();
+        for (var profile : profiles) {
+            for (int setSize = 1; setSize <= maxSetSize; setSize <<= 1) {
+                results.add(new StackDistanceResult(profile.getBlockSize(), profile.getSets(), setSize,
+                        profile.getAccesses(), profile.getHits(setSize)));
+            }
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Clears the profiles of this analyzer.
+     */
+    public void reset() {
+        for (var profile : profiles) {
+            profile.reset();
+        }
+    }
+}
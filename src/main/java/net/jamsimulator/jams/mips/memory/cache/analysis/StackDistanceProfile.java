@@ -0,0 +1,166 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache.analysis;
+
+import net.jamsimulator.jams.utils.NumericUtils;
+import net.jamsimulator.jams.utils.Validate;
+
+import java.util.Arrays;
+
+/**
+ * Records the LRU stack distances of a reference stream for a fixed block size and amount of sets.
+ * <p>
+ * Each set keeps its own LRU stack, bounded to the maximum set size being analyzed. An access found at depth
+ * {@code d} of its set's stack is a hit in every LRU cache with this block size, this amount of sets and
+ * more than {@code d} blocks per set (inclusion property). Accesses not found in the stack are misses
+ * in every analyzed cache.
+ * <p>
+ * The cost of an access is proportional to the depth where the block is found, so profiles with
+ * huge set sizes should be used with streams with good locality.
+ */
+public class StackDistanceProfile {
+
+    private final int blockSize, sets, maxSetSize;
+    private final int setMask;
+
+    private final int[] stacks;
+    private final int[] depths;
+    private final long[] histogram;
+    private long accesses;
+
+    /**
+     * Creates a profile.
+     *
+     * @param blockSize  the size of the blocks in words. It must be a power of two.
+     * @param sets       the amount of sets. It must be a power of two.
+     * @param maxSetSize the maximum set size to analyze.
+     * @throws IllegalArgumentException if any parameter is invalid or the profile has more than 2^31 - 1 blocks.
+     */
+    public StackDistanceProfile(int blockSize, int sets, int maxSetSize) {
+        Validate.isTrue(NumericUtils.is2Elev(blockSize), "Block size must be a power of 2!");
+        Validate.isTrue(NumericUtils.is2Elev(sets), "Sets amount must be a power of 2!");
+        Validate.isTrue(maxSetSize > 0, "Set size must be positive!");
+        this.blockSize = blockSize;
+        this.sets = sets;
+        this.maxSetSize = maxSetSize;
+        this.setMask = sets - 1;
+        try {
+            this.stacks = new int[Math.multiplyExact(sets, maxSetSize)];
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Too many blocks: " + sets + " sets of " + maxSetSize + " blocks!", ex);
+        }
+        this.depths = new int[sets];
+        this.histogram = new long[maxSetSize + 1];
+    }
+
+    /**
+     * Returns the size of the blocks in words.
+     *
+     * @return the size of the blocks.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Returns the amount of sets.
+     *
+     * @return the amount of sets.
+     */
+    public int getSets() {
+        return sets;
+    }
+
+    /**
+     * Returns the maximum set size this profile can report.
+     *
+     * @return the maximum set size.
+     */
+    public int getMaxSetSize() {
+        return maxSetSize;
+    }
+
+    /**
+     * Returns the amount of registered accesses.
+     *
+     * @return the amount of accesses.
+     */
+    public long getAccesses() {
+        return accesses;
+    }
+
+    /**
+     * Returns the amount of hits a LRU cache with the given set size would have had.
+     *
+     * @param setSize the set size, between 1 and {@link #getMaxSetSize()}.
+     * @return the amount of hits.
+     */
+    public long getHits(int setSize) {
+        Validate.isTrue(setSize > 0 && setSize <= maxSetSize, "Set size out of range!");
+        long hits = 0;
+        for (int i = 0; i < setSize; i++) {
+            hits += histogram[i];
+        }
+        return hits;
+    }
+
+    /**
+     * Registers an access to the given block.
+     *
+     * @param block the block number: the address shifted right by the block offset bits.
+     */
+    public void access(int block) {
+        accesses++;
+        int set = block & setMask;
+        int from = set * maxSetSize;
+        int depth = depths[set];
+
+        int distance = 0;
+        while (distance < depth && stacks[from + distance] != block) {
+            distance++;
+        }
+
+        if (distance == depth) {
+            histogram[maxSetSize]++;
+            // The block is pushed: the bottom of a full stack falls off.
+            if (depth < maxSetSize) depths[set] = depth + 1;
+            else distance--;
+        } else {
+            histogram[distance]++;
+        }
+
+        System.arraycopy(stacks, from, stacks, from + 1, distance);
+        stacks[from] = block;
+    }
+
+    /**
+     * Clears all stacks and counters.
+     */
+    public void reset() {
+        Arrays.fill(depths, 0);
+        Arrays.fill(histogram, 0);
+        accesses = 0;
+    }
+}
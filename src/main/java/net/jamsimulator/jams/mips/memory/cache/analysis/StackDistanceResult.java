@@ -0,0 +1,73 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache.analysis;
+
+/**
+ * The result of a LRU cache configuration computed by a {@link StackDistanceAnalyzer}.
+ *
+ * @param blockSize the size of the blocks in words.
+ * @param sets      the amount of sets.
+ * @param setSize   the amount of blocks of each set.
+ * @param accesses  the amount of accesses.
+ * @param hits      the amount of hits.
+ */
+public record StackDistanceResult(int blockSize, int sets, int setSize, long accesses, long hits) {
+
+    /**
+     * Returns the amount of blocks of the cache.
+     *
+     * @return the amount of blocks.
+     */
+    public int blocksAmount() {
+        return sets * setSize;
+    }
+
+    /**
+     * Returns the size of the data stored by the cache in bytes.
+     *
+     * @return the size in bytes.
+     */
+    public long sizeInBytes() {
+        return (long) blocksAmount() * (blockSize << 2);
+    }
+
+    /**
+     * Returns the amount of misses.
+     *
+     * @return the amount of misses.
+     */
+    public long misses() {
+        return accesses - hits;
+    }
+
+    /**
+     * Returns the hit rate of the cache, or 1 if there were no accesses.
+     *
+     * @return the hit rate.
+     */
+    public double hitRate() {
+        return accesses == 0 ? 1 : hits / (double) accesses;
+    }
+}
@@ -35,6 +35,7 @@ import net.jamsimulator.jams.mips.memory.cache.CacheReplacementPolicy;
 import net.jamsimulator.jams.mips.memory.cache.writeback.WriteBackAssociativeCache;
 import net.jamsimulator.jams.mips.memory.cache.writethrough.WriteThroughAssociativeCache;
 import net.jamsimulator.jams.utils.NumericUtils;
+import net.jamsimulator.jams.utils.Validate;
 
 import java.util.LinkedList;
 
@@ -43,7 +44,7 @@ public class AssociativeCacheBuilder extends CacheBuilder<Cache> {
     public static final String NAME = "ASSOCIATIVE";
 
     private final SimpleBooleanProperty writeBack;
-    private final SimpleIntegerProperty blockSize, blocksAmount;
+    private final SimpleIntegerProperty blockSize, blocksAmount, hitLatency;
     private final SimpleObjectProperty<CacheReplacementPolicy> replacementPolicy;
 
     public AssociativeCacheBuilder(ResourceProvider provider) {
@@ -52,6 +53,7 @@ public class AssociativeCacheBuilder extends CacheBuilder<Cache> {
         properties.add(blockSize = new SimpleIntegerProperty(null, "BLOCK_SIZE", 4));
         properties.add(blocksAmount = new SimpleIntegerProperty(null, "BLOCKS_AMOUNT", 4));
         properties.add(replacementPolicy = new SimpleObjectProperty<>(null, "REPLACEMENT_POLICY", CacheReplacementPolicy.LRU));
+        properties.add(hitLatency = new SimpleIntegerProperty(null, HIT_LATENCY, 1));
     }
 
     @Override
@@ -59,6 +61,11 @@ public class AssociativeCacheBuilder extends CacheBuilder<Cache> {
         return blocksAmount.get() * (blockSize.get() << 2);
     }
 
+    @Override
+    public int getHitLatency() {
+        return hitLatency.get();
+    }
+
     @Override
     public Cache build(Memory parent) {
         int logSize = NumericUtils.log2(blockSize.get());
@@ -78,6 +85,15 @@ public class AssociativeCacheBuilder extends CacheBuilder<Cache> {
                 : new WriteThroughAssociativeCache(this, parent, 1 << logSize, 1 << logAmount, replacementPolicy.get());
     }
 
+    public CacheReplacementPolicy getReplacementPolicy() {
+        return replacementPolicy.get();
+    }
+
+    public void setReplacementPolicy(CacheReplacementPolicy replacementPolicy) {
+        Validate.notNull(replacementPolicy, "Replacement policy cannot be null!");
+        this.replacementPolicy.set(replacementPolicy);
+    }
+
     @Override
     public CacheBuilder<Cache> makeNewInstance() {
         return new AssociativeCacheBuilder(provider);
@@ -90,6 +106,7 @@ public class AssociativeCacheBuilder extends CacheBuilder<Cache> {
         builder.blockSize.setValue(blockSize.getValue());
         builder.blocksAmount.setValue(blocksAmount.getValue());
         builder.replacementPolicy.setValue(replacementPolicy.getValue());
+        builder.hitLatency.setValue(hitLatency.getValue());
         return builder;
     }
 }
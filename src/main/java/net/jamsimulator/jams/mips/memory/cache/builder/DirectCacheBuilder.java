@@ -41,13 +41,14 @@ public class DirectCacheBuilder extends CacheBuilder<Cache> {
     public static final String NAME = "DIRECT";
 
     private final SimpleBooleanProperty writeBack;
-    private final SimpleIntegerProperty blockSize, blocksAmount;
+    private final SimpleIntegerProperty blockSize, blocksAmount, hitLatency;
 
     public DirectCacheBuilder(ResourceProvider provider) {
         super(provider, NAME, new LinkedList<>());
         properties.add(writeBack = new SimpleBooleanProperty(null, "WRITE_BACK", false));
         properties.add(blockSize = new SimpleIntegerProperty(null, "BLOCK_SIZE", 4));
         properties.add(blocksAmount = new SimpleIntegerProperty(null, "BLOCKS_AMOUNT", 4));
+        properties.add(hitLatency = new SimpleIntegerProperty(null, HIT_LATENCY, 1));
     }
 
     @Override
@@ -55,6 +56,11 @@ public class DirectCacheBuilder extends CacheBuilder<Cache> {
         return blocksAmount.get() * (blockSize.get() << 2);
     }
 
+    @Override
+    public int getHitLatency() {
+        return hitLatency.get();
+    }
+
 
     @Override
     public Cache build(Memory parent) {
@@ -86,6 +92,7 @@ public class DirectCacheBuilder extends CacheBuilder<Cache> {
         builder.writeBack.setValue(writeBack.getValue());
         builder.blockSize.setValue(blockSize.getValue());
         builder.blocksAmount.setValue(blocksAmount.getValue());
+        builder.hitLatency.setValue(hitLatency.getValue());
         return builder;
     }
 }
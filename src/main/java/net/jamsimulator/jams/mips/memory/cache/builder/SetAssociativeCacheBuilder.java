@@ -35,6 +35,7 @@ import net.jamsimulator.jams.mips.memory.cache.CacheReplacementPolicy;
 import net.jamsimulator.jams.mips.memory.cache.writeback.WriteBackSetAssociativeCache;
 import net.jamsimulator.jams.mips.memory.cache.writethrough.WriteThroughSetAssociativeCache;
 import net.jamsimulator.jams.utils.NumericUtils;
+import net.jamsimulator.jams.utils.Validate;
 
 import java.util.LinkedList;
 
@@ -43,7 +44,7 @@ public class SetAssociativeCacheBuilder extends CacheBuilder<Cache> {
     public static final String NAME = "SET_ASSOCIATIVE";
 
     private final SimpleBooleanProperty writeBack;
-    private final SimpleIntegerProperty blockSize, blocksAmount, setSize;
+    private final SimpleIntegerProperty blockSize, blocksAmount, setSize, hitLatency;
     private final SimpleObjectProperty<CacheReplacementPolicy> replacementPolicy;
 
     public SetAssociativeCacheBuilder(ResourceProvider provider) {
@@ -53,6 +54,7 @@ public class SetAssociativeCacheBuilder extends CacheBuilder<Cache> {
         properties.add(blocksAmount = new SimpleIntegerProperty(null, "BLOCKS_AMOUNT", 4));
         properties.add(setSize = new SimpleIntegerProperty(null, "SET_SIZE", 2));
         properties.add(replacementPolicy = new SimpleObjectProperty<>(null, "REPLACEMENT_POLICY", CacheReplacementPolicy.LRU));
+        properties.add(hitLatency = new SimpleIntegerProperty(null, HIT_LATENCY, 1));
     }
 
     @Override
@@ -60,6 +62,11 @@ public class SetAssociativeCacheBuilder extends CacheBuilder<Cache> {
         return blocksAmount.get() * (blockSize.get() << 2);
     }
 
+    @Override
+    public int getHitLatency() {
+        return hitLatency.get();
+    }
+
     @Override
     public Cache build(Memory parent) {
         int logSetSize = NumericUtils.log2(setSize.get());
@@ -85,6 +92,15 @@ public class SetAssociativeCacheBuilder extends CacheBuilder<Cache> {
                 : new WriteThroughSetAssociativeCache(this, parent, 1 << logSize, 1 << logAmount, 1 << logSetSize, replacementPolicy.get());
     }
 
+    public CacheReplacementPolicy getReplacementPolicy() {
+        return replacementPolicy.get();
+    }
+
+    public void setReplacementPolicy(CacheReplacementPolicy replacementPolicy) {
+        Validate.notNull(replacementPolicy, "Replacement policy cannot be null!");
+        this.replacementPolicy.set(replacementPolicy);
+    }
+
     @Override
     public CacheBuilder<Cache> makeNewInstance() {
         return new SetAssociativeCacheBuilder(provider);
@@ -98,6 +114,7 @@ public class SetAssociativeCacheBuilder extends CacheBuilder<Cache> {
         builder.blocksAmount.setValue(blocksAmount.getValue());
         builder.setSize.setValue(setSize.getValue());
         builder.replacementPolicy.setValue(replacementPolicy.getValue());
+        builder.hitLatency.setValue(hitLatency.getValue());
         return builder;
     }
 }
@@ -0,0 +1,92 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache.replacement;
+
+import net.jamsimulator.jams.mips.memory.cache.CacheBlockTable;
+import net.jamsimulator.jams.mips.memory.cache.CacheReplacementPolicy;
+
+/**
+ * Per-set metadata of a {@link CacheReplacementPolicy} that cannot be computed from the block times
+ * stored in a {@link CacheBlockTable}.
+ * <p>
+ * Slots are indexed globally: the slot {@code way} of the set {@code set} is {@code set * ways + way}.
+ * The {@link CacheBlockTable} owning the state notifies it of every change made to its slots.
+ * Victims are only requested when all slots of the set are valid.
+ */
+public interface CacheReplacementState {
+
+    /**
+     * Called when a new block is placed at the given slot.
+     *
+     * @param slot the slot.
+     * @param tag  the tag of the new block.
+     */
+    void onFill(int slot, int tag);
+
+    /**
+     * Called when the block at the given slot is accessed again after being placed.
+     *
+     * @param slot the slot.
+     * @param hits the amount of accesses. It's always positive.
+     */
+    void onHit(int slot, int hits);
+
+    /**
+     * Called when the valid block at the given slot is going to be replaced by a new block.
+     * {@link #onFill(int, int)} is called right after this method.
+     *
+     * @param slot the slot.
+     * @param tag  the tag of the replaced block.
+     */
+    void onEvict(int slot, int tag);
+
+    /**
+     * Called when the given slot is invalidated without placing a new block.
+     *
+     * @param slot the slot.
+     */
+    void onInvalidate(int slot);
+
+    /**
+     * Returns the way to replace inside the given set.
+     *
+     * @param set the set.
+     * @return the way, relative to the first slot of the set.
+     */
+    int getVictim(int set);
+
+    /**
+     * Invalidates all slots.
+     */
+    void clear();
+
+    /**
+     * Creates a deep copy of this state.
+     *
+     * @return the copy.
+     */
+    CacheReplacementState copy();
+
+}
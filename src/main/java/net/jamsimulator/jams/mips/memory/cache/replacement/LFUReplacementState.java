@@ -0,0 +1,157 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache.replacement;
+
+import java.util.Arrays;
+
+/**
+ * Least frequently used state.
+ * <p>
+ * Each set keeps an indexed binary min-heap of its ways, ordered by access count and then by last access.
+ * Ties are therefore resolved evicting the least recently used block. The victim is always the root
+ * of the heap: finding it is O(1) and updating a way after an access is O(log ways).
+ */
+public class LFUReplacementState implements CacheReplacementState {
+
+    private final int ways;
+
+    private final int[] frequencies;
+    private final long[] stamps;
+    // heap[set * ways + i] is the way at position i of the set's heap; positions[slot] is the inverse.
+    private final int[] heap, positions;
+    private long clock;
+
+    public LFUReplacementState(int sets, int ways) {
+        this.ways = ways;
+        this.frequencies = new int[sets * ways];
+        this.stamps = new long[sets * ways];
+        this.heap = new int[sets * ways];
+        this.positions = new int[sets * ways];
+        clear();
+    }
+
+    private LFUReplacementState(LFUReplacementState copy) {
+        this.ways = copy.ways;
+        this.frequencies = copy.frequencies.clone();
+        this.stamps = copy.stamps.clone();
+        this.heap = copy.heap.clone();
+        this.positions = copy.positions.clone();
+        this.clock = copy.clock;
+    }
+
+    @Override
+    public void onFill(int slot, int tag) {
+        frequencies[slot] = 1;
+        stamps[slot] = ++clock;
+        siftUp(slot);
+        siftDown(slot);
+    }
+
+    @Override
+    public void onHit(int slot, int hits) {
+        int frequency = frequencies[slot] + hits;
+        frequencies[slot] = frequency < 0 ? Integer.MAX_VALUE : frequency;
+        stamps[slot] = ++clock;
+        siftDown(slot);
+    }
+
+    @Override
+    public void onEvict(int slot, int tag) {
+    }
+
+    @Override
+    public void onInvalidate(int slot) {
+        frequencies[slot] = 0;
+        stamps[slot] = 0;
+        siftUp(slot);
+    }
+
+    @Override
+    public int getVictim(int set) {
+        return heap[set * ways];
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(frequencies, 0);
+        Arrays.fill(stamps, 0);
+        for (int i = 0; i < heap.length; i++) {
+            heap[i] = i & ways - 1;
+            positions[i] = i & ways - 1;
+        }
+        clock = 0;
+    }
+
+    @Override
+    public CacheReplacementState copy() {
+        return new LFUReplacementState(this);
+    }
+
+    private boolean less(int slotA, int slotB) {
+        return frequencies[slotA] < frequencies[slotB]
+                || frequencies[slotA] == frequencies[slotB] && stamps[slotA] < stamps[slotB];
+    }
+
+    private void siftUp(int slot) {
+        int base = slot - (slot & ways - 1);
+        int position = positions[slot];
+        while (position > 0) {
+            int parent = (position - 1) >> 1;
+            int parentSlot = base + heap[base + parent];
+            if (!less(slot, parentSlot)) break;
+            swap(base, position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        int base = slot - (slot & ways - 1);
+        int position = positions[slot];
+        while (true) {
+            int child = (position << 1) + 1;
+            if (child >= ways) break;
+            int childSlot = base + heap[base + child];
+            if (child + 1 < ways) {
+                int rightSlot = base + heap[base + child + 1];
+                if (less(rightSlot, childSlot)) {
+                    child++;
+                    childSlot = rightSlot;
+                }
+            }
+            if (!less(childSlot, slot)) break;
+            swap(base, position, child);
+            position = child;
+        }
+    }
+
+    private void swap(int base, int a, int b) {
+        int wayA = heap[base + a];
+        int wayB = heap[base + b];
+        heap[base + a] = wayB;
+        heap[base + b] = wayA;
+        positions[base + wayA] = b;
+        positions[base + wayB] = a;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache.replacement;
+
+import java.util.Arrays;
+
+/**
+ * Re-reference interval prediction state, using 2-bit prediction values.
+ * <p>
+ * Hits predict a near re-reference (value 0). New blocks predict a long re-reference (value 2) when using
+ * static RRIP; bimodal RRIP predicts a distant re-reference (value 3) instead, except for one of each
+ * {@link #BIMODAL_THROTTLE} new blocks. The victim is the first way predicting a distant re-reference:
+ * if there is none, all values of the set are incremented and the search is repeated.
+ * <p>
+ * The ways predicting each value are stored as bitsets, one per value, so searching a victim and aging
+ * a set costs O(ways / 64) instead of O(ways).
+ */
+public class RRIPReplacementState implements CacheReplacementState {
+
+    public static final int DISTANT = 3;
+    public static final int LONG = 2;
+    public static final int BIMODAL_THROTTLE = 32;
+
+    private final int ways, waysShift, words;
+    private final boolean bimodal;
+
+    // levels[value][set * words + word]
+    private final long[][] levels;
+    private int fills;
+
+    public RRIPReplacementState(int sets, int ways, boolean bimodal) {
+        this.ways = ways;
+        this.waysShift = Integer.numberOfTrailingZeros(ways);
+        this.words = (ways + 63) >>> 6;
+        this.bimodal = bimodal;
+        this.levels = new long[DISTANT + 1][sets * words];
+    }
+
+    private RRIPReplacementState(RRIPReplacementState copy) {
+        this.ways = copy.ways;
+        this.waysShift = copy.waysShift;
+        this.words = copy.words;
+        this.bimodal = copy.bimodal;
+        this.levels = new long[DISTANT + 1][];
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = copy.levels[i].clone();
+        }
+        this.fills = copy.fills;
+    }
+
+    /**
+     * Returns the prediction value of the given slot, or -1 if the slot is not valid.
+     *
+     * @param slot the slot.
+     * @return the prediction value.
+     */
+    public int getValue(int slot) {
+        int word = (slot >>> waysShift) * words + ((slot & ways - 1) >>> 6);
+        long bit = 1L << (slot & ways - 1);
+        for (int value = 0; value <= DISTANT; value++) {
+            if ((levels[value][word] & bit) != 0) return value;
+        }
+        return -1;
+    }
+
+    @Override
+    public void onFill(int slot, int tag) {
+        int value = LONG;
+        if (bimodal && ++fills % BIMODAL_THROTTLE != 0) value = DISTANT;
+        setValue(slot, value);
+    }
+
+    @Override
+    public void onHit(int slot, int hits) {
+        setValue(slot, 0);
+    }
+
+    @Override
+    public void onEvict(int slot, int tag) {
+    }
+
+    @Override
+    public void onInvalidate(int slot) {
+        setValue(slot, -1);
+    }
+
+    @Override
+    public int getVictim(int set) {
+        int from = set * words;
+        int to = from + words;
+        long[] distant = levels[DISTANT];
+        for (int attempt = 0; attempt <= DISTANT; attempt++) {
+            for (int word = from; word < to; word++) {
+                if (distant[word] != 0) {
+                    return (word - from) << 6 | Long.numberOfTrailingZeros(distant[word]);
+                }
+            }
+            for (int word = from; word < to; word++) {
+                for (int value = DISTANT; value > 0; value--) {
+                    levels[value][word] |= levels[value - 1][word];
+                    levels[value - 1][word] = 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public void clear() {
+        for (long[] level : levels) {
+            Arrays.fill(level, 0);
+        }
+        fills = 0;
+    }
+
+    @Override
+    public CacheReplacementState copy() {
+        return new RRIPReplacementState(this);
+    }
+
+    private void setValue(int slot, int value) {
+        int word = (slot >>> waysShift) * words + ((slot & ways - 1) >>> 6);
+        long bit = 1L << (slot & ways - 1);
+        for (long[] level : levels) {
+            level[word] &= ~bit;
+        }
+        if (value != -1) {
+            levels[value][word] |= bit;
+        }
+    }
+}
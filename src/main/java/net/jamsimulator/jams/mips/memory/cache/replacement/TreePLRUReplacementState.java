@@ -0,0 +1,109 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache.replacement;
+
+import net.jamsimulator.jams.utils.NumericUtils;
+
+import java.util.Arrays;
+
+/**
+ * Tree pseudo-LRU state.
+ * <p>
+ * Each set keeps a binary tree of {@code ways - 1} bits. Each bit points to the half of its subtree
+ * that has been used less recently. Accesses flip the bits of the path to the accessed way,
+ * and victims are found following the bits from the root. Both operations are O(log ways).
+ */
+public class TreePLRUReplacementState implements CacheReplacementState {
+
+    private final int ways, levels;
+
+    // Node n of a set is stored at set * ways + n. Node 0 is unused.
+    private final boolean[] bits;
+
+    public TreePLRUReplacementState(int sets, int ways) {
+        this.ways = ways;
+        this.levels = NumericUtils.log2(ways);
+        this.bits = new boolean[sets * ways];
+    }
+
+    private TreePLRUReplacementState(TreePLRUReplacementState copy) {
+        this.ways = copy.ways;
+        this.levels = copy.levels;
+        this.bits = copy.bits.clone();
+    }
+
+    @Override
+    public void onFill(int slot, int tag) {
+        touch(slot);
+    }
+
+    @Override
+    public void onHit(int slot, int hits) {
+        touch(slot);
+    }
+
+    @Override
+    public void onEvict(int slot, int tag) {
+    }
+
+    @Override
+    public void onInvalidate(int slot) {
+    }
+
+    @Override
+    public int getVictim(int set) {
+        int base = set * ways;
+        int node = 1;
+        int way = 0;
+        for (int level = 0; level < levels; level++) {
+            int right = bits[base + node] ? 1 : 0;
+            way = way << 1 | right;
+            node = node << 1 | right;
+        }
+        return way;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(bits, false);
+    }
+
+    @Override
+    public CacheReplacementState copy() {
+        return new TreePLRUReplacementState(this);
+    }
+
+    private void touch(int slot) {
+        int base = slot - (slot & ways - 1);
+        int way = slot & ways - 1;
+        int node = 1;
+        for (int level = levels - 1; level >= 0; level--) {
+            int right = way >> level & 1;
+            // Points to the other half.
+            bits[base + node] = right == 0;
+            node = node << 1 | right;
+        }
+    }
+}
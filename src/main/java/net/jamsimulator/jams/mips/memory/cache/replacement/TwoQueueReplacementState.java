@@ -0,0 +1,204 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache.replacement;
+
+import java.util.Arrays;
+
+/**
+ * 2Q state.
+ * <p>
+ * New blocks enter a FIFO queue (A1in). Hits on these blocks don't change their position, filtering
+ * the correlated accesses made right after a miss. When a block is evicted from A1in, its tag is remembered
+ * in a small ghost queue (A1out). A block placed again while its tag is in A1out enters the main LRU queue (Am).
+ * <p>
+ * Victims are taken from A1in while it holds more than a quarter of the ways, and from Am otherwise.
+ * Queues are doubly linked lists stored in primitive arrays: all operations are O(1), except searching
+ * a tag in A1out on a fill, which is O(ways / 2).
+ */
+public class TwoQueueReplacementState implements CacheReplacementState {
+
+    private static final byte NONE = 0, A1 = 1, AM = 2;
+
+    private final int ways, inThreshold, ghostSize;
+
+    private final byte[] queues;
+    private final int[] previous, next;
+    // Heads are the oldest block of A1in and the most recently used block of Am.
+    private final int[] a1Head, a1Tail, a1Size, amHead, amTail;
+
+    private final int[] ghostTags;
+    private final boolean[] ghostValid;
+    private final int[] ghostNext;
+
+    public TwoQueueReplacementState(int sets, int ways) {
+        this.ways = ways;
+        this.inThreshold = Math.max(1, ways >> 2);
+        this.ghostSize = Math.max(1, ways >> 1);
+
+        this.queues = new byte[sets * ways];
+        this.previous = new int[sets * ways];
+        this.next = new int[sets * ways];
+        this.a1Head = new int[sets];
+        this.a1Tail = new int[sets];
+        this.a1Size = new int[sets];
+        this.amHead = new int[sets];
+        this.amTail = new int[sets];
+
+        this.ghostTags = new int[sets * ghostSize];
+        this.ghostValid = new boolean[sets * ghostSize];
+        this.ghostNext = new int[sets];
+        clear();
+    }
+
+    private TwoQueueReplacementState(TwoQueueReplacementState copy) {
+        this.ways = copy.ways;
+        this.inThreshold = copy.inThreshold;
+        this.ghostSize = copy.ghostSize;
+        this.queues = copy.queues.clone();
+        this.previous = copy.previous.clone();
+        this.next = copy.next.clone();
+        this.a1Head = copy.a1Head.clone();
+        this.a1Tail = copy.a1Tail.clone();
+        this.a1Size = copy.a1Size.clone();
+        this.amHead = copy.amHead.clone();
+        this.amTail = copy.amTail.clone();
+        this.ghostTags = copy.ghostTags.clone();
+        this.ghostValid = copy.ghostValid.clone();
+        this.ghostNext = copy.ghostNext.clone();
+    }
+
+    /**
+     * Returns whether the block at the given slot is inside the main queue (Am).
+     *
+     * @param slot the slot.
+     * @return whether the block is inside Am.
+     */
+    public boolean isInMainQueue(int slot) {
+        return queues[slot] == AM;
+    }
+
+    @Override
+    public void onFill(int slot, int tag) {
+        int set = slot / ways;
+        int ghost = findGhost(set, tag);
+        if (ghost != -1) {
+            ghostValid[ghost] = false;
+            pushAm(set, slot);
+        } else {
+            // Appends the block to the tail of A1in.
+            queues[slot] = A1;
+            previous[slot] = a1Tail[set];
+            next[slot] = -1;
+            if (a1Tail[set] == -1) a1Head[set] = slot;
+            else next[a1Tail[set]] = slot;
+            a1Tail[set] = slot;
+            a1Size[set]++;
+        }
+    }
+
+    @Override
+    public void onHit(int slot, int hits) {
+        int set = slot / ways;
+        if (queues[slot] == AM && amHead[set] != slot) {
+            remove(set, slot);
+            pushAm(set, slot);
+        }
+    }
+
+    @Override
+    public void onEvict(int slot, int tag) {
+        int set = slot / ways;
+        if (queues[slot] == A1) {
+            int ghost = set * ghostSize + ghostNext[set];
+            ghostTags[ghost] = tag;
+            ghostValid[ghost] = true;
+            ghostNext[set] = (ghostNext[set] + 1) % ghostSize;
+        }
+        remove(set, slot);
+    }
+
+    @Override
+    public void onInvalidate(int slot) {
+        remove(slot / ways, slot);
+    }
+
+    @Override
+    public int getVictim(int set) {
+        int victim = a1Head[set] != -1 && (a1Size[set] > inThreshold || amTail[set] == -1)
+                ? a1Head[set]
+                : amTail[set];
+        return victim == -1 ? 0 : victim - set * ways;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(queues, NONE);
+        Arrays.fill(a1Head, -1);
+        Arrays.fill(a1Tail, -1);
+        Arrays.fill(a1Size, 0);
+        Arrays.fill(amHead, -1);
+        Arrays.fill(amTail, -1);
+        Arrays.fill(ghostValid, false);
+        Arrays.fill(ghostNext, 0);
+    }
+
+    @Override
+    public CacheReplacementState copy() {
+        return new TwoQueueReplacementState(this);
+    }
+
+    private int findGhost(int set, int tag) {
+        int from = set * ghostSize;
+        int to = from + ghostSize;
+        for (int i = from; i < to; i++) {
+            if (ghostValid[i] && ghostTags[i] == tag) return i;
+        }
+        return -1;
+    }
+
+    private void pushAm(int set, int slot) {
+        queues[slot] = AM;
+        previous[slot] = -1;
+        next[slot] = amHead[set];
+        if (amHead[set] == -1) amTail[set] = slot;
+        else previous[amHead[set]] = slot;
+        amHead[set] = slot;
+    }
+
+    private void remove(int set, int slot) {
+        byte queue = queues[slot];
+        if (queue == NONE) return;
+        int[] head = queue == A1 ? a1Head : amHead;
+        int[] tail = queue == A1 ? a1Tail : amTail;
+
+        if (previous[slot] == -1) head[set] = next[slot];
+        else next[previous[slot]] = next[slot];
+        if (next[slot] == -1) tail[set] = previous[slot];
+        else previous[next[slot]] = previous[slot];
+
+        if (queue == A1) a1Size[set]--;
+        queues[slot] = NONE;
+    }
+}
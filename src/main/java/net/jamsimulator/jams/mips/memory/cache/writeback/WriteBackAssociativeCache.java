@@ -31,12 +31,15 @@ import net.jamsimulator.jams.mips.memory.cache.CacheReplacementPolicy;
 import net.jamsimulator.jams.mips.memory.cache.event.CacheOperationEvent;
 import net.jamsimulator.jams.utils.NumericUtils;
 
+import java.util.Optional;
+
 public class WriteBackAssociativeCache extends WriteBackCache {
 
     protected final CacheReplacementPolicy replacementPolicy;
 
     public WriteBackAssociativeCache(CacheBuilder<?> builder, Memory parent, int blockSize, int blocksAmount, CacheReplacementPolicy replacementPolicy) {
-        super(builder, parent, blockSize, blocksAmount, 32 - 2 - NumericUtils.log2(blockSize));
+        super(builder, parent, blockSize, blocksAmount, 32 - 2 - NumericUtils.log2(blockSize),
+                blocksAmount, replacementPolicy);
         this.replacementPolicy = replacementPolicy;
     }
 
@@ -47,57 +50,49 @@ public class WriteBackAssociativeCache extends WriteBackCache {
     }
 
     @Override
-    protected CacheBlock getBlock(int address, boolean create, boolean callEvents) {
+    protected int getBlockIndex(int address, boolean write, boolean create, boolean callEvents) {
         int tag = calculateTag(address);
 
         operations++;
 
-        CacheBlock b = null;
-        int blockIndex = 0;
-        for (CacheBlock block : blocks) {
-            if (block != null && block.getTag() == tag) {
-                b = block;
-                break;
+        int blockIndex = table.find(tag, 0, blocksAmount);
+        var isHit = blockIndex != -1;
+        statsCollector.registerOperation(address, 0, isHit, write);
+
+        if (!isHit && !create) return -1;
+
+        CacheBlock old = null;
+        if (isHit) {
+            hits++;
+            if (create) table.registerHits(blockIndex, 1);
+            if (callEvents) old = table.exportBlock(blockIndex);
+        } else {
+            blockIndex = replacementPolicy.getBlockToReplaceIndex(table, 0, blocksAmount);
+            if (table.isValid(blockIndex) && table.isDirty(blockIndex)) {
+                table.getBlock(blockIndex).write(parent);
+                writeBacks++;
             }
-            blockIndex++;
-        }
-
-        var isHit = b != null;
-
-        if (!isHit && !create) return null;
+            if (callEvents) old = table.exportBlock(blockIndex);
 
-        CacheBlock old = b;
-
-        if (b != null) hits++;
-        else {
+            // The storage of the old block can only be reused if no event has received it.
             int start = address & ~byteMask;
-            b = new CacheBlock(tag, start, new byte[blockSize << 2]);
-
-            blockIndex = replacementPolicy.getBlockToReplaceIndex(blocks);
-
-            old = blocks[blockIndex];
-            if (old != null && old.isDirty()) {
-                old.write(parent);
-            }
-
-            byte[] data = b.getData();
-            for (int i = 0; i < data.length; i++) {
-                data[i] = parent.getByte(start + i);
-            }
-
-            b.setCreationTime(cacheTime);
-
-            blocks[blockIndex] = b;
+            byte[] data = table.allocate(blockIndex, tag, start, cacheTime, !callEvents).getData();
+            parent.getBytes(start, data, 0, data.length);
         }
 
         if (callEvents) {
-            callEvent(new CacheOperationEvent(this, operations - 1, isHit, old, b, blockIndex));
+            callEvent(new CacheOperationEvent(this, operations - 1, isHit, old, table.exportBlock(blockIndex), blockIndex));
         }
 
-        return b;
+        return blockIndex;
     }
 
 
+    @Override
+    public Optional<CacheReplacementPolicy> getReplacementPolicy() {
+        return Optional.of(replacementPolicy);
+    }
+
     @Override
     public Memory copy() {
         return new WriteBackAssociativeCache(this);
@@ -31,14 +31,16 @@ import net.jamsimulator.jams.mips.memory.Memory;
 import net.jamsimulator.jams.mips.memory.MemorySection;
 import net.jamsimulator.jams.mips.memory.cache.Cache;
 import net.jamsimulator.jams.mips.memory.cache.CacheBlock;
+import net.jamsimulator.jams.mips.memory.cache.CacheBlockTable;
 import net.jamsimulator.jams.mips.memory.cache.CacheBuilder;
+import net.jamsimulator.jams.mips.memory.cache.CacheReplacementPolicy;
 import net.jamsimulator.jams.mips.memory.cache.CacheStats;
+import net.jamsimulator.jams.mips.memory.cache.CacheStatsCollector;
 import net.jamsimulator.jams.mips.memory.cache.event.CacheResetEvent;
 import net.jamsimulator.jams.mips.memory.event.*;
 import net.jamsimulator.jams.utils.NumericUtils;
 import net.jamsimulator.jams.utils.Validate;
 
-import java.util.Arrays;
 import java.util.Optional;
 import java.util.Set;
 
@@ -57,15 +59,19 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
     protected final int tagShift;
     protected final int byteMask;
 
-    protected final CacheBlock[] blocks;
-    protected CacheBlock[] savedBlocks;
+    protected final CacheBlockTable table;
+    protected CacheBlockTable savedTable;
+
+    protected CacheStatsCollector statsCollector;
+    protected CacheStatsCollector savedStatsCollector;
 
     protected long cacheTime;
 
-    protected long operations, hits;
-    protected long savedOperations, savedHits;
+    protected long operations, hits, writeBacks, bulkHits;
+    protected long savedOperations, savedHits, savedWriteBacks, savedBulkHits;
 
-    public WriteBackCache(CacheBuilder<?> builder, Memory parent, int blockSize, int blocksAmount, int tagSize) {
+    public WriteBackCache(CacheBuilder<?> builder, Memory parent, int blockSize, int blocksAmount, int tagSize,
+            int setSize, CacheReplacementPolicy replacementPolicy) {
         Validate.notNull(parent, "Parent cannot be null!");
         Validate.isTrue(NumericUtils.is2Elev(blockSize), "BlockSize cannot be expressed as 2^n!");
         Validate.isTrue(NumericUtils.is2Elev(blocksAmount), "BlockAmount cannot be expressed as 2^n!");
@@ -80,7 +86,9 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
         this.tagShift = 32 - tagSize;
         this.byteMask = (blockSize - 1) << 2 | 3;
 
-        blocks = new CacheBlock[blocksAmount];
+        table = new CacheBlockTable(blocksAmount, blockSize << 2, setSize, replacementPolicy);
+        statsCollector = new CacheStatsCollector(blocksAmount / setSize, blocksAmount, blockSize);
+        statsCollector.setJournaling(parent.areEventCallsEnabled());
     }
 
     protected WriteBackCache(WriteBackCache copy) {
@@ -93,20 +101,23 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
         tagShift = copy.tagShift;
         byteMask = copy.byteMask;
 
-        blocks = new CacheBlock[copy.blocks.length];
-        savedBlocks = null;
+        table = new CacheBlockTable(copy.table);
+        savedTable = null;
 
-        cacheTime = copy.cacheTime;
+        statsCollector = new CacheStatsCollector(copy.statsCollector);
+        savedStatsCollector = null;
 
-        for (int i = 0; i < blocks.length; i++) {
-            blocks[i] = copy.blocks[i] == null ? null : copy.blocks[i].copy();
-        }
+        cacheTime = copy.cacheTime;
 
         operations = copy.operations;
         hits = copy.hits;
+        writeBacks = copy.writeBacks;
+        bulkHits = copy.bulkHits;
 
         savedOperations = 0;
         savedHits = 0;
+        savedWriteBacks = 0;
+        savedBulkHits = 0;
     }
 
     @Override
@@ -131,7 +142,27 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
 
     @Override
     public CacheStats getStats() {
-        return new CacheStats(operations, hits, operations - hits);
+        return statsCollector.toStats(operations, hits);
+    }
+
+    @Override
+    public long getOperations() {
+        return operations;
+    }
+
+    @Override
+    public long getHits() {
+        return hits;
+    }
+
+    @Override
+    public long getWriteBacks() {
+        return writeBacks;
+    }
+
+    @Override
+    public long getBulkHits() {
+        return bulkHits;
     }
 
     @Override
@@ -140,8 +171,9 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
         if (event.isCancelled()) return;
 
         flush();
-        operations = hits = cacheTime = 0;
-        Arrays.fill(blocks, null);
+        operations = hits = writeBacks = bulkHits = cacheTime = 0;
+        table.clear();
+        statsCollector.reset();
         if (parent instanceof Cache) ((Cache) parent).resetCache();
 
         callEvent(new CacheResetEvent.After(this));
@@ -149,9 +181,9 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
 
     @Override
     public void flush() {
-        for (CacheBlock block : blocks) {
-            if (block != null && block.isDirty()) {
-                block.write(parent);
+        for (int i = 0; i < blocksAmount; i++) {
+            if (table.isValid(i) && table.isDirty(i)) {
+                table.getBlock(i).write(parent);
             }
         }
     }
@@ -177,7 +209,8 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
             return parent.getByte(address, callEvents, true, modifyCaches);
         boolean events = callEvents && areEventCallsEnabled();
 
-        CacheBlock block = getBlock(address, modifyCaches, events);
+        int index = getBlockIndex(address, false, modifyCaches, events);
+        CacheBlock block = index == -1 ? null : table.getBlock(index);
 
         if (block == null) {
             return parent.getByte(address, callEvents, false, modifyCaches);
@@ -185,7 +218,7 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
 
         if (!events) {
             if (modifyCaches)
-                block.setModificationTime(cacheTime++);
+                table.touch(index, cacheTime++);
             return block.getByte(address & byteMask);
         }
 
@@ -197,7 +230,7 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
 
         //Gets the section and the byte.
         if (modifyCaches)
-            block.setModificationTime(cacheTime++);
+            table.touch(index, cacheTime++);
         byte b = block.getByte(address & byteMask);
 
         //Invokes the after event.
@@ -216,14 +249,15 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
             return;
         }
 
-        CacheBlock block = getBlock(address, modifyCaches, areEventCallsEnabled());
+        int index = getBlockIndex(address, true, modifyCaches, areEventCallsEnabled());
+        CacheBlock block = index == -1 ? null : table.getBlock(index);
 
         boolean events = callEvents && areEventCallsEnabled();
         if (block != null) {
             if (!events) {
-                block.setModificationTime(cacheTime++);
+                table.touch(index, cacheTime++);
                 block.setByte(address & byteMask, b);
-                block.setDirty(true);
+                table.setDirty(index, true);
                 return;
             }
 
@@ -236,9 +270,9 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
             b = before.getValue();
 
             //Gets the section and sets the word.
-            block.setModificationTime(cacheTime++);
+            table.touch(index, cacheTime++);
             byte old = block.setByte(address & byteMask, b);
-            block.setDirty(true);
+            table.setDirty(index, true);
 
             //Invokes the after event.
             callEvent(new MemoryByteSetEvent.After(this, null, address, b, old));
@@ -259,7 +293,8 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
             return parent.getHalfword(address, callEvents, true, modifyCaches);
         boolean events = callEvents && areEventCallsEnabled();
 
-        CacheBlock block = getBlock(address, modifyCaches, events);
+        int index = getBlockIndex(address, false, modifyCaches, events);
+        CacheBlock block = index == -1 ? null : table.getBlock(index);
 
         if (block == null) {
             return parent.getHalfword(address, callEvents, false, modifyCaches);
@@ -267,7 +302,7 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
 
         if (!events) {
             if (modifyCaches)
-                block.setModificationTime(cacheTime++);
+                table.touch(index, cacheTime++);
             return block.getHalfword(address & byteMask, isBigEndian());
         }
 
@@ -279,7 +314,7 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
 
         //Gets the section and the word.
         if (modifyCaches)
-            block.setModificationTime(cacheTime++);
+            table.touch(index, cacheTime++);
         short word = block.getHalfword(address & byteMask, isBigEndian());
 
         //Invokes the after event.
@@ -300,14 +335,15 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
             return;
         }
 
-        CacheBlock block = getBlock(address, modifyCaches, areEventCallsEnabled());
+        int index = getBlockIndex(address, true, modifyCaches, areEventCallsEnabled());
+        CacheBlock block = index == -1 ? null : table.getBlock(index);
 
         boolean events = callEvents && areEventCallsEnabled();
         if (block != null) {
             if (!events) {
-                block.setModificationTime(cacheTime++);
+                table.touch(index, cacheTime++);
                 block.setHalfword(address & byteMask, word, isBigEndian());
-                block.setDirty(true);
+                table.setDirty(index, true);
                 return;
             }
 
@@ -320,9 +356,9 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
             word = before.getValue();
 
             //Gets the section and sets the word.
-            block.setModificationTime(cacheTime++);
+            table.touch(index, cacheTime++);
             short old = block.setHalfword(address & byteMask, word, isBigEndian());
-            block.setDirty(true);
+            table.setDirty(index, true);
 
             //Invokes the after event.
             callEvent(new MemoryHalfwordSetEvent.After(this, null, address, word, old));
@@ -343,7 +379,8 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
             return parent.getWord(address, callEvents, true, modifyCaches);
         boolean events = callEvents && areEventCallsEnabled();
 
-        CacheBlock block = getBlock(address, modifyCaches, events);
+        int index = getBlockIndex(address, false, modifyCaches, events);
+        CacheBlock block = index == -1 ? null : table.getBlock(index);
 
         if (block == null) {
             return parent.getWord(address, callEvents, false, modifyCaches);
@@ -351,7 +388,7 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
 
         if (!events) {
             if (modifyCaches)
-                block.setModificationTime(cacheTime++);
+                table.touch(index, cacheTime++);
             return block.getWord(address & byteMask, isBigEndian());
         }
 
@@ -363,7 +400,7 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
 
         //Gets the section and the word.
         if (modifyCaches)
-            block.setModificationTime(cacheTime++);
+            table.touch(index, cacheTime++);
         int word = block.getWord(address & byteMask, isBigEndian());
 
         //Invokes the after event.
@@ -384,14 +421,15 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
             return;
         }
 
-        CacheBlock block = getBlock(address, modifyCaches, areEventCallsEnabled());
+        int index = getBlockIndex(address, true, modifyCaches, areEventCallsEnabled());
+        CacheBlock block = index == -1 ? null : table.getBlock(index);
 
         boolean events = callEvents && areEventCallsEnabled();
         if (block != null) {
             if (!events) {
-                block.setModificationTime(cacheTime++);
+                table.touch(index, cacheTime++);
                 block.setWord(address & byteMask, word, isBigEndian());
-                block.setDirty(true);
+                table.setDirty(index, true);
                 return;
             }
 
@@ -404,9 +442,9 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
             word = before.getValue();
 
             //Gets the section and sets the word.
-            block.setModificationTime(cacheTime++);
+            table.touch(index, cacheTime++);
             int old = block.setWord(address & byteMask, word, isBigEndian());
-            block.setDirty(true);
+            table.setDirty(index, true);
 
             //Invokes the after event.
             callEvent(new MemoryWordSetEvent.After(this, null, address, word, old));
@@ -415,6 +453,120 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
         }
     }
 
+    @Override
+    public void getBytes(int address, byte[] buffer, int offset, int length) {
+        if (areEventCallsEnabled()) {
+            long before = operations;
+            Cache.super.getBytes(address, buffer, offset, length);
+            registerByteByByteAccesses(address, length, before);
+            return;
+        }
+        int done = 0;
+        while (done < length) {
+            int current = address + done;
+            int amount = Math.min(length - done, byteMask + 1 - (current & byteMask));
+            int index = isDirectionAffectedByCache(current) ? getBlockIndex(current, false, true, false) : -1;
+            if (index == -1) {
+                parent.getBytes(current, buffer, offset + done, amount);
+            } else {
+                registerBulkAccesses(index, amount, false);
+                System.arraycopy(table.getBlock(index).getData(), current & byteMask, buffer, offset + done, amount);
+            }
+            done += amount;
+        }
+    }
+
+    @Override
+    public void setBytes(int address, byte[] buffer, int offset, int length) {
+        if (areEventCallsEnabled()) {
+            long before = operations;
+            Cache.super.setBytes(address, buffer, offset, length);
+            registerByteByByteAccesses(address, length, before);
+            return;
+        }
+        int done = 0;
+        while (done < length) {
+            int current = address + done;
+            int amount = Math.min(length - done, byteMask + 1 - (current & byteMask));
+            int index = isDirectionAffectedByCache(current) ? getBlockIndex(current, true, true, false) : -1;
+            if (index == -1) {
+                parent.setBytes(current, buffer, offset + done, amount);
+            } else {
+                registerBulkAccesses(index, amount, true);
+                System.arraycopy(buffer, offset + done, table.getBlock(index).getData(), current & byteMask, amount);
+                table.setDirty(index, true);
+            }
+            done += amount;
+        }
+    }
+
+    @Override
+    public int getNullTerminatedBytes(int address, byte[] buffer, int offset, int maxLength) {
+        if (areEventCallsEnabled()) {
+            return Cache.super.getNullTerminatedBytes(address, buffer, offset, maxLength);
+        }
+        int done = 0;
+        while (done < maxLength) {
+            int current = address + done;
+            int amount = Math.min(maxLength - done, byteMask + 1 - (current & byteMask));
+            int index = isDirectionAffectedByCache(current) ? getBlockIndex(current, false, true, false) : -1;
+            int read;
+            if (index == -1) {
+                read = parent.getNullTerminatedBytes(current, buffer, offset + done, amount);
+            } else {
+                byte[] data = table.getBlock(index).getData();
+                int start = current & byteMask;
+                read = 0;
+                while (read < amount && data[start + read] != 0) {
+                    buffer[offset + done + read] = data[start + read];
+                    read++;
+                }
+                // The zero byte is accessed too.
+                registerBulkAccesses(index, read < amount ? read + 1 : read, false);
+            }
+            done += read;
+            if (read < amount) return done;
+        }
+        return done;
+    }
+
+    /**
+     * Registers the accesses made by a bulk operation executed byte by byte, as done when event calls are enabled.
+     * All accesses but the first one to each block are counted as {@link #getBulkHits() bulk hits}.
+     *
+     * @param address          the first address of the operation.
+     * @param length           the amount of bytes accessed.
+     * @param operationsBefore the amount of operations of this cache before the bulk operation.
+     */
+    protected void registerByteByByteAccesses(int address, int length, long operationsBefore) {
+        if (length <= 0) return;
+        int shift = Integer.numberOfTrailingZeros(byteMask + 1);
+        int blocks = ((address + length - 1) >>> shift) - (address >>> shift) + 1;
+        // Addresses not affected by this cache don't register operations.
+        bulkHits += Math.max(0, operations - operationsBefore - blocks);
+    }
+
+    /**
+     * Registers the accesses made by a bulk operation to the given block, as if they were done one by one.
+     * The first access has already been registered by {@link #getBlockIndex(int, boolean, boolean, boolean)}: all the
+     * following accesses are hits.
+     *
+     * @param index    the slot of the block.
+     * @param accesses the amount of accesses.
+     * @param write    whether the accesses are writes.
+     */
+    protected void registerBulkAccesses(int index, int accesses, boolean write) {
+        operations += accesses - 1;
+        hits += accesses - 1;
+        bulkHits += accesses - 1;
+        cacheTime += accesses - 1;
+        table.touch(index, cacheTime++);
+        table.registerHits(index, accesses - 1);
+        if (accesses > 1) {
+            statsCollector.registerHits(index / table.getSetSize(), accesses - 1, write);
+        }
+    }
+
     @Override
     public int getFirstTextAddress() {
         return parent.getFirstTextAddress();
@@ -463,6 +615,7 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
     @Override
     public void enableEventCalls(boolean enable) {
         parent.enableEventCalls(enable);
+        statsCollector.setJournaling(enable);
     }
 
     @Override
@@ -473,31 +626,34 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
     @Override
     public void saveState() {
         parent.saveState();
-        this.savedBlocks = new CacheBlock[blocks.length];
-        for (int i = 0; i < blocks.length; i++) {
-            savedBlocks[i] = blocks[i] == null ? null : blocks[i].copy();
-        }
+        savedTable = new CacheBlockTable(table);
+        savedStatsCollector = new CacheStatsCollector(statsCollector);
         savedOperations = operations;
         savedHits = hits;
+        savedWriteBacks = writeBacks;
+        savedBulkHits = bulkHits;
     }
 
     @Override
     public void restoreSavedState() {
         parent.restoreSavedState();
 
-        for (int i = 0; i < blocks.length; i++) {
-            blocks[i] = savedBlocks[i] == null ? null : savedBlocks[i].copy();
-        }
+        table.copyFrom(savedTable);
+        statsCollector = new CacheStatsCollector(savedStatsCollector);
+        statsCollector.setJournaling(areEventCallsEnabled());
         operations = savedOperations;
         hits = savedHits;
+        writeBacks = savedWriteBacks;
+        bulkHits = savedBulkHits;
     }
 
     @Override
     public void undoOperation(boolean hit, int blockIndex, CacheBlock old) {
         operations--;
         if (hit) hits--;
+        statsCollector.rollback(operations);
         if (blockIndex != -1) {
-            blocks[blockIndex] = old;
+            table.restore(blockIndex, old);
         }
     }
 
@@ -505,11 +661,12 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
     public void forceStats(long operations, long hits) {
         this.operations = operations;
         this.hits = hits;
+        statsCollector.rollback(operations);
     }
 
     @Override
     public Optional<CacheBlock> getCacheBlock(int index) {
-        return Optional.ofNullable(blocks[index]);
+        return Optional.ofNullable(table.exportBlock(index));
     }
 
     @Override
@@ -537,7 +694,17 @@ public abstract class WriteBackCache extends SimpleEventBroadcast implements Cac
         return parent.isDirectionAffectedByCache(address);
     }
 
-    protected abstract CacheBlock getBlock(int address, boolean create, boolean callEvents);
+    /**
+     * Searches the block containing the given address, loading it if {@code create} is true.
+     * Hits and operations are registered by this method.
+     *
+     * @param address    the address.
+     * @param write      whether the operation is a write. Used by the {@link CacheStatsCollector}.
+     * @param create     whether the block should be loaded if it is not present.
+     * @param callEvents whether a {@link net.jamsimulator.jams.mips.memory.cache.event.CacheOperationEvent} should be called.
+     * @return the slot of the block inside {@link #table} or -1 if not present.
+     */
+    protected abstract int getBlockIndex(int address, boolean write, boolean create, boolean callEvents);
 
     protected int calculateTag(int address) {
         return address >> tagShift;
@@ -35,7 +35,7 @@ public class WriteBackDirectCache extends WriteBackCache {
     protected final int indexShift, indexMask;
 
     public WriteBackDirectCache(CacheBuilder<?> builder, Memory parent, int blockSize, int blocksAmount) {
-        super(builder, parent, blockSize, blocksAmount, 32 - 2 - NumericUtils.log2(blockSize) - NumericUtils.log2(blocksAmount));
+        super(builder, parent, blockSize, blocksAmount, 32 - 2 - NumericUtils.log2(blockSize) - NumericUtils.log2(blocksAmount), 1, null);
         this.indexShift = 2 + NumericUtils.log2(blockSize);
         this.indexMask = blocksAmount - 1;
     }
@@ -48,43 +48,42 @@ public class WriteBackDirectCache extends WriteBackCache {
     }
 
     @Override
-    protected CacheBlock getBlock(int address, boolean create, boolean callEvent) {
+    protected int getBlockIndex(int address, boolean write, boolean create, boolean callEvents) {
         int tag = calculateTag(address);
         int index = calculateBlockIndex(address);
 
         operations++;
-        CacheBlock b = blocks[index];
-        if (b == null || b.getTag() != tag) b = null;
 
-        var isHit = b != null;
-
-        if (!isHit && !create) return null;
-
-        CacheBlock old = b;
-        if (b != null) hits++;
-        else {
-            int start = address & ~byteMask;
-            b = new CacheBlock(tag, start, new byte[blockSize << 2]);
-
-            old = blocks[index];
-            if (old != null && old.isDirty()) {
-                old.write(parent);
+        int blockIndex = table.isValid(index) && table.getTag(index) == tag ? index : -1;
+        var isHit = blockIndex != -1;
+        statsCollector.registerOperation(address, index, isHit, write);
+
+        if (!isHit && !create) return -1;
+
+        CacheBlock old = null;
+        if (isHit) {
+            hits++;
+            if (create) table.registerHits(blockIndex, 1);
+            if (callEvents) old = table.exportBlock(blockIndex);
+        } else {
+            blockIndex = index;
+            if (table.isValid(blockIndex) && table.isDirty(blockIndex)) {
+                table.getBlock(blockIndex).write(parent);
+                writeBacks++;
             }
+            if (callEvents) old = table.exportBlock(blockIndex);
 
-            byte[] data = b.getData();
-            for (int i = 0; i < data.length; i++) {
-                data[i] = parent.getByte(start + i);
-            }
-            b.setCreationTime(cacheTime);
-
-            blocks[index] = b;
+            // The storage of the old block can only be reused if no event has received it.
+            int start = address & ~byteMask;
+            byte[] data = table.allocate(blockIndex, tag, start, cacheTime, !callEvents).getData();
+            parent.getBytes(start, data, 0, data.length);
         }
 
-        if (callEvent) {
-            callEvent(new CacheOperationEvent(this, operations - 1, isHit, old, b, index));
+        if (callEvents) {
+            callEvent(new CacheOperationEvent(this, operations - 1, isHit, old, table.exportBlock(blockIndex), blockIndex));
         }
 
-        return b;
+        return blockIndex;
     }
 
 
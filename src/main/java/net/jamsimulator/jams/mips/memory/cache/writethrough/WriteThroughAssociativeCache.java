@@ -31,12 +31,15 @@ import net.jamsimulator.jams.mips.memory.cache.CacheReplacementPolicy;
 import net.jamsimulator.jams.mips.memory.cache.event.CacheOperationEvent;
 import net.jamsimulator.jams.utils.NumericUtils;
 
+import java.util.Optional;
+
 public class WriteThroughAssociativeCache extends WriteThroughCache {
 
     protected final CacheReplacementPolicy replacementPolicy;
 
     public WriteThroughAssociativeCache(CacheBuilder<?> builder, Memory parent, int blockSize, int blocksAmount, CacheReplacementPolicy replacementPolicy) {
-        super(builder, parent, blockSize, blocksAmount, 32 - 2 - NumericUtils.log2(blockSize));
+        super(builder, parent, blockSize, blocksAmount, 32 - 2 - NumericUtils.log2(blockSize),
+                blocksAmount, replacementPolicy);
         this.replacementPolicy = replacementPolicy;
     }
 
@@ -47,53 +50,45 @@ public class WriteThroughAssociativeCache extends WriteThroughCache {
     }
 
     @Override
-    protected CacheBlock getBlock(int address, boolean create, boolean callEvent) {
+    protected int getBlockIndex(int address, boolean write, boolean create, boolean callEvents) {
         int tag = calculateTag(address);
 
         operations++;
 
-        CacheBlock b = null;
-        int blockIndex = 0;
-        for (CacheBlock block : blocks) {
-            if (block != null && block.getTag() == tag) {
-                b = block;
-                break;
-            }
-            blockIndex++;
-        }
-
+        int blockIndex = table.find(tag, 0, blocksAmount);
+        var isHit = blockIndex != -1;
+        statsCollector.registerOperation(address, 0, isHit, write);
 
-        var isHit = b != null;
+        if (!isHit && !create) return -1;
 
-        if (!isHit && !create) return null;
+        CacheBlock old = null;
+        if (isHit) {
+            hits++;
+            if (create) table.registerHits(blockIndex, 1);
+            if (callEvents) old = table.exportBlock(blockIndex);
+        } else {
+            blockIndex = replacementPolicy.getBlockToReplaceIndex(table, 0, blocksAmount);
+            if (callEvents) old = table.exportBlock(blockIndex);
 
-        CacheBlock old = b;
-        if (b != null) hits++;
-        else {
+            // The storage of the old block can only be reused if no event has received it.
             int start = address & ~byteMask;
-
-            b = new CacheBlock(tag, start, new byte[blockSize << 2]);
-
-            byte[] data = b.getData();
-            for (int i = 0; i < data.length; i++) {
-                data[i] = parent.getByte(start + i);
-            }
-
-            b.setCreationTime(cacheTime);
-
-            blockIndex = replacementPolicy.getBlockToReplaceIndex(blocks);
-            old = blocks[blockIndex];
-            blocks[blockIndex] = b;
+            byte[] data = table.allocate(blockIndex, tag, start, cacheTime, !callEvents).getData();
+            parent.getBytes(start, data, 0, data.length);
         }
 
-        if (callEvent) {
-            callEvent(new CacheOperationEvent(this, operations - 1, isHit, old, b, blockIndex));
+        if (callEvents) {
+            callEvent(new CacheOperationEvent(this, operations - 1, isHit, old, table.exportBlock(blockIndex), blockIndex));
         }
 
-        return b;
+        return blockIndex;
     }
 
 
+    @Override
+    public Optional<CacheReplacementPolicy> getReplacementPolicy() {
+        return Optional.of(replacementPolicy);
+    }
+
     @Override
     public Memory copy() {
         return new WriteThroughAssociativeCache(this);
@@ -32,13 +32,16 @@ import net.jamsimulator.jams.mips.memory.cache.event.CacheOperationEvent;
 import net.jamsimulator.jams.utils.NumericUtils;
 import net.jamsimulator.jams.utils.Validate;
 
+import java.util.Optional;
+
 public class WriteThroughSetAssociativeCache extends WriteThroughCache {
 
     protected final CacheReplacementPolicy replacementPolicy;
     protected final int setSize, setsAmount, setShift;
 
     public WriteThroughSetAssociativeCache(CacheBuilder<?> builder, Memory parent, int blockSize, int blocksAmount, int setSize, CacheReplacementPolicy replacementPolicy) {
-        super(builder, parent, blockSize, blocksAmount, 32 - 2 - NumericUtils.log2(blockSize) - NumericUtils.log2(blocksAmount / setSize));
+        super(builder, parent, blockSize, blocksAmount, 32 - 2 - NumericUtils.log2(blockSize) - NumericUtils.log2(blocksAmount / setSize),
+                setSize, replacementPolicy);
         Validate.isTrue(NumericUtils.is2Elev(setSize), "SetSize cannot be expressed as 2^n!");
         Validate.isTrue(setSize <= blocksAmount, "Set size must be lower or equal to BlockAmount!");
 
@@ -58,56 +61,47 @@ public class WriteThroughSetAssociativeCache extends WriteThroughCache {
     }
 
     @Override
-    protected CacheBlock getBlock(int address, boolean create, boolean callEvent) {
+    protected int getBlockIndex(int address, boolean write, boolean create, boolean callEvents) {
         int tag = calculateTag(address);
-        int index = calculateSetIndex(address) * setSize;
+        int set = calculateSetIndex(address);
+        int index = set * setSize;
 
         operations++;
 
-        CacheBlock b = null;
-        CacheBlock current;
-        int blockIndex = index;
-        for (int i = 0; i < setSize; i++) {
-            current = blocks[index + i];
-            if (current != null && current.getTag() == tag) {
-                b = current;
-                break;
-            }
-            blockIndex++;
-        }
+        int blockIndex = table.find(tag, index, setSize);
+        var isHit = blockIndex != -1;
+        statsCollector.registerOperation(address, set, isHit, write);
 
-        var isHit = b != null;
+        if (!isHit && !create) return -1;
 
-        if (!isHit && !create) return null;
+        CacheBlock old = null;
+        if (isHit) {
+            hits++;
+            if (create) table.registerHits(blockIndex, 1);
+            if (callEvents) old = table.exportBlock(blockIndex);
+        } else {
+            blockIndex = index + replacementPolicy.getBlockToReplaceIndex(table, index, setSize);
+            if (callEvents) old = table.exportBlock(blockIndex);
 
-        CacheBlock old = b;
-        if (b != null) hits++;
-        else {
+            // The storage of the old block can only be reused if no event has received it.
             int start = address & ~byteMask;
-            b = new CacheBlock(tag, start, new byte[blockSize << 2]);
-
-            byte[] data = b.getData();
-            for (int i = 0; i < data.length; i++) {
-                data[i] = parent.getByte(start + i);
-            }
-
-            b.setCreationTime(cacheTime);
-
-            CacheBlock[] set = new CacheBlock[setSize];
-            System.arraycopy(blocks, index, set, 0, setSize);
-            blockIndex = index + replacementPolicy.getBlockToReplaceIndex(set);
-            old = blocks[blockIndex];
-            blocks[blockIndex] = b;
+            byte[] data = table.allocate(blockIndex, tag, start, cacheTime, !callEvents).getData();
+            parent.getBytes(start, data, 0, data.length);
         }
 
-        if (callEvent) {
-            callEvent(new CacheOperationEvent(this, operations - 1, isHit, old, b, blockIndex));
+        if (callEvents) {
+            callEvent(new CacheOperationEvent(this, operations - 1, isHit, old, table.exportBlock(blockIndex), blockIndex));
         }
 
-        return b;
+        return blockIndex;
     }
 
 
+    @Override
+    public Optional<CacheReplacementPolicy> getReplacementPolicy() {
+        return Optional.of(replacementPolicy);
+    }
+
     @Override
     public Memory copy() {
         return new WriteThroughSetAssociativeCache(this);
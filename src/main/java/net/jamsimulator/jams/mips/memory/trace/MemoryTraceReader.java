@@ -0,0 +1,184 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the records of a trace file created by a {@link MemoryTraceWriter}.
+ * <p>
+ * The reader doesn't create any object per record: call {@link #next()} to decode the next record
+ * and use the getters to read its fields. Several readers can read the same file at the same time.
+ */
+public class MemoryTraceReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private boolean endOfFile;
+
+    private int pc, address, length;
+    private boolean write;
+    private long records;
+
+    /**
+     * Opens a trace file.
+     *
+     * @param path the path of the trace file.
+     * @throws IOException if the file couldn't be opened or it's not a trace file.
+     */
+    public MemoryTraceReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        buffer.limit(0);
+
+        try {
+            fill();
+            if (buffer.remaining() < 8 || buffer.getInt() != MemoryTraceWriter.MAGIC) {
+                throw new IOException(path + " is not a memory trace!");
+            }
+            int version = buffer.getInt();
+            if (version != MemoryTraceWriter.VERSION) {
+                throw new IOException("Unsupported memory trace version " + version + "!");
+            }
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Decodes the next record.
+     *
+     * @return whether there was a next record.
+     * @throws IOException if the file couldn't be read or the record is truncated.
+     */
+    public boolean next() throws IOException {
+        if (buffer.remaining() < MemoryTraceWriter.MAX_RECORD_SIZE) fill();
+        if (!buffer.hasRemaining()) return false;
+
+        try {
+            int flags = buffer.get();
+            write = (flags & MemoryTraceWriter.WRITE_FLAG) != 0;
+            pc += unzigzag(getVarInt());
+            address += unzigzag(getVarInt());
+            length = switch ((flags >> MemoryTraceWriter.LENGTH_SHIFT) & MemoryTraceWriter.LENGTH_MASK) {
+                case 0 -> 1;
+                case 1 -> 2;
+                case 2 -> 4;
+                default -> getVarInt();
+            };
+        } catch (BufferUnderflowException ex) {
+            throw new IOException("Truncated memory trace record!", ex);
+        }
+        records++;
+        return true;
+    }
+
+    /**
+     * Returns the program counter of the current record.
+     *
+     * @return the program counter.
+     */
+    public int getPc() {
+        return pc;
+    }
+
+    /**
+     * Returns the first address of the current record.
+     *
+     * @return the address.
+     */
+    public int getAddress() {
+        return address;
+    }
+
+    /**
+     * Returns the amount of bytes accessed by the current record.
+     *
+     * @return the length.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns whether the current record is a write.
+     *
+     * @return whether the record is a write.
+     */
+    public boolean isWrite() {
+        return write;
+    }
+
+    /**
+     * Returns the amount of records decoded by this reader.
+     *
+     * @return the amount of records.
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void fill() throws IOException {
+        if (endOfFile) return;
+        buffer.compact();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) == -1) {
+                endOfFile = true;
+                break;
+            }
+        }
+        buffer.flip();
+    }
+
+    private int getVarInt() {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.trace;
+
+import net.jamsimulator.jams.mips.memory.Memory;
+import net.jamsimulator.jams.utils.Validate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replays a trace file created by a {@link MemoryTraceWriter} through several memory hierarchies in parallel.
+ * <p>
+ * Each submitted hierarchy is replayed by a worker with its own {@link MemoryTraceReader}, so a single
+ * recorded execution can evaluate any amount of cache configurations without simulating the program again.
+ * Replayed writes store zeros: only the behaviour of the caches is meaningful after a replay.
+ * <p>
+ * Hierarchies are replayed in a bounded pool of worker threads. By default, the pool has one worker per
+ * available processor.
+ */
+public class MemoryTraceReplayer implements AutoCloseable {
+
+    private final Path trace;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a replayer with one worker per available processor.
+     *
+     * @param trace the path of the trace file.
+     */
+    public MemoryTraceReplayer(Path trace) {
+        this(trace, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a replayer.
+     *
+     * @param trace   the path of the trace file.
+     * @param workers the amount of worker threads.
+     */
+    public MemoryTraceReplayer(Path trace, int workers) {
+        Validate.notNull(trace, "Trace cannot be null!");
+        Validate.isTrue(workers > 0, "There must be at least one worker!");
+        this.trace = trace;
+
+        var counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            var thread = new Thread(runnable, "Memory Trace Replayer Worker " + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Replays the trace through the given memory hierarchy in a worker of this replayer.
+     * <p>
+     * Event calls of the hierarchy are disabled before the replay starts.
+     * The hierarchy must not be used by any other thread until the replay finishes.
+     *
+     * @param memory the top memory of the hierarchy.
+     * @return a {@link CompletableFuture} completed with the hierarchy when the replay finishes.
+     */
+    public CompletableFuture<Memory> submit(Memory memory) {
+        Validate.notNull(memory, "Memory cannot be null!");
+        return CompletableFuture.supplyAsync(() -> {
+            try (var reader = new MemoryTraceReader(trace)) {
+                replay(reader, memory);
+                return memory;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, executor);
+    }
+
+    /**
+     * Stops accepting new hierarchies. Hierarchies already submitted will finish their replay.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Replays the remaining records of the given reader through the given memory hierarchy in the current thread.
+     *
+     * @param reader the reader.
+     * @param memory the top memory of the hierarchy.
+     * @throws IOException if the trace couldn't be read.
+     */
+    public static void replay(MemoryTraceReader reader, Memory memory) throws IOException {
+        Optional<Memory> current = Optional.of(memory);
+        while (current.isPresent()) {
+            current.get().enableEventCalls(false);
+            current = current.get().getNextLevelMemory();
+        }
+
+        byte[] scratch = new byte[0];
+        while (reader.next()) {
+            int address = reader.getAddress();
+            int length = reader.getLength();
+            boolean write = reader.isWrite();
+            switch (length) {
+                case 1 -> {
+                    if (write) memory.setByte(address, (byte) 0);
+                    else memory.getByte(address);
+                }
+                case 2 -> {
+                    if (write) memory.setHalfword(address, (short) 0);
+                    else memory.getHalfword(address);
+                }
+                case 4 -> {
+                    if (write) memory.setWord(address, 0);
+                    else memory.getWord(address);
+                }
+                default -> {
+                    if (scratch.length < length) scratch = new byte[length];
+                    if (write) {
+                        Arrays.fill(scratch, 0, length, (byte) 0);
+                        memory.setBytes(address, scratch, 0, length);
+                    } else {
+                        memory.getBytes(address, scratch, 0, length);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.trace;
+
+import net.jamsimulator.jams.mips.memory.MemoryAccessListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntSupplier;
+
+/**
+ * Records the memory accesses of a simulation into a compact binary trace file.
+ * <p>
+ * Attach this writer to a {@link net.jamsimulator.jams.mips.memory.SimpleMemory} as its
+ * {@link MemoryAccessListener}: accesses are recorded with event calls enabled or disabled.
+ * Records are encoded into a direct buffer that is written through a {@link FileChannel} when it's full.
+ * <p>
+ * The file starts with the {@link #MAGIC} number and the {@link #VERSION} of the format. Each record contains:
+ * <ul>
+ *     <li>A flags byte: bit 0 marks writes and bits 1-2 encode the length (1, 2 or 4 bytes, or 3 for
+ *     an explicit length).</li>
+ *     <li>The difference between the program counter and the previous record's one.</li>
+ *     <li>The difference between the address and the previous record's one.</li>
+ *     <li>The length of the access, only if it's not 1, 2 or 4 bytes.</li>
+ * </ul>
+ * Differences are zigzag encoded and all integers are stored as variable-length quantities,
+ * so most records only use three or four bytes.
+ * <p>
+ * The listener cannot throw {@link IOException}s: if writing fails the writer stops recording
+ * and the exception is thrown by {@link #close()}.
+ */
+public class MemoryTraceWriter implements MemoryAccessListener, Closeable {
+
+    /**
+     * The first four bytes of every trace file: "JAMT".
+     */
+    public static final int MAGIC = 0x4A414D54;
+
+    /**
+     * The version of the trace format.
+     */
+    public static final int VERSION = 1;
+
+    static final int WRITE_FLAG = 1;
+    static final int LENGTH_SHIFT = 1;
+    static final int LENGTH_MASK = 0b11;
+    static final int EXPLICIT_LENGTH = 3;
+
+    /**
+     * The maximum size of an encoded record: the flags byte and three five-byte integers.
+     */
+    static final int MAX_RECORD_SIZE = 16;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final IntSupplier programCounter;
+
+    private int lastPc, lastAddress;
+    private long records;
+    private IOException error;
+
+    /**
+     * Creates a trace writer. The file is created or truncated.
+     *
+     * @param path           the path of the trace file.
+     * @param programCounter the supplier of the program counter recorded with each access. It may be null.
+     * @throws IOException if the file couldn't be opened.
+     */
+    public MemoryTraceWriter(Path path, IntSupplier programCounter) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.programCounter = programCounter;
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+    }
+
+    /**
+     * Returns the amount of records written by this writer.
+     *
+     * @return the amount of records.
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    @Override
+    public void onAccess(int address, int length, boolean write) {
+        if (error != null) return;
+        if (buffer.remaining() < MAX_RECORD_SIZE && !flushBuffer()) return;
+
+        int pc = programCounter == null ? 0 : programCounter.getAsInt();
+        int lengthCode = switch (length) {
+            case 1 -> 0;
+            case 2 -> 1;
+            case 4 -> 2;
+            default -> EXPLICIT_LENGTH;
+        };
+
+        buffer.put((byte) ((lengthCode << LENGTH_SHIFT) | (write ? WRITE_FLAG : 0)));
+        putVarInt(zigzag(pc - lastPc));
+        putVarInt(zigzag(address - lastAddress));
+        if (lengthCode == EXPLICIT_LENGTH) putVarInt(length);
+
+        lastPc = pc;
+        lastAddress = address;
+        records++;
+    }
+
+    /**
+     * Writes the pending records and closes the file.
+     *
+     * @throws IOException if any record couldn't be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (error == null) flushBuffer();
+            if (error != null) throw error;
+        } finally {
+            channel.close();
+        }
+    }
+
+    private boolean flushBuffer() {
+        try {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+            return true;
+        } catch (IOException ex) {
+            error = ex;
+            return false;
+        }
+    }
+
+    private void putVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+}
@@ -110,27 +110,27 @@ public class COP0Register extends Register {
         }
 
         RegisterChangeValueEvent.Before before = registers.callEvent(
-                new RegisterChangeValueEvent.Before(this, this.value, mask(value << from, mask)));
+                new RegisterChangeValueEvent.Before(this, file[slot], mask(value << from, mask)));
         if (before.isCancelled()) return;
-        int old = this.value;
+        int old = file[slot];
         setValue0(before.getNewValue());
-        registers.callEvent(new RegisterChangeValueEvent.After(this, old, this.value));
+        registers.callEvent(new RegisterChangeValueEvent.After(this, old, file[slot]));
     }
 
     @Override
     protected void setValue0(int value) {
-        this.value = value;
+        file[slot] = value;
     }
 
     private int mask(int value, int mask) {
         int newVal = value & mask;
-        int oldVal = this.value & ~mask;
+        int oldVal = file[slot] & ~mask;
         return newVal | oldVal;
     }
 
     @Override
     public COP0Register copy(Registers registers) {
-        COP0Register register = new COP0Register(registers, identifier, selection, value, softwareWriteMask, cop0Name, names);
+        COP0Register register = new COP0Register(registers, identifier, selection, file[slot], softwareWriteMask, cop0Name, names);
         register.defaultValue = defaultValue;
         return register;
     }
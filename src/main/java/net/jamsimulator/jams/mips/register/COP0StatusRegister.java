@@ -52,16 +52,16 @@ public class COP0StatusRegister extends COP0Register {
         boolean userMode = getSection(COP0RegistersBits.STATUS_EXL, 2) == 0;
         if (getBit(COP0RegistersBits.STATUS_UM) != userMode) {
             int mask = 1 << COP0RegistersBits.STATUS_UM;
-            this.value &= ~mask;
+            file[slot] &= ~mask;
             if (userMode) {
-                this.value |= mask;
+                file[slot] |= mask;
             }
         }
     }
 
     @Override
     public COP0Register copy(Registers registers) {
-        COP0StatusRegister register = new COP0StatusRegister(registers, identifier, selection, value, softwareWriteMask, cop0Name, names);
+        COP0StatusRegister register = new COP0StatusRegister(registers, identifier, selection, file[slot], softwareWriteMask, cop0Name, names);
         register.defaultValue = defaultValue;
         return register;
     }
@@ -56,6 +56,8 @@ public class MIPS32Registers extends Registers {
         if (set instanceof MIPS32r5InstructionSet) {
             loadR5Coprocessor1Registers();
         }
+
+        bindRegisterFile();
     }
 
     protected void loadPrincipalRegisters() {
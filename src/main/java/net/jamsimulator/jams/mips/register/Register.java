@@ -49,7 +49,8 @@ public class Register {
     protected final Set<String> names;
     protected final boolean modifiable;
     private final List<InstructionExecution<?, ?>> lockedBy;
-    protected int value;
+    protected int[] file;
+    protected int slot;
     protected int defaultValue;
 
     /**
@@ -66,7 +67,8 @@ public class Register {
         this.identifier = identifier;
         this.names = new HashSet<>();
         this.names.addAll(Arrays.asList(names));
-        this.value = defaultValue = 0;
+        this.file = new int[1];
+        this.defaultValue = 0;
         this.modifiable = true;
         this.lockedBy = new ArrayList<>(5);
     }
@@ -85,7 +87,8 @@ public class Register {
         this.identifier = identifier;
         this.names = new HashSet<>();
         this.names.addAll(names);
-        this.value = defaultValue = 0;
+        this.file = new int[1];
+        this.defaultValue = 0;
         this.modifiable = true;
         this.lockedBy = new ArrayList<>(5);
     }
@@ -107,7 +110,8 @@ public class Register {
         this.identifier = identifier;
         this.names = new HashSet<>();
         this.names.addAll(Arrays.asList(names));
-        this.value = defaultValue = value;
+        this.file = new int[]{value};
+        this.defaultValue = value;
         this.modifiable = modifiable;
         this.lockedBy = new ArrayList<>(5);
     }
@@ -129,7 +133,8 @@ public class Register {
         this.identifier = identifier;
         this.names = new HashSet<>();
         this.names.addAll(names);
-        this.value = defaultValue = value;
+        this.file = new int[]{value};
+        this.defaultValue = value;
         this.modifiable = modifiable;
         this.lockedBy = new ArrayList<>(5);
     }
@@ -263,7 +268,8 @@ public class Register {
 
     public void lock(InstructionExecution<?, ?> execution) {
         if (lockedBy.contains(execution)) return;
-        if (registers.eventCallsEnabled) {
+        if (registers.eventCallsEnabled && (registers.hasListeners(RegisterLockEvent.Before.class)
+                || registers.hasListeners(RegisterLockEvent.After.class))) {
             var before = registers.callEvent(new RegisterLockEvent.Before(this, execution));
             if (before.isCancelled()) return;
             execution = before.getExecution();
@@ -276,7 +282,8 @@ public class Register {
 
     public void unlock(InstructionExecution<?, ?> execution) {
         if (!lockedBy.contains(execution)) return;
-        if (registers.eventCallsEnabled) {
+        if (registers.eventCallsEnabled && (registers.hasListeners(RegisterUnlockEvent.Before.class)
+                || registers.hasListeners(RegisterUnlockEvent.After.class))) {
             var before = registers.callEvent(new RegisterUnlockEvent.Before(this, execution));
             if (before.isCancelled()) return;
             execution = before.getExecution();
@@ -331,7 +338,7 @@ public class Register {
      * @return the value.
      */
     public int getValue() {
-        return value;
+        return file[slot];
     }
 
     /**
@@ -348,14 +355,19 @@ public class Register {
             return;
         }
 
-        RegisterChangeValueEvent.Before before = registers.callEvent(
-                new RegisterChangeValueEvent.Before(this, this.value, value));
-        if (before.isCancelled()) return;
+        if (registers.hasListeners(RegisterChangeValueEvent.Before.class)) {
+            RegisterChangeValueEvent.Before before = registers.callEvent(
+                    new RegisterChangeValueEvent.Before(this, file[slot], value));
+            if (before.isCancelled()) return;
+            value = before.getNewValue();
+        }
 
-        int old = this.value;
-        setValue0(before.getNewValue());
+        int old = file[slot];
+        setValue0(value);
 
-        registers.callEvent(new RegisterChangeValueEvent.After(this, old, this.value));
+        if (registers.hasListeners(RegisterChangeValueEvent.After.class)) {
+            registers.callEvent(new RegisterChangeValueEvent.After(this, old, file[slot]));
+        }
     }
 
     /**
@@ -377,7 +389,7 @@ public class Register {
      * @return the bit.
      */
     public boolean getBit(int position) {
-        return ((value >> position) & 1) == 1;
+        return ((file[slot] >> position) & 1) == 1;
     }
 
     /**
@@ -388,7 +400,7 @@ public class Register {
      * @return the bits.
      */
     public int getSection(int from, int length) {
-        return (value >> from) & ((1 << length) - 1);
+        return (file[slot] >> from) & ((1 << length) - 1);
     }
 
     /**
@@ -399,7 +411,22 @@ public class Register {
      * @param value the value.
      */
     protected void setValue0(int value) {
-        this.value = value;
+        file[slot] = value;
+    }
+
+    /**
+     * Moves the value of this register to the given slot of a primitive register file.
+     * From now on, this register is a view of that slot: writing the slot directly modifies this register.
+     * <p>
+     * This method is used by {@link Registers} to build its register file.
+     *
+     * @param file the register file.
+     * @param slot the slot of this register inside the file.
+     */
+    void bindToFile(int[] file, int slot) {
+        file[slot] = this.file[this.slot];
+        this.file = file;
+        this.slot = slot;
     }
 
     /**
@@ -417,7 +444,7 @@ public class Register {
      * will be set to the current value when this method is used.
      */
     public void makeCurrentValueAsDefault() {
-        defaultValue = value;
+        defaultValue = file[slot];
     }
 
     /**
@@ -435,7 +462,7 @@ public class Register {
      * @return the copy.
      */
     public Register copy(Registers registers) {
-        Register register = new Register(registers, identifier, value, modifiable, names);
+        Register register = new Register(registers, identifier, file[slot], modifiable, names);
         register.defaultValue = defaultValue;
         return register;
     }
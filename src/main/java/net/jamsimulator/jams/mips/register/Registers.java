@@ -39,6 +39,13 @@ import java.util.Set;
  * {@link Register}s used by a {@link MIPSSimulation}.
  * <p>
  * Registers ProgramCounter, HighRegister and LowRegister are always present.
+ * <p>
+ * The values of the general registers, the coprocessor 1 registers and the program counter are stored
+ * in a primitive register file. The {@link Register} instances of these registers are views of the file:
+ * they are used by the GUI and by the event paths. Executions can access the file directly by index
+ * using the methods {@link #getValueUnchecked(int)}, {@link #setValueUnchecked(int, int)} and their
+ * coprocessor 1 and program counter variants. If event calls are enabled these methods delegate to
+ * the {@link Register} instances, so events are still called.
  */
 public class Registers extends SimpleEventBroadcast {
 
@@ -50,6 +57,11 @@ public class Registers extends SimpleEventBroadcast {
 
     protected Register programCounter;
 
+    protected int[] registerFile;
+    protected Register[] slotRegisters;
+    protected boolean[] modifiableSlots;
+    protected int coprocessor1Offset, programCounterSlot;
+
     protected boolean eventCallsEnabled;
 
     /**
@@ -70,6 +82,7 @@ public class Registers extends SimpleEventBroadcast {
         this.coprocessor0Registers = coprocessor0Registers == null ? new Register[32][32] : coprocessor0Registers;
         this.coprocessor1Registers = coprocessor1Registers == null ? new Register[32] : coprocessor1Registers;
         loadEssentialRegisters();
+        bindRegisterFile();
         this.eventCallsEnabled = true;
     }
 
@@ -285,6 +298,147 @@ public class Registers extends SimpleEventBroadcast {
         return coprocessor1Registers[identifier];
     }
 
+    /**
+     * Returns the value of the general register whose identifier matches the given int.
+     * This method reads the register file directly.
+     * This method is unchecked: the identifier must be a valid general register identifier.
+     *
+     * @param identifier the identifier.
+     * @return the value.
+     */
+    public int getValueUnchecked(int identifier) {
+        return registerFile[identifier];
+    }
+
+    /**
+     * Sets the value of the general register whose identifier matches the given int.
+     * <p>
+     * If event calls are disabled, this method writes the register file directly.
+     * Otherwise, this method delegates to {@link Register#setValue(int)}.
+     * This method is unchecked: the identifier must be a valid general register identifier.
+     *
+     * @param identifier the identifier.
+     * @param value      the value.
+     */
+    public void setValueUnchecked(int identifier, int value) {
+        if (eventCallsEnabled) {
+            registers[identifier].setValue(value);
+        } else if (modifiableSlots[identifier]) {
+            registerFile[identifier] = value;
+        }
+    }
+
+    /**
+     * Returns the value of the coprocessor 1 register whose identifier matches the given int.
+     * This method reads the register file directly.
+     * This method is unchecked: the identifier must be a valid coprocessor 1 register identifier.
+     *
+     * @param identifier the identifier.
+     * @return the value.
+     */
+    public int getCoprocessor1ValueUnchecked(int identifier) {
+        return registerFile[coprocessor1Offset + identifier];
+    }
+
+    /**
+     * Sets the value of the coprocessor 1 register whose identifier matches the given int.
+     * <p>
+     * If event calls are disabled, this method writes the register file directly.
+     * Otherwise, this method delegates to {@link Register#setValue(int)}.
+     * This method is unchecked: the identifier must be a valid coprocessor 1 register identifier.
+     *
+     * @param identifier the identifier.
+     * @param value      the value.
+     */
+    public void setCoprocessor1ValueUnchecked(int identifier, int value) {
+        if (eventCallsEnabled) {
+            coprocessor1Registers[identifier].setValue(value);
+        } else if (modifiableSlots[coprocessor1Offset + identifier]) {
+            registerFile[coprocessor1Offset + identifier] = value;
+        }
+    }
+
+    /**
+     * Returns the value of the program counter.
+     * This method reads the register file directly.
+     *
+     * @return the value.
+     */
+    public int getProgramCounterValue() {
+        return registerFile[programCounterSlot];
+    }
+
+    /**
+     * Sets the value of the program counter.
+     * <p>
+     * If event calls are disabled, this method writes the register file directly.
+     * Otherwise, this method delegates to {@link Register#setValue(int)}.
+     *
+     * @param value the value.
+     */
+    public void setProgramCounterValue(int value) {
+        if (eventCallsEnabled) {
+            programCounter.setValue(value);
+        } else if (modifiableSlots[programCounterSlot]) {
+            registerFile[programCounterSlot] = value;
+        }
+    }
+
+    /**
+     * Returns the primitive register file of this register set.
+     * <p>
+     * The file stores the general registers first (indexed by their identifiers), then the coprocessor 1
+     * registers (starting at {@link #getCoprocessor1Offset()}) and, finally, the program counter
+     * (at {@link #getProgramCounterSlot()}).
+     * <p>
+     * Writing this array directly doesn't call any event and doesn't check whether the registers
+     * are modifiable: only fast paths executed with event calls disabled should write it,
+     * and they must never write read-only registers such as $zero.
+     *
+     * @return the register file.
+     */
+    public int[] getRegisterFile() {
+        return registerFile;
+    }
+
+    /**
+     * Returns the slot of the first coprocessor 1 register inside the {@link #getRegisterFile() register file}.
+     *
+     * @return the slot.
+     */
+    public int getCoprocessor1Offset() {
+        return coprocessor1Offset;
+    }
+
+    /**
+     * Returns the slot of the given {@link Register} inside the {@link #getRegisterFile() register file}.
+     *
+     * @param register the {@link Register}.
+     * @return the slot, or -1 if the register is not stored in the register file.
+     */
+    public int getRegisterFileSlot(Register register) {
+        return register.file == registerFile ? register.slot : -1;
+    }
+
+    /**
+     * Returns the {@link Register} stored in the given slot of the {@link #getRegisterFile() register file}.
+     *
+     * @param slot the slot.
+     * @return the {@link Register}, or null if the slot is empty.
+     */
+    public Register getRegisterAtSlot(int slot) {
+        return slotRegisters[slot];
+    }
+
+    /**
+     * Returns the slot of the program counter inside the {@link #getRegisterFile() register file}.
+     *
+     * @return the slot.
+     */
+    public int getProgramCounterSlot() {
+        return programCounterSlot;
+    }
+
     /**
      * Unlocks all registers in a pipelined simulation.
      */
@@ -355,6 +509,7 @@ public class Registers extends SimpleEventBroadcast {
         }
 
         set.programCounter = programCounter.copy(set);
+        set.bindRegisterFile();
 
         set.eventCallsEnabled = eventCallsEnabled;
         return set;
@@ -397,6 +552,39 @@ public class Registers extends SimpleEventBroadcast {
         }
     }
 
+    /**
+     * Builds the primitive register file and binds the general registers, the coprocessor 1 registers
+     * and the program counter to it. The current values of the registers are preserved.
+     * <p>
+     * Subclasses that create or replace any of these registers after the constructor of this class
+     * must invoke this method again.
+     * <p>
+     * The file stores the general registers first, then the coprocessor 1 registers and, finally,
+     * the program counter.
+     */
+    protected void bindRegisterFile() {
+        coprocessor1Offset = registers.length;
+        programCounterSlot = coprocessor1Offset + coprocessor1Registers.length;
+        registerFile = new int[programCounterSlot + 1];
+        slotRegisters = new Register[registerFile.length];
+        modifiableSlots = new boolean[registerFile.length];
+
+        for (int i = 0; i < registers.length; i++) {
+            bindSlot(registers[i], i);
+        }
+        for (int i = 0; i < coprocessor1Registers.length; i++) {
+            bindSlot(coprocessor1Registers[i], coprocessor1Offset + i);
+        }
+        bindSlot(programCounter, programCounterSlot);
+    }
+
+    private void bindSlot(Register register, int slot) {
+        if (register == null) return;
+        register.bindToFile(registerFile, slot);
+        slotRegisters[slot] = register;
+        modifiableSlots[slot] = register.isModifiable();
+    }
+
     protected void loadEssentialRegisters() {
         programCounter = new Register(this, -1, MIPS32Memory.TEXT, true, "pc");
     }
@@ -0,0 +1,158 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation;
+
+import net.jamsimulator.jams.collection.LowHeapIntArrayList;
+
+import java.util.function.Consumer;
+
+/**
+ * Stores the breakpoints of a {@link MIPSSimulation}.
+ * <p>
+ * Breakpoints inside the text and kernel text sections are stored in bitmaps using one bit per word,
+ * so {@link #contains(int)} doesn't depend on the amount of breakpoints. Breakpoints outside these
+ * sections are only stored in the list, which is also used to iterate all breakpoints.
+ */
+public class BreakpointMap {
+
+    private final LowHeapIntArrayList breakpoints;
+
+    private final int textStart, kernelTextStart;
+    private final long[] text, kernelText;
+
+    private int outside;
+
+    /**
+     * Creates the map.
+     *
+     * @param textStart       the first address of the text section.
+     * @param textEnd         the last address of the text section, inclusive.
+     * @param kernelTextStart the first address of the kernel text section.
+     * @param kernelTextEnd   the last address of the kernel text section, inclusive.
+     */
+    public BreakpointMap(int textStart, int textEnd, int kernelTextStart, int kernelTextEnd) {
+        this.breakpoints = new LowHeapIntArrayList();
+        this.textStart = textStart;
+        this.kernelTextStart = kernelTextStart;
+        this.text = new long[bitmapLength(textStart, textEnd)];
+        this.kernelText = new long[bitmapLength(kernelTextStart, kernelTextEnd)];
+        this.outside = 0;
+    }
+
+    /**
+     * Returns whether there's a breakpoint at the given address.
+     *
+     * @param address the address.
+     * @return whether there's a breakpoint.
+     */
+    public boolean contains(int address) {
+        if ((address & 0x3) == 0) {
+            int word = (address - textStart) >>> 2;
+            if (word < text.length << 6) {
+                return (text[word >>> 6] & (1L << word)) != 0;
+            }
+            word = (address - kernelTextStart) >>> 2;
+            if (word < kernelText.length << 6) {
+                return (kernelText[word >>> 6] & (1L << word)) != 0;
+            }
+        }
+        return outside != 0 && breakpoints.contains(address);
+    }
+
+    /**
+     * Adds a breakpoint at the given address.
+     *
+     * @param address the address.
+     * @return whether the breakpoint was added. This is false if the breakpoint was already present.
+     */
+    public boolean add(int address) {
+        if (contains(address)) return false;
+        breakpoints.add(address);
+        if (!setBit(address, true)) outside++;
+        return true;
+    }
+
+    /**
+     * Removes the breakpoint at the given address.
+     *
+     * @param address the address.
+     * @return whether the breakpoint was removed.
+     */
+    public boolean remove(int address) {
+        if (!breakpoints.remove(address)) return false;
+        if (!setBit(address, false)) outside--;
+        return true;
+    }
+
+    /**
+     * Returns the amount of breakpoints in this map.
+     *
+     * @return the amount of breakpoints.
+     */
+    public int size() {
+        return breakpoints.size();
+    }
+
+    /**
+     * Returns whether this map has no breakpoints.
+     *
+     * @return whether this map is empty.
+     */
+    public boolean isEmpty() {
+        return breakpoints.isEmpty();
+    }
+
+    /**
+     * Executes the given consumer for each breakpoint.
+     *
+     * @param consumer the consumer.
+     */
+    public void forEach(Consumer<Integer> consumer) {
+        breakpoints.forEach(consumer);
+    }
+
+    private boolean setBit(int address, boolean value) {
+        if ((address & 0x3) != 0) return false;
+        long[] bitmap = text;
+        int word = (address - textStart) >>> 2;
+        if (word >= text.length << 6) {
+            bitmap = kernelText;
+            word = (address - kernelTextStart) >>> 2;
+            if (word >= kernelText.length << 6) return false;
+        }
+        if (value) {
+            bitmap[word >>> 6] |= 1L << word;
+        } else {
+            bitmap[word >>> 6] &= ~(1L << word);
+        }
+        return true;
+    }
+
+    private static int bitmapLength(int start, int end) {
+        if (Integer.compareUnsigned(end, start) < 0) return 0;
+        long words = (Integer.toUnsignedLong(end - start) >>> 2) + 1;
+        return (int) ((words + 63) >>> 6);
+    }
+}
@@ -24,7 +24,6 @@
 
 package net.jamsimulator.jams.mips.simulation;
 
-import net.jamsimulator.jams.collection.LowHeapIntArrayList;
 import net.jamsimulator.jams.event.Listener;
 import net.jamsimulator.jams.event.SimpleEventBroadcast;
 import net.jamsimulator.jams.gui.util.log.Console;
@@ -41,7 +40,11 @@ import net.jamsimulator.jams.mips.interrupt.InterruptCause;
 import net.jamsimulator.jams.mips.interrupt.MIPSAddressException;
 import net.jamsimulator.jams.mips.interrupt.MIPSInterruptException;
 import net.jamsimulator.jams.mips.memory.Memory;
+import net.jamsimulator.jams.mips.memory.MemoryWatchTable;
+import net.jamsimulator.jams.mips.memory.MemoryWriteTracker;
+import net.jamsimulator.jams.mips.memory.SimpleMemory;
 import net.jamsimulator.jams.mips.memory.cache.Cache;
+import net.jamsimulator.jams.mips.memory.cache.CacheLatencyModel;
 import net.jamsimulator.jams.mips.memory.event.MemoryByteSetEvent;
 import net.jamsimulator.jams.mips.memory.event.MemoryHalfwordSetEvent;
 import net.jamsimulator.jams.mips.memory.event.MemoryWordSetEvent;
@@ -49,9 +52,13 @@ import net.jamsimulator.jams.mips.register.COP0Register;
 import net.jamsimulator.jams.mips.register.COP0RegistersBits;
 import net.jamsimulator.jams.mips.register.COP0StatusRegister;
 import net.jamsimulator.jams.mips.register.Registers;
+import net.jamsimulator.jams.mips.simulation.batch.DecodedProgram;
+import net.jamsimulator.jams.mips.simulation.change.UndoJournal;
 import net.jamsimulator.jams.mips.simulation.event.*;
 import net.jamsimulator.jams.mips.simulation.file.SimulationFiles;
 import net.jamsimulator.jams.mips.simulation.random.NumberGenerators;
+import net.jamsimulator.jams.mips.simulation.update.SimulationSnapshotBuffer;
+import net.jamsimulator.jams.mips.simulation.update.SimulationUpdateBus;
 import net.jamsimulator.jams.mips.syscall.SimulationSyscallExecutions;
 import net.jamsimulator.jams.project.mips.configuration.MIPSSimulationConfigurationPresets;
 import net.jamsimulator.jams.utils.StringUtils;
@@ -75,6 +82,17 @@ import java.util.function.Consumer;
  */
 public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEventBroadcast implements Simulation<Integer> {
 
+    /**
+     * The maximum time a turbo burst should take. This bounds the time the simulation's monitor
+     * is held and the time between pacing checks.
+     */
+    public static final long TURBO_BURST_TARGET_NANOS = 10_000_000;
+
+    /**
+     * The maximum amount of units of work executed by a turbo burst.
+     */
+    public static final int TURBO_MAX_BURST = 1 << 20;
+
     protected final Arch architecture;
     protected final InstructionSet instructionSet;
     protected final Registers registers;
@@ -82,28 +100,37 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
     protected final File workingDirectory;
     protected final SimulationFiles files;
     protected final ExternalInterruptController externalInterruptController;
-    protected final LowHeapIntArrayList breakpoints;
+    protected final BreakpointMap breakpoints;
+    protected final MemoryWatchTable watchTable;
+    protected final MemoryWriteTracker writeTracker;
+    protected final SimulationSnapshotBuffer snapshotBuffer;
     protected final NumberGenerators numberGenerators;
     protected final Log log;
     protected final SimulationSyscallExecutions syscallExecutions;
     protected final Object inputLock;
     protected final Object finishedRunningLock;
+    protected final Object threadLock;
 
     protected final MIPSSimulationSource source;
 
     protected final boolean canCallEvents, undoEnabled;
 
     protected int instructionStackBottom, kernelStackBottom;
-    protected InstructionExecution<Arch, ?>[] instructionCache;
+    protected PagedWordCache<InstructionExecution<Arch, ?>> instructionCache;
     protected Thread thread;
-    protected boolean interrupted;
+    protected volatile boolean interrupted;
+    protected volatile boolean watchpointHit;
     protected boolean running;
     protected boolean finished;
 
     protected int cycleDelay;
     protected long cycles;
+    protected long memoryStallCycles;
     protected long executionTime;
 
+    protected CacheLatencyModel memoryLatencyModel;
+    protected SimulationUpdateBus updateBus;
+
     protected COP0Register badAddressRegister;
     protected COP0Register countRegister;
     protected COP0StatusRegister statusRegister;
@@ -131,6 +158,7 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
         this.architecture = architecture;
         this.instructionSet = data.instructionSet();
         this.registers = data.registers();
+        this.snapshotBuffer = new SimulationSnapshotBuffer(registers);
         this.memory = data.memory();
         this.instructionStackBottom = data.instructionStackBottom();
         this.kernelStackBottom = data.kernelStackBottom();
@@ -141,8 +169,15 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
         this.externalInterruptController = new ExternalInterruptController();
         this.files = new SimulationFiles(this);
         this.cycleDelay = 0;
-        this.breakpoints = new LowHeapIntArrayList();
+        this.breakpoints = new BreakpointMap(memory.getFirstTextAddress(), instructionStackBottom,
+                memory.getFirstKernelTextAddress(), kernelStackBottom);
         this.numberGenerators = new NumberGenerators();
+
+        this.watchTable = memory.getBottomMemory() instanceof SimpleMemory simple ? simple.getWatchTable() : null;
+        if (watchTable != null) {
+            watchTable.setListener((address, write) -> watchpointHit = true);
+        }
+        this.writeTracker = memory.getBottomMemory() instanceof SimpleMemory simple ? simple.getWriteTracker() : null;
         this.syscallExecutions = new SimulationSyscallExecutions();
 
         data.configuration().getSyscallExecutionBuilders().forEach((key, builder) ->
@@ -157,10 +192,12 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
         // 1 Instruction = 4 Bytes.
 
         if (useCache) {
-            //noinspection unchecked
-            instructionCache =
-                    new InstructionExecution[((instructionStackBottom - memory.getFirstTextAddress()) >> 2) + 1];
-            prefetch();
+            instructionCache = new PagedWordCache<>(writeTracker);
+            if (data.decodedProgram() != null) {
+                prefetch(data.decodedProgram());
+            } else {
+                prefetch();
+            }
         }
 
         if (undoEnabled) {
@@ -175,6 +212,7 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
 
         inputLock = new Object();
         finishedRunningLock = new Object();
+        threadLock = new Object();
 
         running = false;
         finished = false;
@@ -341,6 +379,21 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
         return exitCode;
     }
 
+    /**
+     * Returns the address of the instruction accessing the data memory.
+     * <p>
+     * Instructions update the program counter when they are fetched, so by default this is the address
+     * of the word before the program counter. Simulations that execute several instructions at once
+     * override this method.
+     * <p>
+     * This method should be called only by the execution thread.
+     *
+     * @return the address of the instruction.
+     */
+    public int getAccessingInstructionAddress() {
+        return registers.getProgramCounterValue() - 4;
+    }
+
     /**
      * Returns whether this simulation has finished its execution.
      *
@@ -424,33 +477,39 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
      */
     public InstructionExecution<? super Arch, ?> fetch(int pc) {
         InstructionExecution<Arch, ?> cached;
-        boolean useCache = instructionCache != null && Integer.compareUnsigned(pc, instructionStackBottom) <= 0;
-        int cacheIndex = 0;
-        if (useCache) {
-            cacheIndex = (pc - memory.getFirstTextAddress()) >> 2;
-            if (cacheIndex >= 0 && cacheIndex < instructionCache.length) {
-                cached = instructionCache[cacheIndex];
-                if (cached != null) return cached;
-            }
+        if (instructionCache != null && (pc & 0x3) == 0) {
+            instructionCache.refresh();
+            cached = instructionCache.get(pc);
+            if (cached != null) return cached;
         }
 
-        int data = memory.getWord(pc);
+        int data = readInstructionCode(pc);
 
-        Optional<? extends BasicInstruction<?>> optional = instructionSet.getInstructionByInstructionCode(data);
-        if (optional.isEmpty()) return null;
-        BasicInstruction<?> instruction = optional.get();
+        BasicInstruction<?> instruction = instructionSet.decode(data);
+        if (instruction == null) return null;
         AssembledInstruction assembled = instruction.assembleFromCode(data);
         cached = assembled.getBasicOrigin().generateExecution(this, assembled, pc).orElse(null);
 
-
-        if (useCache) {
-            if (cacheIndex >= 0 && cacheIndex < instructionCache.length) {
-                instructionCache[(pc - memory.getFirstTextAddress()) >> 2] = cached;
-            }
+        if (instructionCache != null && isExecutableAddress(pc)) {
+            instructionCache.put(pc, cached);
         }
         return cached;
     }
 
+    /**
+     * Returns whether the given address is inside the text or the kernel text sections.
+     * Only instructions inside these sections are cached.
+     *
+     * @param address the address.
+     * @return whether the address is inside an executable section.
+     */
+    public boolean isExecutableAddress(int address) {
+        int text = memory.getFirstTextAddress();
+        int kernelText = memory.getFirstKernelTextAddress();
+        return Integer.compareUnsigned(address - text, memory.getFirstDataAddress() - text) < 0
+                || Integer.compareUnsigned(address - kernelText, memory.getFirstKernelDataAddress() - kernelText) < 0;
+    }
+
     /**
      * Returns whether MIPS interrupts are enabled.
      *
@@ -597,22 +656,57 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
         }
     }
 
+    /**
+     * Reads the code of the instruction at the given address through the memory hierarchy.
+     * <p>
+     * The read is not observed by watchpoints or access listeners: it's not a data access made by the program.
+     *
+     * @param address the address of the instruction.
+     * @return the code of the instruction.
+     */
+    private int readInstructionCode(int address) {
+        if (!(memory.getBottomMemory() instanceof SimpleMemory simple)) return memory.getWord(address);
+        boolean observed = simple.observeAccesses(false);
+        try {
+            return memory.getWord(address);
+        } finally {
+            simple.observeAccesses(observed);
+        }
+    }
+
     protected void prefetch() {
-        //instructionCache[(pc - memory.getFirstTextAddress()) >> 2];
-        for (int i = 0; i < instructionCache.length; i++) {
-            int address = (i << 2) + memory.getFirstTextAddress();
-            int data = memory.getWord(address);
-            var instruction =
-                    instructionSet.getInstructionByInstructionCode(data).orElseThrow(() -> new NoSuchElementException(
-                            "No instruction for code 0x" + StringUtils.addZeros(Integer.toHexString(data), 8)
-                                    + " at address 0x" + StringUtils.addZeros(Integer.toHexString(data), 8) + "."));
+        for (int address = memory.getFirstTextAddress();
+             Integer.compareUnsigned(address, instructionStackBottom) <= 0; address += 4) {
+            int data = readInstructionCode(address);
+            var instruction = instructionSet.decode(data);
+            if (instruction == null) {
+                throw new NoSuchElementException("No instruction for code 0x"
+                        + StringUtils.addZeros(Integer.toHexString(data), 8)
+                        + " at address 0x" + StringUtils.addZeros(Integer.toHexString(data), 8) + ".");
+            }
             var assembled = instruction.assembleFromCode(data);
             var execution = assembled.getBasicOrigin()
                     .generateExecution(this, assembled, address).orElseThrow();
 
-            instructionCache[i] = execution;
+            instructionCache.put(address, execution);
         }
+    }
 
+    /**
+     * Fills the instruction cache using the instructions of the given {@link DecodedProgram}.
+     * <p>
+     * Addresses not present in the program are left empty, and they will be decoded when fetched.
+     *
+     * @param program the decoded program.
+     */
+    protected void prefetch(DecodedProgram program) {
+        for (int address = memory.getFirstTextAddress();
+             Integer.compareUnsigned(address, instructionStackBottom) <= 0; address += 4) {
+            var assembled = program.get(address);
+            if (assembled == null) continue;
+            instructionCache.put(address,
+                    assembled.getBasicOrigin().generateExecution(this, assembled, address).orElse(null));
+        }
     }
 
     protected int generateExceptionVectorJump(boolean exceptionLevel, InterruptCause cause, int level) {
@@ -641,8 +735,76 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
      */
     protected abstract void runStep(boolean first);
 
+    /**
+     * Executes the next basic block of the simulation.
+     * <p>
+     * This method is used instead of {@link #runStep(boolean)} when events are disabled
+     * and there's no cycle delay. Simulations that can't execute fused blocks just execute the next step.
+     * <p>
+     * This method must be synchronized!
+     */
+    protected void runBasicBlock() {
+        runStep(false);
+    }
+
+    /**
+     * Executes the next basic block of the simulation without acquiring the simulation's monitor.
+     * The caller must already hold it.
+     * <p>
+     * {@link #runBurst(int)} uses this method to enter the monitor once per burst.
+     * Simulations overriding {@link #runBasicBlock()} should override this method too.
+     */
+    protected void runBasicBlockUnsynchronized() {
+        runBasicBlock();
+    }
+
+    /**
+     * Executes up to the given amount of basic blocks while holding the simulation's monitor.
+     * <p>
+     * This is the turbo mode: the monitor is acquired once per burst instead of once per step,
+     * and the pacing checks are made only between bursts. The burst stops as soon as the simulation
+     * finishes or is interrupted, so breakpoints and {@link #stop()} are still precise.
+     *
+     * @param amount the maximum amount of basic blocks to execute.
+     */
+    protected synchronized void runBurst(int amount) {
+        for (int i = 0; i < amount && !finished && !interrupted && !watchpointHit; i++) {
+            runBasicBlockUnsynchronized();
+        }
+    }
+
+    /**
+     * Writes a snapshot of the registers and counters into the {@link SimulationSnapshotBuffer}
+     * if a reader has requested one.
+     * <p>
+     * This method is called by the simulation thread between steps or bursts.
+     */
+    protected void publishSnapshot() {
+        if (snapshotBuffer.isRequested()) {
+            snapshotBuffer.write(registers.getRegisterFile(), cycles, getExecutedInstructions());
+        }
+    }
+
+    /**
+     * Interrupts the execution if a range of the memory's {@link MemoryWatchTable} has been accessed
+     * since the last check.
+     */
+    protected void checkWatchpoint() {
+        if (watchpointHit) {
+            watchpointHit = false;
+            interruptThread();
+        }
+    }
+
     protected abstract void manageInterrupts();
 
+    /**
+     * This method is invoked when a breakpoint is added or removed.
+     * Simulations caching data that depends on breakpoints should override this method.
+     */
+    protected void onBreakpointsChange() {
+    }
+
 
     //region overridden methods
 
@@ -666,6 +828,7 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
     public boolean addBreakpoint(Integer address) {
         if (breakpoints.contains(address)) return false;
         breakpoints.add(address);
+        onBreakpointsChange();
         callEvent(new SimulationAddBreakpointEvent(this, address));
         return true;
     }
@@ -673,6 +836,7 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
     @Override
     public boolean removeBreakpoint(Integer address) {
         if (breakpoints.remove(address)) {
+            onBreakpointsChange();
             callEvent(new SimulationRemoveBreakpointEvent(this, address));
             return true;
         }
@@ -683,9 +847,11 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
     public void toggleBreakpoint(Integer address) {
         if (breakpoints.contains(address)) {
             breakpoints.remove(address);
+            onBreakpointsChange();
             callEvent(new SimulationRemoveBreakpointEvent(this, address));
         } else {
             breakpoints.add(address);
+            onBreakpointsChange();
             callEvent(new SimulationAddBreakpointEvent(this, address));
         }
     }
@@ -710,6 +876,57 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
         return cycles;
     }
 
+    /**
+     * Returns the amount of cycles this simulation has spent waiting for the memory hierarchy.
+     * These cycles are already included in {@link #getCycles()}.
+     * <p>
+     * This value is always zero if the memory latency is not simulated.
+     *
+     * @return the amount of memory stall cycles.
+     */
+    public long getMemoryStallCycles() {
+        return memoryStallCycles;
+    }
+
+    /**
+     * Returns the {@link CacheLatencyModel} used to calculate the memory stall cycles of this simulation.
+     * <p>
+     * The model is only present if the architecture supports memory latency, the option is enabled
+     * in the configuration and the memory hierarchy has at least one cache.
+     *
+     * @return the {@link CacheLatencyModel}, if present.
+     */
+    public Optional<CacheLatencyModel> getMemoryLatencyModel() {
+        return Optional.ofNullable(memoryLatencyModel);
+    }
+
+    /**
+     * Returns the {@link SimulationSnapshotBuffer} this simulation writes while running.
+     * <p>
+     * Other threads can read consistent snapshots from this buffer without synchronizing with the simulation.
+     * The simulation only writes a snapshot when one has been {@link SimulationSnapshotBuffer#request() requested}.
+     *
+     * @return the {@link SimulationSnapshotBuffer}.
+     */
+    public SimulationSnapshotBuffer getSnapshotBuffer() {
+        return snapshotBuffer;
+    }
+
+    /**
+     * Returns the {@link SimulationUpdateBus} of this simulation, creating it if it doesn't exist.
+     * <p>
+     * Views use this bus to receive coalesced updates while the simulation is running.
+     * The bus is disabled when created.
+     *
+     * @return the {@link SimulationUpdateBus}.
+     */
+    public synchronized SimulationUpdateBus getUpdateBus() {
+        if (updateBus == null) {
+            updateBus = new SimulationUpdateBus(this);
+        }
+        return updateBus;
+    }
+
     @Override
     public long getExecutionTime() {
         return executionTime;
@@ -727,7 +944,8 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
 
     @Override
     public boolean checkThreadInterrupted() {
-        if (Thread.interrupted()) interrupted = true;
+        // The flag is volatile and set by stop(), so the thread's interrupt status
+        // doesn't have to be polled on every step.
         return interrupted;
     }
 
@@ -743,13 +961,116 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
         }
     }
 
+    /**
+     * Increases the cycle count by the given amount.
+     * This also modifies the register {@code Count} if enabled.
+     * <p>
+     * This method is used to apply the cycles of several steps at once.
+     *
+     * @param amount the amount of cycles.
+     */
+    protected void addCycleCount(int amount) {
+        cycles += amount;
+        if (countRegister != null && (causeRegister == null || !causeRegister.getBit(COP0RegistersBits.CAUSE_DC))) {
+            countRegister.setValue(countRegister.getValue() + amount);
+        }
+    }
+
+    /**
+     * Adds the given amount of memory stall cycles to this simulation.
+     * These cycles are also added to the cycle count.
+     *
+     * @param amount the amount of cycles.
+     */
+    protected void addMemoryStallCycles(int amount) {
+        if (amount <= 0) return;
+        addCycleCount(amount);
+        memoryStallCycles += amount;
+    }
+
+    /**
+     * Removes the given amount of memory stall cycles from this simulation.
+     * These cycles are also removed from the cycle count.
+     * <p>
+     * This method is used by undo operations. The register {@code Count} is not modified:
+     * its changes are reverted by their own undo operations.
+     *
+     * @param amount the amount of cycles.
+     */
+    public void removeMemoryStallCycles(int amount) {
+        cycles -= amount;
+        memoryStallCycles -= amount;
+    }
+
+    /**
+     * Creates the {@link CacheLatencyModel} of this simulation if the memory latency is enabled in the
+     * given configuration data.
+     * <p>
+     * Simulations whose architectures support memory stalls should call this method in their constructors.
+     *
+     * @param data the build data of this simulation.
+     */
+    protected void loadMemoryLatencyModel(MIPSSimulationData data) {
+        Boolean enabled = data.configuration().getNodeValue(MIPSSimulationConfigurationPresets.MEMORY_LATENCY_ENABLED);
+        if (!Boolean.TRUE.equals(enabled)) return;
+        Integer missPenalty = data.configuration().getNodeValue(MIPSSimulationConfigurationPresets.MISS_PENALTY);
+        Integer writeBackPenalty = data.configuration().getNodeValue(MIPSSimulationConfigurationPresets.WRITE_BACK_PENALTY);
+        memoryLatencyModel = CacheLatencyModel.of(memory,
+                Math.max(0, missPenalty == null ? 0 : missPenalty),
+                Math.max(0, writeBackPenalty == null ? 0 : writeBackPenalty)).orElse(null);
+    }
+
+    /**
+     * Creates the {@link UndoJournal} of this simulation, using the undo memory budget
+     * defined in the given configuration data.
+     *
+     * @param data the build data of this simulation.
+     * @return the {@link UndoJournal}, or null if undo is disabled.
+     */
+    protected UndoJournal<Arch> createUndoJournal(MIPSSimulationData data) {
+        if (!undoEnabled) return null;
+        Integer budget = data.configuration().getNodeValue(MIPSSimulationConfigurationPresets.UNDO_MEMORY_BUDGET);
+        long megabytes = budget == null || budget <= 0 ? UndoJournal.DEFAULT_MEMORY_BUDGET : budget;
+        return new UndoJournal<>(registers, megabytes << 20);
+    }
+
     @Override
     public void stop() {
-        if (thread != null) {
+        synchronized (threadLock) {
+            if (thread == null) return;
+            interrupted = true;
             thread.interrupt();
             thread = null;
-            runSynchronized(() -> interrupted = true);
         }
+        runSynchronized(() -> interrupted = true);
+    }
+
+    /**
+     * Sets the thread executing this simulation. {@link #stop()} interrupts this thread.
+     *
+     * @param thread the thread.
+     */
+    private void bindThread(Thread thread) {
+        synchronized (threadLock) {
+            this.thread = thread;
+        }
+    }
+
+    /**
+     * Releases the calling thread from this simulation and clears its interrupt status.
+     * <p>
+     * The reference is released under the same lock {@link #stop()} uses, so a stop request arriving after this
+     * call can't interrupt the thread. This is important when the thread is a reused pool worker:
+     * otherwise, a late stop could interrupt the next task the worker executes.
+     */
+    private void releaseThread() {
+        synchronized (threadLock) {
+            if (thread == Thread.currentThread()) {
+                thread = null;
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        Thread.interrupted();
     }
 
     /**
@@ -770,6 +1091,7 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
         memory.restoreSavedState();
         finished = false;
         cycles = 0;
+        memoryStallCycles = 0;
         executionTime = 0;
         externalInterruptController.reset();
 
@@ -796,11 +1118,12 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
         if (finished || running) return;
         running = true;
         interrupted = false;
+        watchpointHit = false;
 
         memory.enableEventCalls(canCallEvents);
         registers.enableEventCalls(canCallEvents);
 
-        thread = new Thread(() -> {
+        var thread = new Thread(() -> {
             long start = System.nanoTime();
             try {
                 var before = callEvent(new SimulationCycleEvent.Before(this, cycles));
@@ -811,8 +1134,10 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
                 ex.printStackTrace();
             }
             executionTime += System.nanoTime() - start;
+            releaseThread();
             manageSimulationFinish();
         });
+        bindThread(thread);
         callEvent(new SimulationStartEvent(this));
         thread.setName("MIPS Simulation (" + getClass().getName() + ")");
         thread.setPriority(Thread.MAX_PRIORITY);
@@ -829,42 +1154,70 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
         if (finished || running) return;
         running = true;
         interrupted = false;
+        watchpointHit = false;
 
         memory.enableEventCalls(canCallEvents);
         registers.enableEventCalls(canCallEvents);
 
-        thread = new Thread(() -> {
-            long cyclesStart = cycles;
-            long start = System.nanoTime();
+        var thread = new Thread(this::runAll);
+        bindThread(thread);
+        callEvent(new SimulationStartEvent(this));
+        thread.setName("MIPS Simulation (" + getClass().getName() + ")");
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
 
-            try {
-                if (canCallEvents) {
-                    executeAllWithEvents();
-                } else {
-                    executeAllWithoutEvents();
-                }
-            } catch (Exception ex) {
-                ex.printStackTrace();
-            }
+    /**
+     * Executes steps until the bottom of the instruction stack is reached using the calling thread.
+     * <p>
+     * This method blocks until the execution finishes. Use it when the caller already manages its own threads,
+     * such as a {@link net.jamsimulator.jams.mips.simulation.batch.MIPSSimulationBatch}.
+     *
+     * @throws InstructionNotFoundException when an instruction couldn't be decoded.
+     */
+    public void executeAllInCurrentThread() {
+        if (finished || running) return;
+        running = true;
+        interrupted = false;
+        watchpointHit = false;
 
-            executionTime += System.nanoTime() - start;
+        memory.enableEventCalls(canCallEvents);
+        registers.enableEventCalls(canCallEvents);
 
-            if (getLog() != null) {
-                long millis = (System.nanoTime() - start) / 1000000;
-                getLog().println();
-                getLog().printInfoLn(cycles - cyclesStart + " cycles executed in " + millis + " millis.");
+        bindThread(Thread.currentThread());
+        callEvent(new SimulationStartEvent(this));
+        runAll();
+    }
 
-                int performance = (int) ((cycles - cyclesStart) / (((double) millis) / 1000));
-                getLog().printInfoLn(performance + " cycle/s");
-                getLog().println();
+    private void runAll() {
+        long cyclesStart = cycles;
+        long start = System.nanoTime();
+
+        try {
+            if (canCallEvents) {
+                executeAllWithEvents();
+            } else {
+                executeAllWithoutEvents();
             }
+        } catch (Exception ex) {
+            ex.printStackTrace();
+        }
 
-            manageSimulationFinish();
-        });
-        callEvent(new SimulationStartEvent(this));
-        thread.setName("MIPS Simulation (" + getClass().getName() + ")");
-        thread.setPriority(Thread.MAX_PRIORITY);
-        thread.start();
+        executionTime += System.nanoTime() - start;
+
+        releaseThread();
+
+        if (getLog() != null) {
+            long millis = (System.nanoTime() - start) / 1000000;
+            getLog().println();
+            getLog().printInfoLn(cycles - cyclesStart + " cycles executed in " + millis + " millis.");
+
+            int performance = (int) ((cycles - cyclesStart) / (((double) millis) / 1000));
+            getLog().printInfoLn(performance + " cycle/s");
+            getLog().println();
+        }
+
+        manageSimulationFinish();
     }
 
     private void executeAllWithEvents() {
@@ -873,6 +1226,8 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
             runStep(true);
             callEvent(new SimulationCycleEvent.After(this, cycles - 1));
         }
+        checkWatchpoint();
+        publishSnapshot();
         while (!finished && !checkThreadInterrupted()) {
             velocitySleep();
             if (!checkThreadInterrupted()) {
@@ -881,16 +1236,38 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
                     runStep(false);
                     callEvent(new SimulationCycleEvent.After(this, cycles - 1));
                 }
+                checkWatchpoint();
+                publishSnapshot();
             }
         }
     }
 
     private void executeAllWithoutEvents() {
         runStep(true);
+        checkWatchpoint();
+        publishSnapshot();
+        int burst = 64;
         while (!finished && !checkThreadInterrupted()) {
-            velocitySleep();
-            if (!checkThreadInterrupted()) {
-                runStep(false);
+            if (cycleDelay > 0) {
+                velocitySleep();
+                if (!checkThreadInterrupted()) {
+                    runStep(false);
+                    checkWatchpoint();
+                    publishSnapshot();
+                }
+            } else {
+                long start = System.nanoTime();
+                runBurst(burst);
+                checkWatchpoint();
+                publishSnapshot();
+                long elapsed = System.nanoTime() - start;
+
+                // Adapts the size of the burst to the target time.
+                if (elapsed < TURBO_BURST_TARGET_NANOS >> 2 && burst < TURBO_MAX_BURST) {
+                    burst <<= 1;
+                } else if (elapsed > TURBO_BURST_TARGET_NANOS && burst > 1) {
+                    burst >>= 1;
+                }
             }
         }
     }
@@ -903,43 +1280,26 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
     //endregion
 
 
-    //TODO this should be reworked.
-    @SuppressWarnings("unchecked")
     @Listener
     private void onMemoryChange(MemoryByteSetEvent.After event) {
         int address = event.getAddress() >> 2 << 2;
 
-        if (address >= memory.getFirstTextAddress() && address <= instructionStackBottom) {
-            instructionCache[(address - memory.getFirstTextAddress()) >> 2] = null;
-        }
+        invalidateCachedExecution(address);
 
         var memorySection = event.getMemorySection().orElse(null);
         if (memorySection != null && memorySection.getName().equals("Text") && instructionStackBottom < event.getAddress()) {
             instructionStackBottom = address;
-
-            InstructionExecution<Arch, ?>[] array =
-                    new InstructionExecution[((instructionStackBottom - memory.getFirstTextAddress()) >> 2) + 1];
-            System.arraycopy(instructionCache, 0, array, 0, instructionCache.length);
-            instructionCache = array;
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Listener
     private void onMemoryChange(MemoryWordSetEvent.After event) {
         int address = event.getAddress();
 
-        if (address >= memory.getFirstTextAddress() && address <= instructionStackBottom) {
-            instructionCache[(address - memory.getFirstTextAddress()) >> 2] = null;
-        }
+        invalidateCachedExecution(address);
         var memorySection = event.getMemorySection().orElse(null);
         if (memorySection != null && memorySection.getName().equals("Text") && instructionStackBottom < event.getAddress()) {
             instructionStackBottom = address;
-
-            InstructionExecution<Arch, ?>[] array =
-                    new InstructionExecution[((instructionStackBottom - memory.getFirstTextAddress()) >> 2) + 1];
-            System.arraycopy(instructionCache, 0, array, 0, instructionCache.length);
-            instructionCache = array;
         }
     }
 
@@ -947,18 +1307,18 @@ public abstract class MIPSSimulation<Arch extends Architecture> extends SimpleEv
     private void onMemoryChange(MemoryHalfwordSetEvent.After event) {
         int address = event.getAddress() >> 2 << 2;
 
-        if (address >= memory.getFirstTextAddress() && address <= instructionStackBottom) {
-            instructionCache[(address - memory.getFirstTextAddress()) >> 2] = null;
-        }
+        invalidateCachedExecution(address);
 
         var memorySection = event.getMemorySection().orElse(null);
         if (memorySection != null && memorySection.getName().equals("Text") && instructionStackBottom < event.getAddress()) {
             instructionStackBottom = address;
+        }
+    }
 
-            InstructionExecution<Arch, ?>[] array =
-                    new InstructionExecution[((instructionStackBottom - memory.getFirstTextAddress()) >> 2) + 1];
-            System.arraycopy(instructionCache, 0, array, 0, instructionCache.length);
-            instructionCache = array;
+    private void invalidateCachedExecution(int address) {
+        // Writes are tracked by the memory when possible. Events are only required for other memories.
+        if (instructionCache != null && writeTracker == null) {
+            instructionCache.invalidate(address);
         }
     }
 
@@ -28,6 +28,7 @@ import net.jamsimulator.jams.gui.util.log.Log;
 import net.jamsimulator.jams.mips.instruction.set.InstructionSet;
 import net.jamsimulator.jams.mips.memory.Memory;
 import net.jamsimulator.jams.mips.register.Registers;
+import net.jamsimulator.jams.mips.simulation.batch.DecodedProgram;
 import net.jamsimulator.jams.project.mips.configuration.MIPSSimulationConfiguration;
 
 import java.io.File;
@@ -36,6 +37,9 @@ import java.io.File;
  * Wrapper of the information required to build a {@link MIPSSimulation}.
  * <p>
  * Elements of this elements may be mutable. Use only to send data to the simulation's constructor.
+ * <p>
+ * The {@link DecodedProgram} is optional. If present, simulations will use it instead of decoding
+ * their text section again.
  */
 public record MIPSSimulationData(
         MIPSSimulationConfiguration configuration,
@@ -46,7 +50,22 @@ public record MIPSSimulationData(
         Registers registers,
         Memory memory,
         int instructionStackBottom,
-        int kernelStackBottom) {
+        int kernelStackBottom,
+        DecodedProgram decodedProgram) {
+
+    public MIPSSimulationData(
+            MIPSSimulationConfiguration configuration,
+            File workingDirectory,
+            Log log,
+            MIPSSimulationSource source,
+            InstructionSet instructionSet,
+            Registers registers,
+            Memory memory,
+            int instructionStackBottom,
+            int kernelStackBottom) {
+        this(configuration, workingDirectory, log, source, instructionSet, registers, memory,
+                instructionStackBottom, kernelStackBottom, null);
+    }
 
     ///**
     // * Returns the {@link SimulationSyscallExecutions syscall execution}s of this simulation.
@@ -0,0 +1,195 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation;
+
+import net.jamsimulator.jams.mips.memory.MemoryWriteTracker;
+
+/**
+ * Cache storing one value per word of the 32-bit address space.
+ * <p>
+ * Values are stored in 4 KiB pages allocated lazily when the first value of the page is stored.
+ * Pages are reached through a directory of 1024 page tables, so an empty cache only uses a few kilobytes
+ * and any address can be cached, including the kernel text section.
+ * <p>
+ * If a {@link MemoryWriteTracker} is given, each page stores the write generation of its memory page
+ * when it's allocated. {@link #refresh()} releases the pages whose memory has been written since then,
+ * so the cache is kept coherent with the memory even if memory events are disabled.
+ * Only the pages written since the last refresh are checked, unless the tracker couldn't log all of them.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @param <T> the type of the cached values.
+ */
+public class PagedWordCache<T> {
+
+    public static final int PAGE_SHIFT = MemoryWriteTracker.PAGE_SHIFT;
+    public static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    private static final int TABLE_SHIFT = 22;
+    private static final int TABLE_MASK = (1 << (TABLE_SHIFT - PAGE_SHIFT)) - 1;
+    private static final int WORDS_PER_PAGE = PAGE_SIZE >> 2;
+    private static final int WORD_MASK = WORDS_PER_PAGE - 1;
+
+    private final Object[][][] directory = new Object[1 << (32 - TABLE_SHIFT)][][];
+    private final int[][] generations;
+    private final MemoryWriteTracker tracker;
+    private int allocatedPages;
+    private int seenWrites;
+
+    /**
+     * Creates a cache that is not invalidated automatically.
+     */
+    public PagedWordCache() {
+        this(null);
+    }
+
+    /**
+     * Creates a cache whose pages are released by {@link #refresh()} when the given tracker reports
+     * writes on them.
+     *
+     * @param tracker the {@link MemoryWriteTracker}, or null.
+     */
+    public PagedWordCache(MemoryWriteTracker tracker) {
+        this.tracker = tracker;
+        this.generations = tracker == null ? null : new int[directory.length][];
+        this.seenWrites = tracker == null ? 0 : tracker.getWrites();
+    }
+
+    /**
+     * Returns the value cached for the word at the given address, or null.
+     *
+     * @param address the address. The two less significant bits are ignored.
+     * @return the value or null.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int address) {
+        var table = directory[address >>> TABLE_SHIFT];
+        if (table == null) return null;
+        var page = table[(address >>> PAGE_SHIFT) & TABLE_MASK];
+        if (page == null) return null;
+        return (T) page[(address >>> 2) & WORD_MASK];
+    }
+
+    /**
+     * Caches the value of the word at the given address, allocating its page if required.
+     *
+     * @param address the address. The two less significant bits are ignored.
+     * @param value   the value. It may be null.
+     */
+    public void put(int address, T value) {
+        var table = directory[address >>> TABLE_SHIFT];
+        if (table == null) {
+            if (value == null) return;
+            table = new Object[TABLE_MASK + 1][];
+            directory[address >>> TABLE_SHIFT] = table;
+            if (generations != null) generations[address >>> TABLE_SHIFT] = new int[TABLE_MASK + 1];
+        }
+        var page = table[(address >>> PAGE_SHIFT) & TABLE_MASK];
+        if (page == null) {
+            if (value == null) return;
+            page = new Object[WORDS_PER_PAGE];
+            table[(address >>> PAGE_SHIFT) & TABLE_MASK] = page;
+            allocatedPages++;
+            if (generations != null) {
+                generations[address >>> TABLE_SHIFT][(address >>> PAGE_SHIFT) & TABLE_MASK]
+                        = tracker.getGeneration(address);
+            }
+        }
+        page[(address >>> 2) & WORD_MASK] = value;
+    }
+
+    /**
+     * Removes the value cached for the word at the given address. This method never allocates pages.
+     *
+     * @param address the address. The two less significant bits are ignored.
+     */
+    public void invalidate(int address) {
+        put(address, null);
+    }
+
+    /**
+     * Removes all cached values and releases all pages.
+     */
+    public void clear() {
+        for (int i = 0; i < directory.length; i++) {
+            directory[i] = null;
+            if (generations != null) generations[i] = null;
+        }
+        allocatedPages = 0;
+    }
+
+    /**
+     * Releases all pages whose memory has been written since they were allocated.
+     * <p>
+     * This method only checks the pages written since the last call, so it can be invoked before every access.
+     * If the {@link MemoryWriteTracker} has registered more writes than it can log, all pages are checked.
+     * If this cache has no tracker, this method does nothing.
+     *
+     * @return whether any page was released.
+     */
+    public boolean refresh() {
+        if (tracker == null) return false;
+        int writes = tracker.getWrites();
+        if (writes == seenWrites) return false;
+
+        boolean released = false;
+        if (tracker.isLogged(seenWrites)) {
+            for (int write = seenWrites; write != writes; write++) {
+                released |= releaseIfWritten(tracker.getWrittenPage(write));
+            }
+        } else {
+            for (int t = 0; t < directory.length; t++) {
+                var table = directory[t];
+                if (table == null) continue;
+                for (int p = 0; p < table.length; p++) {
+                    if (table[p] != null) released |= releaseIfWritten(t << TABLE_SHIFT | p << PAGE_SHIFT);
+                }
+            }
+        }
+        seenWrites = writes;
+        return released;
+    }
+
+    private boolean releaseIfWritten(int address) {
+        var table = directory[address >>> TABLE_SHIFT];
+        if (table == null) return false;
+        int p = (address >>> PAGE_SHIFT) & TABLE_MASK;
+        if (table[p] == null || tracker.getGeneration(address) == generations[address >>> TABLE_SHIFT][p]) {
+            return false;
+        }
+        table[p] = null;
+        allocatedPages--;
+        return true;
+    }
+
+    /**
+     * Returns the amount of pages allocated by this cache.
+     *
+     * @return the amount of pages.
+     */
+    public int getAllocatedPages() {
+        return allocatedPages;
+    }
+}
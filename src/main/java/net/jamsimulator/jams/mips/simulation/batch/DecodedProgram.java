@@ -0,0 +1,105 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.batch;
+
+import net.jamsimulator.jams.mips.instruction.assembled.AssembledInstruction;
+import net.jamsimulator.jams.mips.instruction.set.InstructionSet;
+import net.jamsimulator.jams.mips.memory.Memory;
+import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
+
+/**
+ * Represents the decoded text section of an assembled program.
+ * <p>
+ * Decoded programs are immutable and can be shared between several {@link MIPSSimulation}s
+ * running the same program. Simulations use them to build their instruction caches without
+ * reading and decoding their text section again.
+ * <p>
+ * {@link net.jamsimulator.jams.mips.instruction.execution.InstructionExecution InstructionExecution}s
+ * are bound to their simulation, so they cannot be shared. Only the decoded {@link AssembledInstruction}s are.
+ */
+public class DecodedProgram {
+
+    private final int firstAddress;
+    private final AssembledInstruction[] instructions;
+
+    private DecodedProgram(int firstAddress, AssembledInstruction[] instructions) {
+        this.firstAddress = firstAddress;
+        this.instructions = instructions;
+    }
+
+    /**
+     * Decodes the instructions stored in the given memory between the given addresses.
+     * <p>
+     * The memory is read without calling events and bypassing all caches.
+     * Words that cannot be decoded are stored as {@code null}.
+     *
+     * @param instructionSet the {@link InstructionSet} used to decode the instructions.
+     * @param memory         the {@link Memory} containing the program.
+     * @param firstAddress   the first address to decode. It must be aligned to words.
+     * @param lastAddress    the last address to decode, inclusive.
+     * @return the decoded program.
+     */
+    public static DecodedProgram decode(InstructionSet instructionSet, Memory memory, int firstAddress, int lastAddress) {
+        var instructions = new AssembledInstruction[((lastAddress - firstAddress) >> 2) + 1];
+        for (int i = 0; i < instructions.length; i++) {
+            int data = memory.getWord((i << 2) + firstAddress, false, true, false);
+            var instruction = instructionSet.decode(data);
+            instructions[i] = instruction == null ? null : instruction.assembleFromCode(data);
+        }
+        return new DecodedProgram(firstAddress, instructions);
+    }
+
+    /**
+     * Returns the first decoded address.
+     *
+     * @return the first address.
+     */
+    public int getFirstAddress() {
+        return firstAddress;
+    }
+
+    /**
+     * Returns the amount of decoded words.
+     *
+     * @return the amount of words.
+     */
+    public int size() {
+        return instructions.length;
+    }
+
+    /**
+     * Returns the {@link AssembledInstruction} located at the given address.
+     * <p>
+     * This method returns {@code null} if the address is outside this program or if the word
+     * located at the address couldn't be decoded.
+     *
+     * @param address the address.
+     * @return the {@link AssembledInstruction} or null.
+     */
+    public AssembledInstruction get(int address) {
+        int index = (address - firstAddress) >> 2;
+        return index >= 0 && index < instructions.length ? instructions[index] : null;
+    }
+}
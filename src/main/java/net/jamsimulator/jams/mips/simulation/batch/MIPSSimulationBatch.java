@@ -0,0 +1,160 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.batch;
+
+import net.jamsimulator.jams.gui.util.log.Log;
+import net.jamsimulator.jams.mips.architecture.Architecture;
+import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
+import net.jamsimulator.jams.mips.simulation.MIPSSimulationData;
+import net.jamsimulator.jams.utils.Validate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Executes several simulations of the same assembled program in parallel.
+ * <p>
+ * The program is decoded only once. All simulations created by this batch share the same {@link DecodedProgram},
+ * and their memories are copies of the template's memory: unmodified pages, such as the text section,
+ * are shared between all simulations.
+ * <p>
+ * Simulations are executed in a bounded pool of worker threads. By default, the pool has one worker per
+ * available processor.
+ * <p>
+ * The template given to this batch must not be used to create or execute any other simulation.
+ */
+public class MIPSSimulationBatch implements AutoCloseable {
+
+    private final Architecture architecture;
+    private final MIPSSimulationData template;
+    private final DecodedProgram program;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a batch with one worker per available processor.
+     *
+     * @param architecture the architecture of the simulations.
+     * @param template     the data of the assembled program.
+     */
+    public MIPSSimulationBatch(Architecture architecture, MIPSSimulationData template) {
+        this(architecture, template, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a batch.
+     *
+     * @param architecture the architecture of the simulations.
+     * @param template     the data of the assembled program.
+     * @param workers      the amount of worker threads.
+     */
+    public MIPSSimulationBatch(Architecture architecture, MIPSSimulationData template, int workers) {
+        Validate.notNull(architecture, "Architecture cannot be null!");
+        Validate.notNull(template, "Template cannot be null!");
+        Validate.isTrue(workers > 0, "There must be at least one worker!");
+        this.architecture = architecture;
+        this.template = template;
+
+        this.program = template.decodedProgram() == null
+                ? DecodedProgram.decode(template.instructionSet(), template.memory(),
+                template.memory().getFirstTextAddress(), template.instructionStackBottom())
+                : template.decodedProgram();
+
+        var counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            var thread = new Thread(runnable, "MIPS Simulation Batch Worker " + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the {@link DecodedProgram} shared by all simulations of this batch.
+     *
+     * @return the {@link DecodedProgram}.
+     */
+    public DecodedProgram getProgram() {
+        return program;
+    }
+
+    /**
+     * Creates a new simulation of the program.
+     * <p>
+     * The simulation has its own copy of the registers and the memory.
+     * Memory pages are copied only when the simulation modifies them.
+     *
+     * @param log the log of the new simulation.
+     * @return the new simulation.
+     */
+    public synchronized MIPSSimulation<?> createSimulation(Log log) {
+        var memory = template.memory().copy();
+        var registers = template.registers().copy();
+        memory.saveState();
+        registers.saveState();
+
+        var data = new MIPSSimulationData(
+                template.configuration(),
+                template.workingDirectory(),
+                log,
+                template.source(),
+                template.instructionSet(),
+                registers,
+                memory,
+                template.instructionStackBottom(),
+                template.kernelStackBottom(),
+                program
+        );
+        return architecture.createSimulation(data);
+    }
+
+    /**
+     * Creates a new simulation and executes it in a worker of this batch.
+     * <p>
+     * The given initializer is invoked in the worker thread before the execution starts.
+     * Use it to write the inputs of the simulation into its registers or memory.
+     *
+     * @param log         the log of the new simulation.
+     * @param initializer the initializer. It may be null.
+     * @return a {@link CompletableFuture} completed with the simulation when its execution finishes.
+     */
+    public CompletableFuture<MIPSSimulation<?>> submit(Log log, Consumer<MIPSSimulation<?>> initializer) {
+        var simulation = createSimulation(log);
+        return CompletableFuture.supplyAsync(() -> {
+            if (initializer != null) initializer.accept(simulation);
+            simulation.executeAllInCurrentThread();
+            return simulation;
+        }, executor);
+    }
+
+    /**
+     * Stops accepting new simulations. Simulations already submitted will finish their execution.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
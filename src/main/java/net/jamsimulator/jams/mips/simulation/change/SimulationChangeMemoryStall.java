@@ -25,42 +25,21 @@
 package net.jamsimulator.jams.mips.simulation.change;
 
 import net.jamsimulator.jams.mips.architecture.Architecture;
-import net.jamsimulator.jams.mips.memory.Memory;
-import net.jamsimulator.jams.mips.memory.cache.Cache;
 import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
 
 /**
- * A {@link SimulationChange} that registers a word change inside the {@link MIPSSimulation}'s {@link net.jamsimulator.jams.mips.memory.Memory}.
+ * A {@link SimulationChange} that registers the memory stall cycles added to a simulation.
  */
-public class SimulationChangeMemoryWord extends SimulationChange<Architecture> {
+public class SimulationChangeMemoryStall extends SimulationChange<Architecture> {
 
-    private final int address, old;
-    private final long operations, hits;
-    private Memory memory;
+    private final int stall;
 
-    public SimulationChangeMemoryWord(Memory memory, int address, int old) {
-        this.memory = memory;
-        this.address = address;
-        this.old = old;
-
-        if (memory instanceof Cache) {
-            var stats = ((Cache) memory).getStats();
-            operations = stats.operations();
-            hits = stats.hits();
-        } else {
-            operations = hits = 0;
-        }
-    }
-
-    public void setMemory(Memory memory) {
-        this.memory = memory;
+    public SimulationChangeMemoryStall(int stall) {
+        this.stall = stall;
     }
 
     @Override
     public void restore(MIPSSimulation<? extends Architecture> simulation) {
-        memory.setWord(address, old);
-        if (memory instanceof Cache) {
-            ((Cache) memory).forceStats(operations, hits);
-        }
+        simulation.removeMemoryStallCycles(stall);
     }
 }
@@ -0,0 +1,458 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.change;
+
+import net.jamsimulator.jams.mips.architecture.Architecture;
+import net.jamsimulator.jams.mips.memory.Memory;
+import net.jamsimulator.jams.mips.memory.cache.Cache;
+import net.jamsimulator.jams.mips.register.Register;
+import net.jamsimulator.jams.mips.register.Registers;
+import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
+import net.jamsimulator.jams.utils.Validate;
+
+import java.util.Arrays;
+
+/**
+ * Stores the changes made by the steps of a simulation, allowing them to be undone.
+ * <p>
+ * Changes are encoded as fixed-size records inside a primitive ring buffer: register changes store
+ * the slot of the register inside the {@link Registers#getRegisterFile() register file} and its old value,
+ * and memory changes store the address and the old value. Changes that can't be encoded this way,
+ * such as file operations or pipeline snapshots, are stored as {@link SimulationChange}s in a second ring.
+ * <p>
+ * The size of the journal is limited by a memory budget. The buffers grow on demand until they reach
+ * the budget. From then on, the oldest steps are discarded to make room for the new ones.
+ * A step that doesn't fit in the budget by itself clears the journal: the previous steps can't be undone
+ * on top of its changes, so it acts as an undo barrier.
+ * <p>
+ * A step is recorded between the invocations of {@link #beginStep()} and {@link #commitStep()}.
+ * Changes added while no step is being recorded are ignored.
+ */
+public class UndoJournal<Arch extends Architecture> {
+
+    /**
+     * The default memory budget of a journal, in megabytes.
+     */
+    public static final int DEFAULT_MEMORY_BUDGET = 32;
+
+    /**
+     * The amount of bytes each {@link SimulationChange} is estimated to retain.
+     * This value is used to split the memory budget between both buffers.
+     */
+    public static final int OBJECT_CHANGE_SIZE = 128;
+
+    private static final int MIN_CAPACITY = 1 << 10;
+    private static final int MAX_CAPACITY = 1 << 28;
+
+    private static final int STEP = 1;
+    private static final int REGISTER = 2;
+    private static final int MEMORY_WORD = 3;
+    private static final int MEMORY_HALFWORD = 4;
+    private static final int MEMORY_BYTE = 5;
+    private static final int CACHE_WORD = 6;
+    private static final int CACHE_HALFWORD = 7;
+    private static final int CACHE_BYTE = 8;
+    private static final int OBJECT = 9;
+
+    // Size of each record, in ints. The header of each record is also its last int,
+    // allowing the buffer to be walked in both directions.
+    private static final int[] SIZES = {0, 1, 3, 4, 4, 4, 8, 8, 8, 1};
+
+    private final Registers registers;
+    private final int maxCapacity, maxObjectCapacity;
+
+    private int[] records;
+    private Object[] objects;
+    private long head, tail, objectHead, objectTail;
+
+    private Memory[] memories;
+    private int memoriesAmount;
+
+    private int steps;
+    private long stepStart;
+    private boolean recording;
+
+    /**
+     * Creates a journal.
+     *
+     * @param registers    the {@link Registers} of the simulation.
+     * @param memoryBudget the maximum amount of bytes the journal may use.
+     */
+    public UndoJournal(Registers registers, long memoryBudget) {
+        Validate.notNull(registers, "Registers cannot be null!");
+        Validate.isTrue(memoryBudget > 0, "Memory budget must be positive!");
+        this.registers = registers;
+
+        long recordsBudget = memoryBudget / 4 * 3;
+        maxCapacity = floorPowerOfTwo(recordsBudget / Integer.BYTES);
+        maxObjectCapacity = floorPowerOfTwo((memoryBudget - recordsBudget) / OBJECT_CHANGE_SIZE);
+
+        records = new int[Math.min(MIN_CAPACITY, maxCapacity)];
+        objects = new Object[Math.min(MIN_CAPACITY, maxObjectCapacity)];
+        memories = new Memory[4];
+        stepStart = -1;
+    }
+
+    /**
+     * Returns the amount of steps that can be undone.
+     *
+     * @return the amount of steps.
+     */
+    public synchronized int getSteps() {
+        return steps;
+    }
+
+    /**
+     * Returns whether there are no steps to undo.
+     *
+     * @return whether this journal is empty.
+     */
+    public synchronized boolean isEmpty() {
+        return steps == 0;
+    }
+
+    /**
+     * Returns whether a step is being recorded.
+     * <p>
+     * Callers may use this method to avoid creating {@link SimulationChange}s that would be ignored.
+     *
+     * @return whether a step is being recorded.
+     */
+    public synchronized boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Starts recording a new step. If a step was already being recorded, it is discarded.
+     */
+    public synchronized void beginStep() {
+        if (recording) discardStep();
+        reserve(SIZES[STEP], 0);
+        stepStart = head;
+        put(STEP);
+        recording = true;
+    }
+
+    /**
+     * Finishes the step being recorded. The step can be undone from now on.
+     */
+    public synchronized void commitStep() {
+        if (!recording) return;
+        recording = false;
+        stepStart = -1;
+        steps++;
+    }
+
+    /**
+     * Stops recording the current step and drops its changes without restoring them.
+     */
+    public synchronized void discardStep() {
+        if (!recording) return;
+        recording = false;
+        for (long position = stepStart; position < head; position += SIZES[records[index(position)] & 0xFF]) {
+            if ((records[index(position)] & 0xFF) == OBJECT) {
+                objects[objectIndex(--objectHead)] = null;
+            }
+        }
+        head = stepStart;
+        stepStart = -1;
+    }
+
+    /**
+     * Stops recording the current step, restoring all the changes it has made.
+     *
+     * @param simulation the simulation that made the changes.
+     */
+    public synchronized void rollbackStep(MIPSSimulation<? extends Arch> simulation) {
+        if (!recording) return;
+        recording = false;
+        stepStart = -1;
+        restoreLastStep(simulation);
+    }
+
+    /**
+     * Undoes the last committed step. If a step was being recorded, it is discarded first.
+     *
+     * @param simulation the simulation that made the changes.
+     * @return whether a step was undone.
+     */
+    public synchronized boolean undoStep(MIPSSimulation<? extends Arch> simulation) {
+        discardStep();
+        if (steps == 0) return false;
+        restoreLastStep(simulation);
+        steps--;
+        return true;
+    }
+
+    /**
+     * Removes all steps from this journal.
+     */
+    public synchronized void clear() {
+        Arrays.fill(objects, null);
+        Arrays.fill(memories, null);
+        head = tail = objectHead = objectTail = 0;
+        memoriesAmount = 0;
+        steps = 0;
+        stepStart = -1;
+        recording = false;
+    }
+
+    /**
+     * Records the change of the value of a {@link Register}.
+     *
+     * @param register the {@link Register}.
+     * @param old      the old value of the register.
+     */
+    public synchronized void addRegisterChange(Register register, int old) {
+        if (!recording) return;
+        int slot = registers.getRegisterFileSlot(register);
+        if (slot == -1) {
+            addChange(new SimulationChangeRegister(register, old));
+            return;
+        }
+        if (!reserve(SIZES[REGISTER], 0)) return;
+        int header = REGISTER | slot << 8;
+        put(header);
+        put(old);
+        put(header);
+    }
+
+    /**
+     * Records the change of a word of a {@link Memory}.
+     *
+     * @param memory  the {@link Memory}.
+     * @param address the address of the word.
+     * @param old     the old word.
+     */
+    public synchronized void addMemoryWordChange(Memory memory, int address, int old) {
+        addMemoryChange(memory, address, old, MEMORY_WORD, CACHE_WORD);
+    }
+
+    /**
+     * Records the change of a halfword of a {@link Memory}.
+     *
+     * @param memory  the {@link Memory}.
+     * @param address the address of the halfword.
+     * @param old     the old halfword.
+     */
+    public synchronized void addMemoryHalfwordChange(Memory memory, int address, short old) {
+        addMemoryChange(memory, address, old, MEMORY_HALFWORD, CACHE_HALFWORD);
+    }
+
+    /**
+     * Records the change of a byte of a {@link Memory}.
+     *
+     * @param memory  the {@link Memory}.
+     * @param address the address of the byte.
+     * @param old     the old byte.
+     */
+    public synchronized void addMemoryByteChange(Memory memory, int address, byte old) {
+        addMemoryChange(memory, address, old, MEMORY_BYTE, CACHE_BYTE);
+    }
+
+    /**
+     * Records a {@link SimulationChange} that has no primitive representation.
+     *
+     * @param change the {@link SimulationChange}.
+     */
+    public synchronized void addChange(SimulationChange<? super Arch> change) {
+        if (!recording) return;
+        if (!reserve(SIZES[OBJECT], 1)) return;
+        objects[objectIndex(objectHead++)] = change;
+        put(OBJECT);
+    }
+
+    /**
+     * Removes all cache operations from this journal and binds all memory changes to the given {@link Memory}.
+     * <p>
+     * This method should be invoked when the caches of the simulation are reset.
+     *
+     * @param last the last level of the memory hierarchy.
+     */
+    public synchronized void removeCacheChanges(Memory last) {
+        Arrays.fill(memories, 0, memoriesAmount, last);
+        for (long position = objectTail; position < objectHead; position++) {
+            if (objects[objectIndex(position)] instanceof SimulationChangeCacheOperation) {
+                objects[objectIndex(position)] = null;
+            }
+        }
+    }
+
+    private void addMemoryChange(Memory memory, int address, int old, int type, int cacheType) {
+        if (!recording) return;
+        int header;
+        if (memory instanceof Cache cache) {
+            if (!reserve(SIZES[cacheType], 0)) return;
+            header = cacheType | memoryIndex(memory) << 8;
+            put(header);
+            put(address);
+            put(old);
+            putLong(cache.getOperations());
+            putLong(cache.getHits());
+        } else {
+            if (!reserve(SIZES[type], 0)) return;
+            header = type | memoryIndex(memory) << 8;
+            put(header);
+            put(address);
+            put(old);
+        }
+        put(header);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void restoreLastStep(MIPSSimulation<? extends Arch> simulation) {
+        while (head > tail) {
+            int header = records[index(head - 1)];
+            int type = header & 0xFF;
+            long start = head - SIZES[type];
+            head = start;
+            if (type == STEP) return;
+
+            switch (type) {
+                case REGISTER -> registers.getRegisterAtSlot(header >>> 8).setValue(records[index(start + 1)]);
+                case OBJECT -> {
+                    int index = objectIndex(--objectHead);
+                    var change = (SimulationChange<? super Arch>) objects[index];
+                    objects[index] = null;
+                    if (change != null) change.restore(simulation);
+                }
+                default -> restoreMemory(type, memories[header >>> 8], start);
+            }
+        }
+    }
+
+    private void restoreMemory(int type, Memory memory, long start) {
+        int address = records[index(start + 1)];
+        int old = records[index(start + 2)];
+        switch (type) {
+            case MEMORY_WORD, CACHE_WORD -> memory.setWord(address, old);
+            case MEMORY_HALFWORD, CACHE_HALFWORD -> memory.setHalfword(address, (short) old);
+            case MEMORY_BYTE, CACHE_BYTE -> memory.setByte(address, (byte) old);
+        }
+        if (type >= CACHE_WORD && memory instanceof Cache cache) {
+            cache.forceStats(getLong(start + 3), getLong(start + 5));
+        }
+    }
+
+    private int memoryIndex(Memory memory) {
+        for (int i = 0; i < memoriesAmount; i++) {
+            if (memories[i] == memory) return i;
+        }
+        if (memoriesAmount == memories.length) {
+            memories = Arrays.copyOf(memories, memories.length << 1);
+        }
+        memories[memoriesAmount] = memory;
+        return memoriesAmount++;
+    }
+
+    /**
+     * Makes room for a record, growing the buffers or discarding the oldest steps.
+     * If the step being recorded doesn't fit in the budget, it is discarded along with all the other steps.
+     *
+     * @param size    the size of the record.
+     * @param objects the amount of objects the record stores.
+     * @return whether the record can be written.
+     */
+    private boolean reserve(int size, int objects) {
+        while (records.length - (head - tail) < size) {
+            if (records.length < maxCapacity) {
+                records = grow(records, tail, head);
+            } else if (!evictOldestStep()) {
+                return false;
+            }
+        }
+        while (this.objects.length - (objectHead - objectTail) < objects) {
+            if (this.objects.length < maxObjectCapacity) {
+                this.objects = grow(this.objects, objectTail, objectHead);
+            } else if (!evictOldestStep()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean evictOldestStep() {
+        if (tail == stepStart) {
+            // The step being recorded is the only one left: it's too big to be stored.
+            clear();
+            return false;
+        }
+
+        // The tail always points to the start of a step.
+        long position = tail + SIZES[STEP];
+        while (position < head) {
+            int type = records[index(position)] & 0xFF;
+            if (type == STEP) break;
+            if (type == OBJECT) {
+                objects[objectIndex(objectTail++)] = null;
+            }
+            position += SIZES[type];
+        }
+        tail = position;
+        steps--;
+        return true;
+    }
+
+    private void put(int value) {
+        records[index(head++)] = value;
+    }
+
+    private void putLong(long value) {
+        put((int) (value >>> 32));
+        put((int) value);
+    }
+
+    private long getLong(long position) {
+        return (long) records[index(position)] << 32 | records[index(position + 1)] & 0xFFFFFFFFL;
+    }
+
+    private int index(long position) {
+        return (int) position & (records.length - 1);
+    }
+
+    private int objectIndex(long position) {
+        return (int) position & (objects.length - 1);
+    }
+
+    private static int[] grow(int[] array, long from, long to) {
+        var result = new int[array.length << 1];
+        for (long position = from; position < to; position++) {
+            result[(int) position & (result.length - 1)] = array[(int) position & (array.length - 1)];
+        }
+        return result;
+    }
+
+    private static Object[] grow(Object[] array, long from, long to) {
+        var result = new Object[array.length << 1];
+        for (long position = from; position < to; position++) {
+            result[(int) position & (result.length - 1)] = array[(int) position & (array.length - 1)];
+        }
+        return result;
+    }
+
+    private static int floorPowerOfTwo(long value) {
+        return Integer.highestOneBit((int) Math.max(MIN_CAPACITY, Math.min(MAX_CAPACITY, value)));
+    }
+}
@@ -30,17 +30,33 @@ import net.jamsimulator.jams.mips.simulation.change.SimulationChange;
 import net.jamsimulator.jams.mips.simulation.multicycle.MultiCycleSimulation;
 import net.jamsimulator.jams.mips.simulation.multicycle.MultiCycleStep;
 
+import java.util.Arrays;
+
 /**
  * A {@link SimulationChange} that registers the change of the {@link MultiCycleStep} of a multi-cycle simulation.
  */
 public class MultiCycleSimulationChangeStep extends SimulationChange<MultiCycleArchitecture> {
 
+    private static final MultiCycleSimulationChangeStep[] INSTANCES = Arrays.stream(MultiCycleStep.values())
+            .map(MultiCycleSimulationChangeStep::new).toArray(MultiCycleSimulationChangeStep[]::new);
+
     private final MultiCycleStep old;
 
     public MultiCycleSimulationChangeStep(MultiCycleStep old) {
         this.old = old;
     }
 
+    /**
+     * Returns the shared change that restores the given {@link MultiCycleStep}.
+     * These changes are immutable, so a multi-cycle simulation can record them on every step without allocating.
+     *
+     * @param old the {@link MultiCycleStep} to restore.
+     * @return the change.
+     */
+    public static MultiCycleSimulationChangeStep of(MultiCycleStep old) {
+        return INSTANCES[old.ordinal()];
+    }
+
     @Override
     public void restore(MIPSSimulation<? extends MultiCycleArchitecture> simulation) {
         ((MultiCycleSimulation) simulation).forceStepChange(old);
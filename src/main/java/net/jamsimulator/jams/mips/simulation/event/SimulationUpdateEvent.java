@@ -0,0 +1,60 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.event;
+
+import net.jamsimulator.jams.mips.simulation.Simulation;
+import net.jamsimulator.jams.mips.simulation.update.SimulationUpdate;
+import net.jamsimulator.jams.mips.simulation.update.SimulationUpdateBus;
+
+/**
+ * This event is called by a {@link SimulationUpdateBus} when it publishes the changes
+ * a running simulation made since the last publication.
+ * <p>
+ * Listeners should refresh only the elements marked as modified by the {@link SimulationUpdate}.
+ */
+public class SimulationUpdateEvent extends SimulationEvent {
+
+    private final SimulationUpdate update;
+
+    /**
+     * Creates the simulation event.
+     *
+     * @param simulation the {@link Simulation} that created this event.
+     * @param update     the published {@link SimulationUpdate}.
+     */
+    public SimulationUpdateEvent(Simulation<?> simulation, SimulationUpdate update) {
+        super(simulation);
+        this.update = update;
+    }
+
+    /**
+     * Returns the published {@link SimulationUpdate}.
+     *
+     * @return the {@link SimulationUpdate}.
+     */
+    public SimulationUpdate getUpdate() {
+        return update;
+    }
+}
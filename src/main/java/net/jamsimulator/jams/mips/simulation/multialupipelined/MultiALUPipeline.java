@@ -31,6 +31,7 @@ import net.jamsimulator.jams.mips.instruction.execution.MultiCycleExecution;
 import net.jamsimulator.jams.mips.interrupt.InterruptCause;
 import net.jamsimulator.jams.mips.interrupt.MIPSAddressException;
 import net.jamsimulator.jams.mips.interrupt.MIPSInterruptException;
+import net.jamsimulator.jams.mips.memory.cache.CacheLatencyModel;
 import net.jamsimulator.jams.mips.register.Register;
 import net.jamsimulator.jams.mips.simulation.multialupipelined.event.MultiALUPipelineShiftEvent;
 import net.jamsimulator.jams.mips.simulation.multialupipelined.exception.RAWHazardException;
@@ -45,6 +46,7 @@ public class MultiALUPipeline {
     private final MultiALUPipelinedSimulation simulation;
     private final boolean delaySlotsEnabled;
     private final ALUCollection alus;
+    private final CacheLatencyModel latencyModel;
 
     private long instructionsStarted, instructionsFinished;
 
@@ -59,6 +61,7 @@ public class MultiALUPipeline {
     private final int[] timesExecuted;
 
     private long raws, waws, otherStalls;
+    private int memoryStall;
 
     public MultiALUPipeline(
             MultiALUPipelinedSimulation simulation,
@@ -67,6 +70,7 @@ public class MultiALUPipeline {
     ) {
         this.simulation = simulation;
         this.delaySlotsEnabled = delaySlotsEnabled;
+        this.latencyModel = simulation.getMemoryLatencyModel().orElse(null);
         this.alus = new ALUCollection(alus);
         execute = new MultiALUPipelineSlot[alus.size()];
         this.assignedALUs = new ALU[alus.size()];
@@ -80,6 +84,7 @@ public class MultiALUPipeline {
     ) {
         this.simulation = simulation;
         this.delaySlotsEnabled = delaySlotsEnabled;
+        this.latencyModel = simulation.getMemoryLatencyModel().orElse(null);
         this.alus = alus.copy();
 
         var aluSize = alus.getAlus().size();
@@ -88,6 +93,20 @@ public class MultiALUPipeline {
         this.timesExecuted = new int[aluSize];
     }
 
+    /**
+     * Returns the stall cycles the memory step of the last executed cycle takes and clears them.
+     * The whole pipeline is frozen while the memory hierarchy serves the access.
+     * <p>
+     * This value is always zero if the simulation doesn't simulate the memory latency.
+     *
+     * @return the memory stall cycles.
+     */
+    public int takeMemoryStall() {
+        int stall = memoryStall;
+        memoryStall = 0;
+        return stall;
+    }
+
     public ALUCollection getAlus() {
         return alus;
     }
@@ -393,6 +412,7 @@ public class MultiALUPipeline {
             memory.status = MultiALUPipelineSlotStatus.EXECUTED;
             return;
         }
+        if (latencyModel != null) latencyModel.begin();
         try {
             memory.execution.memory();
         } catch (MIPSInterruptException ex) {
@@ -404,6 +424,7 @@ public class MultiALUPipeline {
             System.err.println("Exception " + ex);
             ex.printStackTrace();
         }
+        if (latencyModel != null) memoryStall = latencyModel.end();
         memory.status = MultiALUPipelineSlotStatus.EXECUTED;
     }
 
@@ -49,7 +49,6 @@ import net.jamsimulator.jams.mips.simulation.file.event.SimulationFileOpenEvent;
 import net.jamsimulator.jams.mips.simulation.file.event.SimulationFileWriteEvent;
 import net.jamsimulator.jams.project.mips.configuration.MIPSSimulationConfigurationPresets;
 
-import java.util.LinkedList;
 import java.util.Optional;
 import java.util.OptionalInt;
 
@@ -57,10 +56,8 @@ public class MultiALUPipelinedSimulation
         extends MIPSSimulation<MultiALUPipelinedArchitecture>
         implements AbstractPipelinedSimulation {
 
-    public static final int MAX_CHANGES = 10000;
-
     private final Listeners listeners;
-    private final LinkedList<StepChanges<MultiALUPipelinedArchitecture>> changes;
+    private final UndoJournal<MultiALUPipelinedArchitecture> journal;
     private final MultiALUPipeline pipeline;
 
     private final boolean forwardingEnabled;
@@ -68,13 +65,12 @@ public class MultiALUPipelinedSimulation
     private final boolean delaySlotsEnabled;
 
     private boolean exitRequested;
-    private StepChanges<MultiALUPipelinedArchitecture> currentStepChanges;
 
     public MultiALUPipelinedSimulation(MultiALUPipelinedArchitecture architecture, MIPSSimulationData data) {
         super(architecture, data, false, true);
 
         exitRequested = false;
-        changes = undoEnabled ? new LinkedList<>() : null;
+        journal = createUndoJournal(data);
 
         forwardingEnabled = data.configuration().getNodeValue(MIPSSimulationConfigurationPresets.FORWARDING_ENABLED);
         solveBranchesOnDecode = data.configuration().getNodeValue(MIPSSimulationConfigurationPresets.BRANCH_ON_DECODE);
@@ -82,6 +78,7 @@ public class MultiALUPipelinedSimulation
                 .getNodeValue(MIPSSimulationConfigurationPresets.DELAY_SLOTS_ENABLED);
 
         ALUCollectionSnapshot list = data.configuration().getNodeValue(MIPSSimulationConfigurationPresets.ALUS);
+        loadMemoryLatencyModel(data);
 
         pipeline = new MultiALUPipeline(this, delaySlotsEnabled, list);
 
@@ -104,6 +101,12 @@ public class MultiALUPipelinedSimulation
         return pipeline;
     }
 
+    @Override
+    public int getAccessingInstructionAddress() {
+        var slot = pipeline.getMemory();
+        return slot == null ? super.getAccessingInstructionAddress() : slot.execution.getAddress();
+    }
+
     public boolean isExitRequested() {
         return exitRequested;
     }
@@ -131,8 +134,8 @@ public class MultiALUPipelinedSimulation
     @Override
     public void requestExit(int exitCode, long executionId) {
         this.exitCode = exitCode;
-        if (currentStepChanges != null) {
-            currentStepChanges.addChange(new MultiALUPipelinedSimulationExitRequest());
+        if (undoEnabled) {
+            journal.addChange(new MultiALUPipelinedSimulationExitRequest());
         }
         pipeline.executeFullJumpRemoval(executionId);
         exitRequested = true;
@@ -146,8 +149,8 @@ public class MultiALUPipelinedSimulation
     @Override
     public void reset() throws InterruptedException {
         super.reset();
-        if (changes != null) {
-            changes.clear();
+        if (journal != null) {
+            journal.clear();
         }
         exitRequested = false;
         pipeline.reset();
@@ -160,9 +163,7 @@ public class MultiALUPipelinedSimulation
 
         var last = memory.getBottomMemory();
 
-        for (StepChanges<?> change : changes) {
-            change.removeCacheChanges(last);
-        }
+        journal.removeCacheChanges(last);
 
         return true;
     }
@@ -183,9 +184,9 @@ public class MultiALUPipelinedSimulation
         stop();
         waitForExecutionFinish();
 
-        if (changes.isEmpty()) return false;
+        if (journal.isEmpty()) return false;
         finished = false;
-        changes.removeLast().restore(this);
+        journal.undoStep(this);
         cycles--;
 
         callEvent(new SimulationUndoStepEvent.After(this, cycles));
@@ -223,27 +224,24 @@ public class MultiALUPipelinedSimulation
     @Override
     protected void runStep(boolean first) {
         if (finished) return;
-        if (undoEnabled) currentStepChanges = new StepChanges<>();
+        if (undoEnabled) journal.beginStep();
 
         var decode = pipeline.getDecode();
         if (decode != null && breakpoints.contains(decode.pc) && !first) {
-            if (currentStepChanges != null) currentStepChanges = null;
+            if (undoEnabled) journal.discardStep();
             interruptThread();
             return;
         }
 
-        if (currentStepChanges != null) {
-            currentStepChanges.addChange(new MultiALUPipelinedSimulationChangePipeline(pipeline.copy()));
+        if (undoEnabled && journal.isRecording()) {
+            journal.addChange(new MultiALUPipelinedSimulationChangePipeline(pipeline.copy()));
         }
 
         pipeline.executeAllSteps();
 
         if (checkThreadInterrupted()) {
-            if (currentStepChanges != null) {
-                var temp = currentStepChanges;
-                currentStepChanges = null;
-                temp.restore(this);
-            }
+            pipeline.takeMemoryStall();
+            if (undoEnabled) journal.rollbackStep(this);
             return;
         }
 
@@ -251,6 +249,14 @@ public class MultiALUPipelinedSimulation
         manageInterrupts();
         addCycleCount();
 
+        int memoryStall = pipeline.takeMemoryStall();
+        if (memoryStall > 0) {
+            addMemoryStallCycles(memoryStall);
+            if (undoEnabled) {
+                journal.addChange(new SimulationChangeMemoryStall(memoryStall));
+            }
+        }
+
         boolean check = isKernelMode()
                 ? Integer.compareUnsigned(registers.getProgramCounter().getValue(), kernelStackBottom) > 0
                 : Integer.compareUnsigned(registers.getProgramCounter().getValue(), instructionStackBottom) > 0;
@@ -258,10 +264,8 @@ public class MultiALUPipelinedSimulation
         if ((exitRequested || check) && pipeline.getFetch() == null) {
             checkExit();
         }
-        if (undoEnabled && currentStepChanges != null) {
-            changes.add(currentStepChanges);
-            if (changes.size() > MAX_CHANGES) changes.removeFirst();
-            currentStepChanges = null;
+        if (undoEnabled) {
+            journal.commitStep();
         }
     }
 
@@ -282,75 +286,75 @@ public class MultiALUPipelinedSimulation
 
         @Listener
         private void onMemoryChange(MemoryWordSetEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeMemoryWord(event.getMemory(), event.getAddress(), event.getOldValue()));
+            if (journal == null) return;
+            journal.addMemoryWordChange(event.getMemory(), event.getAddress(), event.getOldValue());
         }
 
         @Listener
         private void onMemoryChange(MemoryByteSetEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeMemoryByte(event.getMemory(), event.getAddress(), event.getOldValue()));
+            if (journal == null) return;
+            journal.addMemoryByteChange(event.getMemory(), event.getAddress(), event.getOldValue());
         }
 
         @Listener
         private void onMemoryChange(MemoryHalfwordSetEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeMemoryHalfword(event.getMemory(), event.getAddress(), event.getOldValue()));
+            if (journal == null) return;
+            journal.addMemoryHalfwordChange(event.getMemory(), event.getAddress(), event.getOldValue());
         }
 
         @Listener
         private void onRegisterChange(RegisterChangeValueEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeRegister(event.getRegister(), event.getOldValue()));
+            if (journal == null) return;
+            journal.addRegisterChange(event.getRegister(), event.getOldValue());
         }
 
         @Listener
         private void onRegisterLock(RegisterLockEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeRegisterLock(event.getRegister(), event.getExecution()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeRegisterLock(event.getRegister(), event.getExecution()));
         }
 
         @Listener
         private void onRegisterUnlock(RegisterUnlockEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeRegisterUnlock(event.getRegister(), event.getExecution()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeRegisterUnlock(event.getRegister(), event.getExecution()));
         }
 
         @Listener
         private void onEndiannessChange(MemoryEndiannessChange.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeMemoryEndianness(!event.isNewEndiannessBigEndian()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeMemoryEndianness(!event.isNewEndiannessBigEndian()));
         }
 
         @Listener
         private void onReserve(MemoryAllocateMemoryEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeAllocatedMemory(event.getOldCurrentData()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeAllocatedMemory(event.getOldCurrentData()));
         }
 
         @Listener
         private void onCacheOperation(CacheOperationEvent event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeCacheOperation(event.getCache(), event.isHit(),
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeCacheOperation(event.getCache(), event.isHit(),
                     event.getBlockIndex(), event.getOldBlock()));
         }
 
         @Listener
         private void onFileOpen(SimulationFileOpenEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeFileOpen(event.getSimulationFile().getId()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeFileOpen(event.getSimulationFile().getId()));
         }
 
         @Listener
         private void onFileClose(SimulationFileCloseEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeFileClose(event.getFile()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeFileClose(event.getFile()));
         }
 
         @Listener
         private void onFileWrite(SimulationFileWriteEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeFileWrite(event.getFile(), event.getData().length));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeFileWrite(event.getFile(), event.getData().length));
         }
     }
 
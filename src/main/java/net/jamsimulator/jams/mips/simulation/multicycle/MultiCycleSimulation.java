@@ -49,7 +49,6 @@ import net.jamsimulator.jams.mips.simulation.file.event.SimulationFileOpenEvent;
 import net.jamsimulator.jams.mips.simulation.file.event.SimulationFileWriteEvent;
 import net.jamsimulator.jams.mips.simulation.multicycle.event.MultiCycleStepEvent;
 
-import java.util.LinkedList;
 import java.util.Optional;
 
 /**
@@ -63,13 +62,12 @@ import java.util.Optional;
  */
 public class MultiCycleSimulation extends MIPSSimulation<MultiCycleArchitecture> {
 
-    public static final int MAX_CHANGES = 10000;
-    private final LinkedList<StepChanges<MultiCycleArchitecture>> changes;
+    private final UndoJournal<MultiCycleArchitecture> journal;
     //Hard reference. Do not convert to local variable.
     @SuppressWarnings("FieldCanBeLocal")
     private final Listeners listeners;
     private long executedInstructions;
-    private StepChanges<MultiCycleArchitecture> currentStepChanges;
+    private int pendingMemoryStall;
     private MultiCycleStep currentStep;
     private MultiCycleExecution<?, ?> currentExecution;
 
@@ -82,8 +80,9 @@ public class MultiCycleSimulation extends MIPSSimulation<MultiCycleArchitecture>
     public MultiCycleSimulation(MultiCycleArchitecture architecture, MIPSSimulationData data) {
         super(architecture, data, true, true);
         executedInstructions = 0;
-        changes = undoEnabled ? new LinkedList<>() : null;
+        journal = createUndoJournal(data);
         currentStep = MultiCycleStep.FETCH;
+        loadMemoryLatencyModel(data);
 
         listeners = new Listeners();
 
@@ -141,8 +140,8 @@ public class MultiCycleSimulation extends MIPSSimulation<MultiCycleArchitecture>
     @Override
     public void reset() throws InterruptedException {
         super.reset();
-        if (changes != null) {
-            changes.clear();
+        if (journal != null) {
+            journal.clear();
         }
         executedInstructions = 0;
         currentStep = MultiCycleStep.FETCH;
@@ -163,9 +162,7 @@ public class MultiCycleSimulation extends MIPSSimulation<MultiCycleArchitecture>
             }
         }
 
-        for (StepChanges<?> change : changes) {
-            change.removeCacheChanges(last);
-        }
+        journal.removeCacheChanges(last);
         return true;
     }
 
@@ -185,14 +182,14 @@ public class MultiCycleSimulation extends MIPSSimulation<MultiCycleArchitecture>
         waitForExecutionFinish();
 
 
-        if (changes.isEmpty()) return false;
+        if (journal.isEmpty()) return false;
         finished = false;
 
         if (currentStep == MultiCycleStep.FETCH) {
             executedInstructions--;
         }
 
-        changes.removeLast().restore(this);
+        journal.undoStep(this);
         cycles--;
 
         callEvent(new SimulationUndoStepEvent.After(this, cycles));
@@ -202,10 +199,19 @@ public class MultiCycleSimulation extends MIPSSimulation<MultiCycleArchitecture>
 
     @Override
     protected synchronized void runStep(boolean first) {
+        runStepUnsynchronized(first);
+    }
+
+    @Override
+    protected void runBasicBlockUnsynchronized() {
+        runStepUnsynchronized(false);
+    }
+
+    private void runStepUnsynchronized(boolean first) {
         if (finished) return;
 
         if (undoEnabled) {
-            currentStepChanges = new StepChanges<>();
+            journal.beginStep();
         }
 
         if (canCallEvents) {
@@ -235,18 +241,25 @@ public class MultiCycleSimulation extends MIPSSimulation<MultiCycleArchitecture>
         }
 
         if (checkThreadInterrupted()) {
-            currentStepChanges = null;
+            if (undoEnabled) journal.discardStep();
+            pendingMemoryStall = 0;
             return;
         }
 
         addCycleCount();
 
+        if (pendingMemoryStall > 0) {
+            addMemoryStallCycles(pendingMemoryStall);
+            if (undoEnabled) {
+                journal.addChange(new SimulationChangeMemoryStall(pendingMemoryStall));
+            }
+            pendingMemoryStall = 0;
+        }
+
         manageInterrupts();
 
-        if (undoEnabled && currentStepChanges != null) {
-            changes.add(currentStepChanges);
-            if (changes.size() > MAX_CHANGES) changes.removeFirst();
-            currentStepChanges = null;
+        if (undoEnabled) {
+            journal.commitStep();
         }
 
         if (canCallEvents) {
@@ -279,19 +292,19 @@ public class MultiCycleSimulation extends MIPSSimulation<MultiCycleArchitecture>
     }
 
     private void fetch(boolean first) {
-        int pc = registers.getProgramCounter().getValue();
+        int pc = registers.getProgramCounterValue();
 
         if (breakpoints.contains(pc) && !first) {
-            currentStepChanges = null;
+            if (undoEnabled) journal.discardStep();
             interruptThread();
             return;
         }
 
-        registers.getProgramCounter().setValue(pc + 4);
+        registers.setProgramCounterValue(pc + 4);
 
-        if (currentStepChanges != null) {
-            currentStepChanges.addChange(new MultiCycleSimulationChangeStep(currentStep));
-            currentStepChanges.addChange(new MultiCycleSimulationChangeCurrentExecution(currentExecution));
+        if (undoEnabled) {
+            journal.addChange(MultiCycleSimulationChangeStep.of(currentStep));
+            journal.addChange(new MultiCycleSimulationChangeCurrentExecution(currentExecution));
         }
 
         var newExecution = (MultiCycleExecution<?, ?>) fetch(pc);
@@ -304,7 +317,7 @@ public class MultiCycleSimulation extends MIPSSimulation<MultiCycleArchitecture>
         }
         currentExecution = newExecution;
         if (currentExecution == null) {
-            currentStepChanges = null;
+            if (undoEnabled) journal.discardStep();
             throw new MIPSAddressException(InterruptCause.RESERVED_INSTRUCTION_EXCEPTION, pc);
         }
 
@@ -313,8 +326,8 @@ public class MultiCycleSimulation extends MIPSSimulation<MultiCycleArchitecture>
     }
 
     private void decode() {
-        if (currentStepChanges != null) {
-            currentStepChanges.addChange(new MultiCycleSimulationChangeStep(currentStep));
+        if (undoEnabled) {
+            journal.addChange(MultiCycleSimulationChangeStep.of(currentStep));
         }
         currentExecution.decode();
         currentStep = MultiCycleStep.EXECUTE;
@@ -322,15 +335,15 @@ public class MultiCycleSimulation extends MIPSSimulation<MultiCycleArchitecture>
 
     private void execute() {
 
-        if (currentStepChanges != null) {
-            currentStepChanges.addChange(new MultiCycleSimulationChangeStep(currentStep));
+        if (undoEnabled) {
+            journal.addChange(MultiCycleSimulationChangeStep.of(currentStep));
         }
 
         currentExecution.execute();
 
         ////Check thread, if interrupted, return to the previous cycle.
         if (checkThreadInterrupted()) {
-            currentStepChanges = null;
+            if (undoEnabled) journal.discardStep();
             return;
         }
 
@@ -348,10 +361,19 @@ public class MultiCycleSimulation extends MIPSSimulation<MultiCycleArchitecture>
     }
 
     private void memory() {
-        if (currentStepChanges != null) {
-            currentStepChanges.addChange(new MultiCycleSimulationChangeStep(currentStep));
+        if (undoEnabled) {
+            journal.addChange(MultiCycleSimulationChangeStep.of(currentStep));
+        }
+        if (memoryLatencyModel != null) {
+            memoryLatencyModel.begin();
+            try {
+                currentExecution.memory();
+            } finally {
+                pendingMemoryStall = memoryLatencyModel.end();
+            }
+        } else {
+            currentExecution.memory();
         }
-        currentExecution.memory();
         if (currentExecution.executesWriteBack()) {
             currentStep = MultiCycleStep.WRITE_BACK;
         } else {
@@ -363,8 +385,8 @@ public class MultiCycleSimulation extends MIPSSimulation<MultiCycleArchitecture>
 
     private void writeBack() {
         currentExecution.writeBack();
-        if (currentStepChanges != null) {
-            currentStepChanges.addChange(new MultiCycleSimulationChangeStep(currentStep));
+        if (undoEnabled) {
+            journal.addChange(MultiCycleSimulationChangeStep.of(currentStep));
         }
         currentStep = MultiCycleStep.FETCH;
         executedInstructions++;
@@ -396,75 +418,75 @@ public class MultiCycleSimulation extends MIPSSimulation<MultiCycleArchitecture>
 
         @Listener
         private void onMemoryChange(MemoryWordSetEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeMemoryWord(event.getMemory(), event.getAddress(), event.getOldValue()));
+            if (journal == null) return;
+            journal.addMemoryWordChange(event.getMemory(), event.getAddress(), event.getOldValue());
         }
 
         @Listener
         private void onMemoryChange(MemoryByteSetEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeMemoryByte(event.getMemory(), event.getAddress(), event.getOldValue()));
+            if (journal == null) return;
+            journal.addMemoryByteChange(event.getMemory(), event.getAddress(), event.getOldValue());
         }
 
         @Listener
         private void onMemoryChange(MemoryHalfwordSetEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeMemoryHalfword(event.getMemory(), event.getAddress(), event.getOldValue()));
+            if (journal == null) return;
+            journal.addMemoryHalfwordChange(event.getMemory(), event.getAddress(), event.getOldValue());
         }
 
         @Listener
         private void onRegisterChange(RegisterChangeValueEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeRegister(event.getRegister(), event.getOldValue()));
+            if (journal == null) return;
+            journal.addRegisterChange(event.getRegister(), event.getOldValue());
         }
 
         @Listener
         private void onRegisterLock(RegisterLockEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeRegisterLock(event.getRegister(), event.getExecution()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeRegisterLock(event.getRegister(), event.getExecution()));
         }
 
         @Listener
         private void onRegisterUnlock(RegisterUnlockEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeRegisterUnlock(event.getRegister(), event.getExecution()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeRegisterUnlock(event.getRegister(), event.getExecution()));
         }
 
         @Listener
         private void onEndiannessChange(MemoryEndiannessChange.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeMemoryEndianness(!event.isNewEndiannessBigEndian()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeMemoryEndianness(!event.isNewEndiannessBigEndian()));
         }
 
         @Listener
         private void onReserve(MemoryAllocateMemoryEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeAllocatedMemory(event.getOldCurrentData()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeAllocatedMemory(event.getOldCurrentData()));
         }
 
         @Listener
         private void onCacheOperation(CacheOperationEvent event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeCacheOperation(event.getCache(), event.isHit(),
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeCacheOperation(event.getCache(), event.isHit(),
                     event.getBlockIndex(), event.getOldBlock()));
         }
 
         @Listener
         private void onFileOpen(SimulationFileOpenEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeFileOpen(event.getSimulationFile().getId()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeFileOpen(event.getSimulationFile().getId()));
         }
 
         @Listener
         private void onFileClose(SimulationFileCloseEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeFileClose(event.getFile()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeFileClose(event.getFile()));
         }
 
         @Listener
         private void onFileWrite(SimulationFileWriteEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeFileWrite(event.getFile(), event.getData().length));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeFileWrite(event.getFile(), event.getData().length));
         }
 
     }
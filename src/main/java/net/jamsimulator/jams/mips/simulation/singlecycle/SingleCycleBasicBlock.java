@@ -0,0 +1,172 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.singlecycle;
+
+import net.jamsimulator.jams.mips.instruction.basic.BasicInstruction;
+import net.jamsimulator.jams.mips.instruction.basic.ControlTransferInstruction;
+import net.jamsimulator.jams.mips.instruction.basic.defaults.*;
+import net.jamsimulator.jams.mips.instruction.execution.SingleCycleExecution;
+import net.jamsimulator.jams.mips.simulation.singlecycle.translation.BlockTranslator;
+import net.jamsimulator.jams.mips.simulation.singlecycle.translation.TranslatedBlock;
+
+import java.util.Set;
+
+/**
+ * Represents a basic block executed by a {@link SingleCycleSimulation}: a sequence of consecutive instructions
+ * with only one entry point that are executed as one fused unit.
+ * <p>
+ * A block ends after its first control transfer instruction, before any instruction that cannot be fused,
+ * before any breakpoint and when {@link #MAX_LENGTH} instructions are reached.
+ * <p>
+ * Instructions that can't be fused are the ones that read or modify the simulation state beyond the
+ * general purpose registers, the FPU registers and the memory, such as syscalls or COP0 instructions.
+ * These instructions must see the exact cycle count, so they are always executed by
+ * {@link SingleCycleSimulation#runStep(boolean)}.
+ * <p>
+ * Blocks executed more than {@link #TRANSLATION_THRESHOLD} times are translated to JVM bytecode
+ * by the {@link BlockTranslator}. If the block cannot be translated, it keeps being interpreted.
+ */
+public class SingleCycleBasicBlock {
+
+    /**
+     * The maximum amount of instructions a block may have.
+     * This value limits the delay between a hardware interrupt request and its handling.
+     */
+    public static final int MAX_LENGTH = 256;
+
+    /**
+     * The amount of executions a block needs to be translated to JVM bytecode.
+     */
+    public static final int TRANSLATION_THRESHOLD = 1000;
+
+    private static final Set<Class<?>> NOT_FUSABLE = Set.of(
+            InstructionSyscall.class,
+            InstructionBreak.class,
+            InstructionMfc0.class,
+            InstructionMtc0.class,
+            InstructionDi.class,
+            InstructionEi.class,
+            InstructionEret.class
+    );
+
+    private final int address;
+    private final SingleCycleExecution<?>[] executions;
+    private int executionCount;
+    private TranslatedBlock translation;
+
+    /**
+     * Creates the basic block.
+     *
+     * @param address    the address of the first instruction of the block.
+     * @param executions the executions of the block.
+     */
+    public SingleCycleBasicBlock(int address, SingleCycleExecution<?>[] executions) {
+        this.address = address;
+        this.executions = executions;
+    }
+
+    /**
+     * Returns whether the given instruction can be fused inside a basic block.
+     *
+     * @param instruction the instruction.
+     * @return whether the instruction can be fused.
+     */
+    public static boolean canBeFused(BasicInstruction<?> instruction) {
+        return !NOT_FUSABLE.contains(instruction.getClass());
+    }
+
+    /**
+     * Returns whether the given instruction ends a basic block.
+     *
+     * @param instruction the instruction.
+     * @return whether the instruction ends a basic block.
+     */
+    public static boolean endsBlock(BasicInstruction<?> instruction) {
+        return instruction instanceof ControlTransferInstruction;
+    }
+
+    /**
+     * Returns the address of the first instruction of this block.
+     *
+     * @return the address.
+     */
+    public int getAddress() {
+        return address;
+    }
+
+    /**
+     * Returns the executions of this block.
+     * <p>
+     * The returned array must not be modified!
+     *
+     * @return the executions.
+     */
+    public SingleCycleExecution<?>[] getExecutions() {
+        return executions;
+    }
+
+    /**
+     * Returns the amount of instructions inside this block.
+     *
+     * @return the amount of instructions.
+     */
+    public int size() {
+        return executions.length;
+    }
+
+    /**
+     * Returns the {@link TranslatedBlock} of this block, if it has been translated.
+     *
+     * @return the {@link TranslatedBlock} or {@code null}.
+     */
+    public TranslatedBlock getTranslation() {
+        return translation;
+    }
+
+    /**
+     * Registers an execution of this block, translating it when it reaches the {@link #TRANSLATION_THRESHOLD}.
+     *
+     * @return the {@link TranslatedBlock} of this block or {@code null} if the block is not translated.
+     * @throws ReflectiveOperationException when the generated class couldn't be instantiated.
+     * @throws LinkageError                 when the generated class couldn't be defined or verified.
+     */
+    public TranslatedBlock registerExecution() throws ReflectiveOperationException {
+        if (++executionCount == TRANSLATION_THRESHOLD) {
+            translation = BlockTranslator.translate(this);
+        }
+        return translation;
+    }
+
+    /**
+     * Returns whether this block has no instructions.
+     * <p>
+     * Empty blocks are cached to mark addresses that must be executed step by step.
+     *
+     * @return whether this block is empty.
+     */
+    public boolean isEmpty() {
+        return executions.length == 0;
+    }
+}
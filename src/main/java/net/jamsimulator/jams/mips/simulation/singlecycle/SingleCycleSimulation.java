@@ -26,6 +26,7 @@ package net.jamsimulator.jams.mips.simulation.singlecycle;
 
 import net.jamsimulator.jams.event.Listener;
 import net.jamsimulator.jams.mips.architecture.SingleCycleArchitecture;
+import net.jamsimulator.jams.mips.instruction.execution.InstructionExecution;
 import net.jamsimulator.jams.mips.instruction.execution.SingleCycleExecution;
 import net.jamsimulator.jams.mips.interrupt.InterruptCause;
 import net.jamsimulator.jams.mips.interrupt.MIPSAddressException;
@@ -37,6 +38,7 @@ import net.jamsimulator.jams.mips.register.COP0RegistersBits;
 import net.jamsimulator.jams.mips.register.event.RegisterChangeValueEvent;
 import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
 import net.jamsimulator.jams.mips.simulation.MIPSSimulationData;
+import net.jamsimulator.jams.mips.simulation.PagedWordCache;
 import net.jamsimulator.jams.mips.simulation.change.*;
 import net.jamsimulator.jams.mips.simulation.event.SimulationFinishedEvent;
 import net.jamsimulator.jams.mips.simulation.event.SimulationUndoStepEvent;
@@ -44,8 +46,9 @@ import net.jamsimulator.jams.mips.simulation.file.event.SimulationFileCloseEvent
 import net.jamsimulator.jams.mips.simulation.file.event.SimulationFileOpenEvent;
 import net.jamsimulator.jams.mips.simulation.file.event.SimulationFileWriteEvent;
 import net.jamsimulator.jams.mips.simulation.singlecycle.event.SingleCycleInstructionExecutionEvent;
+import net.jamsimulator.jams.mips.simulation.singlecycle.translation.TranslatedBlock;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.Optional;
 
 /**
@@ -56,18 +59,24 @@ import java.util.Optional;
  * having high seconds per cycle.
  * <p>
  * This is also the easiest architecture to implement.
+ * <p>
+ * When events are disabled, this simulation splits the code into {@link SingleCycleBasicBlock basic block}s
+ * and executes each of them as one unit. The cycle count, the interrupt management and the stack
+ * bottom check are done only at the exit of each block. Hot blocks are translated to JVM bytecode.
+ * Blocks are discarded when the memory page containing them is written, so stores to the text section
+ * take effect from the next block on.
  *
  * @see SingleCycleArchitecture
  */
 public class SingleCycleSimulation extends MIPSSimulation<SingleCycleArchitecture> {
 
-    public static final int MAX_CHANGES = 10000;
-
-    private final LinkedList<StepChanges<SingleCycleArchitecture>> changes;
+    private final UndoJournal<SingleCycleArchitecture> journal;
     //Hard reference. Do not convert to local variable.
     @SuppressWarnings("FieldCanBeLocal")
     private final Listeners listeners;
-    private StepChanges<SingleCycleArchitecture> currentStepChanges;
+    private final PagedWordCache<SingleCycleBasicBlock> basicBlocks;
+    private volatile boolean basicBlocksInvalidated;
+    private boolean translationEnabled = true;
     private long instructions;
     private long start;
 
@@ -79,7 +88,8 @@ public class SingleCycleSimulation extends MIPSSimulation<SingleCycleArchitectur
      */
     public SingleCycleSimulation(SingleCycleArchitecture architecture, MIPSSimulationData data) {
         super(architecture, data, true, true);
-        changes = undoEnabled ? new LinkedList<>() : null;
+        journal = createUndoJournal(data);
+        basicBlocks = new PagedWordCache<>(writeTracker);
         listeners = new Listeners();
 
         registers.registerListeners(listeners, true);
@@ -105,8 +115,8 @@ public class SingleCycleSimulation extends MIPSSimulation<SingleCycleArchitectur
     @Override
     public void reset() throws InterruptedException {
         super.reset();
-        if (changes != null) {
-            changes.clear();
+        if (journal != null) {
+            journal.clear();
         }
     }
 
@@ -125,9 +135,7 @@ public class SingleCycleSimulation extends MIPSSimulation<SingleCycleArchitectur
             }
         }
 
-        for (StepChanges<?> change : changes) {
-            change.removeCacheChanges(last);
-        }
+        journal.removeCacheChanges(last);
         return true;
     }
 
@@ -141,9 +149,9 @@ public class SingleCycleSimulation extends MIPSSimulation<SingleCycleArchitectur
         waitForExecutionFinish();
 
 
-        if (changes.isEmpty()) return false;
+        if (journal.isEmpty()) return false;
         finished = false;
-        changes.removeLast().restore(this);
+        journal.undoStep(this);
         cycles--;
 
         callEvent(new SimulationUndoStepEvent.After(this, cycles));
@@ -153,8 +161,12 @@ public class SingleCycleSimulation extends MIPSSimulation<SingleCycleArchitectur
 
     @Override
     protected synchronized void runStep(boolean first) {
+        runStepUnsynchronized(first);
+    }
+
+    private void runStepUnsynchronized(boolean first) {
         if (finished) return;
-        int pc = registers.getProgramCounter().getValue();
+        int pc = registers.getProgramCounterValue();
 
         if (breakpoints.contains(pc) && !first) {
             interruptThread();
@@ -162,10 +174,10 @@ public class SingleCycleSimulation extends MIPSSimulation<SingleCycleArchitectur
         }
 
         if (undoEnabled) {
-            currentStepChanges = new StepChanges<>();
+            journal.beginStep();
         }
 
-        registers.getProgramCounter().setValue(pc + 4);
+        registers.setProgramCounterValue(pc + 4);
         SingleCycleExecution<?> execution = null;
         try {
             //Fetch and Decode
@@ -183,7 +195,7 @@ public class SingleCycleSimulation extends MIPSSimulation<SingleCycleArchitectur
             }
 
             if (execution == null) {
-                currentStepChanges = null;
+                if (undoEnabled) journal.discardStep();
                 throw new MIPSAddressException(InterruptCause.RESERVED_INSTRUCTION_EXCEPTION, pc);
             }
 
@@ -197,7 +209,7 @@ public class SingleCycleSimulation extends MIPSSimulation<SingleCycleArchitectur
 
         //Check thread, if interrupted, return to the previous cycle.
         if (checkThreadInterrupted()) {
-            currentStepChanges = null;
+            if (undoEnabled) journal.discardStep();
             registers.getProgramCounter().setValue(pc);
             return;
         }
@@ -210,15 +222,195 @@ public class SingleCycleSimulation extends MIPSSimulation<SingleCycleArchitectur
             callEvent(new SingleCycleInstructionExecutionEvent.After(this, cycles, pc, execution == null ? null : execution.getInstruction(), execution));
 
             if (undoEnabled) {
-                changes.add(currentStepChanges);
-                if (changes.size() > MAX_CHANGES) changes.removeFirst();
-                currentStepChanges = null;
+                journal.commitStep();
+            }
+        }
+
+        checkStackBottom();
+    }
+
+    @Override
+    protected synchronized void runBasicBlock() {
+        runBasicBlockUnsynchronized();
+    }
+
+    @Override
+    protected void runBasicBlockUnsynchronized() {
+        if (finished) return;
+        int pc = registers.getProgramCounterValue();
+
+        if (breakpoints.contains(pc)) {
+            interruptThread();
+            return;
+        }
+
+        var block = getBasicBlock(pc);
+        if (block == null) {
+            runStepUnsynchronized(false);
+            return;
+        }
+
+        var translation = block.getTranslation();
+        if (translation == null && translationEnabled) {
+            translation = registerBlockExecution(block);
+        }
+
+        // Translated blocks can't stop in the middle of the block when a watched range is accessed.
+        if (translation != null && (watchTable == null || watchTable.isEmpty())) {
+            try {
+                translation.execute(registers.getRegisterFile(), registers.getProgramCounterSlot(), memory);
+            } catch (MIPSInterruptException ex) {
+                // Translated blocks update the PC before any instruction that may fail.
+                int failed = registers.getProgramCounterValue() - 4;
+                manageBasicBlockException(ex, failed, (failed - block.getAddress()) >> 2);
+                return;
+            }
+            manageInterrupts();
+            addCycleCount(block.size());
+            checkStackBottom();
+            return;
+        }
+
+        int executed = 0;
+        try {
+            for (SingleCycleExecution<?> execution : block.getExecutions()) {
+                registers.setProgramCounterValue(pc + 4);
+                execution.execute();
+                pc += 4;
+                executed++;
+                if (watchpointHit) break;
+            }
+        } catch (MIPSInterruptException ex) {
+            manageBasicBlockException(ex, pc, executed);
+            return;
+        }
+
+        manageInterrupts();
+        addCycleCount(executed);
+        checkStackBottom();
+    }
+
+    /**
+     * Registers an execution of the given block, translating it if it's hot.
+     * <p>
+     * If the translation fails, the failure is reported and the translation is disabled for this simulation.
+     * Blocks are still executed by the interpreter.
+     *
+     * @param block the block.
+     * @return the {@link TranslatedBlock} of the block or {@code null}.
+     */
+    private TranslatedBlock registerBlockExecution(SingleCycleBasicBlock block) {
+        try {
+            return block.registerExecution();
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            translationEnabled = false;
+            if (getLog() != null) {
+                getLog().printWarningLn("Block translation failed. Using the interpreter instead: " + ex);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Manages an exception thrown by an instruction inside a basic block.
+     * The previous instructions of the block are applied and the failed one is
+     * managed the same way {@link #runStep(boolean)} does.
+     *
+     * @param ex       the exception.
+     * @param pc       the address of the failed instruction.
+     * @param executed the amount of instructions executed before the failed one.
+     */
+    private void manageBasicBlockException(MIPSInterruptException ex, int pc, int executed) {
+        addCycleCount(executed);
+
+        if (!checkThreadInterrupted()) {
+            requestSoftwareInterrupt(ex);
+        }
+
+        if (checkThreadInterrupted()) {
+            registers.getProgramCounter().setValue(pc);
+            return;
+        }
+
+        manageInterrupts();
+        addCycleCount();
+        checkStackBottom();
+    }
+
+    @Override
+    protected void onBreakpointsChange() {
+        basicBlocksInvalidated = true;
+    }
+
+    /**
+     * Returns the {@link SingleCycleBasicBlock basic block} starting at the given address,
+     * building it if it's not cached.
+     * <p>
+     * This method returns {@code null} if the instruction at the given address must be executed step by step.
+     *
+     * @param pc the address of the block.
+     * @return the block or {@code null}.
+     */
+    private SingleCycleBasicBlock getBasicBlock(int pc) {
+        if (basicBlocksInvalidated) {
+            basicBlocksInvalidated = false;
+            basicBlocks.clear();
+        }
+        basicBlocks.refresh();
+
+        if ((pc & 0x3) != 0) return null;
+
+        var block = basicBlocks.get(pc);
+        if (block == null) {
+            int bottom;
+            if (Integer.compareUnsigned(pc - memory.getFirstTextAddress(),
+                    instructionStackBottom + 4 - memory.getFirstTextAddress()) < 0) {
+                bottom = instructionStackBottom;
+            } else if (Integer.compareUnsigned(pc - memory.getFirstKernelTextAddress(),
+                    kernelStackBottom + 4 - memory.getFirstKernelTextAddress()) < 0) {
+                bottom = kernelStackBottom;
+            } else return null;
+
+            block = buildBasicBlock(pc, bottom);
+            basicBlocks.put(pc, block);
+        }
+        return block.isEmpty() ? null : block;
+    }
+
+    private SingleCycleBasicBlock buildBasicBlock(int pc, int bottom) {
+        var executions = new ArrayList<SingleCycleExecution<?>>();
+        int address = pc;
+
+        while (executions.size() < SingleCycleBasicBlock.MAX_LENGTH
+                && Integer.compareUnsigned(address, bottom) <= 0) {
+            if (address != pc && breakpoints.contains(address)) break;
+            // Blocks never cross pages: they are invalidated along with the page containing them.
+            if (address != pc && (address & (PagedWordCache.PAGE_SIZE - 1)) == 0) break;
+
+            InstructionExecution<?, ?> execution;
+            try {
+                execution = fetch(address);
+            } catch (MIPSInterruptException ex) {
+                break;
             }
+
+            if (!(execution instanceof SingleCycleExecution<?> singleCycleExecution)) break;
+            var instruction = execution.getInstruction().getBasicOrigin();
+            if (!SingleCycleBasicBlock.canBeFused(instruction)) break;
+
+            executions.add(singleCycleExecution);
+            address += 4;
+            if (SingleCycleBasicBlock.endsBlock(instruction)) break;
         }
 
+        return new SingleCycleBasicBlock(pc, executions.toArray(new SingleCycleExecution<?>[0]));
+    }
+
+    private void checkStackBottom() {
+        int pc = registers.getProgramCounterValue();
         boolean check = isKernelMode()
-                ? Integer.compareUnsigned(registers.getProgramCounter().getValue(), kernelStackBottom) > 0
-                : Integer.compareUnsigned(registers.getProgramCounter().getValue(), instructionStackBottom) > 0;
+                ? Integer.compareUnsigned(pc, kernelStackBottom) > 0
+                : Integer.compareUnsigned(pc, instructionStackBottom) > 0;
 
         if (check && !finished) {
             finished = true;
@@ -260,63 +452,63 @@ public class SingleCycleSimulation extends MIPSSimulation<SingleCycleArchitectur
 
         @Listener
         private void onMemoryChange(MemoryWordSetEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeMemoryWord(event.getMemory(), event.getAddress(), event.getOldValue()));
+            if (journal == null) return;
+            journal.addMemoryWordChange(event.getMemory(), event.getAddress(), event.getOldValue());
         }
 
         @Listener
         private void onMemoryChange(MemoryByteSetEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeMemoryByte(event.getMemory(), event.getAddress(), event.getOldValue()));
+            if (journal == null) return;
+            journal.addMemoryByteChange(event.getMemory(), event.getAddress(), event.getOldValue());
         }
         
         @Listener
         private void onMemoryChange(MemoryHalfwordSetEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeMemoryHalfword(event.getMemory(), event.getAddress(), event.getOldValue()));
+            if (journal == null) return;
+            journal.addMemoryHalfwordChange(event.getMemory(), event.getAddress(), event.getOldValue());
         }
 
         @Listener
         private void onRegisterChange(RegisterChangeValueEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeRegister(event.getRegister(), event.getOldValue()));
+            if (journal == null) return;
+            journal.addRegisterChange(event.getRegister(), event.getOldValue());
         }
 
         @Listener
         private void onEndiannessChange(MemoryEndiannessChange.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeMemoryEndianness(!event.isNewEndiannessBigEndian()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeMemoryEndianness(!event.isNewEndiannessBigEndian()));
         }
 
         @Listener
         private void onReserve(MemoryAllocateMemoryEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeAllocatedMemory(event.getOldCurrentData()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeAllocatedMemory(event.getOldCurrentData()));
         }
 
         @Listener
         private void onCacheOperation(CacheOperationEvent event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeCacheOperation(event.getCache(), event.isHit(),
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeCacheOperation(event.getCache(), event.isHit(),
                     event.getBlockIndex(), event.getOldBlock()));
         }
 
         @Listener
         private void onFileOpen(SimulationFileOpenEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeFileOpen(event.getSimulationFile().getId()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeFileOpen(event.getSimulationFile().getId()));
         }
 
         @Listener
         private void onFileClose(SimulationFileCloseEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeFileClose(event.getFile()));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeFileClose(event.getFile()));
         }
 
         @Listener
         private void onFileWrite(SimulationFileWriteEvent.After event) {
-            if (currentStepChanges == null) return;
-            currentStepChanges.addChange(new SimulationChangeFileWrite(event.getFile(), event.getData().length));
+            if (journal == null || !journal.isRecording()) return;
+            journal.addChange(new SimulationChangeFileWrite(event.getFile(), event.getData().length));
         }
 
     }
@@ -0,0 +1,361 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.singlecycle.translation;
+
+import net.jamsimulator.jams.mips.instruction.assembled.AssembledI16Instruction;
+import net.jamsimulator.jams.mips.instruction.assembled.AssembledInstruction;
+import net.jamsimulator.jams.mips.instruction.assembled.AssembledRInstruction;
+import net.jamsimulator.jams.mips.instruction.basic.defaults.*;
+import net.jamsimulator.jams.mips.simulation.singlecycle.SingleCycleBasicBlock;
+
+import java.lang.invoke.MethodHandles;
+
+import static net.jamsimulator.jams.mips.simulation.singlecycle.translation.ClassFileBuilder.CodeBuilder.*;
+
+/**
+ * Translates {@link SingleCycleBasicBlock basic block}s into JVM bytecode.
+ * <p>
+ * Each translated block is defined as a hidden class implementing {@link TranslatedBlock}.
+ * The generated code accesses the primitive register file and the memory directly, removing the
+ * dispatch and the decoding work done by the interpreter. The JIT compiler can then
+ * compile each block as a single method.
+ * <p>
+ * Only a subset of the integer instructions can be translated. Blocks containing any other instruction
+ * are not translated and they are executed by the interpreter.
+ */
+public class BlockTranslator {
+
+    /**
+     * The maximum size in bytes of the generated code.
+     * Bigger methods are not compiled by the JIT compiler, making the translation useless.
+     */
+    public static final int MAX_CODE_SIZE = 8000;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final String CLASS_NAME = "net/jamsimulator/jams/mips/simulation/singlecycle/translation/GeneratedBlock";
+    private static final String OBJECT = "java/lang/Object";
+    private static final String BLOCK = "net/jamsimulator/jams/mips/simulation/singlecycle/translation/TranslatedBlock";
+    private static final String MEMORY = "net/jamsimulator/jams/mips/memory/Memory";
+    private static final String EXECUTE_DESCRIPTOR = "([IIL" + MEMORY + ";)V";
+
+    private static final int REGISTER_FILE = 1, PC_SLOT = 2, MEMORY_LOCAL = 3;
+
+    /**
+     * Translates the given block.
+     * <p>
+     * This method returns {@code null} if the block contains instructions that cannot be translated.
+     *
+     * @param block the block to translate.
+     * @return the {@link TranslatedBlock} or {@code null}.
+     * @throws ReflectiveOperationException when the generated class couldn't be instantiated.
+     * @throws LinkageError                 when the generated class couldn't be defined or verified.
+     */
+    public static TranslatedBlock translate(SingleCycleBasicBlock block) throws ReflectiveOperationException {
+        var executions = block.getExecutions();
+        var instructions = new AssembledInstruction[executions.length];
+        for (int i = 0; i < executions.length; i++) {
+            instructions[i] = executions[i].getInstruction();
+        }
+        return translate(block.getAddress(), instructions);
+    }
+
+    /**
+     * Translates the given sequence of instructions.
+     * <p>
+     * The sequence must follow the rules of a {@link SingleCycleBasicBlock basic block}:
+     * only the last instruction may be a control transfer instruction.
+     * <p>
+     * This method returns {@code null} if the sequence contains instructions that cannot be translated.
+     *
+     * @param address      the address of the first instruction.
+     * @param instructions the instructions to translate.
+     * @return the {@link TranslatedBlock} or {@code null}.
+     * @throws ReflectiveOperationException when the generated class couldn't be instantiated.
+     * @throws LinkageError                 when the generated class couldn't be defined or verified.
+     */
+    public static TranslatedBlock translate(int address, AssembledInstruction[] instructions)
+            throws ReflectiveOperationException {
+        if (instructions.length == 0) return null;
+        var builder = new ClassFileBuilder(CLASS_NAME, OBJECT, BLOCK);
+
+        var constructor = builder.method("<init>", "()V", 1, 1);
+        constructor.aload(0);
+        constructor.invokeSpecial(OBJECT, "<init>", "()V");
+        constructor.op(RETURN);
+
+        var code = builder.method("execute", EXECUTE_DESCRIPTOR, 8, 4);
+        for (int i = 0; i < instructions.length; i++) {
+            var instruction = instructions[i];
+            boolean translated = i == instructions.length - 1
+                    ? translateLast(code, instruction, address)
+                    : translate(code, instruction, address);
+            if (!translated) return null;
+            address += 4;
+        }
+
+        if (code.size() > MAX_CODE_SIZE) return null;
+
+        var lookup = LOOKUP.defineHiddenClass(builder.toByteArray(), true);
+        return (TranslatedBlock) lookup.lookupClass().getConstructor().newInstance();
+    }
+
+    private static boolean translateLast(ClassFileBuilder.CodeBuilder code, AssembledInstruction instruction, int address) {
+        int next = address + 4;
+        if (instruction instanceof InstructionBeq.Assembled i) {
+            loadValue(code, i.getSourceRegister());
+            loadValue(code, i.getTargetRegister());
+            conditionalBranch(code, next, i.getImmediateAsSigned(), IF_ICMPNE);
+        } else if (instruction instanceof InstructionBne.Assembled i) {
+            loadValue(code, i.getSourceRegister());
+            loadValue(code, i.getTargetRegister());
+            conditionalBranch(code, next, i.getImmediateAsSigned(), IF_ICMPEQ);
+        } else if (instruction instanceof InstructionBgtz.Assembled i) {
+            loadValue(code, i.getSourceRegister());
+            conditionalBranch(code, next, i.getImmediateAsSigned(), IFLE);
+        } else if (instruction instanceof InstructionBlez.Assembled i) {
+            loadValue(code, i.getSourceRegister());
+            conditionalBranch(code, next, i.getImmediateAsSigned(), IFGT);
+        } else if (instruction instanceof InstructionBltz.Assembled i) {
+            loadValue(code, i.getSourceRegister());
+            conditionalBranch(code, next, i.getImmediateAsSigned(), IFGE);
+        } else if (instruction instanceof InstructionBgez.Assembled i) {
+            loadValue(code, i.getSourceRegister());
+            conditionalBranch(code, next, i.getImmediateAsSigned(), IFLT);
+        } else if (instruction instanceof InstructionJ.Assembled i) {
+            setPc(code, i.getAbsoluteAddress(next));
+        } else if (instruction instanceof InstructionJal.Assembled i) {
+            setConstant(code, 31, next);
+            setPc(code, i.getAbsoluteAddress(next));
+        } else if (instruction instanceof InstructionJalr.Assembled i) {
+            loadPcSlot(code);
+            loadValue(code, i.getSourceRegister());
+            code.op(IASTORE);
+            setConstant(code, i.getDestinationRegister(), next);
+        } else if (instruction instanceof InstructionBc.Assembled i) {
+            setPc(code, next + (i.getImmediateAsSigned() << 2));
+        } else if (instruction instanceof InstructionBalc.Assembled i) {
+            setConstant(code, 31, next);
+            setPc(code, next + (i.getImmediateAsSigned() << 2));
+        } else {
+            if (!translate(code, instruction, address)) return false;
+            setPc(code, next);
+        }
+        code.op(RETURN);
+        return true;
+    }
+
+    private static boolean translate(ClassFileBuilder.CodeBuilder code, AssembledInstruction instruction, int address) {
+        if (instruction instanceof InstructionAddu.Assembled i) {
+            registerOperation(code, i, IADD);
+        } else if (instruction instanceof InstructionSubu.Assembled i) {
+            registerOperation(code, i, ISUB);
+        } else if (instruction instanceof InstructionAnd.Assembled i) {
+            registerOperation(code, i, IAND);
+        } else if (instruction instanceof InstructionOr.Assembled i) {
+            registerOperation(code, i, IOR);
+        } else if (instruction instanceof InstructionXor.Assembled i) {
+            registerOperation(code, i, IXOR);
+        } else if (instruction instanceof InstructionMul.Assembled i) {
+            target(code, i.getDestinationRegister());
+            loadValue(code, i.getSourceRegister());
+            loadValue(code, i.getTargetRegister());
+            code.op(IMUL);
+            store(code, i.getDestinationRegister());
+        } else if (instruction instanceof InstructionSll.Assembled i) {
+            target(code, i.getDestinationRegister());
+            loadValue(code, i.getTargetRegister());
+            code.pushInt(i.getShiftAmount());
+            code.op(ISHL);
+            store(code, i.getDestinationRegister());
+        } else if (instruction instanceof InstructionSllv.Assembled i) {
+            target(code, i.getDestinationRegister());
+            loadValue(code, i.getTargetRegister());
+            loadValue(code, i.getSourceRegister());
+            code.op(ISHL);
+            store(code, i.getDestinationRegister());
+        } else if (instruction instanceof InstructionSlt.Assembled i) {
+            target(code, i.getDestinationRegister());
+            loadValue(code, i.getSourceRegister());
+            loadValue(code, i.getTargetRegister());
+            condition(code, IF_ICMPLT);
+            store(code, i.getDestinationRegister());
+        } else if (instruction instanceof InstructionSltu.Assembled i) {
+            target(code, i.getDestinationRegister());
+            loadValue(code, i.getSourceRegister());
+            loadValue(code, i.getTargetRegister());
+            code.invokeStatic("java/lang/Integer", "compareUnsigned", "(II)I");
+            condition(code, IFLT);
+            store(code, i.getDestinationRegister());
+        } else if (instruction instanceof InstructionAddiu.Assembled i) {
+            immediateOperation(code, i, i.getImmediateAsSigned(), IADD);
+        } else if (instruction instanceof InstructionAndi.Assembled i) {
+            immediateOperation(code, i, i.getImmediate(), IAND);
+        } else if (instruction instanceof InstructionOri.Assembled i) {
+            immediateOperation(code, i, i.getImmediate(), IOR);
+        } else if (instruction instanceof InstructionXori.Assembled i) {
+            immediateOperation(code, i, i.getImmediate(), IXOR);
+        } else if (instruction instanceof InstructionAui.Assembled i) {
+            immediateOperation(code, i, i.getImmediate() << 16, IADD);
+        } else if (instruction instanceof InstructionSlti.Assembled i) {
+            target(code, i.getTargetRegister());
+            loadValue(code, i.getSourceRegister());
+            code.pushInt(i.getImmediateAsSigned());
+            condition(code, IF_ICMPLT);
+            store(code, i.getTargetRegister());
+        } else if (instruction instanceof InstructionLw.Assembled i) {
+            load(code, i, address, "getWord", "(I)I", 0);
+        } else if (instruction instanceof InstructionLb.Assembled i) {
+            load(code, i, address, "getByte", "(I)B", 0);
+        } else if (instruction instanceof InstructionLbu.Assembled i) {
+            load(code, i, address, "getByte", "(I)B", 0xFF);
+        } else if (instruction instanceof InstructionLh.Assembled i) {
+            load(code, i, address, "getHalfword", "(I)S", 0);
+        } else if (instruction instanceof InstructionLhu.Assembled i) {
+            load(code, i, address, "getHalfword", "(I)S", 0xFFFF);
+        } else if (instruction instanceof InstructionSw.Assembled i) {
+            setPc(code, address + 4);
+            code.aload(MEMORY_LOCAL);
+            memoryAddress(code, i);
+            loadValue(code, i.getTargetRegister());
+            code.invokeInterface(MEMORY, "setWord", "(II)V", 2);
+        } else if (instruction instanceof InstructionSb.Assembled i) {
+            setPc(code, address + 4);
+            code.aload(MEMORY_LOCAL);
+            memoryAddress(code, i);
+            loadValue(code, i.getTargetRegister());
+            code.op(I2B);
+            code.invokeInterface(MEMORY, "setByte", "(IB)V", 2);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Consumes the compared values on the top of the stack and sets the program counter
+     * to the branch target if the jump is taken or to the next instruction if not.
+     */
+    private static void conditionalBranch(ClassFileBuilder.CodeBuilder code, int next, int offset, int notTakenOpcode) {
+        var notTaken = new ClassFileBuilder.Label();
+        code.jump(notTakenOpcode, notTaken);
+        setPc(code, next + (offset << 2));
+        code.op(RETURN);
+        code.mark(notTaken);
+        setPc(code, next);
+    }
+
+    private static void registerOperation(ClassFileBuilder.CodeBuilder code, AssembledRInstruction instruction, int opcode) {
+        target(code, instruction.getDestinationRegister());
+        loadValue(code, instruction.getSourceRegister());
+        loadValue(code, instruction.getTargetRegister());
+        code.op(opcode);
+        store(code, instruction.getDestinationRegister());
+    }
+
+    private static void immediateOperation(ClassFileBuilder.CodeBuilder code, AssembledI16Instruction instruction,
+                                           int immediate, int opcode) {
+        target(code, instruction.getTargetRegister());
+        loadValue(code, instruction.getSourceRegister());
+        code.pushInt(immediate);
+        code.op(opcode);
+        store(code, instruction.getTargetRegister());
+    }
+
+    private static void load(ClassFileBuilder.CodeBuilder code, AssembledI16Instruction instruction, int address,
+                             String method, String descriptor, int mask) {
+        setPc(code, address + 4);
+        target(code, instruction.getTargetRegister());
+        code.aload(MEMORY_LOCAL);
+        memoryAddress(code, instruction);
+        code.invokeInterface(MEMORY, method, descriptor, 1);
+        if (mask != 0) {
+            code.pushInt(mask);
+            code.op(IAND);
+        }
+        store(code, instruction.getTargetRegister());
+    }
+
+    private static void memoryAddress(ClassFileBuilder.CodeBuilder code, AssembledI16Instruction instruction) {
+        loadValue(code, instruction.getSourceRegister());
+        code.pushInt(instruction.getImmediateAsSigned());
+        code.op(IADD);
+    }
+
+    /**
+     * Replaces the two ints on the top of the stack with 1 if the comparison succeeds or 0 if not.
+     */
+    private static void condition(ClassFileBuilder.CodeBuilder code, int opcode) {
+        var success = new ClassFileBuilder.Label();
+        var end = new ClassFileBuilder.Label();
+        code.jump(opcode, success);
+        code.pushInt(0);
+        code.jump(GOTO, end);
+        code.mark(success);
+        code.pushInt(1);
+        code.mark(end);
+    }
+
+    /**
+     * Pushes the register file and the slot of the given register to the stack, preparing a {@link #store}.
+     * Writes to the register $zero are discarded, so nothing is pushed for it.
+     */
+    private static void target(ClassFileBuilder.CodeBuilder code, int identifier) {
+        if (identifier == 0) return;
+        code.aload(REGISTER_FILE);
+        code.pushInt(identifier);
+    }
+
+    /**
+     * Stores the value on the top of the stack into the register prepared by {@link #target}.
+     * The value is discarded if the register is $zero.
+     */
+    private static void store(ClassFileBuilder.CodeBuilder code, int identifier) {
+        code.op(identifier == 0 ? POP : IASTORE);
+    }
+
+    private static void loadValue(ClassFileBuilder.CodeBuilder code, int identifier) {
+        code.aload(REGISTER_FILE);
+        code.pushInt(identifier);
+        code.op(IALOAD);
+    }
+
+    private static void loadPcSlot(ClassFileBuilder.CodeBuilder code) {
+        code.aload(REGISTER_FILE);
+        code.iload(PC_SLOT);
+    }
+
+    private static void setConstant(ClassFileBuilder.CodeBuilder code, int identifier, int value) {
+        target(code, identifier);
+        code.pushInt(value);
+        store(code, identifier);
+    }
+
+    private static void setPc(ClassFileBuilder.CodeBuilder code, int value) {
+        loadPcSlot(code);
+        code.pushInt(value);
+        code.op(IASTORE);
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.singlecycle.translation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Small writer of JVM class files used by the {@link BlockTranslator}.
+ * <p>
+ * This writer only supports what the translator needs: a final class with public methods
+ * and a limited set of constant pool entries. Classes are written using the class file version 49,
+ * so the methods don't need stack map frames.
+ */
+class ClassFileBuilder {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int VERSION = 49;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_METHOD_REF = 10;
+    private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream constantPool = new DataOutputStream(constantPoolBytes);
+    private final Map<String, Integer> constants = new HashMap<>();
+    private final List<CodeBuilder> methods = new ArrayList<>();
+    private int constantPoolSize = 1;
+
+    private final int thisClass, superClass;
+    private final int[] interfaces;
+
+    /**
+     * Creates the builder.
+     *
+     * @param name       the internal name of the class.
+     * @param superName  the internal name of the super class.
+     * @param interfaces the internal names of the implemented interfaces.
+     */
+    ClassFileBuilder(String name, String superName, String... interfaces) {
+        this.thisClass = classRef(name);
+        this.superClass = classRef(superName);
+        this.interfaces = new int[interfaces.length];
+        for (int i = 0; i < interfaces.length; i++) {
+            this.interfaces[i] = classRef(interfaces[i]);
+        }
+    }
+
+    /**
+     * Creates a new public method inside the class.
+     *
+     * @param name       the name of the method.
+     * @param descriptor the descriptor of the method.
+     * @param maxStack   the maximum size of the operand stack.
+     * @param maxLocals  the amount of local variables, including the parameters and {@code this}.
+     * @return the {@link CodeBuilder} of the method.
+     */
+    CodeBuilder method(String name, String descriptor, int maxStack, int maxLocals) {
+        var code = new CodeBuilder(utf8(name), utf8(descriptor), maxStack, maxLocals);
+        methods.add(code);
+        return code;
+    }
+
+    /**
+     * Writes the class file.
+     *
+     * @return the bytes of the class file.
+     */
+    byte[] toByteArray() {
+        int codeAttribute = utf8("Code");
+        try {
+            var bytes = new ByteArrayOutputStream();
+            var out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeShort(0);
+            out.writeShort(VERSION);
+            out.writeShort(constantPoolSize);
+            constantPool.flush();
+            constantPoolBytes.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(interfaces.length);
+            for (int i : interfaces) out.writeShort(i);
+            out.writeShort(0); // Fields
+            out.writeShort(methods.size());
+            for (var method : methods) {
+                method.write(out, codeAttribute);
+            }
+            out.writeShort(0); // Attributes
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    int utf8(String value) {
+        return constant("U" + value, out -> {
+            out.writeByte(CONSTANT_UTF8);
+            out.writeUTF(value);
+        });
+    }
+
+    int classRef(String internalName) {
+        int name = utf8(internalName);
+        return constant("C" + internalName, out -> {
+            out.writeByte(CONSTANT_CLASS);
+            out.writeShort(name);
+        });
+    }
+
+    int integer(int value) {
+        return constant("I" + value, out -> {
+            out.writeByte(CONSTANT_INTEGER);
+            out.writeInt(value);
+        });
+    }
+
+    int methodRef(String owner, String name, String descriptor) {
+        return memberRef(CONSTANT_METHOD_REF, owner, name, descriptor);
+    }
+
+    int interfaceMethodRef(String owner, String name, String descriptor) {
+        return memberRef(CONSTANT_INTERFACE_METHOD_REF, owner, name, descriptor);
+    }
+
+    private int memberRef(int tag, String owner, String name, String descriptor) {
+        int ownerIndex = classRef(owner);
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        int nameAndType = constant("N" + name + ":" + descriptor, out -> {
+            out.writeByte(CONSTANT_NAME_AND_TYPE);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+        });
+        return constant("M" + tag + owner + "." + name + ":" + descriptor, out -> {
+            out.writeByte(tag);
+            out.writeShort(ownerIndex);
+            out.writeShort(nameAndType);
+        });
+    }
+
+    private int constant(String key, ConstantWriter writer) {
+        var index = constants.get(key);
+        if (index != null) return index;
+        try {
+            writer.write(constantPool);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        constants.put(key, constantPoolSize);
+        return constantPoolSize++;
+    }
+
+    @FunctionalInterface
+    private interface ConstantWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Writes the bytecode of a method.
+     * <p>
+     * Jumps are written using {@link Label}s, that are resolved when the method is written.
+     */
+    class CodeBuilder {
+
+        static final int ICONST_0 = 0x03;
+        static final int BIPUSH = 0x10;
+        static final int SIPUSH = 0x11;
+        static final int LDC_W = 0x13;
+        static final int ILOAD = 0x15;
+        static final int ALOAD = 0x19;
+        static final int IALOAD = 0x2E;
+        static final int IASTORE = 0x4F;
+        static final int POP = 0x57;
+        static final int IADD = 0x60;
+        static final int ISUB = 0x64;
+        static final int IMUL = 0x68;
+        static final int ISHL = 0x78;
+        static final int IAND = 0x7E;
+        static final int IOR = 0x80;
+        static final int IXOR = 0x82;
+        static final int I2B = 0x91;
+        static final int IFLT = 0x9B;
+        static final int IFGE = 0x9C;
+        static final int IFGT = 0x9D;
+        static final int IFLE = 0x9E;
+        static final int IF_ICMPEQ = 0x9F;
+        static final int IF_ICMPNE = 0xA0;
+        static final int IF_ICMPLT = 0xA1;
+        static final int GOTO = 0xA7;
+        static final int RETURN = 0xB1;
+        static final int INVOKEVIRTUAL = 0xB6;
+        static final int INVOKESPECIAL = 0xB7;
+        static final int INVOKESTATIC = 0xB8;
+        static final int INVOKEINTERFACE = 0xB9;
+
+        private final int name, descriptor, maxStack, maxLocals;
+        private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+        private final List<Integer> jumpPositions = new ArrayList<>();
+        private final List<Label> jumpLabels = new ArrayList<>();
+
+        private CodeBuilder(int name, int descriptor, int maxStack, int maxLocals) {
+            this.name = name;
+            this.descriptor = descriptor;
+            this.maxStack = maxStack;
+            this.maxLocals = maxLocals;
+        }
+
+        void op(int opcode) {
+            code.write(opcode);
+        }
+
+        void iload(int local) {
+            code.write(ILOAD);
+            code.write(local);
+        }
+
+        void aload(int local) {
+            code.write(ALOAD);
+            code.write(local);
+        }
+
+        void pushInt(int value) {
+            if (value >= -1 && value <= 5) {
+                code.write(ICONST_0 + value);
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                code.write(BIPUSH);
+                code.write(value);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                code.write(SIPUSH);
+                writeShort(value);
+            } else {
+                code.write(LDC_W);
+                writeShort(integer(value));
+            }
+        }
+
+        void invokeVirtual(String owner, String name, String descriptor) {
+            code.write(INVOKEVIRTUAL);
+            writeShort(methodRef(owner, name, descriptor));
+        }
+
+        void invokeSpecial(String owner, String name, String descriptor) {
+            code.write(INVOKESPECIAL);
+            writeShort(methodRef(owner, name, descriptor));
+        }
+
+        void invokeStatic(String owner, String name, String descriptor) {
+            code.write(INVOKESTATIC);
+            writeShort(methodRef(owner, name, descriptor));
+        }
+
+        void invokeInterface(String owner, String name, String descriptor, int argumentSlots) {
+            code.write(INVOKEINTERFACE);
+            writeShort(interfaceMethodRef(owner, name, descriptor));
+            code.write(argumentSlots + 1);
+            code.write(0);
+        }
+
+        void jump(int opcode, Label label) {
+            jumpPositions.add(code.size());
+            jumpLabels.add(label);
+            code.write(opcode);
+            writeShort(0);
+        }
+
+        void mark(Label label) {
+            label.position = code.size();
+        }
+
+        int size() {
+            return code.size();
+        }
+
+        private void writeShort(int value) {
+            code.write(value >> 8);
+            code.write(value);
+        }
+
+        private void write(DataOutputStream out, int codeAttribute) throws IOException {
+            byte[] bytes = code.toByteArray();
+            for (int i = 0; i < jumpPositions.size(); i++) {
+                int position = jumpPositions.get(i);
+                int offset = jumpLabels.get(i).position - position;
+                bytes[position + 1] = (byte) (offset >> 8);
+                bytes[position + 2] = (byte) offset;
+            }
+
+            out.writeShort(ACC_PUBLIC);
+            out.writeShort(name);
+            out.writeShort(descriptor);
+            out.writeShort(1);
+            out.writeShort(codeAttribute);
+            out.writeInt(12 + bytes.length);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            out.writeShort(0); // Exception table
+            out.writeShort(0); // Attributes
+        }
+    }
+
+    /**
+     * Represents a position inside the bytecode of a method.
+     */
+    static class Label {
+        private int position = -1;
+    }
+}
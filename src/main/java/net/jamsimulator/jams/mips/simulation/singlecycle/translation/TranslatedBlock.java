@@ -0,0 +1,52 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.singlecycle.translation;
+
+import net.jamsimulator.jams.mips.memory.Memory;
+
+/**
+ * Represents a {@link net.jamsimulator.jams.mips.simulation.singlecycle.SingleCycleBasicBlock basic block}
+ * translated to JVM bytecode by a {@link BlockTranslator}.
+ * <p>
+ * Executing a translated block has the same effects as executing all its instructions in order.
+ * The program counter is updated before every instruction that may throw a
+ * {@link net.jamsimulator.jams.mips.interrupt.MIPSInterruptException} and at the end of the block.
+ * This allows the simulation to find the instruction that has failed: it's the one located at
+ * the current program counter minus 4.
+ */
+public interface TranslatedBlock {
+
+    /**
+     * Executes the block.
+     *
+     * @param registerFile       the primitive register file of the simulation. General purpose registers
+     *                           are indexed by their identifiers.
+     * @param programCounterSlot the slot of the program counter inside the register file.
+     * @param memory             the memory of the simulation.
+     * @see net.jamsimulator.jams.mips.register.Registers#getRegisterFile()
+     */
+    void execute(int[] registerFile, int programCounterSlot, Memory memory);
+
+}
@@ -0,0 +1,114 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.update;
+
+import net.jamsimulator.jams.mips.register.Registers;
+
+/**
+ * Holds a consistent copy of the state of a simulation read from a {@link SimulationSnapshotBuffer}.
+ * <p>
+ * Snapshots are mutable and meant to be reused by the same reader: every successful
+ * {@link SimulationSnapshotBuffer#read(SimulationSnapshot)} overwrites the previous contents.
+ */
+public class SimulationSnapshot {
+
+    private final int programCounterSlot;
+    private int[] registers;
+    private int[] pending;
+    private long cycles;
+    private long executedInstructions;
+    private long version;
+
+    /**
+     * Creates an empty snapshot for the given {@link Registers}.
+     *
+     * @param registers the {@link Registers} of the simulation.
+     */
+    public SimulationSnapshot(Registers registers) {
+        this.registers = new int[registers.getRegisterFile().length];
+        this.pending = new int[this.registers.length];
+        this.programCounterSlot = registers.getProgramCounterSlot();
+    }
+
+    /**
+     * Returns the copy of the {@link Registers#getRegisterFile() register file}.
+     * This array must not be modified. It may be reused by later reads, so copy it if you need to keep it.
+     *
+     * @return the register values.
+     */
+    public int[] getRegisters() {
+        return registers;
+    }
+
+    /**
+     * Returns the value of the program counter.
+     *
+     * @return the program counter.
+     */
+    public int getProgramCounter() {
+        return registers[programCounterSlot];
+    }
+
+    /**
+     * Returns the amount of executed cycles.
+     *
+     * @return the cycles.
+     */
+    public long getCycles() {
+        return cycles;
+    }
+
+    /**
+     * Returns the amount of executed instructions.
+     *
+     * @return the executed instructions.
+     */
+    public long getExecutedInstructions() {
+        return executedInstructions;
+    }
+
+    /**
+     * Returns the version of this snapshot. The version is incremented every time the simulation
+     * writes a snapshot. A snapshot that has never been read has the version 0.
+     *
+     * @return the version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    int[] getPending() {
+        return pending;
+    }
+
+    void commit(long cycles, long executedInstructions, long version) {
+        var swap = registers;
+        registers = pending;
+        pending = swap;
+        this.cycles = cycles;
+        this.executedInstructions = executedInstructions;
+        this.version = version;
+    }
+}
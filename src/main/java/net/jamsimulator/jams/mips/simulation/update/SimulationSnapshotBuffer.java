@@ -0,0 +1,128 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.update;
+
+import net.jamsimulator.jams.mips.register.Registers;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Publishes snapshots of a running simulation from the simulation thread to other threads.
+ * <p>
+ * This buffer is a sequence lock: the simulation thread is the only writer and readers only use optimistic reads,
+ * retrying if a write happened while they were copying. Readers never block the simulation thread,
+ * and readers never see a snapshot mixing values of two different writes.
+ * <p>
+ * Writing a snapshot copies the whole register file, so simulations only write one when a reader
+ * has {@link #request() requested} it.
+ */
+public class SimulationSnapshotBuffer {
+
+    /**
+     * The amount of optimistic reads {@link #read(SimulationSnapshot)} tries before giving up.
+     */
+    public static final int MAX_READ_ATTEMPTS = 16;
+
+    private final StampedLock lock = new StampedLock();
+    private final int[] registers;
+    private long cycles;
+    private long executedInstructions;
+    private long version;
+
+    private volatile boolean requested;
+
+    /**
+     * Creates a buffer for the given {@link Registers}.
+     *
+     * @param registers the {@link Registers} of the simulation.
+     */
+    public SimulationSnapshotBuffer(Registers registers) {
+        this.registers = new int[registers.getRegisterFile().length];
+    }
+
+    /**
+     * Asks the simulation to write a new snapshot the next time it can.
+     */
+    public void request() {
+        requested = true;
+    }
+
+    /**
+     * Returns whether a reader has requested a new snapshot.
+     *
+     * @return whether a snapshot is requested.
+     */
+    public boolean isRequested() {
+        return requested;
+    }
+
+    /**
+     * Writes a new snapshot. This method must only be called by the simulation thread.
+     *
+     * @param registerFile         the {@link Registers#getRegisterFile() register file}.
+     * @param cycles               the executed cycles.
+     * @param executedInstructions the executed instructions.
+     */
+    public void write(int[] registerFile, long cycles, long executedInstructions) {
+        requested = false;
+        long stamp = lock.writeLock();
+        try {
+            System.arraycopy(registerFile, 0, registers, 0, registers.length);
+            this.cycles = cycles;
+            this.executedInstructions = executedInstructions;
+            version++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copies the last written snapshot into the given {@link SimulationSnapshot}.
+     * <p>
+     * If the snapshot couldn't be read after {@link #MAX_READ_ATTEMPTS} attempts because the simulation
+     * kept writing, the given snapshot keeps the values it had before this call.
+     *
+     * @param target the {@link SimulationSnapshot} to fill.
+     * @return whether the snapshot was read.
+     */
+    public boolean read(SimulationSnapshot target) {
+        var values = target.getPending();
+        for (int i = 0; i < MAX_READ_ATTEMPTS; i++) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                System.arraycopy(registers, 0, values, 0, values.length);
+                long cycles = this.cycles;
+                long executedInstructions = this.executedInstructions;
+                long version = this.version;
+                if (lock.validate(stamp)) {
+                    target.commit(cycles, executedInstructions, version);
+                    return true;
+                }
+            }
+            Thread.onSpinWait();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.update;
+
+import net.jamsimulator.jams.mips.memory.MemoryWriteTracker;
+import net.jamsimulator.jams.mips.register.Registers;
+
+import java.util.BitSet;
+
+/**
+ * Represents the changes a simulation made between two publications of a {@link SimulationUpdateBus}.
+ * <p>
+ * Registers are represented by their slot inside the {@link Registers#getRegisterFile() register file}.
+ * Memory pages are represented by their index: the page {@code n} starts at the address
+ * {@code n << MemoryWriteTracker.PAGE_SHIFT}.
+ * <p>
+ * Register values and counters come from a single {@link SimulationSnapshot} while the simulation is running,
+ * so they are consistent with each other. Memory pages are only marked: views must read their contents.
+ * <p>
+ * Updates are immutable and shared by all subscribers of the bus.
+ */
+public class SimulationUpdate {
+
+    private final BitSet dirtyRegisters;
+    private final int[] registers;
+    private final BitSet dirtyPages;
+    private final long cycles;
+    private final long executedInstructions;
+
+    /**
+     * Creates the update.
+     *
+     * @param dirtyRegisters       the slots of the modified registers.
+     * @param registers            the values of all registers of the register file. This array must not be modified.
+     * @param dirtyPages           the indices of the modified memory pages.
+     * @param cycles               the cycles executed by the simulation when the update was collected.
+     * @param executedInstructions the instructions executed by the simulation when the update was collected.
+     */
+    public SimulationUpdate(BitSet dirtyRegisters, int[] registers, BitSet dirtyPages,
+                            long cycles, long executedInstructions) {
+        this.dirtyRegisters = dirtyRegisters;
+        this.registers = registers;
+        this.dirtyPages = dirtyPages;
+        this.cycles = cycles;
+        this.executedInstructions = executedInstructions;
+    }
+
+    /**
+     * Returns the cycles executed by the simulation when this update was collected.
+     *
+     * @return the cycles.
+     */
+    public long getCycles() {
+        return cycles;
+    }
+
+    /**
+     * Returns the instructions executed by the simulation when this update was collected.
+     *
+     * @return the executed instructions.
+     */
+    public long getExecutedInstructions() {
+        return executedInstructions;
+    }
+
+    /**
+     * Returns whether this update contains no register or memory changes.
+     *
+     * @return whether this update is empty.
+     */
+    public boolean isEmpty() {
+        return dirtyRegisters.isEmpty() && dirtyPages.isEmpty();
+    }
+
+    /**
+     * Returns whether the register at the given register file slot was modified.
+     *
+     * @param slot the slot.
+     * @return whether the register was modified.
+     * @see Registers#getRegisterFileSlot(net.jamsimulator.jams.mips.register.Register)
+     */
+    public boolean isRegisterDirty(int slot) {
+        return slot >= 0 && dirtyRegisters.get(slot);
+    }
+
+    /**
+     * Returns the value the register at the given register file slot had when this update was collected.
+     *
+     * @param slot the slot.
+     * @return the value.
+     * @see Registers#getRegisterFileSlot(net.jamsimulator.jams.mips.register.Register)
+     */
+    public int getRegisterValue(int slot) {
+        return registers[slot];
+    }
+
+    /**
+     * Returns whether any register was modified.
+     *
+     * @return whether any register was modified.
+     */
+    public boolean hasDirtyRegisters() {
+        return !dirtyRegisters.isEmpty();
+    }
+
+    /**
+     * Returns whether the memory page containing the given address was modified.
+     *
+     * @param address the address.
+     * @return whether the page was modified.
+     */
+    public boolean isPageDirty(int address) {
+        return dirtyPages.get(address >>> MemoryWriteTracker.PAGE_SHIFT);
+    }
+
+    /**
+     * Returns whether any memory page intersecting the given range was modified.
+     * Addresses are compared as unsigned numbers.
+     *
+     * @param from the first address of the range.
+     * @param to   the last address of the range, inclusive.
+     * @return whether any page inside the range was modified.
+     */
+    public boolean isRangeDirty(int from, int to) {
+        if (Integer.compareUnsigned(from, to) > 0) return false;
+        int first = from >>> MemoryWriteTracker.PAGE_SHIFT;
+        int last = to >>> MemoryWriteTracker.PAGE_SHIFT;
+        int next = dirtyPages.nextSetBit(first);
+        return next != -1 && next <= last;
+    }
+}
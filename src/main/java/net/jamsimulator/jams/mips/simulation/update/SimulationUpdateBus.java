@@ -0,0 +1,177 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.update;
+
+import net.jamsimulator.jams.mips.memory.MemoryDirtyPages;
+import net.jamsimulator.jams.mips.memory.MemoryWriteTracker;
+import net.jamsimulator.jams.mips.memory.SimpleMemory;
+import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
+import net.jamsimulator.jams.mips.simulation.event.SimulationUpdateEvent;
+
+import java.util.BitSet;
+import java.util.Optional;
+
+/**
+ * Collects the changes a running {@link MIPSSimulation} makes and publishes them as coalesced
+ * {@link SimulationUpdate}s.
+ * <p>
+ * While the bus is enabled, the simulation thread marks the written memory pages in a {@link MemoryDirtyPages}
+ * set installed in the {@link MemoryWriteTracker} of the bottom memory. Registers are compared with the values
+ * published last time, as the register file is small enough to be checked completely on every publication.
+ * <p>
+ * While the simulation is running, register values and counters are read from its
+ * {@link SimulationSnapshotBuffer}, so each update shows a state the simulation actually had,
+ * without synchronizing with the simulation thread. Each collection requests the snapshot used by the next one.
+ * <p>
+ * Views register their listeners on the simulation and receive a {@link SimulationUpdateEvent} every time
+ * {@link #publish()} finds changes. The caller of {@link #publish()} decides the publication rate,
+ * so the cost of the views doesn't depend on the amount of writes the simulation performs.
+ * <p>
+ * Writes served by a cache without reaching the bottom memory are not marked.
+ */
+public class SimulationUpdateBus {
+
+    private final MIPSSimulation<?> simulation;
+    private final MemoryWriteTracker tracker;
+    private final MemoryDirtyPages dirtyPages;
+    private final SimulationSnapshot snapshot;
+
+    private int[] publishedRegisters;
+    private long publishedCycles, publishedInstructions, publishedVersion;
+    private boolean enabled;
+
+    /**
+     * Creates the bus. The bus starts disabled.
+     *
+     * @param simulation the {@link MIPSSimulation} whose changes are published.
+     */
+    public SimulationUpdateBus(MIPSSimulation<?> simulation) {
+        this.simulation = simulation;
+        this.tracker = simulation.getMemory().getBottomMemory() instanceof SimpleMemory simple
+                ? simple.getWriteTracker() : null;
+        this.dirtyPages = new MemoryDirtyPages();
+        this.snapshot = new SimulationSnapshot(simulation.getRegisters());
+    }
+
+    /**
+     * Returns the {@link MIPSSimulation} whose changes are published by this bus.
+     *
+     * @return the {@link MIPSSimulation}.
+     */
+    public MIPSSimulation<?> getSimulation() {
+        return simulation;
+    }
+
+    /**
+     * Returns whether this bus is collecting changes.
+     *
+     * @return whether this bus is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables this bus.
+     * <p>
+     * Enabling the bus takes the current register values as the published ones and starts marking memory pages.
+     * Disabling it stops marking pages, removing any cost from the simulation thread.
+     *
+     * @param enabled whether this bus should collect changes.
+     */
+    public void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) return;
+        this.enabled = enabled;
+        if (enabled) {
+            publishedRegisters = simulation.getRegisters().getRegisterFile().clone();
+            publishedCycles = simulation.getCycles();
+            publishedInstructions = simulation.getExecutedInstructions();
+            publishedVersion = snapshot.getVersion();
+            simulation.getSnapshotBuffer().request();
+            dirtyPages.drainTo(new BitSet());
+            if (tracker != null) tracker.setDirtyPages(dirtyPages);
+        } else if (tracker != null && tracker.getDirtyPages() == dirtyPages) {
+            tracker.setDirtyPages(null);
+        }
+    }
+
+    /**
+     * Collects the changes made since the last collection.
+     *
+     * @return the {@link SimulationUpdate}, or empty if this bus is disabled or there are no changes.
+     */
+    public Optional<SimulationUpdate> collect() {
+        if (!enabled) return Optional.empty();
+
+        int[] values = null;
+        if (simulation.isRunning()) {
+            var buffer = simulation.getSnapshotBuffer();
+            if (buffer.read(snapshot) && snapshot.getVersion() != publishedVersion) {
+                publishedVersion = snapshot.getVersion();
+                publishedCycles = snapshot.getCycles();
+                publishedInstructions = snapshot.getExecutedInstructions();
+                values = snapshot.getRegisters();
+            }
+            buffer.request();
+        } else {
+            // The simulation thread is not modifying the registers: they can be read directly.
+            publishedCycles = simulation.getCycles();
+            publishedInstructions = simulation.getExecutedInstructions();
+            values = simulation.getRegisters().getRegisterFile();
+        }
+
+        var registers = new BitSet(publishedRegisters.length);
+        if (values != null) {
+            for (int i = 0; i < values.length; i++) {
+                int value = values[i];
+                if (value != publishedRegisters[i]) {
+                    publishedRegisters[i] = value;
+                    registers.set(i);
+                }
+            }
+        }
+
+        var pages = new BitSet();
+        dirtyPages.drainTo(pages);
+
+        if (registers.isEmpty() && pages.isEmpty()) return Optional.empty();
+        return Optional.of(new SimulationUpdate(registers, publishedRegisters.clone(), pages,
+                publishedCycles, publishedInstructions));
+    }
+
+    /**
+     * Collects the changes made since the last collection and, if there are any,
+     * calls a {@link SimulationUpdateEvent} on the simulation.
+     * <p>
+     * Listeners are called on the thread invoking this method.
+     *
+     * @return whether an update was published.
+     */
+    public boolean publish() {
+        var update = collect();
+        update.ifPresent(it -> simulation.callEvent(new SimulationUpdateEvent(simulation, it)));
+        return update.isPresent();
+    }
+}
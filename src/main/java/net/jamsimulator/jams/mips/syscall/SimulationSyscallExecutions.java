@@ -25,6 +25,7 @@
 package net.jamsimulator.jams.mips.syscall;
 
 import net.jamsimulator.jams.mips.instruction.execution.MultiCycleExecution;
+import net.jamsimulator.jams.mips.memory.SimpleMemory;
 import net.jamsimulator.jams.mips.register.Register;
 import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
 import net.jamsimulator.jams.mips.syscall.defaults.SyscallExecutionRunExceptionHandler;
@@ -60,7 +61,13 @@ public class SimulationSyscallExecutions {
         if (v0 == null) throw new IllegalStateException("Register v0 not found");
 
         SyscallExecution execution = executions.getOrDefault(v0.getValue(), defaultExecution);
-        execution.execute(simulation);
+        var memory = observedMemory(simulation);
+        boolean observed = memory != null && memory.observeAccesses(false);
+        try {
+            execution.execute(simulation);
+        } finally {
+            if (observed) memory.observeAccesses(true);
+        }
     }
 
     public void manageSyscallRequireAndLock(MultiCycleExecution<?, ?> execution) {
@@ -73,7 +80,22 @@ public class SimulationSyscallExecutions {
     public Map<Integer, Integer> executeSyscallMultiCycle(MultiCycleExecution<?, ?> execution) {
         var value = execution.value(2);
         var syscall = executions.getOrDefault(value, defaultExecution);
-        return syscall.executeMultiCycle(execution);
+        var memory = observedMemory(execution.getSimulation());
+        boolean observed = memory != null && memory.observeAccesses(false);
+        try {
+            return syscall.executeMultiCycle(execution);
+        } finally {
+            if (observed) memory.observeAccesses(true);
+        }
+    }
+
+    /**
+     * Returns the {@link SimpleMemory} whose accesses are observed by watchpoints and access listeners.
+     * <p>
+     * The accesses made by system calls are not made by the program, so they are not observed.
+     */
+    private static SimpleMemory observedMemory(MIPSSimulation<?> simulation) {
+        return simulation.getMemory().getBottomMemory() instanceof SimpleMemory simple ? simple : null;
     }
 
 }
@@ -173,13 +173,13 @@ public class SyscallExecutionOpenFile implements SyscallExecution {
 
     private String getString(MIPSSimulation<?> simulation, int address) {
         Memory memory = simulation.getMemory();
-        char[] chars = new char[1024];
-        int amount = 0;
-        char c;
-        while ((c = (char) memory.getByte(address++)) != '\0' && amount < 1024) {
-            chars[amount++] = c;
+        byte[] bytes = new byte[1024];
+        int amount = memory.getNullTerminatedBytes(address, bytes, 0, bytes.length);
+        char[] chars = new char[amount];
+        for (int i = 0; i < amount; i++) {
+            chars[i] = (char) bytes[i];
         }
-        return new String(chars, 0, amount);
+        return new String(chars);
     }
 
     public static class Builder extends SyscallExecutionBuilder<SyscallExecutionOpenFile> {
@@ -37,6 +37,7 @@ import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
 import net.jamsimulator.jams.mips.syscall.SyscallExecution;
 import net.jamsimulator.jams.mips.syscall.SyscallExecutionBuilder;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.Map;
@@ -83,16 +84,11 @@ public class SyscallExecutionPrintString implements SyscallExecution {
     }
 
     private void print(Memory memory, Log log, int address) {
-        char[] chars = new char[maxChars];
-        int amount = 0;
-        int c;
-        while ((c = memory.getByte(address++)) != '\0' && amount < maxChars) {
-            if (c < 0) c += 256;
-            chars[amount++] = (char) c;
-        }
+        byte[] bytes = new byte[maxChars];
+        int amount = memory.getNullTerminatedBytes(address, bytes, 0, maxChars);
 
         if (amount > 0) {
-            String string = new String(chars, 0, amount);
+            String string = new String(bytes, 0, amount, StandardCharsets.ISO_8859_1);
             log.print(string);
         }
 
@@ -82,9 +82,7 @@ public class SyscallExecutionReadFile implements SyscallExecution {
             byte[] read = file.read(mBRegister.getValue());
             int address = addressRegister.getValue();
             Memory memory = simulation.getMemory();
-            for (byte b : read) {
-                memory.setByte(address++, b);
-            }
+            memory.setBytes(address, read, 0, read.length);
 
             resultRegister.setValue(read.length);
 
@@ -111,9 +109,7 @@ public class SyscallExecutionReadFile implements SyscallExecution {
         try {
             byte[] read = file.read(maxBytes);
             Memory memory = simulation.getMemory();
-            for (byte b : read) {
-                memory.setByte(address++, b);
-            }
+            memory.setBytes(address, read, 0, read.length);
 
             return Map.of(resultRegister, read.length);
         } catch (RuntimeException ex) {
@@ -74,14 +74,7 @@ public class SyscallExecutionReadString implements SyscallExecution {
         Memory memory = simulation.getMemory();
         int address = addressReg.getValue();
 
-        int amount = 0;
-        for (char c : value.toCharArray()) {
-            if (amount >= maxChars - 1) break;
-            memory.setByte(address, (byte) c);
-            amount++;
-            address++;
-        }
-        memory.setByte(address, (byte) 0);
+        writeString(memory, address, value, maxChars);
 
         simulation.getLog().printDone(value);
         if (lineJump) simulation.getLog().println();
@@ -100,20 +93,22 @@ public class SyscallExecutionReadString implements SyscallExecution {
 
         Memory memory = simulation.getMemory();
 
-        int amount = 0;
-        for (char c : value.toCharArray()) {
-            if (amount >= maxChars - 1) break;
-            memory.setByte(address, (byte) c);
-            amount++;
-            address++;
-        }
-        memory.setByte(address, (byte) 0);
+        writeString(memory, address, value, maxChars);
 
         simulation.getLog().printDone(value);
         if (lineJump) simulation.getLog().println();
         return Collections.emptyMap();
     }
 
+    private static void writeString(Memory memory, int address, String value, int maxChars) {
+        int amount = Math.min(value.length(), maxChars - 1);
+        byte[] bytes = new byte[amount + 1];
+        for (int i = 0; i < amount; i++) {
+            bytes[i] = (byte) value.charAt(i);
+        }
+        memory.setBytes(address, bytes, 0, bytes.length);
+    }
+
     @Override
     public Set<Integer> getRequiredRegisters() {
         return requiredRegisters;
@@ -26,7 +26,6 @@ package net.jamsimulator.jams.mips.syscall.defaults;
 
 import net.jamsimulator.jams.manager.ResourceProvider;
 import net.jamsimulator.jams.mips.instruction.execution.MultiCycleExecution;
-import net.jamsimulator.jams.mips.interrupt.InterruptCause;
 import net.jamsimulator.jams.mips.interrupt.MIPSInterruptException;
 import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
 import net.jamsimulator.jams.mips.syscall.SyscallExecution;
@@ -42,12 +41,12 @@ public class SyscallExecutionRunExceptionHandler implements SyscallExecution {
 
     @Override
     public void execute(MIPSSimulation<?> simulation) {
-        throw new MIPSInterruptException(InterruptCause.SYSCALL_EXCEPTION);
+        throw MIPSInterruptException.SYSCALL;
     }
 
     @Override
     public Map<Integer, Integer> executeMultiCycle(MultiCycleExecution<?, ?> execution) {
-        throw new MIPSInterruptException(InterruptCause.SYSCALL_EXCEPTION);
+        throw MIPSInterruptException.SYSCALL;
     }
 
     @Override
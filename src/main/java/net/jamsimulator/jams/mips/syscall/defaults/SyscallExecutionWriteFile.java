@@ -79,11 +79,7 @@ public class SyscallExecutionWriteFile implements SyscallExecution {
 
         Memory memory = simulation.getMemory();
         byte[] bytes = new byte[amountRegister.getValue()];
-        int address = addressRegister.getValue();
-
-        for (int i = 0; i < bytes.length; i++) {
-            bytes[i] = memory.getByte(address++);
-        }
+        memory.getBytes(addressRegister.getValue(), bytes, 0, bytes.length);
 
         try {
             file.write(bytes);
@@ -109,10 +105,7 @@ public class SyscallExecutionWriteFile implements SyscallExecution {
 
         Memory memory = simulation.getMemory();
         byte[] bytes = new byte[amount];
-
-        for (int i = 0; i < bytes.length; i++) {
-            bytes[i] = memory.getByte(address++);
-        }
+        memory.getBytes(address, bytes, 0, bytes.length);
 
         try {
             file.write(bytes);
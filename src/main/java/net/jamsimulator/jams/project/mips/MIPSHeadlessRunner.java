@@ -0,0 +1,357 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.project.mips;
+
+import net.jamsimulator.jams.configuration.Configuration;
+import net.jamsimulator.jams.configuration.RootConfiguration;
+import net.jamsimulator.jams.configuration.format.ConfigurationFormat;
+import net.jamsimulator.jams.configuration.format.ConfigurationFormatJSON;
+import net.jamsimulator.jams.gui.util.log.Log;
+import net.jamsimulator.jams.gui.util.log.PrintStreamLog;
+import net.jamsimulator.jams.manager.Manager;
+import net.jamsimulator.jams.manager.ManagerResource;
+import net.jamsimulator.jams.mips.assembler.MIPS32Assembler;
+import net.jamsimulator.jams.mips.assembler.exception.AssemblerException;
+import net.jamsimulator.jams.mips.directive.set.DirectiveSet;
+import net.jamsimulator.jams.mips.instruction.set.InstructionSet;
+import net.jamsimulator.jams.mips.memory.Memory;
+import net.jamsimulator.jams.mips.memory.MemoryAccessListener;
+import net.jamsimulator.jams.mips.memory.SimpleMemory;
+import net.jamsimulator.jams.mips.memory.cache.Cache;
+import net.jamsimulator.jams.mips.memory.cache.analysis.StackDistanceAnalyzer;
+import net.jamsimulator.jams.mips.memory.cache.analysis.StackDistanceResult;
+import net.jamsimulator.jams.mips.memory.trace.MemoryTraceReplayer;
+import net.jamsimulator.jams.mips.memory.trace.MemoryTraceWriter;
+import net.jamsimulator.jams.mips.register.builder.RegistersBuilder;
+import net.jamsimulator.jams.mips.simulation.MIPSSimulationData;
+import net.jamsimulator.jams.mips.simulation.MIPSSimulationSource;
+import net.jamsimulator.jams.project.ProjectData;
+import net.jamsimulator.jams.project.mips.configuration.MIPSSimulationConfiguration;
+import net.jamsimulator.jams.project.mips.configuration.MIPSSimulationConfigurationPresets;
+import net.jamsimulator.jams.utils.ArgumentsData;
+import net.jamsimulator.jams.utils.RawFileData;
+import org.json.JSONArray;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Assembles and executes a MIPS program without the JavaFX application.
+ * <p>
+ * The program can be given as a JAMS project folder, as a list of loose files or both.
+ * The project's data is read directly from its metadata folder: the project is never opened,
+ * so no editor indices or GUI elements are created.
+ * <p>
+ * Simulations executed by this runner have events and undo disabled. Their output is sent
+ * to the standard output using a {@link PrintStreamLog}.
+ * <p>
+ * If a cache sweep is requested, the configured caches are removed and the reference stream of the program
+ * is analyzed by a {@link StackDistanceAnalyzer}. The hit rates of every LRU cache in the requested range
+ * are printed when the simulation finishes.
+ * <p>
+ * The memory accesses of the simulation can also be recorded into a trace using a {@link MemoryTraceWriter}.
+ * If a trace is given to replay, the program is not simulated: the trace is replayed through the cache
+ * hierarchies of the project's configurations in parallel and their stats are printed.
+ */
+public class MIPSHeadlessRunner {
+
+    /**
+     * The exit code returned when the program couldn't be assembled or executed.
+     */
+    public static final int ERROR_EXIT_CODE = -1;
+
+    /**
+     * Assembles and executes the program described by the given arguments.
+     * <p>
+     * This method blocks until the simulation finishes.
+     *
+     * @param arguments the arguments given to JAMS.
+     * @return the exit code of the simulated program, or {@link #ERROR_EXIT_CODE} if the arguments are invalid
+     * or the program couldn't be executed.
+     */
+    public static int run(ArgumentsData arguments) {
+        var log = new PrintStreamLog(System.out);
+
+        if (!arguments.getErrors().isEmpty()) {
+            arguments.getErrors().forEach(error -> log.printErrorLn("Error! " + error));
+            return ERROR_EXIT_CODE;
+        }
+
+        RootConfiguration projectData = null;
+        File workingDirectory = new File("").getAbsoluteFile();
+        var files = new LinkedList<RawFileData>();
+
+        try {
+            var project = arguments.getProject().orElse(null);
+            if (project != null) {
+                var metadataFolder = new File(project, ProjectData.METADATA_FOLDER_NAME);
+                if (!metadataFolder.isDirectory()) {
+                    log.printErrorLn("Error! " + project.getAbsolutePath() + " is not a JAMS project!");
+                    return ERROR_EXIT_CODE;
+                }
+
+                projectData = new RootConfiguration(
+                        new File(metadataFolder, ProjectData.METADATA_DATA_NAME),
+                        Manager.of(ConfigurationFormat.class).getOrNull(ConfigurationFormatJSON.NAME)
+                );
+                workingDirectory = new File(project, ProjectData.FILES_FOLDER_NAME);
+                loadProjectFiles(project, new File(metadataFolder, MIPSProjectData.GLOBAL_INDEX_FILE_NAME), files);
+            }
+
+            for (File file : arguments.getFilesToAssemble()) {
+                files.add(new RawFileData(file));
+            }
+        } catch (IOException ex) {
+            log.printErrorLn("Error! Couldn't load the files to assemble: " + ex.getMessage());
+            return ERROR_EXIT_CODE;
+        }
+
+        var replayTrace = arguments.getReplayTrace().orElse(null);
+        if (replayTrace != null) {
+            return replayTrace(replayTrace, projectData, arguments.getConfiguration().orElse(null), log);
+        }
+
+        if (files.isEmpty()) {
+            log.printErrorLn("Error! There are no files to assemble!");
+            return ERROR_EXIT_CODE;
+        }
+
+        var configuration = findConfiguration(projectData, arguments.getConfiguration().orElse(null), log);
+        if (configuration == null) return ERROR_EXIT_CODE;
+
+        // Headless simulations never need events: nobody is listening.
+        configuration = configuration.copy();
+        configuration.setNodeValue(MIPSSimulationConfigurationPresets.CALL_EVENTS, false);
+        configuration.setNodeValue(MIPSSimulationConfigurationPresets.UNDO_ENABLED, false);
+
+        InstructionSet instructionSet = getOrDefault(projectData, MIPSProjectData.NODE_INSTRUCTIONS, InstructionSet.class);
+        DirectiveSet directiveSet = getOrDefault(projectData, MIPSProjectData.NODE_DIRECTIVES, DirectiveSet.class);
+        RegistersBuilder registersBuilder = getOrDefault(projectData, MIPSProjectData.NODE_REGISTERS, RegistersBuilder.class);
+
+        var cacheSweep = arguments.getCacheSweep().orElse(null);
+        var recordTrace = arguments.getRecordTrace().orElse(null);
+        var memory = configuration.generateNewMemory();
+        if (cacheSweep != null || recordTrace != null) memory = memory.getBottomMemory();
+
+        try {
+            var assembler = new MIPS32Assembler(
+                    files,
+                    instructionSet,
+                    directiveSet,
+                    registersBuilder.createRegisters(instructionSet),
+                    memory,
+                    null
+            );
+            assembler.assemble();
+
+            var simulationData = new MIPSSimulationData(
+                    configuration,
+                    workingDirectory,
+                    log,
+                    new MIPSSimulationSource(assembler.getOriginals(), assembler.getAllLabels(), assembler.getGlobalScope()),
+                    assembler.getInstructionSet(),
+                    assembler.getRegisters(),
+                    assembler.getMemory(),
+                    assembler.getStackBottom(),
+                    assembler.getKernelStackBottom()
+            );
+
+            // The simulation is never reset, so there's no need to save the initial state.
+            var simulation = assembler.createSimulation(
+                    configuration.getNodeValue(MIPSSimulationConfigurationPresets.ARCHITECTURE), simulationData);
+
+            StackDistanceAnalyzer analyzer = null;
+            MemoryTraceWriter traceWriter = null;
+            try {
+                if (memory instanceof SimpleMemory simpleMemory) {
+                    if (cacheSweep != null) {
+                        try {
+                            analyzer = new StackDistanceAnalyzer(1, cacheSweep[0], 1, cacheSweep[1], cacheSweep[2]);
+                        } catch (IllegalArgumentException ex) {
+                            log.printErrorLn("Error! Invalid cache sweep: " + ex.getMessage());
+                            return ERROR_EXIT_CODE;
+                        }
+                    }
+                    if (recordTrace != null) {
+                        traceWriter = new MemoryTraceWriter(recordTrace.toPath(),
+                                simulation::getAccessingInstructionAddress);
+                    }
+                    simpleMemory.setAccessListener(joinListeners(analyzer, traceWriter));
+                }
+
+                simulation.executeAll();
+                simulation.waitForExecutionFinish();
+            } finally {
+                // The trace must be closed even if the simulation fails: it flushes the buffered records.
+                if (traceWriter != null) traceWriter.close();
+            }
+
+            if (traceWriter != null) {
+                log.printDoneLn("Recorded " + traceWriter.getRecords() + " memory accesses into "
+                        + recordTrace.getAbsolutePath() + ".");
+            }
+            if (analyzer != null) printCacheSweep(analyzer, log);
+            return simulation.getExitCode();
+        } catch (AssemblerException ex) {
+            log.printErrorLn("Error! " + ex.getMessage());
+            return ERROR_EXIT_CODE;
+        } catch (InterruptedException ex) {
+            log.printErrorLn("Error! The simulation was interrupted.");
+            return ERROR_EXIT_CODE;
+        } catch (IOException ex) {
+            log.printErrorLn("Error! Couldn't record the memory trace: " + ex.getMessage());
+            return ERROR_EXIT_CODE;
+        }
+    }
+
+    private static int replayTrace(File trace, RootConfiguration projectData, String name, Log log) {
+        List<MIPSSimulationConfiguration> configurations;
+        if (projectData == null || name != null) {
+            var configuration = findConfiguration(projectData, name, log);
+            if (configuration == null) return ERROR_EXIT_CODE;
+            configurations = List.of(configuration);
+        } else {
+            configurations = findAllConfigurations(projectData);
+            if (configurations.isEmpty()) {
+                log.printErrorLn("Error! The project has no configurations!");
+                return ERROR_EXIT_CODE;
+            }
+        }
+
+        var hierarchies = new ArrayList<CompletableFuture<Memory>>();
+        try (var replayer = new MemoryTraceReplayer(trace.toPath())) {
+            for (var configuration : configurations) {
+                hierarchies.add(replayer.submit(configuration.generateNewMemory()));
+            }
+
+            for (int i = 0; i < configurations.size(); i++) {
+                printReplay(configurations.get(i).getName(), hierarchies.get(i).join(), log);
+            }
+            return 0;
+        } catch (CompletionException ex) {
+            log.printErrorLn("Error! Couldn't replay the memory trace: " + ex.getCause().getMessage());
+            return ERROR_EXIT_CODE;
+        }
+    }
+
+    private static void printReplay(String configuration, Memory memory, Log log) {
+        log.printInfoLn("----- " + configuration + " -----");
+        int level = 1;
+        Optional<Memory> current = Optional.of(memory);
+        while (current.isPresent()) {
+            if (current.get() instanceof Cache cache) {
+                var stats = cache.getStats();
+                var name = cache.getBuilder() == null ? "?" : cache.getBuilder().getName();
+                var rate = stats.operations() == 0 ? 100 : stats.hits() * 100.0 / stats.operations();
+                log.println(String.format("L%d %s (%d blocks of %d words): %d operations, %d hits, %d misses, %.2f%% hit rate",
+                        level++, name, cache.getBlocksAmount(), cache.getBlockSize(),
+                        stats.operations(), stats.hits(), stats.misses(), rate));
+            }
+            current = current.get().getNextLevelMemory();
+        }
+        if (level == 1) log.println("No caches.");
+    }
+
+    private static MemoryAccessListener joinListeners(MemoryAccessListener first, MemoryAccessListener second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        return (address, length, write) -> {
+            first.onAccess(address, length, write);
+            second.onAccess(address, length, write);
+        };
+    }
+
+    private static void printCacheSweep(StackDistanceAnalyzer analyzer, Log log) {
+        log.println();
+        log.printInfoLn("----- CACHE SWEEP (LRU) -----");
+        log.println(String.format("%10s %8s %8s %12s %14s %14s %9s",
+                "BLOCK (W)", "SETS", "SET SIZE", "SIZE (B)", "ACCESSES", "MISSES", "HIT RATE"));
+        for (StackDistanceResult result : analyzer.getResults()) {
+            log.println(String.format("%10d %8d %8d %12d %14d %14d %8.2f%%",
+                    result.blockSize(), result.sets(), result.setSize(), result.sizeInBytes(),
+                    result.accesses(), result.misses(), result.hitRate() * 100));
+        }
+    }
+
+    private static void loadProjectFiles(File project, File index, List<RawFileData> files) throws IOException {
+        if (!index.isFile()) return;
+        var rootPath = project.toPath();
+        for (Object path : new JSONArray(Files.readString(index.toPath())).toList()) {
+            var file = new File(project, path.toString());
+            if (file.isFile()) {
+                files.add(new RawFileData(file, rootPath));
+            }
+        }
+    }
+
+    private static List<MIPSSimulationConfiguration> findAllConfigurations(RootConfiguration projectData) {
+        var list = new ArrayList<MIPSSimulationConfiguration>();
+        Optional<Configuration> configurations = projectData.get(MIPSProjectData.NODE_CONFIGURATIONS);
+        if (configurations.isPresent()) {
+            for (var entry : configurations.get().getAll(false).entrySet()) {
+                if (entry.getValue() instanceof Configuration configuration) {
+                    list.add(new MIPSSimulationConfiguration(entry.getKey(), configuration));
+                }
+            }
+        }
+        return list;
+    }
+
+    private static MIPSSimulationConfiguration findConfiguration(RootConfiguration projectData, String name, Log log) {
+        if (projectData == null) {
+            return new MIPSSimulationConfiguration(name == null ? "Default" : name);
+        }
+
+        String selected = name == null
+                ? projectData.getString(MIPSProjectData.NODE_SELECTED_CONFIGURATION).orElse(null)
+                : name;
+
+        Optional<Configuration> configurations = projectData.get(MIPSProjectData.NODE_CONFIGURATIONS);
+        if (configurations.isPresent()) {
+            for (var entry : configurations.get().getAll(false).entrySet()) {
+                if (!(entry.getValue() instanceof Configuration configuration)) continue;
+                if (selected == null || selected.equals(entry.getKey())) {
+                    return new MIPSSimulationConfiguration(entry.getKey(), configuration);
+                }
+            }
+        }
+
+        log.printErrorLn("Error! Configuration " + (selected == null ? "" : selected + " ") + "not found!");
+        return null;
+    }
+
+    private static <T extends ManagerResource> T getOrDefault(
+            RootConfiguration projectData, String node, Class<T> type) {
+        T value = Manager.ofD(type).getDefault();
+        return projectData == null ? value : projectData.getAndConvertOrElse(node, type, value);
+    }
+}
@@ -28,11 +28,13 @@ import net.jamsimulator.jams.language.Messages;
 import net.jamsimulator.jams.manager.Manager;
 import net.jamsimulator.jams.mips.architecture.Architecture;
 import net.jamsimulator.jams.mips.architecture.MultiALUPipelinedArchitecture;
+import net.jamsimulator.jams.mips.architecture.MultiCycleArchitecture;
 import net.jamsimulator.jams.mips.architecture.SingleCycleArchitecture;
 import net.jamsimulator.jams.mips.instruction.alu.ALU;
 import net.jamsimulator.jams.mips.instruction.alu.ALUCollectionSnapshot;
 import net.jamsimulator.jams.mips.instruction.alu.ALUType;
 import net.jamsimulator.jams.mips.memory.builder.MemoryBuilder;
+import net.jamsimulator.jams.mips.simulation.change.UndoJournal;
 
 import java.util.*;
 import java.util.function.Consumer;
@@ -44,10 +46,14 @@ public class MIPSSimulationConfigurationPresets {
     public static final String MEMORY = "memory";
     public static final String CALL_EVENTS = "call_events";
     public static final String UNDO_ENABLED = "undo_enabled";
+    public static final String UNDO_MEMORY_BUDGET = "undo_memory_budget";
     public static final String FORWARDING_ENABLED = "forwarding_enabled";
     public static final String BRANCH_ON_DECODE = "branch_on_decode";
     public static final String DELAY_SLOTS_ENABLED = "delay_slots_enabled";
     public static final String ALUS = "alus";
+    public static final String MEMORY_LATENCY_ENABLED = "memory_latency_enabled";
+    public static final String MISS_PENALTY = "miss_penalty";
+    public static final String WRITE_BACK_PENALTY = "write_back_penalty";
 
     private final static Set<MIPSSimulationConfigurationNodePreset> PRESETS = new HashSet<>();
 
@@ -56,6 +62,10 @@ public class MIPSSimulationConfigurationPresets {
         var pipelinedArchitectures = architectureManager.stream()
                 .filter(it -> it.getName().equals(MultiALUPipelinedArchitecture.NAME))
                 .collect(Collectors.toSet());
+        var multiStepArchitectures = architectureManager.stream()
+                .filter(it -> it.getName().equals(MultiALUPipelinedArchitecture.NAME)
+                        || it.getName().equals(MultiCycleArchitecture.NAME))
+                .collect(Collectors.toSet());
 
         PRESETS.add(new MIPSSimulationConfigurationNodePreset(ARCHITECTURE, Architecture.class, 100,
                 Messages.SIMULATION_CONFIGURATION_ARCHITECTURE, Manager.of(Architecture.class).getOrNull(SingleCycleArchitecture.NAME), null));
@@ -66,6 +76,9 @@ public class MIPSSimulationConfigurationPresets {
         PRESETS.add(new MIPSSimulationConfigurationNodePreset(UNDO_ENABLED, Boolean.class, 89,
                 Messages.SIMULATION_CONFIGURATION_ENABLE_UNDO, true,
                 Map.of(CALL_EVENTS, new Object[]{true})));
+        PRESETS.add(new MIPSSimulationConfigurationNodePreset(UNDO_MEMORY_BUDGET, Integer.class, 88,
+                Messages.SIMULATION_CONFIGURATION_UNDO_MEMORY_BUDGET, UndoJournal.DEFAULT_MEMORY_BUDGET,
+                Map.of(UNDO_ENABLED, new Object[]{true})));
         PRESETS.add(new MIPSSimulationConfigurationNodePreset(FORWARDING_ENABLED, Boolean.class, 80,
                 Messages.SIMULATION_CONFIGURATION_ENABLE_FORWARDING, true,
                 pipelinedArchitectures, null));
@@ -83,6 +96,15 @@ public class MIPSSimulationConfigurationPresets {
                         new ALU(ALUType.FLOAT_DIVISION, 17)
         )),
                 pipelinedArchitectures, null));
+        PRESETS.add(new MIPSSimulationConfigurationNodePreset(MEMORY_LATENCY_ENABLED, Boolean.class, 60,
+                Messages.SIMULATION_CONFIGURATION_MEMORY_LATENCY_ENABLED, false,
+                multiStepArchitectures, null));
+        PRESETS.add(new MIPSSimulationConfigurationNodePreset(MISS_PENALTY, Integer.class, 59,
+                Messages.SIMULATION_CONFIGURATION_MISS_PENALTY, 50,
+                multiStepArchitectures, Map.of(MEMORY_LATENCY_ENABLED, new Object[]{true})));
+        PRESETS.add(new MIPSSimulationConfigurationNodePreset(WRITE_BACK_PENALTY, Integer.class, 58,
+                Messages.SIMULATION_CONFIGURATION_WRITE_BACK_PENALTY, 10,
+                multiStepArchitectures, Map.of(MEMORY_LATENCY_ENABLED, new Object[]{true})));
     }
 
     public static Set<MIPSSimulationConfigurationNodePreset> getPresets() {
@@ -32,27 +32,128 @@ import java.util.*;
  */
 public class ArgumentsData {
 
+    private static final String[] CACHE_SWEEP_LIMITS = {"block size", "amount of sets", "set size"};
+
     private final List<File> pluginsToLoad;
+    private final List<File> filesToAssemble;
+    private final List<String> errors;
+    private boolean headless, projectGiven;
+    private File project;
+    private String configuration;
+    private int[] cacheSweep;
+    private File recordTrace, replayTrace;
 
     public ArgumentsData(String[] data) {
         pluginsToLoad = new LinkedList<>();
+        filesToAssemble = new LinkedList<>();
+        errors = new LinkedList<>();
+        headless = false;
+        project = null;
+        configuration = null;
+        cacheSweep = null;
+        recordTrace = null;
+        replayTrace = null;
         var iterator = Arrays.stream(data).iterator();
 
         while (iterator.hasNext()) {
             switch (iterator.next().toLowerCase(Locale.ROOT)) {
                 case "-loadplugin" -> manageLoadPlugin(iterator);
+                case "-headless" -> headless = true;
+                case "-project" -> manageProject(iterator);
+                case "-file" -> manageFile(iterator);
+                case "-configuration" -> manageConfiguration(iterator);
+                case "-cachesweep" -> manageCacheSweep(iterator);
+                case "-recordtrace" -> manageRecordTrace(iterator);
+                case "-replaytrace" -> manageReplayTrace(iterator);
                 case "-help" -> {
                     showHelp();
                     System.exit(0);
                 }
             }
         }
+
+        // If the project was given but doesn't exist, its error is already reported.
+        if (configuration != null && !projectGiven) {
+            errors.add("-configuration requires a project. Use -project <PATH> to select it.");
+        }
+    }
+
+    /**
+     * Returns the errors found while parsing the arguments, such as missing values or paths that don't exist.
+     *
+     * @return the errors.
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
     }
 
     public List<File> getPluginsToLoad() {
         return Collections.unmodifiableList(pluginsToLoad);
     }
 
+    /**
+     * Returns whether JAMS should run a simulation without initializing the JavaFX application.
+     *
+     * @return whether JAMS should run in headless mode.
+     */
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Returns the project folder to simulate in headless mode.
+     *
+     * @return the project folder, if present.
+     */
+    public Optional<File> getProject() {
+        return Optional.ofNullable(project);
+    }
+
+    /**
+     * Returns the loose files to assemble in headless mode.
+     *
+     * @return the files to assemble.
+     */
+    public List<File> getFilesToAssemble() {
+        return Collections.unmodifiableList(filesToAssemble);
+    }
+
+    /**
+     * Returns the name of the simulation configuration to use in headless mode.
+     *
+     * @return the name of the configuration, if present.
+     */
+    public Optional<String> getConfiguration() {
+        return Optional.ofNullable(configuration);
+    }
+
+    /**
+     * Returns the limits of the cache sweep to perform in headless mode: the maximum block size in words,
+     * the maximum amount of sets and the maximum set size.
+     *
+     * @return the limits of the cache sweep, if present.
+     */
+    public Optional<int[]> getCacheSweep() {
+        return Optional.ofNullable(cacheSweep).map(int[]::clone);
+    }
+
+    /**
+     * Returns the file where the memory trace of the headless simulation should be recorded.
+     *
+     * @return the trace file, if present.
+     */
+    public Optional<File> getRecordTrace() {
+        return Optional.ofNullable(recordTrace);
+    }
+
+    /**
+     * Returns the memory trace to replay through the caches of the configurations in headless mode.
+     *
+     * @return the trace file, if present.
+     */
+    public Optional<File> getReplayTrace() {
+        return Optional.ofNullable(replayTrace);
+    }
 
     private void manageLoadPlugin(Iterator<String> iterator) {
         if (!iterator.hasNext()) return;
@@ -62,10 +163,90 @@ public class ArgumentsData {
         }
     }
 
+    private void manageProject(Iterator<String> iterator) {
+        var file = nextFile(iterator, "-project");
+        if (file == null) return;
+        projectGiven = true;
+        if (file.isDirectory()) {
+            project = file;
+        } else {
+            errors.add("Project folder " + file.getAbsolutePath() + " doesn't exist.");
+        }
+    }
+
+    private void manageFile(Iterator<String> iterator) {
+        var file = nextFile(iterator, "-file");
+        if (file == null) return;
+        if (file.isFile()) {
+            filesToAssemble.add(file);
+        } else {
+            errors.add("File " + file.getAbsolutePath() + " doesn't exist.");
+        }
+    }
+
+    private void manageConfiguration(Iterator<String> iterator) {
+        if (!iterator.hasNext()) {
+            errors.add("Missing configuration name after -configuration.");
+            return;
+        }
+        configuration = iterator.next();
+    }
+
+    private void manageCacheSweep(Iterator<String> iterator) {
+        var limits = new int[3];
+        for (int i = 0; i < limits.length; i++) {
+            if (!iterator.hasNext()) {
+                errors.add("Missing " + CACHE_SWEEP_LIMITS[i] + " after -cacheSweep.");
+                return;
+            }
+            var argument = iterator.next();
+            var value = NumericUtils.decodeIntegerSafe(argument);
+            if (value.isEmpty() || !NumericUtils.is2Elev(value.get())) {
+                errors.add("Invalid " + CACHE_SWEEP_LIMITS[i] + " " + argument + " for -cacheSweep. It must be a power of 2.");
+                return;
+            }
+            limits[i] = value.get();
+        }
+        cacheSweep = limits;
+    }
+
+    private void manageRecordTrace(Iterator<String> iterator) {
+        recordTrace = nextFile(iterator, "-recordTrace");
+    }
+
+    private void manageReplayTrace(Iterator<String> iterator) {
+        var file = nextFile(iterator, "-replayTrace");
+        if (file == null) return;
+        if (file.isFile()) {
+            replayTrace = file;
+        } else {
+            errors.add("Trace " + file.getAbsolutePath() + " doesn't exist.");
+        }
+    }
+
+    private File nextFile(Iterator<String> iterator, String argument) {
+        if (!iterator.hasNext()) {
+            errors.add("Missing path after " + argument + ".");
+            return null;
+        }
+        return new File(iterator.next());
+    }
+
     private void showHelp() {
         System.out.println("----- JAMS COMMAND LINE ARGUMENTS -----");
         System.out.println("-help:                  shows this message.");
         System.out.println("-loadPlugin <PATH>:     loads JAMS with the plugin located at the given path.");
+        System.out.println("-headless:              runs a simulation without the graphical interface.");
+        System.out.println("-project <PATH>:        the project to simulate in headless mode.");
+        System.out.println("-file <PATH>:           adds a file to assemble in headless mode.");
+        System.out.println("-configuration <NAME>:  the project's simulation configuration to use in headless mode.");
+        System.out.println("-cacheSweep <BLOCK_SIZE> <SETS> <SET_SIZE>:");
+        System.out.println("                        reports the hit rates of every LRU cache up to the given limits");
+        System.out.println("                        (powers of 2) in headless mode. The configured caches are ignored.");
+        System.out.println("-recordTrace <PATH>:    records the memory accesses of the headless simulation.");
+        System.out.println("                        The configured caches are ignored.");
+        System.out.println("-replayTrace <PATH>:    replays a recorded trace through the caches of the project's");
+        System.out.println("                        configurations, or only the given one, instead of simulating.");
         System.out.println("---------------------------------------");
     }
 }
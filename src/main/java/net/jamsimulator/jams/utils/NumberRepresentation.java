@@ -115,10 +115,10 @@ public class NumberRepresentation implements ManagerResource {
      */
     public String represent(Memory memory, int address) {
         try {
-            int o1 = memory.getWord(address, false, true, true);
+            int o1 = memory.peekWord(address);
             int o2 = 0;
             if (requiresNextWord) {
-                o2 = memory.getWord(address + 4, false, true, true);
+                o2 = memory.peekWord(address + 4);
             }
 
             return transformer.apply(o1, o2);
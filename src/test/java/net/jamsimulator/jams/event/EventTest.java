@@ -26,8 +26,10 @@ package net.jamsimulator.jams.event;
 
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.fail;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class EventTest {
 
@@ -45,6 +47,41 @@ class EventTest {
         assertEquals(SHOULD_COUNT, count);
     }
 
+    @Test
+    void testDispatchIndex() {
+        var broadcast = new SimpleEventBroadcast();
+        assertFalse(broadcast.hasListeners(SubEvent.class));
+
+        var listeners = new OrderListeners();
+        assertEquals(3, broadcast.registerListeners(listeners, false));
+        assertTrue(broadcast.hasListeners(SubEvent.class));
+        assertTrue(broadcast.hasListeners(Event.class));
+        assertFalse(broadcast.hasListeners(OtherEvent.class), "Listeners of subclasses must not receive superclasses.");
+
+        broadcast.callEvent(new SubEvent());
+        assertEquals(List.of("high", "sub", "low"), listeners.calls, "Listeners must be called by priority.");
+
+        listeners.calls.clear();
+        broadcast.callEvent(new Event());
+        assertEquals(List.of("high", "low"), listeners.calls);
+
+        assertEquals(3, broadcast.unregisterListeners(listeners));
+        assertFalse(broadcast.hasListeners(SubEvent.class), "The index must be invalidated on unregistration.");
+        listeners.calls.clear();
+        broadcast.callEvent(new SubEvent());
+        assertTrue(listeners.calls.isEmpty());
+    }
+
+    @Test
+    void testListenerFailuresAreIsolated() {
+        var broadcast = new SimpleEventBroadcast();
+        var listeners = new ThrowingListeners();
+        broadcast.registerListeners(listeners, false);
+
+        assertDoesNotThrow(() -> broadcast.callEvent(new SubEvent()));
+        assertEquals(List.of("sub", "event"), listeners.calls, "A failing listener must not stop the dispatch.");
+    }
+
     @Listener
     private void shouldCall(TestEvent event) {
         System.out.println("SC1");
@@ -149,6 +186,49 @@ class EventTest {
     }
 
 
+    private static class SubEvent extends Event {
+    }
+
+    private static class OtherEvent extends Event {
+    }
+
+    private static class ThrowingListeners {
+
+        private final List<String> calls = new ArrayList<>();
+
+        @Listener(priority = 10)
+        private void sub(SubEvent event) {
+            calls.add("sub");
+            throw new IllegalStateException("sub");
+        }
+
+        @Listener
+        private void event(Event event) {
+            calls.add("event");
+            throw new AssertionError("event");
+        }
+    }
+
+    private static class OrderListeners {
+
+        private final List<String> calls = new ArrayList<>();
+
+        @Listener(priority = -10)
+        private void low(Event event) {
+            calls.add("low");
+        }
+
+        @Listener(priority = 10)
+        private void high(Event event) {
+            calls.add("high");
+        }
+
+        @Listener
+        private void sub(SubEvent event) {
+            calls.add("sub");
+        }
+    }
+
     private static class A {
     }
 
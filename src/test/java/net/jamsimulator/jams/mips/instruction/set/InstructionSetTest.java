@@ -0,0 +1,88 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.instruction.set;
+
+import net.jamsimulator.jams.manager.ResourceProvider;
+import net.jamsimulator.jams.mips.instruction.basic.BasicInstruction;
+import net.jamsimulator.jams.mips.instruction.basic.defaults.InstructionAdd;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstructionSetTest {
+
+    @Test
+    void decodeMatchesLinearSearch() {
+        var set = new MIPS32r6InstructionSet(ResourceProvider.JAMS);
+
+        @SuppressWarnings("unchecked")
+        List<BasicInstruction<?>>[] byOperationCode = new List[64];
+        for (int i = 0; i < 64; i++) byOperationCode[i] = new ArrayList<>();
+        for (var instruction : set.getInstructions()) {
+            if (instruction instanceof BasicInstruction<?> basic) {
+                byOperationCode[basic.getOperationCode()].add(basic);
+            }
+        }
+
+        var random = new Random(0);
+        var matches = new ArrayList<BasicInstruction<?>>();
+        for (int operationCode = 0; operationCode < 64; operationCode++) {
+            for (int high = 0; high < 1024; high++) {
+                for (int function = 0; function < 64; function++) {
+                    int code = operationCode << 26 | high << 16 | random.nextInt(1 << 10) << 6 | function;
+
+                    matches.clear();
+                    for (var instruction : byOperationCode[operationCode]) {
+                        if (instruction.match(code)) matches.add(instruction);
+                    }
+
+                    var decoded = set.decode(code);
+                    if (matches.isEmpty()) {
+                        assertNull(decoded, "Code 0x" + Integer.toHexString(code) + " shouldn't be decoded.");
+                    } else {
+                        assertTrue(matches.contains(decoded), "Bad instruction for code 0x"
+                                + Integer.toHexString(code) + ": " + decoded + ". Expected one of " + matches + ".");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void decodeSeesNewInstructions() {
+        var set = new InstructionSet(ResourceProvider.JAMS, "test");
+        var add = new InstructionAdd();
+        int code = InstructionAdd.OPERATION_CODE << 26 | InstructionAdd.FUNCTION_CODE;
+        assertNull(set.decode(code));
+
+        set.registerInstruction(add);
+        assertSame(add, set.decode(code));
+        assertEquals(add, set.getInstructionByInstructionCode(code).orElseThrow());
+    }
+}
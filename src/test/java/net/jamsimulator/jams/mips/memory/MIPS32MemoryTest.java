@@ -26,6 +26,8 @@ package net.jamsimulator.jams.mips.memory;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 class MIPS32MemoryTest {
 
     @Test
@@ -40,4 +42,102 @@ class MIPS32MemoryTest {
         );
     }
 
-}
\ No newline at end of file
+    @Test
+    void testSectionLookup() {
+        MIPS32Memory memory = new MIPS32Memory();
+        assertEquals(MIPS32Memory.KERNEL_RESERVED_1_NAME, memory.getMemorySectionName(MIPS32Memory.TEXT - 1));
+        assertEquals(MIPS32Memory.TEXT_NAME, memory.getMemorySectionName(MIPS32Memory.TEXT));
+        assertEquals(MIPS32Memory.DATA_NAME, memory.getMemorySectionName(MIPS32Memory.STACK));
+        assertEquals(MIPS32Memory.KERNEL_TEXT_NAME, memory.getMemorySectionName(MIPS32Memory.EXCEPTION_HANDLER));
+        assertEquals(MIPS32Memory.KERNEL_DATA_NAME, memory.getMemorySectionName(MIPS32Memory.MEMORY_MAPPED_IO - 1));
+        assertEquals(MIPS32Memory.MEMORY_MAPPED_IO_NAME, memory.getMemorySectionName(MIPS32Memory.MEMORY_MAPPED_IO));
+        assertEquals(MIPS32Memory.KERNEL_RESERVED_2_NAME, memory.getMemorySectionName(0xFFFFFFFF));
+
+        memory.setWord(MIPS32Memory.STATIC_DATA, 5);
+        memory.saveState();
+        memory.setWord(MIPS32Memory.STATIC_DATA, 6);
+        memory.restoreSavedState();
+        assertEquals(5, memory.getWord(MIPS32Memory.STATIC_DATA));
+        memory.setWord(MIPS32Memory.STATIC_DATA, 7);
+        assertEquals(7, memory.getWord(MIPS32Memory.STATIC_DATA));
+    }
+
+    @Test
+    void testUnmappedAddresses() {
+        var memory = new SimpleMemory(false, 0x00100000, 0x00300000, 0x00300000, 0x00300000, 0x00300000,
+                new MemorySection("a", 0x00100000, 0x00100000),
+                new MemorySection("b", 0x00300000, 0x1000));
+
+        memory.setWord(0x00100000, 1);
+        memory.setWord(0x001FFFFC, 2);
+        assertEquals(1, memory.getWord(0x00100000));
+        assertEquals(2, memory.getWord(0x001FFFFC));
+        assertEquals("b", memory.getMemorySectionName(0x00300FFF));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> memory.getWord(0x00000000));
+        assertThrows(IndexOutOfBoundsException.class, () -> memory.getWord(0x00250000));
+        assertThrows(IndexOutOfBoundsException.class, () -> memory.getWord(0x00301000));
+    }
+
+    @Test
+    void testBulkAccesses() {
+        for (boolean events : new boolean[]{true, false}) {
+            MIPS32Memory memory = new MIPS32Memory();
+            memory.enableEventCalls(events);
+
+            byte[] data = new byte[10000];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = (byte) (i % 255 + 1);
+            }
+            int address = MIPS32Memory.STATIC_DATA + 4090;
+            memory.setBytes(address, data, 0, data.length);
+            assertEquals(data[5000], memory.getByte(address + 5000));
+
+            byte[] read = new byte[data.length];
+            memory.getBytes(address, read, 0, read.length);
+            assertArrayEquals(data, read);
+
+            read = new byte[data.length + 100];
+            assertEquals(data.length, memory.getNullTerminatedBytes(address, read, 0, read.length));
+            assertEquals(100, memory.getNullTerminatedBytes(address, read, 0, 100));
+
+            assertThrows(IndexOutOfBoundsException.class, () -> memory.getBytes(0x00250000, new byte[4], 0, 4)
+                    , "Bulk accesses must fail like byte accesses.");
+        }
+    }
+
+    @Test
+    void testOnlyObservedAccessesHitWatchpoints() {
+        for (boolean events : new boolean[]{true, false}) {
+            MIPS32Memory memory = new MIPS32Memory();
+            memory.enableEventCalls(events);
+            int address = MIPS32Memory.STATIC_DATA;
+            int[] hits = new int[1];
+            memory.getWatchTable().setListener((hit, write) -> hits[0]++);
+            memory.getWatchTable().add(address, address + 3, true, true);
+
+            memory.getWord(address, false, true, true);
+            memory.setWord(address, 1, false, true, true);
+            assertEquals(0, hits[0], "Inspections must not hit watchpoints.");
+
+            int[] accesses = new int[1];
+            memory.setAccessListener((accessed, length, write) -> accesses[0]++);
+            assertEquals(1, memory.peekWord(address));
+            assertEquals(1, memory.peekByte(address + (memory.isBigEndian() ? 3 : 0)));
+            memory.setAccessListener(null);
+            assertEquals(0, hits[0], "Peeks must not hit watchpoints.");
+            assertEquals(0, accesses[0], "Peeks must not be notified to the access listener.");
+
+            assertTrue(memory.observeAccesses(false));
+            memory.getWord(address);
+            memory.getBytes(address, new byte[4], 0, 4);
+            assertFalse(memory.observeAccesses(true));
+            assertEquals(0, hits[0], "Unobserved accesses must not hit watchpoints.");
+
+            memory.getWord(address);
+            memory.setByte(address + 3, (byte) 2);
+            assertEquals(2, hits[0]);
+        }
+    }
+
+}
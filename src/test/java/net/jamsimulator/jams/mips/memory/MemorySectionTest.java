@@ -28,6 +28,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class MemorySectionTest {
 
@@ -45,4 +46,98 @@ class MemorySectionTest {
 				"Error while getting memory data.");
 	}
 
-}
\ No newline at end of file
+	@Test
+	void copyTest() {
+		var original = new MemorySection("test", 0x01000000, 1024, 64);
+		original.setWord(0x01000000, 10, false);
+
+		var copy = original.copy();
+		assertEquals(10, copy.getWord(0x01000000, false), "Copy doesn't contain the original data.");
+
+		copy.setWord(0x01000000, 20, false);
+		original.setWord(0x01000004, 30, false);
+		assertEquals(10, original.getWord(0x01000000, false), "Copy modified the original section.");
+		assertEquals(20, copy.getWord(0x01000000, false), "Copy wasn't modified.");
+		assertEquals(0, copy.getWord(0x01000004, false), "Original section modified the copy.");
+	}
+
+	@Test
+	void endiannessTest() {
+		var section = new MemorySection("test", 0x01000000, 1024, 64);
+		section.setWord(0x01000040, 0x11223344, true);
+		assertEquals(0x11, section.getByte(0x01000040), "Big endian word not stored in order.");
+		assertEquals(0x44, section.getByte(0x01000043), "Big endian word not stored in order.");
+		assertEquals(0x44332211, section.getWord(0x01000040, false), "Wrong little endian view.");
+		assertEquals((short) 0x1122, section.getHalfword(0x01000040, true), "Wrong big endian halfword.");
+		assertEquals((short) 0x2211, section.getHalfword(0x01000040, false), "Wrong little endian halfword.");
+
+		assertEquals(0x11223344, section.setWord(0x01000040, -1, true), "Wrong old word.");
+		assertEquals((short) -1, section.setHalfword(0x01000042, (short) 0x8001, false), "Wrong old halfword.");
+		assertEquals((byte) 0x01, section.getByte(0x01000042), "Little endian halfword not stored in order.");
+		assertEquals((byte) 0x80, section.getByte(0x01000043), "Little endian halfword not stored in order.");
+	}
+
+	@Test
+	void boundsTest() {
+		var section = new MemorySection("test", 0x01000000, 1000, 10);
+		section.setWord(0x010003E4, 5, false);
+		assertEquals(5, section.getWord(0x010003E4, false), "Error with a non power of two cell size.");
+		assertThrows(IndexOutOfBoundsException.class, () -> section.getByte(0x010003E8));
+		assertThrows(IndexOutOfBoundsException.class, () -> section.getByte(0x00FFFFFF));
+	}
+
+	@Test
+	void snapshotTest() {
+		var section = new MemorySection("test", 0x01000000, 1024, 64);
+		section.setWord(0x01000000, 1, false);
+		section.setWord(0x01000100, 2, false);
+		section.snapshot();
+		assertEquals(0, section.getDirtyCellsAmount(), "Snapshot didn't clear the journal.");
+
+		section.setWord(0x01000000, 10, false);
+		section.setWord(0x01000004, 11, false);
+		section.setWord(0x01000200, 12, false);
+		assertEquals(2, section.getDirtyCellsAmount(), "Only the first write to each cell must be journaled.");
+
+		var copy = section.copy();
+		section.setWord(0x01000000, 20, false);
+		assertEquals(10, copy.getWord(0x01000000, false), "Section modified its copy.");
+
+		section.restore();
+		assertEquals(0, section.getDirtyCellsAmount(), "Restore didn't clear the journal.");
+		assertEquals(1, section.getWord(0x01000000, false), "Snapshot not restored.");
+		assertEquals(0, section.getWord(0x01000004, false), "Snapshot not restored.");
+		assertEquals(2, section.getWord(0x01000100, false), "Clean cell modified.");
+		assertEquals(0, section.getWord(0x01000200, false), "New cell not removed.");
+		assertEquals(10, copy.getWord(0x01000000, false), "Restore modified the copy.");
+
+		section.setWord(0x01000000, 30, false);
+		section.restore();
+		assertEquals(1, section.getWord(0x01000000, false), "Snapshot not kept after a restore.");
+	}
+
+	@Test
+	void copyDirtyCellsTest() {
+		var section = new MemorySection("test", 0x01000000, 1024, 64);
+		section.setWord(0x01000000, 1, false);
+		section.snapshot();
+		section.setWord(0x01000000, 10, false);
+
+		var copy = section.copy();
+		assertEquals(0, copy.getDirtyCellsAmount(), "The copy must start with an empty journal.");
+
+		section.setWord(0x01000000, 20, false);
+		section.setWord(0x01000040, 21, false);
+		assertEquals(2, section.getDirtyCellsAmount(), "Copying must not journal dirty cells again.");
+
+		copy.setWord(0x01000000, 30, false);
+		assertEquals(1, copy.getDirtyCellsAmount(), "Shared cells must be journaled by the copy.");
+
+		section.restore();
+		assertEquals(1, section.getWord(0x01000000, false), "Snapshot not restored.");
+		assertEquals(0, section.getWord(0x01000040, false), "Snapshot not restored.");
+		copy.restore();
+		assertEquals(10, copy.getWord(0x01000000, false), "Copy not restored to its creation state.");
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache;
+
+import net.jamsimulator.jams.Jams;
+import net.jamsimulator.jams.mips.memory.MIPS32Memory;
+import net.jamsimulator.jams.mips.memory.Memory;
+import net.jamsimulator.jams.mips.memory.cache.writeback.WriteBackDirectCache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheLatencyModelTest {
+
+    @BeforeAll
+    static void initRegistry() {
+        Jams.initForTests();
+    }
+
+    @Test
+    void stallsFollowTheHierarchy() {
+        Memory memory = new MIPS32Memory();
+        Cache l2 = new WriteBackDirectCache(null, memory, 1, 16);
+        Cache l1 = new WriteBackDirectCache(null, l2, 1, 4);
+        var model = new CacheLatencyModel(List.of(l1, l2), new int[]{1, 4}, 50, 10);
+        int base = memory.getFirstDataAddress();
+
+        // Misses on both levels: 1 + 4 + 50 cycles.
+        model.begin();
+        l1.getWord(base);
+        assertEquals(54, model.end());
+
+        // Hits on the first level only take the memory step.
+        model.begin();
+        l1.getWord(base);
+        assertEquals(0, model.end());
+
+        model.begin();
+        l1.setWord(base, 5);
+        assertEquals(0, model.end());
+
+        // base + 16 replaces the dirty block: it's written back to the second level (hit)
+        // and the new block misses on both levels.
+        model.begin();
+        l1.getWord(base + 16);
+        assertEquals(1 + 4 + 4 + 50 + 10 - 1, model.end());
+    }
+
+    @Test
+    void blockTransfersCountOnce() {
+        Memory memory = new MIPS32Memory();
+        // Blocks of four words: each refill and write-back transfers 16 bytes.
+        Cache l2 = new WriteBackDirectCache(null, memory, 4, 16);
+        Cache l1 = new WriteBackDirectCache(null, l2, 4, 4);
+        var model = new CacheLatencyModel(List.of(l1, l2), new int[]{1, 4}, 50, 10);
+        int base = memory.getFirstDataAddress();
+
+        // The refill is a single operation on the second level: 1 + 4 + 50 cycles.
+        model.begin();
+        l1.getWord(base);
+        assertEquals(54, model.end());
+
+        model.begin();
+        l1.getWord(base + 4);
+        l1.setWord(base + 8, 5);
+        assertEquals(1, model.end(), "Two hits on the first level take two cycles.");
+
+        // base + 64 replaces the dirty block: the write-back hits on the second level (4 + 10)
+        // and the refill misses on it (4 + 50).
+        model.begin();
+        l1.getWord(base + 64);
+        assertEquals(1 + 4 + 10 + 4 + 50 - 1, model.end());
+    }
+
+    @Test
+    void noAccessesNoStalls() {
+        Memory memory = new MIPS32Memory();
+        Cache cache = new WriteBackDirectCache(null, memory, 1, 4);
+        var model = new CacheLatencyModel(List.of(cache), new int[]{3}, 50, 10);
+        model.begin();
+        assertEquals(0, model.end());
+    }
+
+    @Test
+    void modelIsBuiltFromTheHierarchy() {
+        Memory memory = new MIPS32Memory();
+        assertTrue(CacheLatencyModel.of(memory, 50, 10).isEmpty());
+
+        Cache l2 = new WriteBackDirectCache(null, memory, 1, 16);
+        Cache l1 = new WriteBackDirectCache(null, l2, 1, 4);
+        var model = CacheLatencyModel.of(l1, 50, 10);
+        assertTrue(model.isPresent());
+        assertEquals(2, model.get().getLevels());
+        assertEquals(50, model.get().getMissPenalty());
+        assertEquals(10, model.get().getWriteBackPenalty());
+    }
+}
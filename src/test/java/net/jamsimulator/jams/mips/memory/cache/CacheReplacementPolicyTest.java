@@ -0,0 +1,182 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache;
+
+import net.jamsimulator.jams.Jams;
+import net.jamsimulator.jams.mips.memory.MIPS32Memory;
+import net.jamsimulator.jams.mips.memory.Memory;
+import net.jamsimulator.jams.mips.memory.cache.writeback.WriteBackAssociativeCache;
+import net.jamsimulator.jams.mips.memory.cache.writeback.WriteBackSetAssociativeCache;
+import net.jamsimulator.jams.mips.memory.cache.writethrough.WriteThroughSetAssociativeCache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CacheReplacementPolicyTest {
+
+    @BeforeAll
+    static void initRegistry() {
+        Jams.initForTests();
+    }
+
+    @Test
+    void allPoliciesKeepMemoryConsistent() {
+        for (CacheReplacementPolicy policy : CacheReplacementPolicy.values()) {
+            for (boolean writeBack : new boolean[]{true, false}) {
+                Memory memory = new MIPS32Memory();
+                memory.enableEventCalls(false);
+                Cache cache = writeBack
+                        ? new WriteBackSetAssociativeCache(null, memory, 2, 16, 4, policy)
+                        : new WriteThroughSetAssociativeCache(null, memory, 2, 16, 4, policy);
+
+                Map<Integer, Integer> expected = new HashMap<>();
+                Random random = new Random(policy.ordinal());
+                int base = memory.getFirstDataAddress();
+                for (int i = 0; i < 5000; i++) {
+                    int address = base + (random.nextInt(256) << 2);
+                    if (random.nextBoolean()) {
+                        cache.setWord(address, i);
+                        expected.put(address, i);
+                    } else {
+                        assertEquals((int) expected.getOrDefault(address, 0), cache.getWord(address),
+                                "Wrong data using " + policy + "!");
+                    }
+                }
+
+                var stats = cache.getStats();
+                assertEquals(5000, stats.operations());
+                cache.flush();
+                for (var entry : expected.entrySet()) {
+                    assertEquals((int) entry.getValue(), memory.getWord(entry.getKey()), "Wrong data using " + policy + "!");
+                }
+            }
+        }
+    }
+
+    @Test
+    void treePLRU() {
+        Memory memory = new MIPS32Memory();
+        // One set of four one-word blocks.
+        Cache cache = new WriteBackAssociativeCache(null, memory, 1, 4, CacheReplacementPolicy.PLRU);
+        int base = memory.getFirstDataAddress();
+        for (int i = 0; i < 4; i++) {
+            cache.getWord(base + (i << 2));
+        }
+        // Protects the first block: the tree now points to the third one.
+        cache.getWord(base);
+        cache.getWord(base + 16);
+        assertEquals(base + 16, cache.getCacheBlock(2).orElseThrow().getStart());
+        assertEquals(base, cache.getCacheBlock(0).orElseThrow().getStart());
+    }
+
+    @Test
+    void lfu() {
+        Memory memory = new MIPS32Memory();
+        Cache cache = new WriteBackAssociativeCache(null, memory, 1, 4, CacheReplacementPolicy.LFU);
+        int base = memory.getFirstDataAddress();
+        for (int i = 0; i < 4; i++) {
+            cache.getWord(base + (i << 2));
+        }
+        // The first block is the least recently used one, but also the most frequently used one.
+        for (int i = 0; i < 3; i++) {
+            cache.getWord(base);
+        }
+        cache.getWord(base + 4);
+        cache.getWord(base + 16);
+        assertEquals(base + 16, cache.getCacheBlock(2).orElseThrow().getStart());
+        assertEquals(base, cache.getCacheBlock(0).orElseThrow().getStart());
+    }
+
+    @Test
+    void srripKeepsReusedBlocksOverScans() {
+        Memory memory = new MIPS32Memory();
+        Cache cache = new WriteBackAssociativeCache(null, memory, 1, 4, CacheReplacementPolicy.SRRIP);
+        int base = memory.getFirstDataAddress();
+        cache.getWord(base);
+        cache.getWord(base);
+        // A scan bigger than the cache.
+        for (int i = 1; i <= 8; i++) {
+            cache.getWord(base + (i << 2));
+        }
+        long hits = cache.getStats().hits();
+        cache.getWord(base);
+        assertEquals(hits + 1, cache.getStats().hits(), "The reused block was evicted by the scan!");
+    }
+
+    @Test
+    void twoQueueKeepsReusedBlocksOverScans() {
+        Memory memory = new MIPS32Memory();
+        Cache cache = new WriteBackAssociativeCache(null, memory, 1, 8, CacheReplacementPolicy.TWO_QUEUE);
+        int base = memory.getFirstDataAddress();
+        // Loads the block, evicts it and loads it again: it enters the main queue.
+        cache.getWord(base);
+        for (int i = 1; i <= 7; i++) {
+            cache.getWord(base + (i << 2));
+        }
+        cache.getWord(base + 32);
+        cache.getWord(base);
+
+        for (int i = 9; i <= 40; i++) {
+            cache.getWord(base + (i << 2));
+        }
+        long hits = cache.getStats().hits();
+        cache.getWord(base);
+        assertEquals(hits + 1, cache.getStats().hits(), "The reused block was evicted by the scan!");
+    }
+
+    @Test
+    void stateIsRestored() {
+        for (CacheReplacementPolicy policy : CacheReplacementPolicy.values()) {
+            if (policy == CacheReplacementPolicy.RANDOM) continue;
+            Memory memory = new MIPS32Memory();
+            Cache cache = new WriteBackSetAssociativeCache(null, memory, 1, 8, 4, policy);
+            int base = memory.getFirstDataAddress();
+            Random random = new Random(0);
+            for (int i = 0; i < 100; i++) {
+                cache.getWord(base + (random.nextInt(64) << 2));
+            }
+
+            cache.saveState();
+            var copy = (Cache) cache.copy();
+            for (int i = 0; i < 100; i++) {
+                cache.getWord(base + (random.nextInt(64) << 2));
+            }
+            cache.restoreSavedState();
+
+            for (int i = 0; i < 100; i++) {
+                int address = base + (random.nextInt(64) << 2);
+                cache.getWord(address);
+                copy.getWord(address);
+            }
+            assertEquals(copy.getStats(), cache.getStats(), "Different stats using " + policy + "!");
+        }
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache;
+
+import net.jamsimulator.jams.Jams;
+import net.jamsimulator.jams.mips.memory.MIPS32Memory;
+import net.jamsimulator.jams.mips.memory.Memory;
+import net.jamsimulator.jams.mips.memory.cache.writeback.WriteBackDirectCache;
+import net.jamsimulator.jams.mips.memory.cache.writeback.WriteBackSetAssociativeCache;
+import net.jamsimulator.jams.mips.memory.cache.writethrough.WriteThroughDirectCache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CacheStatsTest {
+
+    @BeforeAll
+    static void initRegistry() {
+        Jams.initForTests();
+    }
+
+    @Test
+    void conflictMisses() {
+        Memory memory = new MIPS32Memory();
+        // Four one-word blocks: base and base + 16 use the same block.
+        Cache cache = new WriteBackDirectCache(null, memory, 1, 4);
+        int base = memory.getFirstDataAddress();
+        for (int i = 0; i < 10; i++) {
+            cache.getWord(base);
+            cache.getWord(base + 16);
+        }
+
+        var stats = cache.getStats();
+        assertEquals(20, stats.operations());
+        assertEquals(20, stats.misses());
+        assertEquals(2, stats.compulsoryMisses());
+        assertEquals(18, stats.conflictMisses());
+        assertEquals(0, stats.capacityMisses());
+        assertEquals(20, stats.setAccesses()[0]);
+        assertEquals(20, stats.setMisses()[0]);
+    }
+
+    @Test
+    void capacityMisses() {
+        Memory memory = new MIPS32Memory();
+        Cache cache = new WriteBackSetAssociativeCache(null, memory, 1, 4, 2, CacheReplacementPolicy.LRU);
+        int base = memory.getFirstDataAddress();
+        // Scans eight blocks twice: a fully associative LRU cache would also miss every access.
+        for (int i = 0; i < 2; i++) {
+            for (int block = 0; block < 8; block++) {
+                cache.getWord(base + (block << 2));
+            }
+        }
+
+        var stats = cache.getStats();
+        assertEquals(16, stats.misses());
+        assertEquals(8, stats.compulsoryMisses());
+        assertEquals(8, stats.capacityMisses());
+        assertEquals(0, stats.conflictMisses());
+    }
+
+    @Test
+    void countersAreConsistent() {
+        Memory memory = new MIPS32Memory();
+        memory.enableEventCalls(false);
+        Cache cache = new WriteBackSetAssociativeCache(null, memory, 2, 16, 4, CacheReplacementPolicy.LRU);
+        Random random = new Random(0);
+        int base = memory.getFirstDataAddress();
+        for (int i = 0; i < 5000; i++) {
+            int address = base + (random.nextInt(512) << 2);
+            if (random.nextBoolean()) cache.setWord(address, i);
+            else cache.getWord(address);
+        }
+
+        var stats = cache.getStats();
+        assertEquals(4, stats.sets());
+        assertEquals(stats.operations(), stats.reads() + stats.writes());
+        assertEquals(stats.misses(), stats.readMisses() + stats.writeMisses());
+        assertEquals(stats.misses(), stats.compulsoryMisses() + stats.capacityMisses() + stats.conflictMisses());
+        assertEquals(stats.operations(), Arrays.stream(stats.setAccesses()).sum());
+        assertEquals(stats.misses(), Arrays.stream(stats.setMisses()).sum());
+
+        cache.resetCache();
+        assertEquals(0, cache.getStats().reads());
+        assertEquals(0, Arrays.stream(cache.getStats().setAccesses()).sum());
+    }
+
+    @Test
+    void bulkAccessesMatchSingleAccesses() {
+        Memory bulkMemory = new MIPS32Memory();
+        Memory singleMemory = new MIPS32Memory();
+        Cache bulk = new WriteThroughDirectCache(null, bulkMemory, 4, 8);
+        Cache single = new WriteThroughDirectCache(null, singleMemory, 4, 8);
+        int base = bulkMemory.getFirstDataAddress() + 3;
+
+        byte[] data = new byte[300];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        bulk.setBytes(base, data, 0, data.length);
+        bulk.getBytes(base, new byte[data.length], 0, data.length);
+        for (int i = 0; i < data.length; i++) {
+            single.setByte(base + i, data[i]);
+        }
+        for (int i = 0; i < data.length; i++) {
+            single.getByte(base + i);
+        }
+
+        assertEquals(single.getStats(), bulk.getStats());
+    }
+
+    @Test
+    void undoRevertsClassification() {
+        Memory memory = new MIPS32Memory();
+        Cache cache = new WriteBackDirectCache(null, memory, 1, 4);
+        int base = memory.getFirstDataAddress();
+        int index = base >> 2 & 3;
+
+        cache.getWord(base);
+        var old = cache.getCacheBlock(index).orElse(null);
+        cache.getWord(base + 16);
+        cache.undoOperation(false, index, old);
+        assertClassificationConsistent(cache);
+        assertEquals(1, cache.getStats().compulsoryMisses());
+
+        cache.getWord(base + 16);
+        assertEquals(2, cache.getStats().compulsoryMisses(), "Undone first accesses must be compulsory again.");
+
+        old = cache.getCacheBlock(index).orElse(null);
+        cache.getWord(base);
+        assertEquals(1, cache.getStats().conflictMisses());
+        cache.undoOperation(false, index, old);
+        assertClassificationConsistent(cache);
+        assertEquals(0, cache.getStats().conflictMisses());
+        assertEquals(2, cache.getStats().operations());
+    }
+
+    @Test
+    void rollbackMatchesShorterHistory() {
+        var rolledBack = new CacheStatsCollector(4, 16, 2);
+        var reference = new CacheStatsCollector(4, 16, 2);
+        rolledBack.setJournaling(true);
+
+        Random random = new Random(0);
+        int[] addresses = new int[3000];
+        for (int i = 0; i < addresses.length; i++) {
+            addresses[i] = random.nextInt(64) << 3;
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            rolledBack.registerOperation(addresses[i], addresses[i] >> 3 & 3, false, (i & 1) == 0);
+            if (i % 7 == 0) rolledBack.registerHits(addresses[i] >> 3 & 3, 3, false);
+        }
+        for (int i = 0; i < 1000; i++) {
+            reference.registerOperation(addresses[i], addresses[i] >> 3 & 3, false, (i & 1) == 0);
+            if (i % 7 == 0) reference.registerHits(addresses[i] >> 3 & 3, 3, false);
+        }
+        rolledBack.rollback(reference.getOperations());
+        assertEquals(reference.getOperations(), rolledBack.getOperations());
+
+        // The shadow directory and the accessed blocks must be reverted too.
+        for (int i = 2000; i < addresses.length; i++) {
+            rolledBack.registerOperation(addresses[i], addresses[i] >> 3 & 3, false, false);
+            reference.registerOperation(addresses[i], addresses[i] >> 3 & 3, false, false);
+        }
+        assertEquals(reference.toStats(reference.getOperations(), 0), rolledBack.toStats(rolledBack.getOperations(), 0));
+    }
+
+    private static void assertClassificationConsistent(Cache cache) {
+        var stats = cache.getStats();
+        assertEquals(cache.getOperations() - cache.getHits(),
+                stats.compulsoryMisses() + stats.capacityMisses() + stats.conflictMisses());
+    }
+}
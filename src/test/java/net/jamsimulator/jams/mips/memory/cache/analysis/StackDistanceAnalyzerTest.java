@@ -0,0 +1,96 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.cache.analysis;
+
+import net.jamsimulator.jams.Jams;
+import net.jamsimulator.jams.mips.memory.MIPS32Memory;
+import net.jamsimulator.jams.mips.memory.Memory;
+import net.jamsimulator.jams.mips.memory.cache.Cache;
+import net.jamsimulator.jams.mips.memory.cache.CacheReplacementPolicy;
+import net.jamsimulator.jams.mips.memory.cache.writeback.WriteBackSetAssociativeCache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StackDistanceAnalyzerTest {
+
+    @BeforeAll
+    static void initRegistry() {
+        Jams.initForTests();
+    }
+
+    @Test
+    void matchesLRUCaches() {
+        var analyzer = new StackDistanceAnalyzer(1, 4, 1, 8, 4);
+        int base = new MIPS32Memory().getFirstDataAddress();
+
+        var random = new Random(0);
+        var addresses = new int[20000];
+        for (int i = 0; i < addresses.length; i++) {
+            // Mixes a small hot region with a bigger cold one.
+            int words = random.nextInt(4) == 0 ? 1024 : 48;
+            addresses[i] = base + (random.nextInt(words) << 2);
+            analyzer.onAccess(addresses[i], 4, false);
+        }
+
+        var results = analyzer.getResults();
+        assertEquals(3 * 4 * 3, results.size());
+
+        for (var result : results) {
+            Memory memory = new MIPS32Memory();
+            memory.enableEventCalls(false);
+            Cache cache = new WriteBackSetAssociativeCache(null, memory, result.blockSize(),
+                    result.blocksAmount(), result.setSize(), CacheReplacementPolicy.LRU);
+            for (int address : addresses) {
+                cache.getWord(address);
+            }
+            assertEquals(cache.getStats().operations(), result.accesses());
+            assertEquals(cache.getStats().hits(), result.hits(), "Wrong hits for " + result);
+        }
+    }
+
+    @Test
+    void accessesSpanningBlocks() {
+        var analyzer = new StackDistanceAnalyzer(1, 1, 1, 1, 2);
+        // Five bytes starting at the last byte of a word: two blocks.
+        analyzer.onAccess(0x10010003, 5, false);
+        analyzer.onAccess(0x10010004, 4, true);
+        analyzer.onAccess(0x10010000, 1, false);
+
+        var results = analyzer.getResults();
+        assertEquals(4, results.get(0).accesses());
+        assertEquals(1, results.get(0).hits());
+        assertEquals(2, results.get(1).hits());
+    }
+
+    @Test
+    void rejectsOverflowingProfiles() {
+        assertThrows(IllegalArgumentException.class, () -> new StackDistanceAnalyzer(1, 1, 1 << 30, 1 << 30, 4));
+    }
+}
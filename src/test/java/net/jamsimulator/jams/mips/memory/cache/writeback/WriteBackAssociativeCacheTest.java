@@ -49,8 +49,11 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class WriteBackAssociativeCacheTest {
@@ -109,6 +112,42 @@ class WriteBackAssociativeCacheTest {
         assertEquals(23573, w, "Byte is not equals!");
     }
 
+    @Test
+    void bulkAccessesMatchByteAccesses() {
+        Memory bytesMemory = new MIPS32Memory();
+        Memory bulkMemory = new MIPS32Memory();
+        var bytes = new WriteBackAssociativeCache(null, bytesMemory, 4, 4, CacheReplacementPolicy.LRU);
+        var bulk = new WriteBackAssociativeCache(null, bulkMemory, 4, 4, CacheReplacementPolicy.LRU);
+        bytes.enableEventCalls(false);
+        bulk.enableEventCalls(false);
+
+        int address = bytesMemory.getFirstDataAddress() + 3;
+        byte[] data = "Hello, bulk memory!".getBytes(StandardCharsets.US_ASCII);
+
+        for (int i = 0; i < data.length; i++) {
+            bytes.setByte(address + i, data[i]);
+        }
+        bulk.setBytes(address, data, 0, data.length);
+
+        byte[] read = new byte[data.length];
+        int amount = 0;
+        byte b;
+        while ((b = bytes.getByte(address + amount)) != 0) {
+            read[amount++] = b;
+        }
+        assertEquals(data.length, amount);
+        assertArrayEquals(data, read);
+
+        read = new byte[64];
+        assertEquals(data.length, bulk.getNullTerminatedBytes(address, read, 0, read.length));
+        assertArrayEquals(data, Arrays.copyOf(read, data.length));
+        assertEquals(bytes.getStats(), bulk.getStats(), "Bulk accesses must count as byte accesses.");
+
+        bulk.flush();
+        read = new byte[data.length];
+        bulkMemory.getBytes(address, read, 0, read.length);
+        assertArrayEquals(data, read, "Dirty blocks not written back.");
+    }
 
     @Test
     void testSimpleProblem() {
@@ -110,6 +110,38 @@ class WriteBackSetAssociativeCacheTest {
     }
 
 
+    @Test
+    void evictionAndStateRestore() {
+        for (boolean events : new boolean[]{true, false}) {
+            Memory memory = new MIPS32Memory();
+            memory.enableEventCalls(events);
+            // Two sets of two one-word blocks. These three addresses use the first set.
+            WriteBackSetAssociativeCache cache = new WriteBackSetAssociativeCache(null, memory, 1, 4, 2, CacheReplacementPolicy.LRU);
+            int address = memory.getFirstDataAddress();
+
+            cache.setWord(address, 1);
+            cache.setWord(address + 8, 2);
+            assertEquals(1, cache.getWord(address));
+            cache.setWord(address + 16, 3);
+
+            assertEquals(2, memory.getWord(address + 8), "Evicted dirty block was not written back!");
+            assertEquals(0, memory.getWord(address), "Dirty block was written back too early!");
+            assertEquals(4, cache.getStats().operations());
+            assertEquals(1, cache.getStats().hits());
+
+            cache.saveState();
+            cache.setWord(address, 5);
+            cache.setWord(address + 24, 6);
+            cache.restoreSavedState();
+
+            assertEquals(1, cache.getWord(address));
+            assertEquals(3, cache.getWord(address + 16));
+            cache.flush();
+            assertEquals(1, memory.getWord(address), "Restored blocks must keep their dirty bit!");
+            assertEquals(3, memory.getWord(address + 16), "Restored blocks must keep their dirty bit!");
+        }
+    }
+
     @Test
     void testSimpleProblem() {
         InstructionSet inst = new MIPS32r6InstructionSet(ResourceProvider.JAMS);
@@ -0,0 +1,212 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.memory.trace;
+
+import net.jamsimulator.jams.Jams;
+import net.jamsimulator.jams.manager.Manager;
+import net.jamsimulator.jams.mips.architecture.Architecture;
+import net.jamsimulator.jams.mips.architecture.MultiALUPipelinedArchitecture;
+import net.jamsimulator.jams.mips.architecture.MultiCycleArchitecture;
+import net.jamsimulator.jams.mips.architecture.SingleCycleArchitecture;
+import net.jamsimulator.jams.mips.memory.MIPS32Memory;
+import net.jamsimulator.jams.mips.memory.Memory;
+import net.jamsimulator.jams.mips.memory.SimpleMemory;
+import net.jamsimulator.jams.mips.memory.cache.Cache;
+import net.jamsimulator.jams.mips.memory.cache.CacheReplacementPolicy;
+import net.jamsimulator.jams.mips.memory.cache.writeback.WriteBackSetAssociativeCache;
+import net.jamsimulator.jams.mips.memory.cache.writethrough.WriteThroughDirectCache;
+import net.jamsimulator.jams.utils.TestUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryTraceTest {
+
+    @BeforeAll
+    static void initRegistry() {
+        Jams.initForTests();
+    }
+
+    @Test
+    void recordsAreDecoded(@TempDir Path folder) throws IOException {
+        var file = folder.resolve("trace.jamt");
+        var random = new Random(0);
+        int amount = 200000;
+        int[] pcs = new int[amount], addresses = new int[amount], lengths = new int[amount];
+        boolean[] writes = new boolean[amount];
+
+        var pc = new int[1];
+        try (var writer = new MemoryTraceWriter(file, () -> pc[0])) {
+            for (int i = 0; i < amount; i++) {
+                pc[0] = pcs[i] = random.nextInt(8) == 0 ? random.nextInt() : 0x00400000 + (i << 2);
+                addresses[i] = random.nextBoolean() ? random.nextInt() : 0x10010000 + random.nextInt(4096);
+                lengths[i] = switch (random.nextInt(4)) {
+                    case 0 -> 1;
+                    case 1 -> 2;
+                    case 2 -> 4;
+                    default -> random.nextInt(100000);
+                };
+                writes[i] = random.nextBoolean();
+                writer.onAccess(addresses[i], lengths[i], writes[i]);
+            }
+            assertEquals(amount, writer.getRecords());
+        }
+
+        try (var reader = new MemoryTraceReader(file)) {
+            for (int i = 0; i < amount; i++) {
+                assertTrue(reader.next());
+                assertEquals(pcs[i], reader.getPc());
+                assertEquals(addresses[i], reader.getAddress());
+                assertEquals(lengths[i], reader.getLength());
+                assertEquals(writes[i], reader.isWrite());
+            }
+            assertFalse(reader.next());
+            assertEquals(amount, reader.getRecords());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            SingleCycleArchitecture.NAME,
+            MultiCycleArchitecture.NAME,
+            MultiALUPipelinedArchitecture.NAME
+    })
+    void recordsTheAccessingInstruction(String architecture, @TempDir Path folder) throws Exception {
+        var file = folder.resolve("trace.jamt");
+        var arch = Manager.of(Architecture.class).get(architecture).orElseThrow();
+        var simulation = TestUtils.generateSimulation(arch,
+                """
+                            .data
+                        value: .word 7
+                            .text
+                            la $a0, value
+                        load:
+                            lw $t0, 0($a0)
+                            addiu $t0, $t0, 1
+                        store:
+                            sw $t0, 0($a0)
+                            li $v0, 10
+                            syscall
+                        """
+        );
+        var labels = simulation.getSource().labels();
+        int value = labels.stream().filter(label -> label.getKey().equals("value"))
+                .findAny().orElseThrow().getAddress();
+        int load = labels.stream().filter(label -> label.getKey().equals("load"))
+                .findAny().orElseThrow().getAddress();
+        int store = labels.stream().filter(label -> label.getKey().equals("store"))
+                .findAny().orElseThrow().getAddress();
+
+        var memory = (SimpleMemory) simulation.getMemory().getBottomMemory();
+        try (var writer = new MemoryTraceWriter(file, simulation::getAccessingInstructionAddress)) {
+            memory.setAccessListener(writer);
+            simulation.executeAll();
+            simulation.waitForExecutionFinish();
+            memory.setAccessListener(null);
+        }
+        assertEquals(8, simulation.getMemory().getWord(value));
+
+        int reads = 0, writes = 0;
+        try (var reader = new MemoryTraceReader(file)) {
+            while (reader.next()) {
+                if (reader.getAddress() != value) continue;
+                if (reader.isWrite()) {
+                    assertEquals(store, reader.getPc());
+                    writes++;
+                } else {
+                    assertEquals(load, reader.getPc());
+                    reads++;
+                }
+            }
+        }
+        assertTrue(reads > 0);
+        assertTrue(writes > 0);
+    }
+
+    @Test
+    void invalidFilesAreRejected(@TempDir Path folder) throws IOException {
+        var file = folder.resolve("invalid.jamt");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> new MemoryTraceReader(file));
+    }
+
+    @Test
+    void replayMatchesExecution(@TempDir Path folder) throws Exception {
+        var file = folder.resolve("trace.jamt");
+        var recorded = new MIPS32Memory();
+        recorded.enableEventCalls(false);
+
+        // The caches that see the accesses directly.
+        var direct = new ArrayList<Cache>();
+        direct.add(new WriteThroughDirectCache(null, new MIPS32Memory(), 4, 16));
+        direct.add(new WriteBackSetAssociativeCache(null, new MIPS32Memory(), 2, 32, 4, CacheReplacementPolicy.LRU));
+        direct.forEach(cache -> cache.enableEventCalls(false));
+
+        var random = new Random(1);
+        int base = recorded.getFirstDataAddress();
+        try (var writer = new MemoryTraceWriter(file, null)) {
+            recorded.setAccessListener(writer);
+            for (int i = 0; i < 20000; i++) {
+                int address = base + (random.nextInt(1024) << 2);
+                boolean write = random.nextBoolean();
+                if (write) recorded.setWord(address, i);
+                else recorded.getWord(address);
+                for (Cache cache : direct) {
+                    if (write) cache.setWord(address, i);
+                    else cache.getWord(address);
+                }
+            }
+            var bytes = new byte[300];
+            recorded.getBytes(base + 1, bytes, 0, bytes.length);
+            for (Cache cache : direct) {
+                cache.getBytes(base + 1, bytes, 0, bytes.length);
+            }
+            recorded.setAccessListener(null);
+        }
+
+        var futures = new ArrayList<CompletableFuture<Memory>>();
+        try (var replayer = new MemoryTraceReplayer(file, 2)) {
+            futures.add(replayer.submit(new WriteThroughDirectCache(null, new MIPS32Memory(), 4, 16)));
+            futures.add(replayer.submit(new WriteBackSetAssociativeCache(null, new MIPS32Memory(), 2, 32, 4,
+                    CacheReplacementPolicy.LRU)));
+        }
+
+        for (int i = 0; i < direct.size(); i++) {
+            var replayed = (Cache) futures.get(i).get();
+            assertEquals(direct.get(i).getStats(), replayed.getStats());
+        }
+    }
+}
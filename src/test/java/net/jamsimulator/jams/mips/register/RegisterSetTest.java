@@ -72,4 +72,31 @@ class RegisterSetTest {
 		register.setValue(20);
 		assertEquals(20, register.getValue(), "Bad register value.");
 	}
-}
\ No newline at end of file
+
+	@Test
+	void registerFile() {
+		Registers registers = new MIPS32Registers(new MIPS32r6InstructionSet(ResourceProvider.JAMS));
+		int[] file = registers.getRegisterFile();
+
+		registers.getRegisterUnchecked(8).setValue(5);
+		assertEquals(5, file[8], "Register writes must reach the register file.");
+
+		registers.enableEventCalls(false);
+		registers.setValueUnchecked(9, 7);
+		registers.setValueUnchecked(0, 7);
+		registers.setCoprocessor1ValueUnchecked(3, 11);
+		registers.setProgramCounterValue(MIPS32Memory.TEXT + 4);
+		registers.enableEventCalls(true);
+
+		assertEquals(7, registers.getRegisterUnchecked(9).getValue(), "Register views must reflect the register file.");
+		assertEquals(0, registers.getRegisterUnchecked(0).getValue(), "$zero must not be modified.");
+		assertEquals(11, registers.getCoprocessor1RegisterUnchecked(3).getValue(), "Bad coprocessor 1 value.");
+		assertEquals(MIPS32Memory.TEXT + 4, registers.getProgramCounter().getValue(), "Bad program counter.");
+
+		Registers copy = registers.copy();
+		assertNotSame(file, copy.getRegisterFile(), "Copies must own their register file.");
+		assertEquals(7, copy.getValueUnchecked(9), "Copies must preserve the register values.");
+		copy.setValueUnchecked(9, 1);
+		assertEquals(7, registers.getValueUnchecked(9), "Copies must not share the register file.");
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BreakpointMapTest {
+
+    private static final int TEXT = 0x00400000;
+    private static final int KERNEL_TEXT = 0x80000000;
+
+    @Test
+    void addAndRemove() {
+        var map = new BreakpointMap(TEXT, TEXT + 0x1000, KERNEL_TEXT, KERNEL_TEXT + 0x200);
+        assertTrue(map.add(TEXT + 8));
+        assertFalse(map.add(TEXT + 8));
+        assertTrue(map.add(KERNEL_TEXT + 0x180));
+        assertTrue(map.add(0x10010000));
+
+        assertTrue(map.contains(TEXT + 8));
+        assertFalse(map.contains(TEXT + 4));
+        assertTrue(map.contains(KERNEL_TEXT + 0x180));
+        assertFalse(map.contains(KERNEL_TEXT + 0x184));
+        assertTrue(map.contains(0x10010000));
+        assertEquals(3, map.size());
+
+        assertTrue(map.remove(TEXT + 8));
+        assertFalse(map.remove(TEXT + 8));
+        assertFalse(map.contains(TEXT + 8));
+        assertTrue(map.remove(0x10010000));
+        assertFalse(map.contains(0x10010000));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void emptyKernel() {
+        var map = new BreakpointMap(TEXT, TEXT + 0x10, KERNEL_TEXT, KERNEL_TEXT - 4);
+        assertTrue(map.add(KERNEL_TEXT));
+        assertTrue(map.contains(KERNEL_TEXT));
+        assertFalse(map.contains(KERNEL_TEXT + 4));
+    }
+
+    @Test
+    void unalignedAddresses() {
+        var map = new BreakpointMap(TEXT, TEXT + 0x10, KERNEL_TEXT, KERNEL_TEXT + 0x10);
+        assertTrue(map.add(TEXT + 2));
+        assertTrue(map.contains(TEXT + 2));
+        assertFalse(map.contains(TEXT));
+        assertTrue(map.remove(TEXT + 2));
+        assertFalse(map.contains(TEXT + 2));
+    }
+
+    @Test
+    void forEach() {
+        var map = new BreakpointMap(TEXT, TEXT + 0x1000, KERNEL_TEXT, KERNEL_TEXT + 0x200);
+        var expected = Set.of(TEXT, TEXT + 0x100, KERNEL_TEXT + 4, 0x10010000);
+        expected.forEach(map::add);
+
+        var found = new HashSet<Integer>();
+        map.forEach(found::add);
+        assertEquals(expected, found);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation;
+
+import net.jamsimulator.jams.Jams;
+import net.jamsimulator.jams.mips.architecture.Architecture;
+import net.jamsimulator.jams.mips.architecture.MultiCycleArchitecture;
+import net.jamsimulator.jams.mips.architecture.SingleCycleArchitecture;
+import net.jamsimulator.jams.project.mips.configuration.MIPSSimulationConfiguration;
+import net.jamsimulator.jams.project.mips.configuration.MIPSSimulationConfigurationPresets;
+import net.jamsimulator.jams.utils.TestUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that simulations without events don't allocate memory on every executed instruction.
+ * <p>
+ * The program is run once to warm up the JIT and the simulation caches. The simulation is then reset
+ * and only the second run is measured.
+ */
+class MIPSSimulationAllocationTest {
+
+    /**
+     * The measured run executes 2.5 million instructions. This leaves room for the events and the decoded
+     * instructions invalidated by the reset, but not for one allocated byte every hundred instructions.
+     */
+    private static final long MAX_ALLOCATED_BYTES = 16 * 1024;
+
+    private static final String PROGRAM = """
+                .data
+            value: .word 0
+                .text
+                la $a0, value
+                li $t1, 500000
+            loop:
+                lw $t0, 0($a0)
+                addu $t0, $t0, $t1
+                sw $t0, 0($a0)
+                addiu $t1, $t1, -1
+                bgtz $t1, loop
+                lw $a0, 0($a0)
+                li $v0, 17
+                syscall
+            """;
+
+    private static MIPSSimulationConfiguration configuration;
+
+    @BeforeAll
+    static void initRegistry() {
+        Jams.initForTests();
+        configuration = new MIPSSimulationConfiguration("no events");
+        configuration.setNodeValue(MIPSSimulationConfigurationPresets.CALL_EVENTS, false);
+        configuration.setNodeValue(MIPSSimulationConfigurationPresets.UNDO_ENABLED, false);
+    }
+
+    @Test
+    void testSingleCycleDoesNotAllocate() throws InterruptedException {
+        assertAllocationFree(SingleCycleArchitecture.INSTANCE);
+    }
+
+    @Test
+    void testMultiCycleDoesNotAllocate() throws InterruptedException {
+        assertAllocationFree(MultiCycleArchitecture.INSTANCE);
+    }
+
+    private static void assertAllocationFree(Architecture architecture) throws InterruptedException {
+        var bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(bean.isThreadAllocatedMemorySupported());
+        bean.setThreadAllocatedMemoryEnabled(true);
+
+        var simulation = TestUtils.generateSimulation(architecture, configuration, PROGRAM);
+        long threadId = Thread.currentThread().getId();
+
+        // Warm-up run.
+        simulation.executeAllInCurrentThread();
+        // 500000 * (500001) / 2, truncated to 32 bits.
+        assertEquals((int) (500000L * 500001L / 2), simulation.getExitCode());
+        simulation.reset();
+
+        long before = bean.getThreadAllocatedBytes(threadId);
+        simulation.executeAllInCurrentThread();
+        long allocated = bean.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals((int) (500000L * 500001L / 2), simulation.getExitCode());
+        assertTrue(allocated < MAX_ALLOCATED_BYTES, architecture.getName() + " allocated "
+                + allocated + " bytes in the measured run.");
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation;
+
+import net.jamsimulator.jams.Jams;
+import net.jamsimulator.jams.mips.architecture.Architecture;
+import net.jamsimulator.jams.mips.architecture.MultiCycleArchitecture;
+import net.jamsimulator.jams.mips.architecture.SingleCycleArchitecture;
+import net.jamsimulator.jams.project.mips.configuration.MIPSSimulationConfiguration;
+import net.jamsimulator.jams.project.mips.configuration.MIPSSimulationConfigurationPresets;
+import net.jamsimulator.jams.utils.TestUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that simulations running in turbo mode still stop quickly.
+ */
+class MIPSSimulationTurboTest {
+
+    private static final long MAX_STOP_LATENCY_NANOS = 500_000_000;
+
+    private static final String PROGRAM = """
+                .text
+            loop:
+                addiu $t0, $t0, 1
+                j loop
+            """;
+
+    private static MIPSSimulationConfiguration configuration;
+
+    @BeforeAll
+    static void initRegistry() {
+        Jams.initForTests();
+        configuration = new MIPSSimulationConfiguration("turbo");
+        configuration.setNodeValue(MIPSSimulationConfigurationPresets.CALL_EVENTS, false);
+        configuration.setNodeValue(MIPSSimulationConfigurationPresets.UNDO_ENABLED, false);
+    }
+
+    @Test
+    void testSingleCycleStopIsResponsive() throws InterruptedException {
+        assertStopIsResponsive(SingleCycleArchitecture.INSTANCE);
+    }
+
+    @Test
+    void testMultiCycleStopIsResponsive() throws InterruptedException {
+        assertStopIsResponsive(MultiCycleArchitecture.INSTANCE);
+    }
+
+    private static void assertStopIsResponsive(Architecture architecture) throws InterruptedException {
+        var simulation = TestUtils.generateSimulation(architecture, configuration, PROGRAM);
+        simulation.executeAll();
+        Thread.sleep(200);
+
+        long start = System.nanoTime();
+        simulation.stop();
+        simulation.waitForExecutionFinish();
+        long latency = System.nanoTime() - start;
+
+        assertFalse(simulation.isRunning());
+        assertTrue(simulation.getCycles() > 0);
+        assertTrue(latency < MAX_STOP_LATENCY_NANOS, architecture.getName() + " took "
+                + latency / 1_000_000 + " ms to stop.");
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation;
+
+import net.jamsimulator.jams.mips.memory.MemoryWriteTracker;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedWordCacheTest {
+
+    private static final int TEXT = 0x00400000;
+    private static final int KERNEL_TEXT = 0x80000000;
+
+    @Test
+    void pagesAreAllocatedLazily() {
+        var cache = new PagedWordCache<String>();
+        assertEquals(0, cache.getAllocatedPages());
+        assertNull(cache.get(TEXT));
+
+        cache.invalidate(TEXT);
+        cache.put(TEXT + 4, null);
+        assertEquals(0, cache.getAllocatedPages());
+
+        cache.put(TEXT, "a");
+        cache.put(TEXT + PagedWordCache.PAGE_SIZE - 4, "b");
+        assertEquals(1, cache.getAllocatedPages());
+        cache.put(TEXT + PagedWordCache.PAGE_SIZE, "c");
+        assertEquals(2, cache.getAllocatedPages());
+
+        assertEquals("a", cache.get(TEXT));
+        assertEquals("b", cache.get(TEXT + PagedWordCache.PAGE_SIZE - 4));
+        assertEquals("c", cache.get(TEXT + PagedWordCache.PAGE_SIZE));
+        assertNull(cache.get(TEXT + 4));
+    }
+
+    @Test
+    void kernelAndHighAddresses() {
+        var cache = new PagedWordCache<String>();
+        cache.put(KERNEL_TEXT + 0x180, "handler");
+        cache.put(0xFFFFFFFC, "last");
+        assertEquals("handler", cache.get(KERNEL_TEXT + 0x180));
+        assertEquals("last", cache.get(0xFFFFFFFC));
+        assertNull(cache.get(0x00000180));
+
+        cache.invalidate(KERNEL_TEXT + 0x180);
+        assertNull(cache.get(KERNEL_TEXT + 0x180));
+        assertEquals("last", cache.get(0xFFFFFFFC));
+
+        cache.clear();
+        assertNull(cache.get(0xFFFFFFFC));
+        assertEquals(0, cache.getAllocatedPages());
+    }
+
+    @Test
+    void writtenPagesAreReleased() {
+        var tracker = new MemoryWriteTracker();
+        var cache = new PagedWordCache<String>(tracker);
+        cache.put(TEXT, "a");
+        cache.put(TEXT + PagedWordCache.PAGE_SIZE, "b");
+        assertFalse(cache.refresh());
+
+        tracker.onWrite(TEXT + 8);
+        assertTrue(cache.refresh());
+        assertNull(cache.get(TEXT));
+        assertEquals("b", cache.get(TEXT + PagedWordCache.PAGE_SIZE));
+        assertEquals(1, cache.getAllocatedPages());
+
+        cache.put(TEXT, "c");
+        assertFalse(cache.refresh());
+        assertEquals("c", cache.get(TEXT));
+
+        tracker.touchAll();
+        assertTrue(cache.refresh());
+        assertEquals(0, cache.getAllocatedPages());
+    }
+
+    @Test
+    void writesOutsideTheLogAreNotLost() {
+        var tracker = new MemoryWriteTracker();
+        var cache = new PagedWordCache<String>(tracker);
+        cache.put(TEXT, "a");
+        cache.put(TEXT + PagedWordCache.PAGE_SIZE, "b");
+
+        tracker.onWrite(TEXT + PagedWordCache.PAGE_SIZE);
+        for (int i = 0; i < MemoryWriteTracker.WRITE_LOG_SIZE; i++) {
+            tracker.onWrite(TEXT + 2 * PagedWordCache.PAGE_SIZE);
+        }
+        assertTrue(cache.refresh());
+        assertEquals("a", cache.get(TEXT));
+        assertNull(cache.get(TEXT + PagedWordCache.PAGE_SIZE));
+        assertEquals(1, cache.getAllocatedPages());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.batch;
+
+import net.jamsimulator.jams.Jams;
+import net.jamsimulator.jams.gui.util.log.PrintStreamLog;
+import net.jamsimulator.jams.mips.architecture.SingleCycleArchitecture;
+import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
+import net.jamsimulator.jams.utils.TestUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MIPSSimulationBatchTest {
+
+    @BeforeAll
+    static void initRegistry() {
+        Jams.initForTests();
+    }
+
+    @Test
+    void testBatch() throws ExecutionException, InterruptedException {
+        var data = TestUtils.generateSimulationData("""
+                    .data
+                result: .word 0
+                    .text
+                    li $s0, 0
+                loop:
+                    add $s0, $s0, $a0
+                    addi $a0, $a0, -1
+                    bgtz $a0, loop
+                    sw $s0, result
+                    move $a0, $s0
+                    li $v0, 17
+                    syscall
+                """);
+
+        try (var batch = new MIPSSimulationBatch(SingleCycleArchitecture.INSTANCE, data, 4)) {
+            var futures = new ArrayList<CompletableFuture<MIPSSimulation<?>>>();
+            for (int i = 1; i <= 16; i++) {
+                int input = i;
+                futures.add(batch.submit(new PrintStreamLog(System.out),
+                        simulation -> simulation.getRegisters().getRegister("a0").orElseThrow().setValue(input)));
+            }
+
+            for (int i = 1; i <= 16; i++) {
+                var simulation = futures.get(i - 1).get();
+                assertEquals(i * (i + 1) / 2, simulation.getExitCode(), "Bad result for input " + i + ".");
+            }
+        }
+
+        assertEquals(0, data.memory().getWord(data.memory().getFirstDataAddress()),
+                "Batch simulations modified the template's memory.");
+    }
+
+}
@@ -0,0 +1,190 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.change;
+
+import net.jamsimulator.jams.manager.ResourceProvider;
+import net.jamsimulator.jams.mips.architecture.Architecture;
+import net.jamsimulator.jams.mips.instruction.set.MIPS32r6InstructionSet;
+import net.jamsimulator.jams.mips.memory.MIPS32Memory;
+import net.jamsimulator.jams.mips.register.MIPS32Registers;
+import net.jamsimulator.jams.mips.register.Register;
+import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UndoJournalTest {
+
+    private MIPS32Registers registers;
+    private MIPS32Memory memory;
+    private Register t0;
+    private int address;
+
+    @BeforeEach
+    void createState() {
+        registers = new MIPS32Registers(new MIPS32r6InstructionSet(ResourceProvider.JAMS));
+        memory = new MIPS32Memory();
+        t0 = registers.getRegister("t0").orElseThrow();
+        address = memory.getFirstDataAddress();
+    }
+
+    @Test
+    void testUndo() {
+        var journal = new UndoJournal<>(registers, 1 << 20);
+        var restored = new ArrayList<String>();
+
+        journal.beginStep();
+        setRegister(journal, 1);
+        setWord(journal, 10);
+        journal.commitStep();
+
+        journal.beginStep();
+        setRegister(journal, 2);
+        journal.addChange(new NamedChange("first", restored));
+        setByte(journal, (byte) 20);
+        journal.addChange(new NamedChange("second", restored));
+        journal.commitStep();
+
+        assertEquals(2, journal.getSteps());
+        assertTrue(journal.undoStep(null));
+        assertEquals(1, t0.getValue());
+        assertEquals(10, memory.getWord(address));
+        assertEquals(List.of("second", "first"), restored, "Changes must be restored in reverse order.");
+
+        assertTrue(journal.undoStep(null));
+        assertEquals(0, t0.getValue());
+        assertEquals(0, memory.getWord(address));
+        assertTrue(journal.isEmpty());
+        assertFalse(journal.undoStep(null));
+    }
+
+    @Test
+    void testDiscardAndRollback() {
+        var journal = new UndoJournal<>(registers, 1 << 20);
+
+        journal.beginStep();
+        setRegister(journal, 1);
+        journal.discardStep();
+        assertEquals(1, t0.getValue(), "Discarded steps must not be restored.");
+        assertTrue(journal.isEmpty());
+
+        journal.beginStep();
+        setRegister(journal, 2);
+        setWord(journal, 5);
+        journal.rollbackStep(null);
+        assertEquals(1, t0.getValue());
+        assertEquals(0, memory.getWord(address));
+        assertTrue(journal.isEmpty());
+
+        setRegister(journal, 3);
+        journal.beginStep();
+        journal.commitStep();
+        assertTrue(journal.undoStep(null));
+        assertEquals(3, t0.getValue(), "Changes made outside steps must be ignored.");
+    }
+
+    @Test
+    void testMemoryBudget() {
+        var journal = new UndoJournal<>(registers, 1);
+
+        for (int i = 1; i <= 10000; i++) {
+            journal.beginStep();
+            setRegister(journal, i);
+            journal.commitStep();
+        }
+
+        int steps = journal.getSteps();
+        assertTrue(steps > 0 && steps < 10000, "The oldest steps must be discarded.");
+        for (int i = 0; i < steps; i++) {
+            assertTrue(journal.undoStep(null));
+        }
+        assertFalse(journal.undoStep(null));
+        assertEquals(10000 - steps, t0.getValue());
+    }
+
+    @Test
+    void testOversizedStep() {
+        var journal = new UndoJournal<>(registers, 1);
+
+        journal.beginStep();
+        setRegister(journal, 1);
+        journal.commitStep();
+
+        journal.beginStep();
+        for (int i = 0; i < 10000; i++) {
+            setWord(journal, i);
+        }
+        journal.commitStep();
+
+        assertTrue(journal.isEmpty(), "Steps bigger than the budget can't be undone.");
+        assertFalse(journal.undoStep(null));
+
+        journal.beginStep();
+        setRegister(journal, 2);
+        journal.commitStep();
+        assertTrue(journal.undoStep(null));
+        assertEquals(1, t0.getValue());
+        assertEquals(9999, memory.getWord(address));
+        assertFalse(journal.undoStep(null), "Steps before a step bigger than the budget can't be undone.");
+    }
+
+    private void setRegister(UndoJournal<?> journal, int value) {
+        int old = t0.getValue();
+        t0.setValue(value);
+        journal.addRegisterChange(t0, old);
+    }
+
+    private void setWord(UndoJournal<?> journal, int value) {
+        int old = memory.getWord(address);
+        memory.setWord(address, value);
+        journal.addMemoryWordChange(memory, address, old);
+    }
+
+    private void setByte(UndoJournal<?> journal, byte value) {
+        byte old = memory.getByte(address);
+        memory.setByte(address, value);
+        journal.addMemoryByteChange(memory, address, old);
+    }
+
+    private static class NamedChange extends SimulationChange<Architecture> {
+
+        private final String name;
+        private final List<String> restored;
+
+        NamedChange(String name, List<String> restored) {
+            this.name = name;
+            this.restored = restored;
+        }
+
+        @Override
+        public void restore(MIPSSimulation<? extends Architecture> simulation) {
+            restored.add(name);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.singlecycle;
+
+import net.jamsimulator.jams.Jams;
+import net.jamsimulator.jams.mips.architecture.SingleCycleArchitecture;
+import net.jamsimulator.jams.mips.memory.SimpleMemory;
+import net.jamsimulator.jams.mips.simulation.MIPSSimulation;
+import net.jamsimulator.jams.project.mips.configuration.MIPSSimulationConfiguration;
+import net.jamsimulator.jams.project.mips.configuration.MIPSSimulationConfigurationPresets;
+import net.jamsimulator.jams.utils.TestUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class SingleCycleSimulationTest {
+
+    private static final String PROGRAM = """
+                .data
+            array: .word 5, 3, 8, 1, 9, 2, 7
+                .text
+                la $a0, array
+                li $a1, 7
+                jal sum
+                move $s0, $v0
+                li $t0, 0
+                li $t1, 100
+            outer:
+                addiu $t0, $t0, 1
+            inner:
+                addu $s0, $s0, $t0
+                bne $t0, $t1, outer
+                move $a0, $s0
+                li $v0, 17
+                syscall
+            sum:
+                li $v0, 0
+            loop:
+                lw $t0, 0($a0)
+                addu $v0, $v0, $t0
+                addiu $a0, $a0, 4
+                addiu $a1, $a1, -1
+                bgtz $a1, loop
+                jr $ra
+            """;
+
+    private static MIPSSimulationConfiguration eventsConfiguration, fusedConfiguration;
+
+    @BeforeAll
+    static void initRegistry() {
+        Jams.initForTests();
+        eventsConfiguration = new MIPSSimulationConfiguration("events");
+        fusedConfiguration = new MIPSSimulationConfiguration("fused");
+        fusedConfiguration.setNodeValue(MIPSSimulationConfigurationPresets.CALL_EVENTS, false);
+        fusedConfiguration.setNodeValue(MIPSSimulationConfigurationPresets.UNDO_ENABLED, false);
+    }
+
+    @Test
+    void testBasicBlocksMatchSteps() throws InterruptedException {
+        var steps = run(eventsConfiguration, PROGRAM);
+        var fused = run(fusedConfiguration, PROGRAM);
+
+        assertEquals(35 + 5050, steps.getExitCode());
+        assertEquals(steps.getExitCode(), fused.getExitCode());
+        assertEquals(steps.getCycles(), fused.getCycles());
+        assertEquals(count(steps), count(fused));
+    }
+
+    @Test
+    void testTranslatedBlocksMatchSteps() throws InterruptedException {
+        // The loop is executed more times than the translation threshold.
+        var program = """
+                    .data
+                values: .space 64
+                    .text
+                    li $t1, 5000
+                    li $s0, 0
+                loop:
+                    la $a0, values
+                    andi $t2, $t1, 15
+                    sll $t2, $t2, 2
+                    addu $a0, $a0, $t2
+                    lw $t3, 0($a0)
+                    addu $t3, $t3, $t1
+                    sw $t3, 0($a0)
+                    xor $s0, $s0, $t3
+                    addiu $t1, $t1, -1
+                    bgtz $t1, loop
+                    move $a0, $s0
+                    li $v0, 17
+                    syscall
+                """;
+        var steps = run(eventsConfiguration, program);
+        var fused = run(fusedConfiguration, program);
+
+        assertEquals(steps.getExitCode(), fused.getExitCode());
+        assertEquals(steps.getCycles(), fused.getCycles());
+        assertEquals(count(steps), count(fused));
+    }
+
+    @Test
+    void testBasicBlocksStopAtBreakpoints() throws InterruptedException {
+        var steps = TestUtils.generateSimulation(SingleCycleArchitecture.INSTANCE, eventsConfiguration, PROGRAM);
+        var fused = TestUtils.generateSimulation(SingleCycleArchitecture.INSTANCE, fusedConfiguration, PROGRAM);
+        int address = fused.getSource().labels().stream()
+                .filter(label -> label.getKey().equals("inner"))
+                .findAny().orElseThrow().getAddress();
+
+        steps.addBreakpoint(address);
+        fused.addBreakpoint(address);
+
+        for (int i = 0; i < 3; i++) {
+            steps.executeAll();
+            steps.waitForExecutionFinish();
+            fused.executeAll();
+            fused.waitForExecutionFinish();
+
+            assertEquals(address, fused.getRegisters().getProgramCounter().getValue());
+            assertEquals(steps.getCycles(), fused.getCycles());
+            assertEquals(count(steps), count(fused));
+        }
+    }
+
+    @Test
+    void testBasicBlocksExceptionsArePrecise() throws InterruptedException {
+        var program = """
+                    .text
+                    li $t0, 3
+                    addiu $t1, $t0, 2
+                    lw $t2, 0($t0)
+                    addiu $t1, $t1, 1
+                    li $v0, 10
+                    syscall
+                """;
+        var steps = run(eventsConfiguration, program);
+        var fused = run(fusedConfiguration, program);
+
+        assertEquals(steps.getExitCode(), fused.getExitCode());
+        assertEquals(steps.getCycles(), fused.getCycles());
+        assertEquals(value(steps, "t1"), value(fused, "t1"));
+        assertEquals(steps.getRegisters().getCoprocessor0Register(14, 0).orElseThrow().getValue(),
+                fused.getRegisters().getCoprocessor0Register(14, 0).orElseThrow().getValue());
+    }
+
+    @Test
+    void testWatchpointsStopAfterTheAccess() throws InterruptedException {
+        var program = """
+                    .data
+                value: .word 0
+                    .text
+                    la $a0, value
+                    li $t0, 10
+                loop:
+                    addiu $t0, $t0, -1
+                    sw $t0, 0($a0)
+                after:
+                    bgtz $t0, loop
+                    li $v0, 10
+                    syscall
+                """;
+
+        for (var configuration : new MIPSSimulationConfiguration[]{eventsConfiguration, fusedConfiguration}) {
+            var simulation = TestUtils.generateSimulation(SingleCycleArchitecture.INSTANCE, configuration, program);
+            var labels = simulation.getSource().labels();
+            int value = labels.stream().filter(label -> label.getKey().equals("value"))
+                    .findAny().orElseThrow().getAddress();
+            int after = labels.stream().filter(label -> label.getKey().equals("after"))
+                    .findAny().orElseThrow().getAddress();
+
+            ((SimpleMemory) simulation.getMemory().getBottomMemory()).getWatchTable()
+                    .add(value, value + 3, false, true);
+
+            simulation.executeAll();
+            simulation.waitForExecutionFinish();
+
+            assertFalse(simulation.isFinished());
+            assertEquals(after, simulation.getRegisters().getProgramCounter().getValue());
+            assertEquals(9, simulation.getMemory().getWord(value));
+        }
+    }
+
+    @Test
+    void testStoresToTextInvalidateDecodedInstructions() throws InterruptedException {
+        // 0x24030002 = addiu $v1, $zero, 2
+        var program = """
+                    .data
+                replacement: .word 0x24030002
+                    .text
+                    jal patched
+                    move $s0, $v1
+                    la $a0, patched
+                    la $t1, replacement
+                    lw $t0, 0($t1)
+                    sw $t0, 0($a0)
+                    jal patched
+                    move $s1, $v1
+                    li $v0, 10
+                    syscall
+                patched:
+                    addiu $v1, $zero, 1
+                    jr $ra
+                """;
+
+        for (var configuration : new MIPSSimulationConfiguration[]{eventsConfiguration, fusedConfiguration}) {
+            var simulation = run(configuration, program);
+            assertEquals(1, value(simulation, "s0"));
+            assertEquals(2, value(simulation, "s1"));
+        }
+    }
+
+    @Test
+    void testUncheckedWritesUpdateTheRegisterFile() throws InterruptedException {
+        var program = """
+                    .text
+                    li $t0, 0x12345678
+                    li $t2, 3
+                    li $t8, -1
+                    aui $t1, $t0, 2
+                    sllv $t3, $t0, $t2
+                    slti $t4, $t2, 5
+                    sltiu $t5, $t2, -1
+                    mul $t6, $t2, $t0
+                    mulu $t7, $t2, $t2
+                    ori $s0, $zero, 0xF0
+                    sll $s1, $s0, 4
+                    slt $s2, $t2, $s0
+                    clo $s3, $t8
+                    clz $s4, $t2
+                    ext $s5, $t0, 4, 8
+                    ins $s6, $t0, 8, 4
+                    bitswap $s7, $t0
+                    addiupc $v1, 4
+                    aluipc $a3, 1
+                    li.s $f0, 2.5
+                    ceil.w.s $f2, $f0
+                    floor.w.s $f4, $f0
+                    class.s $f6, $f0
+                    j first
+                    li $a1, 1
+                first:
+                    jal second
+                    li $a1, 2
+                second:
+                    la $t9, third
+                    jalr $ra, $t9
+                    li $a1, 3
+                third:
+                    la $t9, fourth
+                    jic $t9, 0
+                    li $a1, 4
+                fourth:
+                    la $t9, fifth
+                    jialc $t9, 0
+                    li $a1, 5
+                fifth:
+                    bgec $t2, $t2, sixth
+                    li $a1, 6
+                sixth:
+                    li $v0, 10
+                    syscall
+                """;
+        var steps = run(eventsConfiguration, program);
+        var fused = run(fusedConfiguration, program);
+
+        assertArrayEquals(steps.getRegisters().getRegisterFile(), fused.getRegisters().getRegisterFile());
+        assertEquals(0x12365678, fileValue(fused, "t1"));
+        assertEquals(1, fileValue(fused, "t4"));
+        assertEquals(1, fileValue(fused, "t5"));
+        assertEquals(3, fileValue(fused, "t2"), "sltiu must write its target register.");
+        assertEquals(9, fileValue(fused, "t7"));
+        assertEquals(32, fileValue(fused, "s3"));
+        assertEquals(30, fileValue(fused, "s4"));
+        assertEquals(0x67, fileValue(fused, "s5"));
+        assertEquals(0x800, fileValue(fused, "s6"));
+        assertEquals(0, fileValue(fused, "a1"), "Jumps and branches must skip the instructions after them.");
+
+        var registers = fused.getRegisters();
+        int cop1 = registers.getCoprocessor1Offset();
+        assertEquals(3, registers.getRegisterFile()[cop1 + 2]);
+        assertEquals(2, registers.getRegisterFile()[cop1 + 4]);
+    }
+
+    private static MIPSSimulation<?> run(MIPSSimulationConfiguration configuration, String program)
+            throws InterruptedException {
+        var simulation = TestUtils.generateSimulation(SingleCycleArchitecture.INSTANCE, configuration, program);
+        simulation.executeAll();
+        simulation.waitForExecutionFinish();
+        return simulation;
+    }
+
+    private static int count(MIPSSimulation<?> simulation) {
+        return simulation.getRegisters().getCoprocessor0Register(9, 0).orElseThrow().getValue();
+    }
+
+    private static int value(MIPSSimulation<?> simulation, String register) {
+        return simulation.getRegisters().getRegister(register).orElseThrow().getValue();
+    }
+
+    private static int fileValue(MIPSSimulation<?> simulation, String register) {
+        var registers = simulation.getRegisters();
+        return registers.getRegisterFile()[registers.getRegister(register).orElseThrow().getIdentifier()];
+    }
+}
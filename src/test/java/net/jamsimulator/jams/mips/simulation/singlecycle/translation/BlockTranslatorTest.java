@@ -0,0 +1,112 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.singlecycle.translation;
+
+import net.jamsimulator.jams.Jams;
+import net.jamsimulator.jams.manager.ResourceProvider;
+import net.jamsimulator.jams.mips.instruction.assembled.AssembledInstruction;
+import net.jamsimulator.jams.mips.instruction.basic.defaults.*;
+import net.jamsimulator.jams.mips.instruction.set.MIPS32r6InstructionSet;
+import net.jamsimulator.jams.mips.interrupt.MIPSAddressException;
+import net.jamsimulator.jams.mips.memory.MIPS32Memory;
+import net.jamsimulator.jams.mips.register.MIPS32Registers;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockTranslatorTest {
+
+    private static final int ADDRESS = 0x00400000;
+
+    @BeforeAll
+    static void initRegistry() {
+        Jams.initForTests();
+    }
+
+    @Test
+    void testLoop() throws ReflectiveOperationException {
+        var memory = new MIPS32Memory();
+        var registers = new MIPS32Registers(new MIPS32r6InstructionSet(ResourceProvider.JAMS));
+        int data = memory.getFirstDataAddress();
+        for (int i = 0; i < 10; i++) {
+            memory.setWord(data + (i << 2), i * 3);
+        }
+
+        // loop: lw $t0, 0($a0); addu $v0, $v0, $t0; addiu $a0, $a0, 4; addiu $a1, $a1, -1; bgtz $a1, loop
+        var block = BlockTranslator.translate(ADDRESS, new AssembledInstruction[]{
+                new InstructionLw.Assembled(4, 8, 0, null, new InstructionLw()),
+                new InstructionAddu.Assembled(2, 8, 2, null, new InstructionAddu()),
+                new InstructionAddiu.Assembled(4, 4, 4, null, new InstructionAddiu()),
+                new InstructionAddiu.Assembled(5, 5, 0xFFFF, null, new InstructionAddiu()),
+                new InstructionBgtz.Assembled(5, -5 & 0xFFFF, null, new InstructionBgtz())
+        });
+        assertNotNull(block, "Block couldn't be translated.");
+
+        registers.setValueUnchecked(4, data);
+        registers.setValueUnchecked(5, 10);
+        registers.setProgramCounterValue(ADDRESS);
+        var file = registers.getRegisterFile();
+        int pcSlot = registers.getProgramCounterSlot();
+        int iterations = 0;
+        do {
+            block.execute(file, pcSlot, memory);
+            iterations++;
+        } while (registers.getProgramCounterValue() == ADDRESS);
+
+        assertEquals(10, iterations);
+        assertEquals(135, registers.getValueUnchecked(2));
+        assertEquals(135, registers.getRegisterUnchecked(2).getValue(), "Register views must reflect the register file.");
+        assertEquals(ADDRESS + 20, registers.getProgramCounter().getValue());
+    }
+
+    @Test
+    void testPreciseException() throws ReflectiveOperationException {
+        var memory = new MIPS32Memory();
+        var registers = new MIPS32Registers(new MIPS32r6InstructionSet(ResourceProvider.JAMS));
+        registers.setValueUnchecked(4, memory.getFirstDataAddress() + 1);
+
+        var block = BlockTranslator.translate(ADDRESS, new AssembledInstruction[]{
+                new InstructionAddiu.Assembled(0, 8, 7, null, new InstructionAddiu()),
+                new InstructionLw.Assembled(4, 9, 0, null, new InstructionLw()),
+                new InstructionAddiu.Assembled(0, 10, 7, null, new InstructionAddiu())
+        });
+        assertNotNull(block, "Block couldn't be translated.");
+
+        var file = registers.getRegisterFile();
+        int pcSlot = registers.getProgramCounterSlot();
+        assertThrows(MIPSAddressException.class, () -> block.execute(file, pcSlot, memory));
+        assertEquals(ADDRESS + 8, registers.getProgramCounterValue(), "The PC must point to the instruction after the failed one.");
+        assertEquals(7, registers.getValueUnchecked(8));
+        assertEquals(0, registers.getValueUnchecked(10));
+    }
+
+    @Test
+    void testUnsupportedInstruction() throws ReflectiveOperationException {
+        assertNull(BlockTranslator.translate(ADDRESS, new AssembledInstruction[]{
+                new InstructionSyscall.Assembled(null, new InstructionSyscall())
+        }));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.update;
+
+import net.jamsimulator.jams.manager.ResourceProvider;
+import net.jamsimulator.jams.mips.instruction.set.MIPS32r6InstructionSet;
+import net.jamsimulator.jams.mips.register.MIPS32Registers;
+import net.jamsimulator.jams.mips.register.Registers;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationSnapshotBufferTest {
+
+    private static final Registers REGISTERS = new MIPS32Registers(new MIPS32r6InstructionSet(ResourceProvider.JAMS));
+
+    @Test
+    void testWriteAndRead() {
+        var buffer = new SimulationSnapshotBuffer(REGISTERS);
+        var snapshot = new SimulationSnapshot(REGISTERS);
+        assertFalse(buffer.isRequested());
+
+        buffer.request();
+        assertTrue(buffer.isRequested());
+
+        var file = new int[REGISTERS.getRegisterFile().length];
+        Arrays.fill(file, 3);
+        file[REGISTERS.getProgramCounterSlot()] = 0x00400004;
+        buffer.write(file, 10, 8);
+        assertFalse(buffer.isRequested(), "Writing a snapshot must clear the request.");
+
+        assertTrue(buffer.read(snapshot));
+        assertEquals(1, snapshot.getVersion());
+        assertEquals(10, snapshot.getCycles());
+        assertEquals(8, snapshot.getExecutedInstructions());
+        assertEquals(0x00400004, snapshot.getProgramCounter());
+        assertEquals(3, snapshot.getRegisters()[8]);
+    }
+
+    @Test
+    void testConsistentReads() throws InterruptedException {
+        var buffer = new SimulationSnapshotBuffer(REGISTERS);
+        var length = REGISTERS.getRegisterFile().length;
+
+        var writer = new Thread(() -> {
+            var file = new int[length];
+            for (int i = 1; i <= 200_000; i++) {
+                Arrays.fill(file, i);
+                buffer.write(file, i, i);
+            }
+        });
+        writer.start();
+
+        var snapshot = new SimulationSnapshot(REGISTERS);
+        long lastVersion = 0;
+        while (writer.isAlive()) {
+            if (!buffer.read(snapshot)) continue;
+            long cycles = snapshot.getCycles();
+            for (int value : snapshot.getRegisters()) {
+                assertEquals(cycles, value, "Snapshots must not mix two writes.");
+            }
+            assertEquals(cycles, snapshot.getVersion());
+            assertTrue(snapshot.getVersion() >= lastVersion, "Versions must not go back.");
+            lastVersion = snapshot.getVersion();
+        }
+        writer.join();
+
+        assertTrue(buffer.read(snapshot));
+        assertEquals(200_000, snapshot.getVersion());
+    }
+}
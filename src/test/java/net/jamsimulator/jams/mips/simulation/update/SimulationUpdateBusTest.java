@@ -0,0 +1,121 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.mips.simulation.update;
+
+import net.jamsimulator.jams.Jams;
+import net.jamsimulator.jams.event.Listener;
+import net.jamsimulator.jams.mips.architecture.SingleCycleArchitecture;
+import net.jamsimulator.jams.mips.memory.MIPS32Memory;
+import net.jamsimulator.jams.mips.simulation.event.SimulationUpdateEvent;
+import net.jamsimulator.jams.project.mips.configuration.MIPSSimulationConfiguration;
+import net.jamsimulator.jams.project.mips.configuration.MIPSSimulationConfigurationPresets;
+import net.jamsimulator.jams.utils.TestUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationUpdateBusTest {
+
+    private static final String PROGRAM = """
+                .data
+            value: .word 0
+                .text
+                la $a0, value
+                li $t0, 5
+                sw $t0, 0($a0)
+                li $v0, 10
+                syscall
+            """;
+
+    private static MIPSSimulationConfiguration configuration;
+
+    private SimulationUpdateEvent received;
+
+    @BeforeAll
+    static void initRegistry() {
+        Jams.initForTests();
+        configuration = new MIPSSimulationConfiguration("no events");
+        configuration.setNodeValue(MIPSSimulationConfigurationPresets.CALL_EVENTS, false);
+        configuration.setNodeValue(MIPSSimulationConfigurationPresets.UNDO_ENABLED, false);
+    }
+
+    @Test
+    void testCoalescedUpdate() {
+        var simulation = TestUtils.generateSimulation(SingleCycleArchitecture.INSTANCE, configuration, PROGRAM);
+        var bus = simulation.getUpdateBus();
+        assertSame(bus, simulation.getUpdateBus());
+        assertTrue(bus.collect().isEmpty(), "Disabled buses must not collect changes.");
+
+        bus.setEnabled(true);
+        simulation.executeAllInCurrentThread();
+
+        var optional = bus.collect();
+        assertTrue(optional.isPresent());
+        var update = optional.get();
+
+        var registers = simulation.getRegisters();
+        assertTrue(update.isRegisterDirty(8), "$t0 was modified.");
+        assertTrue(update.isRegisterDirty(registers.getProgramCounterSlot()), "The PC was modified.");
+        assertFalse(update.isRegisterDirty(16), "$s0 wasn't modified.");
+
+        int data = simulation.getMemory().getFirstDataAddress();
+        assertTrue(update.isPageDirty(data), "The data page was written.");
+        assertFalse(update.isPageDirty(MIPS32Memory.TEXT), "The text page wasn't written.");
+        assertTrue(update.isRangeDirty(MIPS32Memory.TEXT, data));
+        assertFalse(update.isRangeDirty(MIPS32Memory.TEXT, data - 1));
+
+        assertTrue(bus.collect().isEmpty(), "Changes must be published only once.");
+        bus.setEnabled(false);
+    }
+
+    @Test
+    void testPublish() {
+        var simulation = TestUtils.generateSimulation(SingleCycleArchitecture.INSTANCE, configuration, PROGRAM);
+        var bus = simulation.getUpdateBus();
+        simulation.registerListeners(this, false);
+
+        bus.setEnabled(true);
+        assertFalse(bus.publish(), "There are no changes to publish.");
+        assertNull(received);
+
+        simulation.executeAllInCurrentThread();
+        assertTrue(bus.publish());
+        assertNotNull(received);
+        assertSame(simulation, received.getSimulation());
+        assertTrue(received.getUpdate().hasDirtyRegisters());
+
+        bus.setEnabled(false);
+        simulation.getMemory().setWord(simulation.getMemory().getFirstDataAddress(), 1);
+        bus.setEnabled(true);
+        assertTrue(bus.collect().isEmpty(), "Writes made while the bus was disabled must be ignored.");
+        bus.setEnabled(false);
+    }
+
+    @Listener
+    private void onUpdate(SimulationUpdateEvent event) {
+        received = event;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ *  MIT License
+ *
+ *  Copyright (c) 2021 Gael Rial Costas
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package net.jamsimulator.jams.project.mips;
+
+import net.jamsimulator.jams.Jams;
+import net.jamsimulator.jams.utils.ArgumentsData;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MIPSHeadlessRunnerTest {
+
+    @BeforeAll
+    static void initRegistry() {
+        Jams.initForTests();
+    }
+
+    @Test
+    void testExitCode() throws IOException {
+        var file = File.createTempFile("headless", ".asm");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), """
+                    .text
+                    li $s0, 20
+                    addi $a0, $s0, 22
+                    li $v0, 17
+                    syscall
+                """);
+
+        var arguments = new ArgumentsData(new String[]{"-headless", "-file", file.getAbsolutePath()});
+        assertEquals(42, MIPSHeadlessRunner.run(arguments));
+    }
+
+    @Test
+    void testNoFiles() {
+        var arguments = new ArgumentsData(new String[]{"-headless"});
+        assertEquals(MIPSHeadlessRunner.ERROR_EXIT_CODE, MIPSHeadlessRunner.run(arguments));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        var missing = new ArgumentsData(new String[]{"-headless", "-file", "this_file_does_not_exist.asm"});
+        assertEquals(1, missing.getErrors().size());
+        assertEquals(MIPSHeadlessRunner.ERROR_EXIT_CODE, MIPSHeadlessRunner.run(missing));
+
+        var orphan = new ArgumentsData(new String[]{"-headless", "-configuration", "Default"});
+        assertEquals(1, orphan.getErrors().size(), "-configuration without -project must be rejected.");
+        assertEquals(MIPSHeadlessRunner.ERROR_EXIT_CODE, MIPSHeadlessRunner.run(orphan));
+
+        var missingProject = new ArgumentsData(new String[]{"-headless", "-project", "no_project", "-configuration", "Default"});
+        assertEquals(1, missingProject.getErrors().size(), "Only the missing project must be reported.");
+
+        var notPowerOfTwo = new ArgumentsData(new String[]{"-headless", "-cacheSweep", "4", "6", "2"});
+        assertEquals(1, notPowerOfTwo.getErrors().size(), "Non power of two limits must be rejected.");
+        assertEquals(MIPSHeadlessRunner.ERROR_EXIT_CODE, MIPSHeadlessRunner.run(notPowerOfTwo));
+
+        var incomplete = new ArgumentsData(new String[]{"-headless", "-cacheSweep", "4", "8"});
+        assertEquals(1, incomplete.getErrors().size(), "Missing limits must be rejected.");
+    }
+
+}
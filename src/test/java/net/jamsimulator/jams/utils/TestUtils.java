@@ -65,6 +65,22 @@ public class TestUtils {
     }
 
     public static MIPSSimulation<?> generateSimulation(Architecture architecture, String text) {
+        return generateSimulation(architecture, CONFIG, text);
+    }
+
+    public static MIPSSimulation<?> generateSimulation(Architecture architecture,
+                                                       MIPSSimulationConfiguration configuration, String text) {
+        var data = generateSimulationData(configuration, text);
+        data.memory().saveState();
+        data.registers().saveState();
+        return architecture.createSimulation(data);
+    }
+
+    public static MIPSSimulationData generateSimulationData(String text) {
+        return generateSimulationData(CONFIG, text);
+    }
+
+    public static MIPSSimulationData generateSimulationData(MIPSSimulationConfiguration configuration, String text) {
         var registers = new MIPS32Registers(INSTRUCTION_SET);
         var memory = new MIPS32Memory();
         var rawFiles = new RawFileData("test", text);
@@ -88,8 +104,8 @@ public class TestUtils {
                     "Execution will start at the start of the text section.");
         }
 
-        var data = new MIPSSimulationData(
-                CONFIG,
+        return new MIPSSimulationData(
+                configuration,
                 new File(""),
                 assembler.getLog(),
                 new MIPSSimulationSource(assembler.getOriginals(), assembler.getAllLabels(), assembler.getGlobalScope()),
@@ -99,10 +115,6 @@ public class TestUtils {
                 assembler.getStackBottom(),
                 assembler.getKernelStackBottom()
         );
-
-        data.memory().saveState();
-        data.registers().saveState();
-        return assembler.createSimulation(architecture, data);
     }
 
 }